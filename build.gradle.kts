@@ -1,3 +1,5 @@
+import org.jetbrains.intellij.platform.gradle.TestFrameworkType
+
 plugins {
     id("java")
     id("org.jetbrains.intellij.platform") version "2.10.4"
@@ -19,7 +21,12 @@ dependencies {
     intellijPlatform {
         intellijIdeaCommunity("2024.1.7")
         bundledPlugins("com.intellij.java")
+        testFramework(TestFrameworkType.Platform)
     }
+
+    testImplementation("junit:junit:4.13.2")
+    // Needed by the platform test framework at runtime
+    testImplementation("org.opentest4j:opentest4j:1.3.0")
 }
 
 intellijPlatform {
@@ -45,6 +52,46 @@ intellijPlatform {
     }
 }
 
+sourceSets {
+    // Standalone tools that turn docs/markdown/reference into the binary signature and documentation catalogues
+    create("generator")
+}
+
+val generateSignatureCatalog by tasks.registering(JavaExec::class) {
+    val referenceDir = layout.projectDirectory.dir("docs/markdown/reference")
+    val outputDir = layout.buildDirectory.dir("generated/signatures")
+    inputs.dir(referenceDir)
+    outputs.dir(outputDir)
+    classpath = sourceSets["generator"].runtimeClasspath
+    mainClass = "io.github.houseofai.pinescript.generator.SignatureCatalogGenerator"
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            referenceDir.asFile.absolutePath,
+            outputDir.get().file("io/github/houseofai/pinescript/parameterinfo/signatures.bin").asFile.absolutePath
+        )
+    })
+}
+
+val generateDocumentationCatalog by tasks.registering(JavaExec::class) {
+    val referenceDir = layout.projectDirectory.dir("docs/markdown/reference")
+    val outputDir = layout.buildDirectory.dir("generated/documentation")
+    inputs.dir(referenceDir)
+    outputs.dir(outputDir)
+    classpath = sourceSets["generator"].runtimeClasspath
+    mainClass = "io.github.houseofai.pinescript.generator.DocumentationCatalogGenerator"
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            referenceDir.asFile.absolutePath,
+            outputDir.get().file("io/github/houseofai/pinescript/documentation/docs.bin").asFile.absolutePath
+        )
+    })
+}
+
+sourceSets.main {
+    resources.srcDir(generateSignatureCatalog)
+    resources.srcDir(generateDocumentationCatalog)
+}
+
 java {
     // Use the current JDK instead of requiring toolchain
     sourceCompatibility = JavaVersion.VERSION_17
@@ -0,0 +1,367 @@
+package io.github.houseofai.pinescript.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool that renders every reference page under {@code docs/markdown/reference} to the
+ * HTML shown by the documentation popup and stores it in the indexed catalogue read by
+ * {@code PineScriptDocumentationCatalog}.
+ * <p>
+ * Entries are keyed like the anchors the reference uses for cross links: {@code fun_ta.sma},
+ * {@code var_close}, {@code const_color.red}, {@code type_array}, {@code kw_for}, {@code op_+} and
+ * {@code annot_param}. A generic function such as {@code fun_array.new<type>} is also stored as
+ * {@code fun_array.new}.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic 'PDOC', int version
+ * int entryCount, then per entry sorted by key: int keyOffset, int keyLength, int htmlOffset, int htmlLength
+ * UTF-8 data that the offsets point into, relative to its start
+ * </pre>
+ * Usage: {@code DocumentationCatalogGenerator <reference dir> <output file>}
+ */
+public final class DocumentationCatalogGenerator {
+    static final int MAGIC = 0x50444F43;
+    static final int VERSION = 1;
+
+    private static final Map<String, String> KINDS = Map.of(
+        "functions", "fun_",
+        "variables", "var_",
+        "constants", "const_",
+        "types", "type_",
+        "keywords", "kw_",
+        "operators", "op_",
+        "annotations", "annot_");
+
+    private static final Pattern SECTION = Pattern.compile(
+        "^(Syntax|Syntax & Overloads|Arguments|Example|Returns|Remarks|See also|Type|Fields)$");
+    private static final Pattern ARGUMENT = Pattern.compile("^([A-Za-z_0-9][A-Za-z_0-9, .\\\\]*?) \\(([^)]*)\\)\\s*(.*)$");
+    private static final Pattern INLINE = Pattern.compile(
+        "\\[([^\\]]*)]\\(#([^)]*)\\)|\\[([^\\]]*)]\\(([^)]*)\\)|`([^`]*)`|\\*\\*(.+?)\\*\\*");
+
+    // Mirrors com.intellij.lang.documentation.DocumentationMarkup
+    private static final String DEFINITION_START = "<div class='definition'><pre>";
+    private static final String DEFINITION_END = "</pre></div>";
+    private static final String CONTENT_START = "<div class='content'>";
+    private static final String CONTENT_END = "</div>";
+    private static final String SECTIONS_START = "<table class='sections'>";
+    private static final String SECTIONS_END = "</table>";
+    private static final String SECTION_HEADER_START = "<tr><td valign='top' class='section'><p>";
+    private static final String SECTION_SEPARATOR = "</td><td valign='top'>";
+    private static final String SECTION_END = "</td></tr>";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: DocumentationCatalogGenerator <reference dir> <output file>");
+        }
+        Path reference = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        Files.createDirectories(output.getParent());
+        generate(reference, output);
+    }
+
+    private static void generate(Path reference, Path output) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        for (Map.Entry<String, String> kind : new TreeMap<>(KINDS).entrySet()) {
+            for (Path page : pages(reference.resolve(kind.getKey()))) {
+                Page parsed = Page.parse(Files.readAllLines(page, StandardCharsets.UTF_8));
+                if (parsed == null) {
+                    continue;
+                }
+                String html = parsed.render();
+                String key = kind.getValue() + parsed.name;
+                entries.putIfAbsent(key, html);
+                int generic = key.indexOf('<');
+                if (generic > 0) {
+                    entries.putIfAbsent(key.substring(0, generic), html);
+                }
+            }
+        }
+
+        // Identical pages share one copy of their HTML
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        Map<String, int[]> htmlRanges = new TreeMap<>();
+        int[][] index = new int[entries.size()][];
+        int i = 0;
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            int[] key = append(data, entry.getKey());
+            int[] html = htmlRanges.get(entry.getValue());
+            if (html == null) {
+                html = append(data, entry.getValue());
+                htmlRanges.put(entry.getValue(), html);
+            }
+            index[i++] = new int[]{key[0], key[1], html[0], html[1]};
+        }
+
+        try (OutputStream file = Files.newOutputStream(output);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(index.length);
+            for (int[] record : index) {
+                for (int value : record) {
+                    out.writeInt(value);
+                }
+            }
+            data.writeTo(out);
+        }
+        System.out.printf("Documentation catalogue: %d entries, %d bytes of HTML%n", index.length, data.size());
+    }
+
+    private static int[] append(ByteArrayOutputStream data, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int offset = data.size();
+        data.writeBytes(bytes);
+        return new int[]{offset, bytes.length};
+    }
+
+    private static List<Path> pages(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".md")).sorted().toList();
+        }
+    }
+
+    /**
+     * One reference page split into its title, description paragraphs and titled sections.
+     */
+    private static final class Page {
+        final String name;
+        final List<String> description = new ArrayList<>();
+        final Map<String, List<String>> sections = new TreeMap<>();
+        final List<String> sectionOrder = new ArrayList<>();
+
+        private Page(String name) {
+            this.name = name;
+        }
+
+        static Page parse(List<String> lines) {
+            Page page = null;
+            List<String> target = null;
+            for (String line : lines) {
+                String stripped = line.strip();
+                if (page == null) {
+                    if (stripped.startsWith("### ")) {
+                        String title = unescape(stripped.substring(4).strip());
+                        if (title.endsWith("()")) {
+                            title = title.substring(0, title.length() - 2);
+                        }
+                        if (title.startsWith("@")) {
+                            title = title.substring(1);
+                        }
+                        page = new Page(title);
+                        target = page.description;
+                    }
+                    continue;
+                }
+                if (SECTION.matcher(stripped).matches()) {
+                    if (!page.sections.containsKey(stripped)) {
+                        page.sectionOrder.add(stripped);
+                    }
+                    target = page.sections.computeIfAbsent(stripped, section -> new ArrayList<>());
+                    continue;
+                }
+                if (target == page.description && stripped.matches("\\d+ overloads")) {
+                    continue;
+                }
+                target.add(line);
+            }
+            return page;
+        }
+
+        String render() {
+            StringBuilder html = new StringBuilder();
+            html.append(DEFINITION_START).append(definition()).append(DEFINITION_END);
+            String content = blocks(description, false);
+            if (!content.isEmpty()) {
+                html.append(CONTENT_START).append(content).append(CONTENT_END);
+            }
+            StringBuilder rows = new StringBuilder();
+            for (String section : sectionOrder) {
+                if (section.startsWith("Syntax") && !codeLines(sections.get(section)).isEmpty() || section.equals("Type")) {
+                    continue;
+                }
+                List<String> lines = sections.get(section);
+                String body = section.equals("Arguments") || section.equals("Fields")
+                    ? arguments(lines)
+                    : blocks(lines, section.equals("See also"));
+                if (!body.isEmpty()) {
+                    rows.append(SECTION_HEADER_START).append(escape(section)).append(':')
+                        .append(SECTION_SEPARATOR).append(body).append(SECTION_END);
+                }
+            }
+            if (rows.length() > 0) {
+                html.append(SECTIONS_START).append(rows).append(SECTIONS_END);
+            }
+            return html.toString();
+        }
+
+        /**
+         * The signatures for functions and keywords, {@code type name} for values, otherwise the name.
+         */
+        private String definition() {
+            for (String section : List.of("Syntax & Overloads", "Syntax")) {
+                List<String> signatures = codeLines(sections.getOrDefault(section, List.of()));
+                if (!signatures.isEmpty()) {
+                    return escape(String.join("\n", signatures));
+                }
+            }
+            List<String> type = sections.get("Type");
+            if (type != null) {
+                String text = String.join(" ", type).strip();
+                if (!text.isEmpty()) {
+                    return escape(unescape(text)) + " <b>" + escape(name) + "</b>";
+                }
+            }
+            return "<b>" + escape(name) + "</b>";
+        }
+
+        private static List<String> codeLines(List<String> lines) {
+            List<String> code = new ArrayList<>();
+            boolean inCode = false;
+            for (String line : lines) {
+                int fences = fences(line);
+                if (fences > 0) {
+                    inCode ^= fences % 2 == 1;
+                } else if (inCode && !line.isBlank()) {
+                    code.add(line.stripTrailing());
+                }
+            }
+            return code;
+        }
+
+        /**
+         * Renders {@code name (type) description} lines as one paragraph each.
+         */
+        private static String arguments(List<String> lines) {
+            StringBuilder html = new StringBuilder();
+            for (String line : lines) {
+                String stripped = line.strip();
+                if (stripped.isEmpty()) {
+                    continue;
+                }
+                Matcher matcher = ARGUMENT.matcher(stripped);
+                html.append("<p>");
+                if (matcher.matches()) {
+                    html.append("<code>").append(escape(unescape(matcher.group(1)))).append("</code> (")
+                        .append(escape(unescape(matcher.group(2)))).append(") ").append(inline(matcher.group(3)));
+                } else {
+                    html.append(inline(stripped));
+                }
+            }
+            return html.toString();
+        }
+
+        /**
+         * Renders paragraphs and fenced code blocks. Links in a "See also" list are comma separated.
+         */
+        private static String blocks(List<String> lines, boolean linkList) {
+            StringBuilder html = new StringBuilder();
+            StringBuilder paragraph = new StringBuilder();
+            StringBuilder code = null;
+            for (String line : lines) {
+                int fences = fences(line);
+                if (fences > 0) {
+                    for (int i = 0; i < fences; i++) {
+                        if (code == null) {
+                            flush(html, paragraph);
+                            code = new StringBuilder();
+                        } else {
+                            html.append("<pre><code>").append(escape(code.toString().stripTrailing())).append("</code></pre>");
+                            code = null;
+                        }
+                    }
+                    continue;
+                }
+                if (code != null) {
+                    code.append(line.stripTrailing()).append('\n');
+                } else if (line.isBlank()) {
+                    flush(html, paragraph);
+                } else {
+                    String text = line.strip();
+                    if (linkList) {
+                        text = text.replace(")[", "), [");
+                    }
+                    if (paragraph.length() > 0) {
+                        paragraph.append(' ');
+                    }
+                    paragraph.append(text);
+                }
+            }
+            flush(html, paragraph);
+            return html.toString();
+        }
+
+        /**
+         * Counts the code fences on a line; the overload list wraps each signature in a linked block,
+         * which puts a closing and an opening fence on one line.
+         */
+        private static int fences(String line) {
+            int count = 0;
+            for (int i = line.indexOf("```"); i >= 0; i = line.indexOf("```", i + 3)) {
+                count++;
+            }
+            return count;
+        }
+
+        private static void flush(StringBuilder html, StringBuilder paragraph) {
+            if (paragraph.length() > 0) {
+                html.append("<p>").append(inline(paragraph.toString()));
+                paragraph.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Renders reference links as {@code psi_element://} links keyed like catalogue entries, and code
+     * spans and bold text as HTML; everything else is escaped.
+     */
+    static String inline(String text) {
+        StringBuilder html = new StringBuilder();
+        Matcher matcher = INLINE.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            html.append(escape(unescape(text.substring(last, matcher.start()))));
+            if (matcher.group(1) != null) {
+                String anchor = unescape(matcher.group(2));
+                html.append("<a href=\"psi_element://").append(escape(anchor)).append("\"><code>")
+                    .append(escape(unescape(matcher.group(1)))).append("</code></a>");
+            } else if (matcher.group(3) != null) {
+                html.append("<a href=\"").append(escape(matcher.group(4))).append("\">")
+                    .append(escape(unescape(matcher.group(3)))).append("</a>");
+            } else if (matcher.group(5) != null) {
+                html.append("<code>").append(escape(matcher.group(5))).append("</code>");
+            } else {
+                html.append("<b>").append(inline(matcher.group(6))).append("</b>");
+            }
+            last = matcher.end();
+        }
+        html.append(escape(unescape(text.substring(last))));
+        return html.toString();
+    }
+
+    private static String unescape(String text) {
+        return text.replace("\\_", "_").replace("\\*", "*").replace("\\<", "<").replace("\\>", ">")
+            .replace("\\[", "[").replace("\\]", "]");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,493 @@
+package io.github.houseofai.pinescript.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool that compiles the reference pages under {@code docs/markdown/reference} into the binary
+ * signature catalogue read by {@code PineScriptSignatureCatalog}.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic 'PSIG', int version
+ * int stringCount, then per string: int byteLength, UTF-8 bytes
+ * int functionCount, then function records sorted by name:
+ *     int name, int description, int overloadCount, then per overload:
+ *         int returnType, int parameterCount, then per parameter: int name, int type, int defaultValue, byte flags
+ * int variableCount, then per variable: int name, int type, int description (sorted by name)
+ * int constantCount, then per constant: int name, int type, int description (sorted by name)
+ * int typeCount, then per type: int name, int description (sorted by name)
+ * </pre>
+ * Every {@code int} except the counts and lengths is an index into the string table, {@code -1} for none.
+ * Parameter flags: bit 0 optional, bit 1 variadic.
+ * <p>
+ * Usage: {@code SignatureCatalogGenerator <reference dir> <output file>}
+ */
+public final class SignatureCatalogGenerator {
+    static final int MAGIC = 0x50534947;
+    static final int VERSION = 1;
+
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern SIGNATURE = Pattern.compile("^([\\w.]+(?:<[\\w, ]*>)?)\\((.*)\\)\\s*\u2192\\s*(.+)$");
+    private static final Pattern ARGUMENT = Pattern.compile("^([A-Za-z_0-9][A-Za-z_0-9, .]*?) \\(([^)]*)\\)\\s*(.*)$");
+    private static final Pattern DEFAULT = Pattern.compile(
+        "(?:[Dd]efault value is|[Tt]he default is|[Tt]he default value is|[Dd]efault is|[Dd]efaults to|default is)\\s+");
+    private static final Pattern SECTION = Pattern.compile(
+        "^(Syntax|Syntax & Overloads|Arguments|Example|Returns|Remarks|See also|Type|Fields)$");
+    private static final Pattern REQUIRED = Pattern.compile("\\b(?:Required argument|A required parameter)\\.");
+    private static final Pattern OPTIONAL = Pattern.compile("\\b[Oo]ptional\\b|\\b[Ii]f (?:not specified|omitted|not set)\\b");
+    /**
+     * Presentation arguments that are optional wherever they appear, but whose descriptions say
+     * so inconsistently: "If not specified" on some pages, nothing on others. A {@code title} that
+     * is the first argument, as in {@code indicator}, stays required.
+     */
+    private static final Set<String> UNMARKED_OPTIONAL = Set.of("title", "tooltip", "inline", "group", "minval", "maxval", "step", "options");
+    /** A qualified type such as {@code series int/float}, {@code array<line>} or {@code chart.point}; anything else is prose. */
+    private static final Pattern TYPE = Pattern.compile(
+        "^(?:(?:const|input|simple|series) )?[A-Za-z_][\\w.]*(?:<[\\w., ]*>)?(?:\\[])?(?:/[A-Za-z_][\\w.]*(?:<[\\w., ]*>)?(?:\\[])?)*$");
+    /** A literal or a name at the start of a default value sentence, up to the end of the sentence or clause. */
+    private static final Pattern DEFAULT_LITERAL = Pattern.compile(
+        "^(\"[^\"]*\"|#[0-9A-Fa-f]{6}(?:[0-9A-Fa-f]{2})?|-?\\d+(?:\\.\\d+)?|[A-Za-z_]\\w*(?:\\.[A-Za-z_]\\w*)*)(?:[.,;]?(?:\\s|$)|\\)|$)");
+
+    /**
+     * Types of arguments that appear in a syntax line but have no entry under Arguments, because
+     * the page only documents the arguments of its first overload. Keyed by function and argument.
+     */
+    private static final Map<String, String> UNDOCUMENTED_TYPES = Map.ofEntries(
+        Map.entry("box.new left", "series int"),
+        Map.entry("box.new top", "series int/float"),
+        Map.entry("box.new right", "series int"),
+        Map.entry("box.new bottom", "series int/float"),
+        Map.entry("fill plot1", "plot"),
+        Map.entry("fill plot2", "plot"),
+        Map.entry("fill top_value", "series int/float"),
+        Map.entry("fill bottom_value", "series int/float"),
+        Map.entry("fill top_color", "series color"),
+        Map.entry("fill bottom_color", "series color"),
+        Map.entry("fill show_last", "input int"),
+        Map.entry("input.float minval", "const int/float"),
+        Map.entry("input.float maxval", "const int/float"),
+        Map.entry("input.float step", "const int/float"),
+        Map.entry("input.int minval", "const int"),
+        Map.entry("input.int maxval", "const int"),
+        Map.entry("input.int step", "const int"),
+        Map.entry("label.new x", "series int"),
+        Map.entry("label.new y", "series int/float"),
+        Map.entry("line.new x1", "series int"),
+        Map.entry("line.new y1", "series int/float"),
+        Map.entry("line.new x2", "series int"),
+        Map.entry("line.new y2", "series int/float"),
+        Map.entry("log.error formatString", "series string"),
+        Map.entry("log.info formatString", "series string"),
+        Map.entry("log.warning formatString", "series string"),
+        Map.entry("math.round precision", "series int"),
+        Map.entry("str.tostring format", "series string"),
+        Map.entry("ta.pivothigh source", "series int/float"),
+        Map.entry("ta.pivotlow source", "series int/float"),
+        Map.entry("ta.vwap stdev_mult", "series int/float"),
+        Map.entry("ticker.kagi param", "simple int/float"),
+        Map.entry("ticker.kagi style", "simple string"),
+        Map.entry("time timezone", "series string"),
+        Map.entry("time_close timezone", "series string"),
+        Map.entry("timestamp timezone", "series string"),
+        Map.entry("timestamp year", "series int"),
+        Map.entry("timestamp month", "series int"),
+        Map.entry("timestamp day", "series int"),
+        Map.entry("timestamp hour", "series int"),
+        Map.entry("timestamp minute", "series int"),
+        Map.entry("timestamp second", "series int")
+    );
+
+    private final Map<String, Integer> myStrings = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: SignatureCatalogGenerator <reference dir> <output file>");
+        }
+        Path reference = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        Files.createDirectories(output.getParent());
+        new SignatureCatalogGenerator().generate(reference, output);
+    }
+
+    private void generate(Path reference, Path output) throws IOException {
+        Map<String, Value> variables = parseValues(reference.resolve("variables"));
+        Map<String, Value> constants = parseValues(reference.resolve("constants"));
+        Map<String, Value> types = parseValues(reference.resolve("types"));
+        // A default given as a bare name must be one of these; other words are prose
+        Set<String> names = new HashSet<>(variables.keySet());
+        names.addAll(constants.keySet());
+
+        Map<String, Function> functions = new TreeMap<>();
+        for (Path page : pages(reference.resolve("functions"))) {
+            Function function = parseFunction(Files.readAllLines(page, StandardCharsets.UTF_8), names);
+            if (function != null) {
+                Function existing = functions.putIfAbsent(function.name, function);
+                if (existing != null) {
+                    existing.overloads.addAll(function.overloads);
+                }
+            }
+        }
+
+        // Intern every string first so the table can be written in front of the records
+        for (Function function : functions.values()) {
+            intern(function.name);
+            intern(function.description);
+            for (Overload overload : function.overloads) {
+                intern(overload.returnType);
+                for (Parameter parameter : overload.parameters) {
+                    intern(parameter.name);
+                    intern(parameter.type);
+                    intern(parameter.defaultValue);
+                }
+            }
+        }
+        for (Map<String, Value> values : List.of(variables, constants, types)) {
+            for (Value value : values.values()) {
+                intern(value.name);
+                intern(value.type);
+                intern(value.description);
+            }
+        }
+
+        try (OutputStream file = Files.newOutputStream(output);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(myStrings.size());
+            for (String string : myStrings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(functions.size());
+            for (Function function : functions.values()) {
+                out.writeInt(intern(function.name));
+                out.writeInt(intern(function.description));
+                out.writeInt(function.overloads.size());
+                for (Overload overload : function.overloads) {
+                    out.writeInt(intern(overload.returnType));
+                    out.writeInt(overload.parameters.size());
+                    for (Parameter parameter : overload.parameters) {
+                        out.writeInt(intern(parameter.name));
+                        out.writeInt(intern(parameter.type));
+                        out.writeInt(intern(parameter.defaultValue));
+                        out.writeByte((parameter.optional ? 1 : 0) | (parameter.variadic ? 2 : 0));
+                    }
+                }
+            }
+            writeValues(out, variables, true);
+            writeValues(out, constants, true);
+            writeValues(out, types, false);
+        }
+        System.out.printf("Signature catalogue: %d functions, %d variables, %d constants, %d types, %d strings%n",
+            functions.size(), variables.size(), constants.size(), types.size(), myStrings.size());
+    }
+
+    private void writeValues(DataOutputStream out, Map<String, Value> values, boolean typed) throws IOException {
+        out.writeInt(values.size());
+        for (Value value : values.values()) {
+            out.writeInt(intern(value.name));
+            if (typed) {
+                out.writeInt(intern(value.type));
+            }
+            out.writeInt(intern(value.description));
+        }
+    }
+
+    private int intern(String string) {
+        return string == null ? -1 : myStrings.computeIfAbsent(string, key -> myStrings.size());
+    }
+
+    private static List<Path> pages(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".md")).sorted().toList();
+        }
+    }
+
+    private static Function parseFunction(List<String> lines, Set<String> names) {
+        String title = title(lines);
+        if (title == null) {
+            return null;
+        }
+        List<Overload> overloads = new ArrayList<>();
+        Map<String, String[]> arguments = new HashMap<>();
+        String section = null;
+        for (String rawLine : lines) {
+            String line = rawLine.strip();
+            if (SECTION.matcher(line).matches()) {
+                section = line;
+                continue;
+            }
+            if (section == null) {
+                continue;
+            }
+            if (section.startsWith("Syntax")) {
+                // Only signatures inside the code fences match; the fences themselves are skipped
+                Matcher matcher = SIGNATURE.matcher(line);
+                if (matcher.matches()) {
+                    overloads.add(new Overload(matcher.group(2), clean(matcher.group(3))));
+                }
+            } else if (section.equals("Arguments")) {
+                Matcher matcher = ARGUMENT.matcher(unescape(line));
+                if (matcher.matches()) {
+                    String[] argument = {clean(matcher.group(2)), clean(matcher.group(3))};
+                    for (String name : matcher.group(1).split(",")) {
+                        arguments.putIfAbsent(name.strip(), argument);
+                    }
+                }
+            }
+        }
+        if (overloads.isEmpty()) {
+            return null;
+        }
+        String name = functionName(title);
+        for (Overload overload : overloads) {
+            overload.resolve(name, arguments, names);
+        }
+        return new Function(name, description(lines), overloads);
+    }
+
+    private static Map<String, Value> parseValues(Path directory) throws IOException {
+        Map<String, Value> values = new TreeMap<>();
+        for (Path page : pages(directory)) {
+            List<String> lines = Files.readAllLines(page, StandardCharsets.UTF_8);
+            String title = title(lines);
+            if (title == null) {
+                continue;
+            }
+            String type = null;
+            for (int i = 0; i < lines.size(); i++) {
+                if (lines.get(i).strip().equals("Type")) {
+                    for (int j = i + 1; j < lines.size() && type == null; j++) {
+                        if (!lines.get(j).isBlank()) {
+                            type = clean(lines.get(j));
+                        }
+                    }
+                    break;
+                }
+            }
+            values.putIfAbsent(title, new Value(title, type, description(lines)));
+        }
+        return values;
+    }
+
+    private static String title(List<String> lines) {
+        for (String line : lines) {
+            if (line.startsWith("### ")) {
+                String title = unescape(line.substring(4).strip());
+                return title.endsWith("()") ? title.substring(0, title.length() - 2) : title;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops a generic suffix so that {@code array.new<type>} is looked up as {@code array.new}.
+     */
+    private static String functionName(String title) {
+        int generic = title.indexOf('<');
+        return generic > 0 ? title.substring(0, generic) : title;
+    }
+
+    /**
+     * Returns the first paragraph after the title, skipping the "N overloads" line.
+     */
+    private static String description(List<String> lines) {
+        boolean afterTitle = false;
+        StringBuilder paragraph = new StringBuilder();
+        for (String rawLine : lines) {
+            String line = rawLine.strip();
+            if (!afterTitle) {
+                afterTitle = line.startsWith("### ");
+                continue;
+            }
+            if (line.isEmpty() || line.matches("\\d+ overloads")) {
+                if (paragraph.length() > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (SECTION.matcher(line).matches()) {
+                break;
+            }
+            if (paragraph.length() > 0) {
+                paragraph.append(' ');
+            }
+            paragraph.append(line);
+        }
+        return paragraph.length() > 0 ? clean(paragraph.toString()) : null;
+    }
+
+    private static String unescape(String text) {
+        return text.replace("\\_", "_").replace("\\*", "*").replace("\\<", "<").replace("\\>", ">");
+    }
+
+    /**
+     * Turns reference markdown into plain text: links keep their label, emphasis and escapes are dropped.
+     */
+    private static String clean(String text) {
+        String plain = LINK.matcher(unescape(text)).replaceAll("$1");
+        return plain.replace("**", "").strip();
+    }
+
+    /**
+     * Extracts the default value from an argument description, e.g. {@code plot.style_line} from
+     * "Default value is [plot.style\_line](#const_plot.style_line).". Only a literal, a dotted
+     * constant or one of the built-in {@code names} is accepted, so prose such as "The default is
+     * the `format` value used by..." yields no default. "An empty string" is taken as {@code ""}.
+     */
+    static String defaultValue(String description, Set<String> names) {
+        Matcher matcher = DEFAULT.matcher(description);
+        if (!matcher.find()) {
+            return null;
+        }
+        String rest = description.substring(matcher.end()).strip();
+        if (rest.startsWith("`")) {
+            int end = rest.indexOf('`', 1);
+            rest = end > 0 ? rest.substring(1, end) + rest.substring(end + 1) : rest;
+        }
+        if (rest.startsWith("'")) {
+            // Quotes mark code as often as a string: 'na' and 'false' are the values themselves
+            int end = rest.indexOf('\'', 1);
+            if (end > 0) {
+                String quoted = rest.substring(1, end);
+                String value = defaultLiteral(quoted, names);
+                return value != null && value.equals(quoted) ? value : '"' + quoted + '"';
+            }
+        }
+        if (rest.regionMatches(true, 0, "an empty string", 0, 15) || rest.regionMatches(true, 0, "empty string", 0, 12)) {
+            return "\"\"";
+        }
+        return defaultLiteral(rest, names);
+    }
+
+    private static String defaultLiteral(String text, Set<String> names) {
+        Matcher literal = DEFAULT_LITERAL.matcher(text);
+        if (!literal.find()) {
+            return null;
+        }
+        String value = literal.group(1);
+        char first = value.charAt(0);
+        boolean name = Character.isLetter(first) || first == '_';
+        if (name && value.indexOf('.') < 0 && !names.contains(value)
+            && !value.equals("true") && !value.equals("false") && !value.equals("na")) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Decides whether an argument may be left out. It may if its description gives a default, in
+     * prose or as a value, or calls it optional, if it is a presentation argument after the first,
+     * or if it follows an optional argument, since positional arguments cannot skip one. Anything
+     * else is required.
+     */
+    static boolean isOptional(String name, String description, Parameter previous) {
+        if (REQUIRED.matcher(description).find()) {
+            return false;
+        }
+        return previous != null && (previous.optional || UNMARKED_OPTIONAL.contains(name))
+            || DEFAULT.matcher(description).find() || OPTIONAL.matcher(description).find();
+    }
+
+    /**
+     * Returns a documented argument type, or {@code null} if the page describes the argument in
+     * prose instead, as {@code request.security} does for {@code expression}.
+     */
+    static String type(String documented) {
+        return documented != null && TYPE.matcher(documented).matches() ? documented : null;
+    }
+
+    private static final class Function {
+        final String name;
+        final String description;
+        final List<Overload> overloads;
+
+        Function(String name, String description, List<Overload> overloads) {
+            this.name = name;
+            this.description = description;
+            this.overloads = overloads;
+        }
+    }
+
+    private static final class Overload {
+        final String parameterList;
+        final String returnType;
+        final List<Parameter> parameters = new ArrayList<>();
+
+        Overload(String parameterList, String returnType) {
+            this.parameterList = parameterList;
+            this.returnType = returnType;
+        }
+
+        void resolve(String function, Map<String, String[]> arguments, Set<String> knownNames) {
+            if (parameterList.isBlank()) {
+                return;
+            }
+            String[] names = parameterList.split(",");
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i].strip();
+                if (name.equals("...")) {
+                    if (!parameters.isEmpty()) {
+                        parameters.get(parameters.size() - 1).variadic = true;
+                    }
+                    continue;
+                }
+                String[] argument = arguments.get(name);
+                String type = argument != null ? type(argument[0]) : UNDOCUMENTED_TYPES.get(function + " " + name);
+                String description = argument != null ? argument[1] : "";
+                Parameter previous = parameters.isEmpty() ? null : parameters.get(parameters.size() - 1);
+                // An argument the page does not document cannot be checked, so it is never reported missing
+                parameters.add(new Parameter(name, type, defaultValue(description, knownNames),
+                    argument == null || isOptional(name, description, previous)));
+            }
+        }
+    }
+
+    private static final class Parameter {
+        final String name;
+        final String type;
+        final String defaultValue;
+        final boolean optional;
+        boolean variadic;
+
+        Parameter(String name, String type, String defaultValue, boolean optional) {
+            this.name = name;
+            this.type = type;
+            this.defaultValue = defaultValue;
+            this.optional = optional;
+        }
+    }
+
+    private static final class Value {
+        final String name;
+        final String type;
+        final String description;
+
+        Value(String name, String type, String description) {
+            this.name = name;
+            this.type = type;
+            this.description = description;
+        }
+    }
+}
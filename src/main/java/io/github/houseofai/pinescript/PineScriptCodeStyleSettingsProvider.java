@@ -2,26 +2,31 @@ package io.github.houseofai.pinescript;
 
 import com.intellij.application.options.CodeStyleAbstractConfigurable;
 import com.intellij.application.options.CodeStyleAbstractPanel;
-import com.intellij.lang.Language;
-import com.intellij.openapi.editor.colors.EditorColorsScheme;
-import com.intellij.openapi.editor.highlighter.EditorHighlighter;
-import com.intellij.openapi.editor.highlighter.EditorHighlighterFactory;
+import com.intellij.application.options.TabbedLanguageCodeStylePanel;
 import com.intellij.psi.codeStyle.CodeStyleConfigurable;
 import com.intellij.psi.codeStyle.CodeStyleSettings;
 import com.intellij.psi.codeStyle.CodeStyleSettingsProvider;
 import com.intellij.psi.codeStyle.CustomCodeStyleSettings;
+import io.github.houseofai.pinescript.formatter.PineScriptCodeStyleSettings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.swing.*;
-
+/**
+ * The Pine Script page of the code style settings. The options shown on each tab are declared by
+ * {@link io.github.houseofai.pinescript.formatter.PineScriptLanguageCodeStyleSettingsProvider}.
+ */
 public class PineScriptCodeStyleSettingsProvider extends CodeStyleSettingsProvider {
+    @Override
+    public @Nullable CustomCodeStyleSettings createCustomSettings(@NotNull CodeStyleSettings settings) {
+        return new PineScriptCodeStyleSettings(settings);
+    }
+
     @Override
     public @NotNull CodeStyleConfigurable createConfigurable(@NotNull CodeStyleSettings settings, @NotNull CodeStyleSettings modelSettings) {
         return new CodeStyleAbstractConfigurable(settings, modelSettings, "PineScript") {
             @Override
             protected @NotNull CodeStyleAbstractPanel createPanel(@NotNull CodeStyleSettings settings) {
-                return new PineScriptCodeStylePanel(settings);
+                return new PineScriptCodeStylePanel(getCurrentSettings(), settings);
             }
 
             @Override
@@ -37,67 +42,17 @@ public class PineScriptCodeStyleSettingsProvider extends CodeStyleSettingsProvid
         return "PineScript";
     }
 
-    private static class PineScriptCodeStylePanel extends CodeStyleAbstractPanel {
-        protected PineScriptCodeStylePanel(@NotNull CodeStyleSettings settings) {
-            super(settings);
-        }
-
-        @Override
-        protected void resetImpl(@NotNull CodeStyleSettings settings) {
-        }
-
-        @Override
-        public void apply(@NotNull CodeStyleSettings settings) {
-        }
-
-        @Override
-        public boolean isModified(CodeStyleSettings settings) {
-            return false;
-        }
-
-        @Nullable
-        @Override
-        public JComponent getPanel() {
-            return new JPanel();
-        }
-
-        @Override
-        protected @NotNull String getPreviewText() {
-            return """
-                    //@version=6
-                    indicator("My Script", overlay=true)
-
-                    // Calculate moving average
-                    length = input.int(14, "Length")
-                    src = close
-                    ma = ta.sma(src, length)
-
-                    // Plot
-                    plot(ma, color=color.blue, linewidth=2)
-                    """;
-        }
-
-        @NotNull
-        @Override
-        public com.intellij.openapi.fileTypes.FileType getFileType() {
-            return PineScriptFileType.INSTANCE;
-        }
-
-        @Nullable
-        @Override
-        public Language getDefaultLanguage() {
-            return PineScriptLanguage.INSTANCE;
-        }
-
-        @NotNull
-        @Override
-        protected EditorHighlighter createHighlighter(@NotNull EditorColorsScheme scheme) {
-            return EditorHighlighterFactory.getInstance().createEditorHighlighter(getFileType(), scheme, null);
+    private static class PineScriptCodeStylePanel extends TabbedLanguageCodeStylePanel {
+        protected PineScriptCodeStylePanel(@NotNull CodeStyleSettings currentSettings, @NotNull CodeStyleSettings settings) {
+            super(PineScriptLanguage.INSTANCE, currentSettings, settings);
         }
 
         @Override
-        protected int getRightMargin() {
-            return 120;
+        protected void initTabs(CodeStyleSettings settings) {
+            // No indents tab: block indentation is fixed by the language
+            addSpacesTab(settings);
+            addWrappingAndBracesTab(settings);
+            addBlankLinesTab(settings);
         }
     }
 }
@@ -0,0 +1,39 @@
+package io.github.houseofai.pinescript;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Access to the binary catalogues generated at build time.
+ */
+public final class PineScriptResources {
+    private PineScriptResources() {
+    }
+
+    /**
+     * Returns the content of a resource. It is memory-mapped when it is a plain file (development
+     * runs) and read into one heap buffer when it lives in the plugin jar, since jar entries cannot
+     * be mapped. Callers should only use absolute gets, so the buffer can be shared between threads.
+     */
+    @NotNull
+    public static ByteBuffer read(@NotNull URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+}
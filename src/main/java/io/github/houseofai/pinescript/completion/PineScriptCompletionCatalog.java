@@ -0,0 +1,688 @@
+package io.github.houseofai.pinescript.completion;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.icons.AllIcons;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * The built-in completion catalogue. It is built once, deduplicated by lookup string and sorted, and
+ * only the entries accepted by the prefix matcher of a completion request are turned into lookup elements.
+ * Dotted entries are also indexed by their namespace, so {@code ta.} completion only looks at {@code ta} members.
+ */
+final class PineScriptCompletionCatalog {
+    private static final Entry[] ENTRIES = build();
+    private static final Map<String, Entry[]> NAMESPACE_MEMBERS = indexByNamespace(ENTRIES);
+
+    private PineScriptCompletionCatalog() {
+    }
+
+    /**
+     * Passes a fresh lookup element for every catalogue entry the matcher accepts to the consumer.
+     */
+    static void addMatching(@NotNull PrefixMatcher matcher, @NotNull Consumer<LookupElement> consumer) {
+        for (Entry entry : ENTRIES) {
+            if (matcher.prefixMatches(entry.myLookupString)) {
+                consumer.accept(entry.createLookupElement());
+            }
+        }
+    }
+
+    /**
+     * Passes the members of a namespace accepted by the matcher to the consumer. The lookup strings are
+     * the member names alone, since the namespace has already been typed.
+     */
+    static void addNamespaceMembers(@NotNull String namespace, @NotNull PrefixMatcher matcher,
+                                    @NotNull Consumer<LookupElement> consumer) {
+        Entry[] members = NAMESPACE_MEMBERS.get(namespace);
+        if (members == null) {
+            return;
+        }
+        int start = namespace.length() + 1;
+        for (Entry entry : members) {
+            String member = entry.myLookupString.substring(start);
+            if (matcher.prefixMatches(member)) {
+                consumer.accept(entry.createLookupElement(member));
+            }
+        }
+    }
+
+    /**
+     * Passes the constants that can stand in for the given constant, e.g. every {@code plot.style_*} for
+     * {@code plot.style_line}, to the consumer under their full names.
+     */
+    static void addSiblingConstants(@NotNull String constant, @NotNull PrefixMatcher matcher,
+                                    @NotNull Consumer<LookupElement> consumer) {
+        int dot = constant.lastIndexOf('.');
+        Entry[] members = dot > 0 ? NAMESPACE_MEMBERS.get(constant.substring(0, dot)) : null;
+        if (members == null) {
+            return;
+        }
+        // Constants that share a group prefix such as "style_" only mix with their own group
+        int underscore = constant.indexOf('_', dot);
+        String group = constant.substring(0, underscore > 0 ? underscore + 1 : dot + 1);
+        for (Entry entry : members) {
+            if (entry.myConstant && entry.myLookupString.startsWith(group) && matcher.prefixMatches(entry.myLookupString)) {
+                consumer.accept(entry.createLookupElement());
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String myLookupString;
+        private final String myTypeText;
+        private final Icon myIcon;
+        private final boolean myBold;
+        private final boolean myConstant;
+
+        Entry(@NotNull String lookupString, @NotNull String typeText, @Nullable Icon icon, boolean bold) {
+            myLookupString = lookupString;
+            myTypeText = typeText;
+            myIcon = icon;
+            myBold = bold;
+            myConstant = icon == AllIcons.Nodes.Constant;
+        }
+
+        @NotNull
+        LookupElement createLookupElement() {
+            return createLookupElement(myLookupString);
+        }
+
+        @NotNull
+        LookupElement createLookupElement(@NotNull String lookupString) {
+            LookupElementBuilder builder = LookupElementBuilder.create(lookupString)
+                    .withTypeText(myTypeText)
+                    .withIcon(myIcon);
+            return myBold ? builder.bold() : builder;
+        }
+    }
+
+    private static void addKeyword(Map<String, Entry> entries, String keyword) {
+        entries.putIfAbsent(keyword, new Entry(keyword, "keyword", null, true));
+    }
+
+    private static void add(Map<String, Entry> entries, String lookupString, String typeText, Icon icon) {
+        // The first occurrence of a lookup string wins, the hand-written lists below contain a few repeats
+        entries.putIfAbsent(lookupString, new Entry(lookupString, typeText, icon, false));
+    }
+
+    private static Map<String, Entry[]> indexByNamespace(Entry[] entries) {
+        Map<String, List<Entry>> members = new HashMap<>();
+        for (Entry entry : entries) {
+            int dot = entry.myLookupString.lastIndexOf('.');
+            if (dot > 0) {
+                members.computeIfAbsent(entry.myLookupString.substring(0, dot), key -> new ArrayList<>()).add(entry);
+            }
+        }
+        Map<String, Entry[]> index = new HashMap<>();
+        members.forEach((namespace, list) -> index.put(namespace, list.toArray(new Entry[0])));
+        return index;
+    }
+
+    private static Entry[] build() {
+        Map<String, Entry> entries = new TreeMap<>();
+
+        // Keywords (PineScript v6)
+        String[] keywords = {
+            "if", "else", "for", "while", "switch", "break", "continue", "return",
+            "function", "method", "var", "varip", "type", "enum",
+            "import", "export", "indicator", "strategy", "library",
+            "true", "false", "na", "and", "or", "not"
+        };
+
+        for (String keyword : keywords) {
+            addKeyword(entries, keyword);
+        }
+
+        // Built-in variables
+        String[] builtins = {
+            "open", "high", "low", "close", "volume", "time",
+            "bar_index", "last_bar_index", "hl2", "hlc3", "ohlc4", "hlcc4",
+            "barstate.isconfirmed", "barstate.isfirst", "barstate.ishistory",
+            "barstate.islast", "barstate.islastconfirmedhistory", "barstate.isnew", "barstate.isrealtime",
+            "syminfo.basecurrency", "syminfo.currency", "syminfo.description",
+            "syminfo.mintick", "syminfo.pointvalue", "syminfo.prefix",
+            "syminfo.root", "syminfo.session", "syminfo.ticker", "syminfo.tickerid", "syminfo.timezone", "syminfo.type",
+            "timeframe.period", "timeframe.multiplier", "timeframe.isdaily", "timeframe.isdwm",
+            "timeframe.isintraday", "timeframe.isminutes", "timeframe.ismonthly", "timeframe.isseconds", "timeframe.isweekly"
+        };
+
+        for (String builtin : builtins) {
+            add(entries, builtin, "built-in variable", AllIcons.Nodes.Variable);
+        }
+
+        // Technical analysis functions (ta.*)
+        String[][] taFunctions = {
+            {"sma", "Simple Moving Average"},
+            {"ema", "Exponential Moving Average"},
+            {"wma", "Weighted Moving Average"},
+            {"vwma", "Volume Weighted Moving Average"},
+            {"rma", "Rolling Moving Average"},
+            {"rsi", "Relative Strength Index"},
+            {"macd", "MACD"},
+            {"stoch", "Stochastic Oscillator"},
+            {"cci", "Commodity Channel Index"},
+            {"mfi", "Money Flow Index"},
+            {"bb", "Bollinger Bands"},
+            {"bbw", "Bollinger Bands Width"},
+            {"kc", "Keltner Channels"},
+            {"atr", "Average True Range"},
+            {"tr", "True Range"},
+            {"sar", "Parabolic SAR"},
+            {"supertrend", "SuperTrend"},
+            {"kama", "Kaufman Adaptive Moving Average"},
+            {"alma", "Arnaud Legoux Moving Average"},
+            {"dmi", "Directional Movement Index"},
+            {"adx", "Average Directional Index"},
+            {"aroon", "Aroon Oscillator"},
+            {"mom", "Momentum"},
+            {"roc", "Rate of Change"},
+            {"tsi", "True Strength Index"},
+            {"obv", "On Balance Volume"},
+            {"cum", "Cumulative (total sum)"},
+            {"sma", "Simple Moving Average"},
+            {"change", "Difference between current and previous value"},
+            {"correlation", "Correlation coefficient"},
+            {"stdev", "Standard Deviation"},
+            {"variance", "Variance"},
+            {"median", "Median"},
+            {"mode", "Mode"},
+            {"range", "Range (highest - lowest)"},
+            {"percentile_linear_interpolation", "Percentile with linear interpolation"},
+            {"percentile_nearest_rank", "Percentile with nearest rank"},
+            {"percentrank", "Percent rank"},
+            {"cross", "Cross (two series cross each other)"},
+            {"crossover", "Crossover (series crosses over another)"},
+            {"crossunder", "Crossunder (series crosses under another)"},
+            {"valuewhen", "Value when condition is true"},
+            {"barssince", "Bars since condition was true"},
+            {"highest", "Highest value for a given number of bars"},
+            {"lowest", "Lowest value for a given number of bars"},
+            {"highestbars", "Offset to the highest bar"},
+            {"lowestbars", "Offset to the lowest bar"},
+            {"pivothigh", "Pivot high"},
+            {"pivotlow", "Pivot low"}
+        };
+
+        for (String[] func : taFunctions) {
+            add(entries, "ta." + func[0], func[1], AllIcons.Nodes.Function);
+        }
+
+        // Request functions
+        String[][] requestFunctions = {
+            {"security", "Request data from another symbol/timeframe"},
+            {"security_lower_tf", "Request data from lower timeframe"},
+            {"earnings", "Request earnings data"},
+            {"dividends", "Request dividends data"},
+            {"splits", "Request stock splits data"},
+            {"financial", "Request financial data"},
+            {"economic", "Request economic data"},
+            {"quandl", "Request Quandl data"},
+            {"currency_rate", "Get currency exchange rate"},
+            {"seed", "Seed data from another symbol"}
+        };
+
+        for (String[] func : requestFunctions) {
+            add(entries, "request." + func[0], func[1], AllIcons.Nodes.Function);
+        }
+
+        // Strategy functions
+        String[][] strategyFunctions = {
+            {"entry", "strategy.entry(id, direction, qty, limit, stop, ...)"},
+            {"exit", "strategy.exit(id, from_entry, qty, limit, stop, ...)"},
+            {"order", "strategy.order(id, direction, qty, limit, stop, ...)"},
+            {"close", "strategy.close(id, when, comment, ...)"},
+            {"close_all", "strategy.close_all(when, comment, ...)"},
+            {"cancel", "strategy.cancel(id)"},
+            {"cancel_all", "strategy.cancel_all()"},
+            {"position_avg_price", "Average entry price"},
+            {"position_size", "Current position size"},
+            {"opentrades", "Number of open trades"},
+            {"closedtrades", "Number of closed trades"},
+            {"wintrades", "Number of winning trades"},
+            {"losstrades", "Number of losing trades"},
+            {"eventrades", "Number of break-even trades"},
+            {"grossprofit", "Total gross profit"},
+            {"grossloss", "Total gross loss"},
+            {"netprofit", "Total net profit"},
+            {"max_drawdown", "Maximum drawdown"}
+        };
+
+        for (String[] func : strategyFunctions) {
+            add(entries, "strategy." + func[0], func[1], AllIcons.Nodes.Function);
+        }
+
+        // Math functions
+        String[] mathFunctions = {
+            "abs", "acos", "asin", "atan", "avg", "ceil", "cos",
+            "exp", "floor", "log", "log10", "max", "min", "pow",
+            "round", "round_to_mintick", "sign", "sin", "sqrt", "sum", "tan",
+            "todegrees", "toradians", "random"
+        };
+
+        for (String func : mathFunctions) {
+            add(entries, "math." + func, "math function", AllIcons.Nodes.Function);
+        }
+
+        // String functions
+        String[][] stringFunctions = {
+            {"tostring", "Convert value to string"},
+            {"tonumber", "Convert string to number"},
+            {"format", "Format string with arguments"},
+            {"format_time", "Format time to string"},
+            {"substring", "Extract substring"},
+            {"length", "Get string length"},
+            {"contains", "Check if contains substring"},
+            {"pos", "Find position of substring"},
+            {"split", "Split string into array"},
+            {"replace", "Replace substring"},
+            {"replace_all", "Replace all occurrences"},
+            {"match", "Match regex pattern"},
+            {"startswith", "Check if starts with"},
+            {"endswith", "Check if ends with"},
+            {"lower", "Convert to lowercase"},
+            {"upper", "Convert to uppercase"},
+            {"trim", "Trim whitespace"},
+            {"repeat", "Repeat string"}
+        };
+
+        for (String[] func : stringFunctions) {
+            add(entries, "str." + func[0], func[1], AllIcons.Nodes.Function);
+        }
+
+        // Chart types
+        String[] chartTypes = {
+            "type_bar", "type_candle", "type_hollow_candle",
+            "type_line", "type_area", "type_renko",
+            "type_linebreak", "type_kagi", "type_point_and_figure",
+            "is_standard", "is_heikinashi", "is_kagi", "is_linebreak",
+            "is_pnf", "is_range", "is_renko", "bg_color", "fg_color",
+            "left_visible_bar_time", "right_visible_bar_time"
+        };
+
+        for (String chartType : chartTypes) {
+            add(entries, "chart." + chartType, "chart constant/variable", AllIcons.Nodes.Constant);
+        }
+
+        // Array functions (array.*) - PineScript v6
+        String[] arrayFunctions = {
+            "new_float", "new_int", "new_bool", "new_string", "new_color",
+            "new_line", "new_label", "new_box", "new_table",
+            "from", "get", "set", "push", "pop", "shift", "unshift",
+            "insert", "remove", "clear", "concat", "copy", "slice",
+            "reverse", "sort", "sort_indices", "includes", "indexof", "lastindexof",
+            "min", "max", "sum", "avg", "median", "mode", "variance", "stdev",
+            "range", "percentile_linear_interpolation", "percentile_nearest_rank",
+            "percentrank", "covariance", "standardize", "size", "first", "last",
+            "binary_search", "binary_search_leftmost", "binary_search_rightmost",
+            "every", "some", "join", "fill"
+        };
+
+        for (String func : arrayFunctions) {
+            add(entries, "array." + func, "array function", AllIcons.Nodes.Function);
+        }
+
+        // Map functions (map.*) - PineScript v6
+        String[] mapFunctions = {
+            "new", "get", "put", "put_all", "remove", "clear",
+            "contains", "keys", "values", "size", "copy"
+        };
+
+        for (String func : mapFunctions) {
+            add(entries, "map." + func, "map function", AllIcons.Nodes.Function);
+        }
+
+        // Matrix functions (matrix.*) - PineScript v6
+        String[] matrixFunctions = {
+            "new", "get", "set", "fill", "copy", "submatrix",
+            "add_row", "add_col", "remove_row", "remove_col",
+            "swap_rows", "swap_columns", "reverse",
+            "transpose", "reshape", "concat",
+            "sum", "avg", "median", "mode", "max", "min", "range",
+            "stdev", "variance", "rank", "trace", "det", "inv",
+            "pinv", "eigenvalues", "eigenvectors",
+            "mult", "pow", "diff", "elements_count",
+            "row", "col", "rows", "columns", "is_square",
+            "is_identity", "is_binary", "is_zero", "is_stochastic",
+            "is_symmetric", "is_antisymmetric"
+        };
+
+        for (String func : matrixFunctions) {
+            add(entries, "matrix." + func, "matrix function", AllIcons.Nodes.Function);
+        }
+
+        // Line functions (line.*)
+        String[] lineFunctions = {
+            "new", "delete", "get_price", "get_x1", "get_x2", "get_y1", "get_y2",
+            "set_color", "set_extend", "set_style", "set_width", "set_xy1", "set_xy2",
+            "set_x1", "set_x2", "set_y1", "set_y2", "copy", "all"
+        };
+
+        for (String func : lineFunctions) {
+            add(entries, "line." + func, "line function", AllIcons.Nodes.Function);
+        }
+
+        // Label functions (label.*)
+        String[] labelFunctions = {
+            "new", "delete", "get_text", "get_x", "get_y",
+            "set_color", "set_size", "set_style", "set_text", "set_textcolor",
+            "set_tooltip", "set_x", "set_xy", "set_y", "set_yloc", "copy", "all"
+        };
+
+        for (String func : labelFunctions) {
+            add(entries, "label." + func, "label function", AllIcons.Nodes.Function);
+        }
+
+        // Box functions (box.*)
+        String[] boxFunctions = {
+            "new", "delete", "get_bottom", "get_left", "get_right", "get_top",
+            "set_bgcolor", "set_border_color", "set_border_style", "set_border_width",
+            "set_bottom", "set_extend", "set_left", "set_lefttop", "set_right",
+            "set_rightbottom", "set_top", "copy", "all"
+        };
+
+        for (String func : boxFunctions) {
+            add(entries, "box." + func, "box function", AllIcons.Nodes.Function);
+        }
+
+        // Polyline functions (polyline.*) - PineScript v6
+        String[] polylineFunctions = {
+            "new", "delete", "copy", "all"
+        };
+
+        for (String func : polylineFunctions) {
+            add(entries, "polyline." + func, "polyline function", AllIcons.Nodes.Function);
+        }
+
+        // Linefill functions (linefill.*) - PineScript v6
+        String[] linefillFunctions = {
+            "new", "delete", "get_line1", "get_line2", "set_color", "copy"
+        };
+
+        for (String func : linefillFunctions) {
+            add(entries, "linefill." + func, "linefill function", AllIcons.Nodes.Function);
+        }
+
+        // Color functions (color.*)
+        String[] colorFunctions = {
+            "rgb", "new", "from_gradient"
+        };
+
+        for (String func : colorFunctions) {
+            add(entries, "color." + func, "color function", AllIcons.Nodes.Function);
+        }
+
+        // Color constants
+        String[] colorConstants = {
+            "aqua", "black", "blue", "fuchsia", "gray", "green", "lime",
+            "maroon", "navy", "olive", "orange", "purple", "red", "silver",
+            "teal", "white", "yellow"
+        };
+
+        for (String color : colorConstants) {
+            add(entries, "color." + color, "color constant", AllIcons.Nodes.Constant);
+        }
+
+        // Input functions (input.*)
+        String[] inputFunctions = {
+            "bool", "color", "float", "int", "string", "text_area",
+            "session", "source", "timeframe", "symbol", "price",
+            "time", "enum"
+        };
+
+        for (String func : inputFunctions) {
+            add(entries, "input." + func, "input function", AllIcons.Nodes.Function);
+        }
+
+        // Plot functions
+        String[] plotFunctions = {
+            "plot", "plotshape", "plotchar", "plotarrow", "plotbar", "plotcandle",
+            "hline", "fill", "bgcolor", "barcolor"
+        };
+
+        for (String func : plotFunctions) {
+            add(entries, func, "plot function", AllIcons.Nodes.Function);
+        }
+
+        // Timeframe functions (timeframe.*)
+        String[] timeframeFunctions = {
+            "in_seconds", "from_seconds"
+        };
+
+        for (String func : timeframeFunctions) {
+            add(entries, "timeframe." + func, "timeframe function", AllIcons.Nodes.Function);
+        }
+
+        // Table functions (table.*)
+        String[] tableFunctions = {
+            "new", "cell", "cell_set_bgcolor", "cell_set_text_color",
+            "cell_set_text", "cell_set_text_size", "cell_set_text_halign",
+            "cell_set_text_valign", "cell_set_width", "cell_set_height",
+            "clear", "delete", "merge_cells"
+        };
+
+        for (String func : tableFunctions) {
+            add(entries, "table." + func, "table function", AllIcons.Nodes.Function);
+        }
+
+        // Ticker functions (ticker.*)
+        String[] tickerFunctions = {
+            "new", "heikinashi", "renko", "linebreak", "kagi", "pointfigure",
+            "modify", "standard", "inherit"
+        };
+
+        for (String func : tickerFunctions) {
+            add(entries, "ticker." + func, "ticker function", AllIcons.Nodes.Function);
+        }
+
+        // Alert functions
+        String[] alertFunctions = {
+            "alert", "alertcondition"
+        };
+
+        for (String func : alertFunctions) {
+            add(entries, func, "alert function", AllIcons.Nodes.Function);
+        }
+
+
+        // Additional TA functions
+        String[][] additionalTaFunctions = {
+            {"wpr", "Williams %R"},
+            {"cmo", "Chande Momentum Oscillator"},
+            {"cog", "Center of Gravity"},
+            {"linreg", "Linear Regression"},
+            {"dev", "Deviation"},
+            {"falling", "Checks if value is falling"},
+            {"rising", "Checks if value is rising"},
+            {"hma", "Hull Moving Average"},
+            {"swma", "Symmetrically Weighted Moving Average"},
+            {"vwap", "Volume Weighted Average Price"},
+            {"accdist", "Accumulation/Distribution"},
+            {"tsi", "True Strength Index"},
+            {"kcw", "Keltner Channels Width"},
+            {"pivot_point_levels", "Pivot Point Levels"},
+            {"smc", "Stochastic Momentum Convergence"}
+        };
+
+        for (String[] func : additionalTaFunctions) {
+            add(entries, "ta." + func[0], func[1], AllIcons.Nodes.Function);
+        }
+
+        // Chart functions (chart.point.*)
+        String[] chartFunctions = {
+            "point.new", "point.now", "point.from_time", "point.from_index", "point.copy"
+        };
+
+        for (String func : chartFunctions) {
+            add(entries, "chart." + func, "chart function", AllIcons.Nodes.Function);
+        }
+
+        // Log functions
+        String[] logFunctions = {
+            "error", "warning", "info"
+        };
+
+        for (String func : logFunctions) {
+            add(entries, "log." + func, "log function", AllIcons.Nodes.Function);
+        }
+
+        // Runtime functions
+        add(entries, "runtime.error", "runtime error function", AllIcons.Nodes.Function);
+
+        // Syminfo functions (note: most syminfo.* are variables, but these are functions)
+        String[] syminfoFunctions = {
+            "ticker", "prefix"
+        };
+
+        for (String func : syminfoFunctions) {
+            add(entries, "syminfo." + func, "syminfo function", AllIcons.Nodes.Function);
+        }
+
+        // Additional global functions
+        String[][] globalFunctions = {
+            {"time", "Current bar time"},
+            {"time_close", "Bar close time"},
+            {"timestamp", "Create timestamp"},
+            {"year", "Extract year from time"},
+            {"month", "Extract month from time"},
+            {"weekofyear", "Extract week of year"},
+            {"dayofmonth", "Extract day of month"},
+            {"dayofweek", "Extract day of week"},
+            {"hour", "Extract hour from time"},
+            {"minute", "Extract minute from time"},
+            {"second", "Extract second from time"},
+            {"nz", "Replace NA with zero or value"},
+            {"fixnan", "Fix NA values with previous value"},
+            {"max_bars_back", "Set maximum bars back"},
+            {"int", "Convert to int"},
+            {"float", "Convert to float"},
+            {"bool", "Convert to bool"},
+            {"string", "Convert to string"},
+            {"line", "Cast to line type"},
+            {"label", "Cast to label type"},
+            {"box", "Cast to box type"}
+        };
+
+        for (String[] func : globalFunctions) {
+            add(entries, func[0], func[1], AllIcons.Nodes.Function);
+        }
+
+        // Syminfo variables (additional ones)
+        String[] syminfoVars = {
+            "syminfo.volumetype", "syminfo.country"
+        };
+
+        for (String var : syminfoVars) {
+            add(entries, var, "syminfo variable", AllIcons.Nodes.Variable);
+        }
+
+        // Plot style constants
+        String[] plotStyles = {
+            "plot.style_line", "plot.style_linebr", "plot.style_stepline",
+            "plot.style_stepline_diamond", "plot.style_histogram", "plot.style_cross",
+            "plot.style_area", "plot.style_columns", "plot.style_circles", "plot.style_areabr"
+        };
+
+        for (String style : plotStyles) {
+            add(entries, style, "plot style", AllIcons.Nodes.Constant);
+        }
+
+        // Display constants
+        String[] displayConstants = {
+            "display.none", "display.all", "display.data_window", "display.pane",
+            "display.price_scale", "display.status_line"
+        };
+
+        for (String constant : displayConstants) {
+            add(entries, constant, "display constant", AllIcons.Nodes.Constant);
+        }
+
+        // Location constants
+        String[] locationConstants = {
+            "location.abovebar", "location.belowbar", "location.top", "location.bottom",
+            "location.absolute"
+        };
+
+        for (String constant : locationConstants) {
+            add(entries, constant, "location constant", AllIcons.Nodes.Constant);
+        }
+
+        // Size constants
+        String[] sizeConstants = {
+            "size.auto", "size.tiny", "size.small", "size.normal", "size.large", "size.huge"
+        };
+
+        for (String constant : sizeConstants) {
+            add(entries, constant, "size constant", AllIcons.Nodes.Constant);
+        }
+
+        // Shape constants
+        String[] shapeConstants = {
+            "shape.xcross", "shape.cross", "shape.circle", "shape.triangleup", "shape.triangledown",
+            "shape.flag", "shape.arrowup", "shape.arrowdown", "shape.square", "shape.diamond",
+            "shape.labelup", "shape.labeldown"
+        };
+
+        for (String constant : shapeConstants) {
+            add(entries, constant, "shape constant", AllIcons.Nodes.Constant);
+        }
+
+        // Format constants
+        String[] formatConstants = {
+            "format.inherit", "format.price", "format.volume", "format.percent"
+        };
+
+        for (String constant : formatConstants) {
+            add(entries, constant, "format constant", AllIcons.Nodes.Constant);
+        }
+
+        // Scale constants
+        String[] scaleConstants = {
+            "scale.right", "scale.left", "scale.none"
+        };
+
+        for (String constant : scaleConstants) {
+            add(entries, constant, "scale constant", AllIcons.Nodes.Constant);
+        }
+
+        // Hline style constants
+        String[] hlineStyles = {
+            "hline.style_solid", "hline.style_dotted", "hline.style_dashed"
+        };
+
+        for (String style : hlineStyles) {
+            add(entries, style, "hline style", AllIcons.Nodes.Constant);
+        }
+
+        // Line style constants
+        String[] lineStyles = {
+            "line.style_solid", "line.style_dotted", "line.style_dashed", "line.style_arrow_left",
+            "line.style_arrow_right", "line.style_arrow_both"
+        };
+
+        for (String style : lineStyles) {
+            add(entries, style, "line style", AllIcons.Nodes.Constant);
+        }
+
+        // Extend constants
+        String[] extendConstants = {
+            "extend.none", "extend.left", "extend.right", "extend.both"
+        };
+
+        for (String constant : extendConstants) {
+            add(entries, constant, "extend constant", AllIcons.Nodes.Constant);
+        }
+
+        return entries.values().toArray(new Entry[0]);
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.houseofai.pinescript.documentation;
+
+import com.intellij.openapi.diagnostic.Logger;
+import io.github.houseofai.pinescript.PineScriptResources;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only view of the HTML documentation rendered at build time from {@code docs/markdown/reference}
+ * (see the {@code generateDocumentationCatalog} Gradle task for the layout).
+ * <p>
+ * Entries are keyed like the reference's own anchors: {@code fun_ta.sma}, {@code var_close},
+ * {@code const_color.red}, {@code type_array}, {@code kw_for}, {@code op_+}, {@code annot_param}.
+ * Keys are binary searched in the index; recently shown pages are kept decoded in a small LRU cache.
+ */
+public final class PineScriptDocumentationCatalog {
+    private static final Logger LOG = Logger.getInstance(PineScriptDocumentationCatalog.class);
+
+    public static final String FUNCTION = "fun_";
+    public static final String VARIABLE = "var_";
+    public static final String CONSTANT = "const_";
+    public static final String TYPE = "type_";
+    public static final String KEYWORD = "kw_";
+    public static final String OPERATOR = "op_";
+    public static final String ANNOTATION = "annot_";
+
+    private static final String RESOURCE = "docs.bin";
+    private static final int MAGIC = 0x50444F43;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_SIZE = 16;
+    private static final int CACHE_SIZE = 64;
+
+    private final ByteBuffer myBuffer;
+    private final int myCount;
+    private final int myDataStart;
+    private final String[] myKeys;
+    private final Map<String, String> myCache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private static final class Holder {
+        static final PineScriptDocumentationCatalog INSTANCE = load();
+    }
+
+    @NotNull
+    public static PineScriptDocumentationCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private PineScriptDocumentationCatalog(@NotNull ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported documentation catalogue format");
+        }
+        myBuffer = buffer;
+        myCount = buffer.getInt(8);
+        myDataStart = HEADER_SIZE + myCount * RECORD_SIZE;
+        myKeys = new String[myCount];
+    }
+
+    @NotNull
+    private static PineScriptDocumentationCatalog load() {
+        URL url = PineScriptDocumentationCatalog.class.getResource(RESOURCE);
+        if (url == null) {
+            LOG.warn("Documentation catalogue " + RESOURCE + " is missing, built-in documentation is unavailable");
+            return new PineScriptDocumentationCatalog(emptyCatalogue());
+        }
+        try {
+            return new PineScriptDocumentationCatalog(PineScriptResources.read(url));
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Cannot load documentation catalogue from " + url, e);
+            return new PineScriptDocumentationCatalog(emptyCatalogue());
+        }
+    }
+
+    @NotNull
+    private static ByteBuffer emptyCatalogue() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(0, MAGIC).putInt(4, VERSION).putInt(8, 0);
+    }
+
+    /**
+     * Returns the rendered page for a key such as {@code fun_ta.sma}, or {@code null} if there is none.
+     */
+    @Nullable
+    public String getHtml(@NotNull String key) {
+        synchronized (myCache) {
+            String html = myCache.get(key);
+            if (html != null) {
+                return html;
+            }
+        }
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        int record = HEADER_SIZE + index * RECORD_SIZE;
+        String html = decode(myBuffer.getInt(record + 8), myBuffer.getInt(record + 12));
+        synchronized (myCache) {
+            myCache.put(key, html);
+        }
+        return html;
+    }
+
+    /**
+     * Returns the rendered page for a name of the given kind, e.g. {@code (FUNCTION, "ta.sma")}.
+     */
+    @Nullable
+    public String getHtml(@NotNull String kind, @NotNull String name) {
+        return getHtml(kind + name);
+    }
+
+    public boolean contains(@NotNull String key) {
+        return find(key) >= 0;
+    }
+
+    private int find(@NotNull String key) {
+        int low = 0;
+        int high = myCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = key(middle).compareTo(key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private String key(int index) {
+        String key = myKeys[index];
+        if (key == null) {
+            int record = HEADER_SIZE + index * RECORD_SIZE;
+            // Racing threads decode equal keys, so the last write winning is harmless
+            key = decode(myBuffer.getInt(record), myBuffer.getInt(record + 4));
+            myKeys[index] = key;
+        }
+        return key;
+    }
+
+    @NotNull
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        myBuffer.get(myDataStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.houseofai.pinescript.documentation;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.impl.FakePsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Target of a {@code psi_element://} link between reference pages, e.g. {@code fun_ta.ema} from the
+ * "See also" section of {@code ta.sma}. It only carries the catalogue key.
+ */
+class PineScriptDocumentationElement extends FakePsiElement {
+    private final String myKey;
+    private final PsiElement myContext;
+
+    PineScriptDocumentationElement(@NotNull String key, @NotNull PsiElement context) {
+        myKey = key;
+        myContext = context;
+    }
+
+    @NotNull
+    String getKey() {
+        return myKey;
+    }
+
+    @Override
+    public PsiElement getParent() {
+        return myContext;
+    }
+
+    @Override
+    public String getName() {
+        return myKey.substring(myKey.indexOf('_') + 1);
+    }
+}
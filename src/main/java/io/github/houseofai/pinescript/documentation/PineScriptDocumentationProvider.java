@@ -1,65 +1,69 @@
 package io.github.houseofai.pinescript.documentation;
 
 import com.intellij.lang.documentation.AbstractDocumentationProvider;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
-import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionRepository;
 import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptSignatureCatalog;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptSignatureResolver;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptReferenceExpression;
 import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTypeReference;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Provides documentation for Pine Script functions when hovering over them.
+ * <p>
+ * Pages are rendered to HTML at build time, so a hover is a catalogue lookup. The page is chosen from
+ * the hovered token and its place in the PSI: the lexer folds dotted names such as {@code ta.sma}
+ * into one token, so the token text is the full name.
  */
 public class PineScriptDocumentationProvider extends AbstractDocumentationProvider {
+    private static final String[] CALLEE_KINDS = {
+        PineScriptDocumentationCatalog.FUNCTION, PineScriptDocumentationCatalog.TYPE
+    };
+    private static final String[] VALUE_KINDS = {
+        PineScriptDocumentationCatalog.VARIABLE, PineScriptDocumentationCatalog.CONSTANT,
+        PineScriptDocumentationCatalog.FUNCTION, PineScriptDocumentationCatalog.TYPE
+    };
+    private static final String[] TYPE_KINDS = {
+        PineScriptDocumentationCatalog.TYPE, PineScriptDocumentationCatalog.KEYWORD
+    };
+    private static final String[] KEYWORD_KINDS = {
+        PineScriptDocumentationCatalog.KEYWORD, PineScriptDocumentationCatalog.TYPE,
+        PineScriptDocumentationCatalog.FUNCTION
+    };
+    private static final String[] OPERATOR_KINDS = {
+        PineScriptDocumentationCatalog.KEYWORD, PineScriptDocumentationCatalog.OPERATOR
+    };
+    private static final String[] CONSTANT_KINDS = {PineScriptDocumentationCatalog.CONSTANT};
+    private static final String[] ANNOTATION_KINDS = {PineScriptDocumentationCatalog.ANNOTATION};
 
+    /**
+     * Keeps the hovered token as the target only if the catalogue documents it, so user symbols
+     * fall through to the declarations they resolve to.
+     */
     @Override
-    public @Nullable String generateDoc(PsiElement element, @Nullable PsiElement originalElement) {
-        // Try originalElement first, then element
-        PsiElement targetElement = originalElement != null ? originalElement : element;
+    public @Nullable PsiElement getCustomDocumentationElement(@NotNull Editor editor, @NotNull PsiFile file,
+                                                              @Nullable PsiElement contextElement, int targetOffset) {
+        return findKey(contextElement) != null ? contextElement : null;
+    }
 
-        if (targetElement == null) {
-            return null;
+    @Override
+    public @Nullable String generateDoc(PsiElement element, @Nullable PsiElement originalElement) {
+        if (element instanceof PineScriptDocumentationElement documentationElement) {
+            return PineScriptDocumentationCatalog.getInstance().getHtml(documentationElement.getKey());
         }
-
-        IElementType elementType = targetElement.getNode() != null ? targetElement.getNode().getElementType() : null;
-
-        // Check if this is a function identifier or builtin function
-        if (elementType == PineScriptTokenTypes.BUILTIN_FUNCTION ||
-            elementType == PineScriptTokenTypes.IDENTIFIER) {
-
-            String functionName = getFunctionName(targetElement);
-            if (functionName != null) {
-                PineScriptFunctionSignature signature = PineScriptFunctionRepository.getSignature(functionName);
-                if (signature != null) {
-                    return formatDocumentation(signature);
-                }
-
-                // If no signature found, still show basic info for known functions
-                String description = getDescription(functionName);
-                if (description != null) {
-                    return formatBasicDocumentation(functionName, description);
-                }
-            }
+        String key = findKey(element);
+        if (key == null && originalElement != null) {
+            key = findKey(originalElement);
         }
-
-        return null;
-    }
-
-    /**
-     * Format basic documentation without signature
-     */
-    private String formatBasicDocumentation(String functionName, String description) {
-        StringBuilder html = new StringBuilder();
-        html.append("<html><body>");
-        html.append("<b>").append(functionName).append("</b>");
-        html.append("<br/><br/>");
-        html.append("<div style='margin-top: 8px;'>");
-        html.append(description);
-        html.append("</div>");
-        html.append("</body></html>");
-        return html.toString();
+        return key != null ? PineScriptDocumentationCatalog.getInstance().getHtml(key) : null;
     }
 
     @Override
@@ -69,168 +73,128 @@ public class PineScriptDocumentationProvider extends AbstractDocumentationProvid
 
     @Override
     public @Nullable PsiElement getDocumentationElementForLink(com.intellij.psi.PsiManager psiManager, String link, PsiElement context) {
+        if (context != null && PineScriptDocumentationCatalog.getInstance().contains(link)) {
+            return new PineScriptDocumentationElement(link, context);
+        }
         return context;
     }
 
+    /**
+     * Returns a one-line summary: the first signature of a function, {@code type name} for a built-in
+     * value, otherwise the name.
+     */
     @Override
     public @Nullable String getQuickNavigateInfo(PsiElement element, PsiElement originalElement) {
-        // Show quick info in a smaller popup
-        return generateDoc(element, originalElement);
+        PsiElement target = originalElement != null && getKinds(originalElement) != null ? originalElement : element;
+        String[] kinds = target != null ? getKinds(target) : null;
+        if (kinds == null) {
+            return null;
+        }
+        String name = getName(target);
+        if (kinds == VALUE_KINDS) {
+            PineScriptSignatureCatalog catalog = PineScriptSignatureCatalog.getInstance();
+            PineScriptSignatureCatalog.Value value = catalog.getVariable(name);
+            if (value == null) {
+                value = catalog.getConstant(name);
+            }
+            if (value != null && value.getType() != null) {
+                return StringUtil.escapeXmlEntities(value.getType() + " " + name);
+            }
+        }
+        if (kinds == CALLEE_KINDS || kinds == VALUE_KINDS) {
+            PineScriptFunctionSignature signature = PineScriptSignatureResolver.resolve(target.getContainingFile(), name);
+            if (signature != null) {
+                return StringUtil.escapeXmlEntities(formatSignature(signature));
+            }
+        }
+        return findKey(target) != null ? StringUtil.escapeXmlEntities(name) : null;
     }
 
     /**
-     * Get the full function name including namespace (e.g., "ta.sma") using text analysis
+     * Returns the catalogue key documenting the token, or {@code null} if there is no page for it.
      */
-    private String getFunctionName(PsiElement element) {
-        if (element == null) {
+    @Nullable
+    private static String findKey(@Nullable PsiElement element) {
+        String[] kinds = element != null ? getKinds(element) : null;
+        if (kinds == null) {
             return null;
         }
-
-        // Get the text and offset
-        String fileText = element.getContainingFile().getText();
-        int endOffset = element.getTextRange().getEndOffset();
-        int startOffset = element.getTextRange().getStartOffset();
-
-        // Build function name by reading backwards to include namespace
-        StringBuilder fullName = new StringBuilder(element.getText());
-
-        // Check if there's a dot before this element (namespace separator)
-        int i = startOffset - 1;
-        while (i >= 0 && Character.isWhitespace(fileText.charAt(i))) {
-            i--;
-        }
-
-        if (i >= 0 && fileText.charAt(i) == '.') {
-            // Found a dot, read the namespace
-            fullName.insert(0, '.');
-            i--;
-
-            // Skip whitespace before namespace
-            while (i >= 0 && Character.isWhitespace(fileText.charAt(i))) {
-                i--;
-            }
-
-            // Read namespace identifier
-            StringBuilder namespace = new StringBuilder();
-            while (i >= 0 && (Character.isLetterOrDigit(fileText.charAt(i)) || fileText.charAt(i) == '_')) {
-                namespace.insert(0, fileText.charAt(i));
-                i--;
+        String name = getName(element);
+        PineScriptDocumentationCatalog catalog = PineScriptDocumentationCatalog.getInstance();
+        for (String kind : kinds) {
+            String key = kind + name;
+            if (catalog.contains(key)) {
+                return key;
             }
-
-            fullName.insert(0, namespace);
         }
-
-        return fullName.toString();
+        return null;
     }
 
     /**
-     * Format the function signature into HTML documentation
+     * Returns the page kinds to try for a token, most likely first, or {@code null} if the token is
+     * not documented. A name that is called is looked up as a function first, anywhere else as a value.
      */
-    private String formatDocumentation(PineScriptFunctionSignature signature) {
-        StringBuilder html = new StringBuilder();
-
-        html.append("<html><body>");
-        html.append("<b>").append(signature.getFunctionName()).append("</b>");
-        html.append("(");
-
-        // Add parameters
-        for (int i = 0; i < signature.getParameterCount(); i++) {
-            if (i > 0) {
-                html.append(", ");
-            }
-            PineScriptFunctionSignature.Parameter param = signature.getParameters().get(i);
-
-            if (param.isOptional()) {
-                html.append("<i>");
-            }
-
-            html.append(param.getName());
-            if (param.getType() != null && !param.getType().isEmpty()) {
-                html.append(": <code>").append(param.getType()).append("</code>");
+    @Nullable
+    private static String[] getKinds(@NotNull PsiElement element) {
+        IElementType type = element.getNode() != null ? element.getNode().getElementType() : null;
+        if (type == PineScriptTokenTypes.IDENTIFIER || type == PineScriptTokenTypes.BUILTIN_FUNCTION
+            || type == PineScriptTokenTypes.NAMESPACE_CONSTANT || type == PineScriptTokenTypes.CONSTANT) {
+            PsiElement parent = element.getParent();
+            if (parent instanceof PineScriptTypeReference) {
+                return TYPE_KINDS;
             }
-
-            if (param.getDefaultValue() != null) {
-                html.append(" = <code>").append(param.getDefaultValue()).append("</code>");
-            }
-
-            if (param.isOptional()) {
-                html.append("</i>");
+            if (parent instanceof PineScriptReferenceExpression
+                && parent.getParent() instanceof PineScriptCallExpression call && call.getCallee() == parent) {
+                return CALLEE_KINDS;
             }
+            return VALUE_KINDS;
         }
-
-        html.append(")");
-
-        // Add description based on function name
-        String description = getDescription(signature.getFunctionName());
-        if (description != null) {
-            html.append("<br/><br/>");
-            html.append("<div style='margin-top: 8px;'>");
-            html.append(description);
-            html.append("</div>");
+        if (type == PineScriptTokenTypes.KEYWORD || type == PineScriptTokenTypes.STORAGE_KEYWORD) {
+            return KEYWORD_KINDS;
         }
-
-        html.append("</body></html>");
-
-        return html.toString();
+        if (type == PineScriptTokenTypes.OPERATOR) {
+            return OPERATOR_KINDS;
+        }
+        if (type == PineScriptTokenTypes.BOOLEAN) {
+            return CONSTANT_KINDS;
+        }
+        if (type == PineScriptTokenTypes.ANNOTATION) {
+            return ANNOTATION_KINDS;
+        }
+        return null;
     }
 
     /**
-     * Get description for common functions
+     * Returns the documented name of a token: its text, or for an annotation comment such as
+     * {@code //@param x} the annotation name {@code param}.
      */
-    private String getDescription(String functionName) {
-        return switch (functionName) {
-            case "plot" -> "Plots a series of data on the chart.";
-            case "plotshape" -> "Plots visual shapes on the chart.";
-            case "plotchar" -> "Plots a character on the chart.";
-            case "hline" -> "Renders a horizontal line at a given fixed price level.";
-            case "fill" -> "Fills the background between two plots or hlines.";
-            case "bgcolor" -> "Colors the background of the bars.";
-            case "indicator" -> "Declares the study and sets its properties.";
-            case "strategy" -> "Declares the strategy and sets its properties.";
-            case "ta.sma" -> "Simple Moving Average - calculates the arithmetic mean of values over a specified period.";
-            case "ta.ema" -> "Exponential Moving Average - gives more weight to recent values.";
-            case "ta.rsi" -> "Relative Strength Index - momentum oscillator measuring speed and magnitude of price changes.";
-            case "ta.macd" -> "Moving Average Convergence Divergence - trend-following momentum indicator.";
-            case "ta.atr" -> "Average True Range - measures market volatility.";
-            case "ta.bb" -> "Bollinger Bands - volatility bands placed above and below a moving average.";
-            case "ta.stoch" -> "Stochastic Oscillator - momentum indicator comparing closing price to price range.";
-            case "ta.crossover" -> "Returns true when series1 crosses over series2.";
-            case "ta.crossunder" -> "Returns true when series1 crosses under series2.";
-            case "ta.change" -> "Returns the difference between the current value and its value n bars ago.";
-            case "ta.highest" -> "Returns the highest value for a given number of bars back.";
-            case "ta.lowest" -> "Returns the lowest value for a given number of bars back.";
-            case "input.int" -> "Adds an integer input to the script settings.";
-            case "input.float" -> "Adds a float input to the script settings.";
-            case "input.bool" -> "Adds a boolean input to the script settings.";
-            case "input.string" -> "Adds a string input to the script settings.";
-            case "input.source" -> "Adds a source input to the script settings.";
-            case "input.color" -> "Adds a color input to the script settings.";
-            case "math.max" -> "Returns the greatest of two values.";
-            case "math.min" -> "Returns the smallest of two values.";
-            case "math.abs" -> "Returns the absolute value of a number.";
-            case "math.round" -> "Rounds a number to the nearest integer or to a specified precision.";
-            case "math.floor" -> "Rounds a number down to the nearest integer.";
-            case "math.ceil" -> "Rounds a number up to the nearest integer.";
-            case "array.new_float" -> "Creates a new float array.";
-            case "array.get" -> "Returns the value at a specified index in an array.";
-            case "array.set" -> "Sets the value at a specified index in an array.";
-            case "array.push" -> "Appends a value to the end of an array.";
-            case "array.size" -> "Returns the number of elements in an array.";
-            case "request.security" -> "Requests data from another symbol or timeframe.";
-            case "alert" -> "Creates an alert event.";
-            case "alertcondition" -> "Creates an alert condition.";
-            case "strategy.entry" -> "Generates a strategy entry order.";
-            case "strategy.exit" -> "Generates a strategy exit order.";
-            case "strategy.close" -> "Closes market position.";
-            default -> null;
-        };
+    @NotNull
+    private static String getName(@NotNull PsiElement element) {
+        if (element.getNode().getElementType() != PineScriptTokenTypes.ANNOTATION) {
+            return element.getText();
+        }
+        CharSequence text = element.getNode().getChars();
+        int start = StringUtil.indexOf(text, '@') + 1;
+        int end = start;
+        while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end))) {
+            end++;
+        }
+        return text.subSequence(start, end).toString();
     }
 
-    private boolean isWhitespace(PsiElement element) {
-        if (element == null) {
-            return false;
+    @NotNull
+    private static String formatSignature(@NotNull PineScriptFunctionSignature signature) {
+        StringBuilder text = new StringBuilder(signature.getFunctionName()).append('(');
+        for (int i = 0; i < signature.getParameterCount(); i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(signature.getParameters().get(i).getName());
         }
-        IElementType type = element.getNode() != null ? element.getNode().getElementType() : null;
-        return type == PineScriptTokenTypes.WHITE_SPACE;
+        text.append(')');
+        if (signature.getReturnType() != null) {
+            text.append(" \u2192 ").append(signature.getReturnType());
+        }
+        return text.toString();
     }
 }
@@ -0,0 +1,80 @@
+package io.github.houseofai.pinescript.findusages;
+
+import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
+import com.intellij.lang.cacheBuilder.WordsScanner;
+import com.intellij.lang.findUsages.FindUsagesProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.tree.TokenSet;
+import io.github.houseofai.pinescript.lexer.PineScriptLexer;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import io.github.houseofai.pinescript.psi.PineScriptFieldDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptParameter;
+import io.github.houseofai.pinescript.psi.PineScriptTokenSets;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Find Usages for user-defined functions, methods, types, enums, fields, enum members, parameters
+ * and variables.
+ * <p>
+ * The words scanner feeds the platform's identifier index, so a search only opens files that
+ * contain the name. It splits folded names such as {@code bar.high} into {@code bar} and
+ * {@code high}, so fields and members are found too.
+ */
+public class PineScriptFindUsagesProvider implements FindUsagesProvider {
+    private static final TokenSet IDENTIFIERS = TokenSet.create(PineScriptTokenTypes.IDENTIFIER);
+
+    @Override
+    public @Nullable WordsScanner getWordsScanner() {
+        return new DefaultWordsScanner(new PineScriptLexer(), IDENTIFIERS, PineScriptTokenSets.COMMENTS, PineScriptTokenSets.STRINGS);
+    }
+
+    @Override
+    public boolean canFindUsagesFor(@NotNull PsiElement element) {
+        return element instanceof PsiNameIdentifierOwner owner && owner.getName() != null;
+    }
+
+    @Override
+    public @Nullable String getHelpId(@NotNull PsiElement element) {
+        return null;
+    }
+
+    @Override
+    public @NotNull String getType(@NotNull PsiElement element) {
+        if (element instanceof PineScriptFunctionDeclaration function) {
+            return function.isMethod() ? "method" : "function";
+        }
+        if (element instanceof PineScriptTypeDeclaration) {
+            return "type";
+        }
+        if (element instanceof PineScriptEnumDeclaration) {
+            return "enum";
+        }
+        if (element instanceof PineScriptFieldDeclaration) {
+            return "field";
+        }
+        if (element instanceof PineScriptEnumMember) {
+            return "enum member";
+        }
+        if (element instanceof PineScriptParameter) {
+            return "parameter";
+        }
+        return "variable";
+    }
+
+    @Override
+    public @NotNull String getDescriptiveName(@NotNull PsiElement element) {
+        String name = element instanceof PsiNameIdentifierOwner owner ? owner.getName() : null;
+        return name != null ? name : "";
+    }
+
+    @Override
+    public @NotNull String getNodeText(@NotNull PsiElement element, boolean useFullName) {
+        return getDescriptiveName(element);
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.houseofai.pinescript.folding;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.folding.FoldingBuilderEx;
+import com.intellij.lang.folding.FoldingDescriptor;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.psi.PineScriptBlock;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds indented blocks (function and method bodies, {@code if}, {@code for}, {@code while} and
+ * {@code switch} bodies), the fields of a {@code type}, the members of an {@code enum}, and runs of
+ * line comments or {@code //@} annotations.
+ * <p>
+ * All regions are collected in one walk over the PSI. The folded text starts at the end of the
+ * header line, so the header stays visible.
+ */
+public class PineScriptFoldingBuilder extends FoldingBuilderEx implements DumbAware {
+    private static final String PLACEHOLDER = "...";
+    private static final TokenSet LAYOUT = TokenSet.create(
+        PineScriptTokenTypes.WHITE_SPACE,
+        PineScriptTokenTypes.NEWLINE,
+        PineScriptTokenTypes.INDENT,
+        PineScriptTokenTypes.DEDENT
+    );
+
+    @Override
+    public FoldingDescriptor @NotNull [] buildFoldRegions(@NotNull PsiElement root, @NotNull Document document, boolean quick) {
+        List<FoldingDescriptor> descriptors = new ArrayList<>();
+        root.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof PineScriptBlock) {
+                    addRegion(descriptors, document, element, PsiTreeUtil.prevLeaf(element));
+                } else if (element instanceof PineScriptTypeDeclaration type) {
+                    addRegion(descriptors, document, element, type.getNameIdentifier());
+                } else if (element instanceof PineScriptEnumDeclaration enumDeclaration) {
+                    addRegion(descriptors, document, element, enumDeclaration.getNameIdentifier());
+                } else if (PineScriptTokenTypes.COMMENT == element.getNode().getElementType()
+                    || PineScriptTokenTypes.ANNOTATION == element.getNode().getElementType()) {
+                    addCommentRun(descriptors, document, element);
+                    return;
+                }
+                super.visitElement(element);
+            }
+        });
+        return descriptors.toArray(FoldingDescriptor.EMPTY_ARRAY);
+    }
+
+    /**
+     * Folds {@code element} from the end of {@code header}, or the last token before it, to the
+     * element's last token, if that spans more than one line.
+     */
+    private static void addRegion(@NotNull List<FoldingDescriptor> descriptors, @NotNull Document document,
+                                  @NotNull PsiElement element, @Nullable PsiElement header) {
+        while (header != null && isLayout(header.getNode())) {
+            header = PsiTreeUtil.prevLeaf(header);
+        }
+        PsiElement last = PsiTreeUtil.getDeepestLast(element);
+        while (last != null && last != element && isLayout(last.getNode())) {
+            last = PsiTreeUtil.prevLeaf(last);
+        }
+        if (header == null || last == null) {
+            return;
+        }
+        int start = header.getTextRange().getEndOffset();
+        int end = last.getTextRange().getEndOffset();
+        if (start < end && document.getLineNumber(start) < document.getLineNumber(end)) {
+            descriptors.add(new FoldingDescriptor(element.getNode(), TextRange.create(start, end), null, PLACEHOLDER));
+        }
+    }
+
+    /**
+     * Folds a run of comments of the same kind on consecutive lines, starting at {@code first}. Runs
+     * are only started from their first comment, so every comment is looked at once.
+     */
+    private static void addCommentRun(@NotNull List<FoldingDescriptor> descriptors, @NotNull Document document,
+                                      @NotNull PsiElement first) {
+        ASTNode node = first.getNode();
+        IElementType type = node.getElementType();
+        if (nextInRun(node, type, false) != null) {
+            return;
+        }
+        ASTNode last = node;
+        for (ASTNode next = nextInRun(last, type, true); next != null; next = nextInRun(last, type, true)) {
+            last = next;
+        }
+        if (last == node) {
+            return;
+        }
+        TextRange range = TextRange.create(node.getStartOffset(), last.getTextRange().getEndOffset());
+        if (document.getLineNumber(range.getStartOffset()) < document.getLineNumber(range.getEndOffset())) {
+            String prefix = type == PineScriptTokenTypes.ANNOTATION ? "//@" : "//";
+            descriptors.add(new FoldingDescriptor(node, range, null, prefix + PLACEHOLDER));
+        }
+    }
+
+    /**
+     * Returns the comment of the given type on the line after (or before) {@code node}, if only a
+     * single line break separates them.
+     */
+    @Nullable
+    private static ASTNode nextInRun(@NotNull ASTNode node, @NotNull IElementType type, boolean forward) {
+        int lineBreaks = 0;
+        ASTNode sibling = forward ? node.getTreeNext() : node.getTreePrev();
+        while (sibling != null && isLayout(sibling)) {
+            CharSequence text = sibling.getChars();
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '\n') {
+                    lineBreaks++;
+                }
+            }
+            sibling = forward ? sibling.getTreeNext() : sibling.getTreePrev();
+        }
+        return sibling != null && sibling.getElementType() == type && lineBreaks == 1 ? sibling : null;
+    }
+
+    private static boolean isLayout(@Nullable ASTNode node) {
+        return node != null && (LAYOUT.contains(node.getElementType()) || node.getTextLength() == 0);
+    }
+
+    @Override
+    public @Nullable String getPlaceholderText(@NotNull ASTNode node) {
+        return PLACEHOLDER;
+    }
+
+    @Override
+    public boolean isCollapsedByDefault(@NotNull ASTNode node) {
+        return false;
+    }
+}
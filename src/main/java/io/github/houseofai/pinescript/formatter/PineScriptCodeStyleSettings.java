@@ -0,0 +1,18 @@
+package io.github.houseofai.pinescript.formatter;
+
+import com.intellij.psi.codeStyle.CodeStyleSettings;
+import com.intellij.psi.codeStyle.CustomCodeStyleSettings;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Pine Script options that have no counterpart in {@link com.intellij.psi.codeStyle.CommonCodeStyleSettings}.
+ */
+@SuppressWarnings("PublicField")
+public class PineScriptCodeStyleSettings extends CustomCodeStyleSettings {
+    /** Spaces around {@code =} in {@code f(x = 1)} and in parameter defaults. */
+    public boolean SPACE_AROUND_NAMED_ARGUMENT_EQ = true;
+
+    public PineScriptCodeStyleSettings(@NotNull CodeStyleSettings container) {
+        super("PineScriptCodeStyleSettings", container);
+    }
+}
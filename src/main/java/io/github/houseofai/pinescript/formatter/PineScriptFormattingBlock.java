@@ -0,0 +1,302 @@
+package io.github.houseofai.pinescript.formatter;
+
+import com.intellij.formatting.Alignment;
+import com.intellij.formatting.Block;
+import com.intellij.formatting.ChildAttributes;
+import com.intellij.formatting.Indent;
+import com.intellij.formatting.Spacing;
+import com.intellij.formatting.Wrap;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.codeStyle.CommonCodeStyleSettings;
+import com.intellij.psi.formatter.common.AbstractBlock;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import io.github.houseofai.pinescript.lexer.PineScriptLexer;
+import io.github.houseofai.pinescript.parser.PineScriptParserDefinition;
+import io.github.houseofai.pinescript.psi.PineScriptElementTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTokenSets;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A formatting block for one AST node.
+ * <p>
+ * The file and indented blocks hold one child block per statement, and type, enum and switch
+ * items get one block each, indented by the lexer's indentation width. Everything else in a
+ * statement is flattened into tokens of that statement, so a continuation line is always indented
+ * by {@link #CONTINUATION_INDENT} from the statement and never by a multiple of the block width,
+ * which would make it a statement of its own. Argument and parameter lists keep their own block
+ * so they can wrap; inside parentheses any indentation continues the line.
+ */
+public class PineScriptFormattingBlock extends AbstractBlock {
+    static final int CONTINUATION_INDENT = 2;
+
+    private static final TokenSet STATEMENT_LISTS = TokenSet.create(
+        PineScriptParserDefinition.FILE,
+        PineScriptElementTypes.BLOCK
+    );
+    private static final TokenSet ITEMS = TokenSet.create(
+        PineScriptElementTypes.FIELD_DECLARATION,
+        PineScriptElementTypes.ENUM_MEMBER,
+        PineScriptElementTypes.SWITCH_CASE
+    );
+    private static final TokenSet LISTS = TokenSet.create(
+        PineScriptElementTypes.ARGUMENT_LIST,
+        PineScriptElementTypes.PARAMETER_LIST
+    );
+    /** Constructs whose header is followed by an indented body or items. */
+    private static final TokenSet BODY_OWNERS = TokenSet.create(
+        PineScriptElementTypes.IF_STATEMENT,
+        PineScriptElementTypes.FOR_STATEMENT,
+        PineScriptElementTypes.WHILE_STATEMENT,
+        PineScriptElementTypes.SWITCH_STATEMENT,
+        PineScriptElementTypes.TYPE_DECLARATION,
+        PineScriptElementTypes.ENUM_DECLARATION
+    );
+
+    private final Indent myIndent;
+    private final PineScriptSpacing mySpacing;
+    private final TextRange myTextRange;
+
+    public PineScriptFormattingBlock(@NotNull ASTNode node, @NotNull Indent indent, @Nullable Wrap wrap,
+                                     @Nullable Alignment alignment, @NotNull PineScriptSpacing spacing) {
+        super(node, wrap, alignment);
+        myIndent = indent;
+        mySpacing = spacing;
+        myTextRange = trimWhiteSpace(node);
+    }
+
+    @Override
+    public @NotNull TextRange getTextRange() {
+        return myTextRange;
+    }
+
+    @Override
+    public Indent getIndent() {
+        return myIndent;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return myNode.getFirstChildNode() == null;
+    }
+
+    @Override
+    public @Nullable Spacing getSpacing(@Nullable Block child1, @NotNull Block child2) {
+        if (!(child1 instanceof PineScriptFormattingBlock left) || !(child2 instanceof PineScriptFormattingBlock right)) {
+            return null;
+        }
+        return mySpacing.getSpacing(myNode, left.getNode(), right.getNode());
+    }
+
+    @Override
+    protected List<Block> buildChildren() {
+        List<Block> blocks = new ArrayList<>();
+        IElementType type = myNode.getElementType();
+        if (STATEMENT_LISTS.contains(type)) {
+            ASTNode previous = null;
+            for (ASTNode child = myNode.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+                if (!PineScriptSpacing.isSignificant(child)) {
+                    continue;
+                }
+                Indent indent = Indent.getNoneIndent();
+                if (PineScriptTokenSets.COMMENTS.contains(child.getElementType())) {
+                    indent = getCommentIndent(child, previous, previous != null && endsWithBody(previous));
+                } else {
+                    previous = child;
+                }
+                blocks.add(new PineScriptFormattingBlock(child, indent, null, null, mySpacing));
+            }
+        } else if (LISTS.contains(type)) {
+            CommonCodeStyleSettings settings = mySpacing.getSettings();
+            boolean call = type == PineScriptElementTypes.ARGUMENT_LIST;
+            Wrap wrap = Wrap.createWrap(call ? settings.CALL_PARAMETERS_WRAP : settings.METHOD_PARAMETERS_WRAP, false);
+            Alignment alignment = (call ? settings.ALIGN_MULTILINE_PARAMETERS_IN_CALLS : settings.ALIGN_MULTILINE_PARAMETERS)
+                ? Alignment.createAlignment()
+                : null;
+            for (ASTNode child = myNode.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+                if (!PineScriptSpacing.isSignificant(child)) {
+                    continue;
+                }
+                IElementType childType = child.getElementType();
+                if (childType == PineScriptElementTypes.ARGUMENT || childType == PineScriptElementTypes.PARAMETER) {
+                    blocks.add(new PineScriptFormattingBlock(child, getContinuationIndent(), wrap, alignment, mySpacing));
+                } else {
+                    // A closing parenthesis at the start of a line still needs indenting to continue it
+                    blocks.add(new PineScriptFormattingBlock(child,
+                        childType == PineScriptTokenTypes.LPAREN ? Indent.getNoneIndent() : getContinuationIndent(),
+                        null, null, mySpacing));
+                }
+            }
+        } else {
+            flatten(myNode, blocks);
+        }
+        return blocks;
+    }
+
+    /**
+     * Adds the tokens of a node to the blocks of this statement, descending into every construct
+     * except indented bodies, items and argument or parameter lists.
+     */
+    private void flatten(@NotNull ASTNode node, @NotNull List<Block> blocks) {
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (!PineScriptSpacing.isSignificant(child)) {
+                continue;
+            }
+            IElementType type = child.getElementType();
+            Indent indent;
+            if (blocks.isEmpty()) {
+                indent = Indent.getNoneIndent();
+            } else if (type == PineScriptElementTypes.BLOCK || ITEMS.contains(type)) {
+                indent = getBodyIndent();
+            } else if (LISTS.contains(type)) {
+                indent = getContinuationIndent();
+            } else if (child.getFirstChildNode() != null) {
+                flatten(child, blocks);
+                continue;
+            } else if (PineScriptTokenSets.COMMENTS.contains(type)) {
+                indent = getCommentIndent(child, myNode, true);
+            } else if (type == PineScriptTokenTypes.KEYWORD && "else".equals(child.getText())) {
+                indent = Indent.getNoneIndent();
+            } else {
+                indent = getContinuationIndent();
+            }
+            blocks.add(new PineScriptFormattingBlock(child, indent, null, null, mySpacing));
+        }
+    }
+
+    /**
+     * Comment lines take no part in the layout, so a comment that is indented past {@code anchor}
+     * is kept one level deeper when it may belong to a body, and is otherwise aligned with it.
+     */
+    @NotNull
+    private static Indent getCommentIndent(@NotNull ASTNode comment, @Nullable ASTNode anchor, boolean mayNest) {
+        if (!mayNest || anchor == null) {
+            return Indent.getNoneIndent();
+        }
+        CharSequence text = comment.getPsi().getContainingFile().getViewProvider().getContents();
+        int column = getColumn(text, comment.getStartOffset());
+        return column >= 0 && column > getColumn(text, trimWhiteSpace(anchor).getStartOffset())
+            ? getBodyIndent()
+            : Indent.getNoneIndent();
+    }
+
+    /**
+     * Returns the indentation width of the line at {@code offset}, or -1 if something other than
+     * whitespace precedes the offset on its line.
+     */
+    private static int getColumn(@NotNull CharSequence text, int offset) {
+        int column = 0;
+        for (int i = offset - 1; i >= 0 && text.charAt(i) != '\n'; i--) {
+            char c = text.charAt(i);
+            if (c == '\t') {
+                column += PineScriptLexer.INDENT_SIZE;
+            } else if (c == ' ') {
+                column++;
+            } else {
+                return -1;
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Checks whether a statement ends with an indented body or items, so a comment below it may
+     * still be indented as part of that body.
+     */
+    private static boolean endsWithBody(@NotNull ASTNode statement) {
+        for (ASTNode node = statement; node != null; node = getLastSignificantChild(node)) {
+            IElementType type = node.getElementType();
+            if (type == PineScriptElementTypes.BLOCK || ITEMS.contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static ASTNode getLastSignificantChild(@NotNull ASTNode node) {
+        for (ASTNode child = node.getLastChildNode(); child != null; child = child.getTreePrev()) {
+            if (PineScriptSpacing.isSignificant(child)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public @NotNull ChildAttributes getChildAttributes(int newChildIndex) {
+        IElementType type = myNode.getElementType();
+        if (STATEMENT_LISTS.contains(type)) {
+            return new ChildAttributes(Indent.getNoneIndent(), null);
+        }
+        if (LISTS.contains(type)) {
+            return new ChildAttributes(getContinuationIndent(), null);
+        }
+        List<Block> blocks = getSubBlocks();
+        if (newChildIndex > 0 && newChildIndex <= blocks.size()
+            && blocks.get(newChildIndex - 1) instanceof PineScriptFormattingBlock previous && opensBody(previous.getNode())) {
+            return new ChildAttributes(getBodyIndent(), null);
+        }
+        return new ChildAttributes(isIncomplete() ? getContinuationIndent() : Indent.getNoneIndent(), null);
+    }
+
+    /**
+     * Checks whether a body is expected after {@code node}: it ends with {@code =>} or belongs to
+     * the header of an {@code if}, loop, switch, type or enum of this statement.
+     */
+    private boolean opensBody(@NotNull ASTNode node) {
+        ASTNode leaf = PineScriptSpacing.getLastLeaf(node);
+        if (leaf == null) {
+            return false;
+        }
+        if (leaf.getElementType() == PineScriptTokenTypes.OPERATOR && "=>".equals(leaf.getText())) {
+            return true;
+        }
+        for (ASTNode parent = leaf.getTreeParent(); parent != null && parent != myNode; parent = parent.getTreeParent()) {
+            IElementType type = parent.getElementType();
+            if (type == PineScriptElementTypes.BLOCK || ITEMS.contains(type) || LISTS.contains(type)) {
+                return false;
+            }
+            if (BODY_OWNERS.contains(type)) {
+                return true;
+            }
+        }
+        return BODY_OWNERS.contains(myNode.getElementType());
+    }
+
+    @NotNull
+    private static Indent getBodyIndent() {
+        return Indent.getSpaceIndent(PineScriptLexer.INDENT_SIZE);
+    }
+
+    @NotNull
+    private static Indent getContinuationIndent() {
+        return Indent.getSpaceIndent(CONTINUATION_INDENT);
+    }
+
+    /**
+     * Returns the range of a node without surrounding whitespace. Indented blocks start with the
+     * indentation of their first line, which the formatter has to see as whitespace between blocks.
+     * The text is read without building the children of a block that has not been parsed yet.
+     */
+    @NotNull
+    private static TextRange trimWhiteSpace(@NotNull ASTNode node) {
+        CharSequence text = node.getChars();
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int offset = node.getStartOffset();
+        return new TextRange(offset + start, offset + end);
+    }
+}
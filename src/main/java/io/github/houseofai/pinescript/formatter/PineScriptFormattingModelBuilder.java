@@ -0,0 +1,39 @@
+package io.github.houseofai.pinescript.formatter;
+
+import com.intellij.formatting.FormattingContext;
+import com.intellij.formatting.FormattingModel;
+import com.intellij.formatting.FormattingModelBuilder;
+import com.intellij.formatting.FormattingModelProvider;
+import com.intellij.formatting.Indent;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.codeStyle.CodeStyleSettings;
+import com.intellij.psi.formatter.DocumentBasedFormattingModel;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Formats Pine Script: the indentation of blocks and continuation lines, spaces around operators,
+ * commas and brackets, and wrapping of long argument and parameter lists.
+ * <p>
+ * Blocks are built lazily from the AST, so formatting a range (as reformat-on-save does for the
+ * changed lines) only builds the blocks that cover it. Whitespace is replaced in the document
+ * rather than through the PSI, as the parser splits it into several tokens around the lazy blocks.
+ */
+public class PineScriptFormattingModelBuilder implements FormattingModelBuilder {
+
+    @Override
+    public @NotNull FormattingModel createModel(@NotNull FormattingContext formattingContext) {
+        PsiFile file = formattingContext.getContainingFile();
+        CodeStyleSettings settings = formattingContext.getCodeStyleSettings();
+        PineScriptFormattingBlock root = new PineScriptFormattingBlock(file.getNode(), Indent.getNoneIndent(), null, null,
+            new PineScriptSpacing(settings.getCommonSettings(PineScriptLanguage.INSTANCE),
+                settings.getCustomSettings(PineScriptCodeStyleSettings.class)));
+        Document document = PsiDocumentManager.getInstance(file.getProject()).getDocument(file);
+        if (document != null) {
+            return new DocumentBasedFormattingModel(root, document, file.getProject(), settings, file.getFileType(), file);
+        }
+        return FormattingModelProvider.createFormattingModelForPsiFile(file, root, settings);
+    }
+}
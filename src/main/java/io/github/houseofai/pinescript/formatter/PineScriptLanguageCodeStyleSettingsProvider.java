@@ -0,0 +1,104 @@
+package io.github.houseofai.pinescript.formatter;
+
+import com.intellij.lang.Language;
+import com.intellij.psi.codeStyle.CodeStyleSettingsCustomizable;
+import com.intellij.psi.codeStyle.CodeStyleSettingsCustomizableOptions;
+import com.intellij.psi.codeStyle.CommonCodeStyleSettings;
+import com.intellij.psi.codeStyle.LanguageCodeStyleSettingsProvider;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Declares which common options the Pine Script formatter honours and the sample shown in the
+ * settings preview. Indentation is not configurable, as the indentation of a line is part of the
+ * syntax: blocks are always indented by four spaces.
+ */
+public class PineScriptLanguageCodeStyleSettingsProvider extends LanguageCodeStyleSettingsProvider {
+
+    @Override
+    public @NotNull Language getLanguage() {
+        return PineScriptLanguage.INSTANCE;
+    }
+
+    @Override
+    public void customizeSettings(@NotNull CodeStyleSettingsCustomizable consumer, @NotNull SettingsType settingsType) {
+        switch (settingsType) {
+            case SPACING_SETTINGS -> {
+                consumer.showStandardOptions(
+                    "SPACE_AROUND_ASSIGNMENT_OPERATORS",
+                    "SPACE_AROUND_EQUALITY_OPERATORS",
+                    "SPACE_AROUND_RELATIONAL_OPERATORS",
+                    "SPACE_AROUND_ADDITIVE_OPERATORS",
+                    "SPACE_AROUND_MULTIPLICATIVE_OPERATORS",
+                    "SPACE_BEFORE_METHOD_CALL_PARENTHESES",
+                    "SPACE_BEFORE_METHOD_PARENTHESES",
+                    "SPACE_WITHIN_PARENTHESES",
+                    "SPACE_WITHIN_METHOD_CALL_PARENTHESES",
+                    "SPACE_WITHIN_METHOD_PARENTHESES",
+                    "SPACE_WITHIN_BRACKETS",
+                    "SPACE_BEFORE_QUEST",
+                    "SPACE_AFTER_QUEST",
+                    "SPACE_BEFORE_COLON",
+                    "SPACE_AFTER_COLON",
+                    "SPACE_BEFORE_COMMA",
+                    "SPACE_AFTER_COMMA"
+                );
+                consumer.showCustomOption(PineScriptCodeStyleSettings.class, "SPACE_AROUND_NAMED_ARGUMENT_EQ",
+                    "Named argument and default value '='", CodeStyleSettingsCustomizableOptions.getInstance().SPACES_AROUND_OPERATORS);
+            }
+            case WRAPPING_AND_BRACES_SETTINGS -> consumer.showStandardOptions(
+                "RIGHT_MARGIN",
+                "WRAP_ON_TYPING",
+                "CALL_PARAMETERS_WRAP",
+                "ALIGN_MULTILINE_PARAMETERS_IN_CALLS",
+                "METHOD_PARAMETERS_WRAP",
+                "ALIGN_MULTILINE_PARAMETERS"
+            );
+            case BLANK_LINES_SETTINGS -> consumer.showStandardOptions("KEEP_BLANK_LINES_IN_CODE");
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    protected void customizeDefaults(@NotNull CommonCodeStyleSettings commonSettings,
+                                     @NotNull CommonCodeStyleSettings.IndentOptions indentOptions) {
+        commonSettings.RIGHT_MARGIN = 120;
+        commonSettings.CALL_PARAMETERS_WRAP = CommonCodeStyleSettings.WRAP_AS_NEEDED;
+        commonSettings.METHOD_PARAMETERS_WRAP = CommonCodeStyleSettings.WRAP_AS_NEEDED;
+        commonSettings.KEEP_BLANK_LINES_IN_CODE = 2;
+    }
+
+    @Override
+    public @Nullable String getCodeSample(@NotNull SettingsType settingsType) {
+        return """
+            //@version=6
+            indicator("My Script", overlay=true)
+
+            // Calculate moving averages
+            length = input.int(14, "Length", minval=1, maxval=500, tooltip="Number of bars used by both averages")
+            fast = ta.sma(close, length)
+            var float slow = na
+            slow := na(slow) ? fast : (slow * (length - 1) + close) / length
+
+            type Signal
+                float price
+                bool long = false
+
+            crossed(a, b) =>
+                if a > b and a[1] <= b[1]
+                    true
+                else
+                    false
+
+            trend = switch
+                fast > slow => color.green
+                fast < slow => color.red
+                => color.gray
+
+            // Plot
+            plot(fast, title="Fast", color=trend, linewidth=2)
+            """;
+    }
+}
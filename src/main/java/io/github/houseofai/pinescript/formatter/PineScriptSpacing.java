@@ -0,0 +1,238 @@
+package io.github.houseofai.pinescript.formatter;
+
+import com.intellij.formatting.Spacing;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.codeStyle.CommonCodeStyleSettings;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import io.github.houseofai.pinescript.parser.PineScriptParserDefinition;
+import io.github.houseofai.pinescript.psi.PineScriptElementTypes;
+import io.github.houseofai.pinescript.psi.PineScriptStatement;
+import io.github.houseofai.pinescript.psi.PineScriptTokenSets;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Spacing between two adjacent formatting blocks, decided by the tokens on either side and the
+ * construct that owns them. Line breaks are always kept as they are, since they end statements;
+ * only the spaces within a line are changed, and pairs not covered by an option are left alone.
+ */
+final class PineScriptSpacing {
+    private static final Set<String> ASSIGNMENT_OPERATORS = Set.of("=", ":=", "+=", "-=", "*=", "/=", "%=");
+    private static final TokenSet ASSIGNMENT_OWNERS = TokenSet.create(
+        PineScriptElementTypes.VARIABLE_DECLARATION,
+        PineScriptElementTypes.TUPLE_DECLARATION,
+        PineScriptElementTypes.ASSIGNMENT_STATEMENT,
+        PineScriptElementTypes.FIELD_DECLARATION,
+        PineScriptElementTypes.ENUM_MEMBER,
+        PineScriptElementTypes.FOR_STATEMENT
+    );
+    private static final TokenSet INDENTED = TokenSet.create(
+        PineScriptElementTypes.BLOCK,
+        PineScriptElementTypes.FIELD_DECLARATION,
+        PineScriptElementTypes.ENUM_MEMBER,
+        PineScriptElementTypes.SWITCH_CASE
+    );
+
+    private final CommonCodeStyleSettings mySettings;
+    private final PineScriptCodeStyleSettings myCustomSettings;
+
+    PineScriptSpacing(@NotNull CommonCodeStyleSettings settings, @NotNull PineScriptCodeStyleSettings customSettings) {
+        mySettings = settings;
+        myCustomSettings = customSettings;
+    }
+
+    @NotNull
+    CommonCodeStyleSettings getSettings() {
+        return mySettings;
+    }
+
+    @NotNull
+    Spacing getSpacing(@NotNull ASTNode parent, @NotNull ASTNode leftChild, @NotNull ASTNode rightChild) {
+        // Bodies and items always start on their own line; their text is not needed to tell
+        if (INDENTED.contains(leftChild.getElementType()) || INDENTED.contains(rightChild.getElementType())) {
+            return keep();
+        }
+        IElementType parentType = parent.getElementType();
+        if ((parentType == PineScriptParserDefinition.FILE || parentType == PineScriptElementTypes.BLOCK)
+            && leftChild.getPsi() instanceof PineScriptStatement && rightChild.getPsi() instanceof PineScriptStatement) {
+            return Spacing.createSpacing(0, 0, 1, true, mySettings.KEEP_BLANK_LINES_IN_CODE);
+        }
+
+        ASTNode left = getLastLeaf(leftChild);
+        ASTNode right = getFirstLeaf(rightChild);
+        if (left == null || right == null) {
+            return keep();
+        }
+        IElementType leftType = left.getElementType();
+        IElementType rightType = right.getElementType();
+        if (PineScriptTokenSets.COMMENTS.contains(rightType)) {
+            // Trailing comments keep their alignment
+            return Spacing.createSpacing(1, Integer.MAX_VALUE, 0, true, mySettings.KEEP_BLANK_LINES_IN_CODE);
+        }
+        if (PineScriptTokenSets.COMMENTS.contains(leftType)) {
+            return keep();
+        }
+
+        if (rightType == PineScriptTokenTypes.COMMA) {
+            return space(mySettings.SPACE_BEFORE_COMMA);
+        }
+        if (leftType == PineScriptTokenTypes.COMMA) {
+            return space(mySettings.SPACE_AFTER_COMMA);
+        }
+        if (leftType == PineScriptTokenTypes.LPAREN || rightType == PineScriptTokenTypes.RPAREN) {
+            if (leftType == PineScriptTokenTypes.LPAREN && rightType == PineScriptTokenTypes.RPAREN) {
+                return space(false);
+            }
+            return space(isSpaceWithinParentheses(leftType == PineScriptTokenTypes.LPAREN ? left : right));
+        }
+        if (rightType == PineScriptTokenTypes.LPAREN) {
+            IElementType ownerType = right.getTreeParent().getElementType();
+            if (ownerType == PineScriptElementTypes.ARGUMENT_LIST) {
+                return space(mySettings.SPACE_BEFORE_METHOD_CALL_PARENTHESES);
+            }
+            if (ownerType == PineScriptElementTypes.PARAMETER_LIST) {
+                return space(mySettings.SPACE_BEFORE_METHOD_PARENTHESES);
+            }
+        }
+        if (leftType == PineScriptTokenTypes.LBRACKET || rightType == PineScriptTokenTypes.RBRACKET) {
+            if (leftType == PineScriptTokenTypes.LBRACKET && rightType == PineScriptTokenTypes.RBRACKET) {
+                return space(false);
+            }
+            return space(mySettings.SPACE_WITHIN_BRACKETS);
+        }
+        if (rightType == PineScriptTokenTypes.LBRACKET) {
+            IElementType ownerType = right.getTreeParent().getElementType();
+            if (ownerType == PineScriptElementTypes.INDEX_EXPRESSION || ownerType == PineScriptElementTypes.TYPE_REFERENCE) {
+                return space(false);
+            }
+        }
+        // The angle brackets of array<float> and array.new<float>()
+        if (isTypeArgumentBracket(right) || isTypeArgumentBracket(left) && "<".equals(left.getText())) {
+            return space(false);
+        }
+
+        Boolean around = isOperator(leftType) ? isSpaceAround(left, false) : null;
+        if (around == null && isOperator(rightType)) {
+            around = isSpaceAround(right, true);
+        }
+        if (around == null || !around && isOperator(leftType) && isOperator(rightType)) {
+            // Two operators are never joined, so they cannot lex as one
+            return keep();
+        }
+        return space(around);
+    }
+
+    /**
+     * Returns whether an operator takes a space on the given side, or {@code null} if no option
+     * applies and the other side of the pair decides.
+     */
+    @Nullable
+    private Boolean isSpaceAround(@NotNull ASTNode operator, boolean before) {
+        String text = operator.getText();
+        IElementType ownerType = operator.getTreeParent().getElementType();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (Character.isLetter(text.charAt(0)) || "=>".equals(text)) {
+            // and, or, not, and the arrow of functions and switch cases
+            return true;
+        }
+        if (ownerType == PineScriptElementTypes.UNARY_EXPRESSION) {
+            return before ? null : false;
+        }
+        if (ownerType == PineScriptElementTypes.CONDITIONAL_EXPRESSION) {
+            if ("?".equals(text)) {
+                return before ? mySettings.SPACE_BEFORE_QUEST : mySettings.SPACE_AFTER_QUEST;
+            }
+            return before ? mySettings.SPACE_BEFORE_COLON : mySettings.SPACE_AFTER_COLON;
+        }
+        if ("=".equals(text)
+            && (ownerType == PineScriptElementTypes.ARGUMENT || ownerType == PineScriptElementTypes.PARAMETER)) {
+            return myCustomSettings.SPACE_AROUND_NAMED_ARGUMENT_EQ;
+        }
+        if (ASSIGNMENT_OWNERS.contains(ownerType) && ASSIGNMENT_OPERATORS.contains(text)) {
+            return mySettings.SPACE_AROUND_ASSIGNMENT_OPERATORS;
+        }
+        if (ownerType != PineScriptElementTypes.BINARY_EXPRESSION) {
+            return null;
+        }
+        return switch (text) {
+            case "==", "!=" -> mySettings.SPACE_AROUND_EQUALITY_OPERATORS;
+            case "<", ">", "<=", ">=" -> mySettings.SPACE_AROUND_RELATIONAL_OPERATORS;
+            case "+", "-" -> mySettings.SPACE_AROUND_ADDITIVE_OPERATORS;
+            case "*", "/", "%" -> mySettings.SPACE_AROUND_MULTIPLICATIVE_OPERATORS;
+            default -> null;
+        };
+    }
+
+    private boolean isSpaceWithinParentheses(@NotNull ASTNode parenthesis) {
+        IElementType ownerType = parenthesis.getTreeParent().getElementType();
+        if (ownerType == PineScriptElementTypes.ARGUMENT_LIST) {
+            return mySettings.SPACE_WITHIN_METHOD_CALL_PARENTHESES;
+        }
+        if (ownerType == PineScriptElementTypes.PARAMETER_LIST) {
+            return mySettings.SPACE_WITHIN_METHOD_PARENTHESES;
+        }
+        return mySettings.SPACE_WITHIN_PARENTHESES;
+    }
+
+    private static boolean isOperator(@NotNull IElementType type) {
+        return type == PineScriptTokenTypes.OPERATOR || type == PineScriptTokenTypes.COLON;
+    }
+
+    private static boolean isTypeArgumentBracket(@NotNull ASTNode node) {
+        return node.getElementType() == PineScriptTokenTypes.OPERATOR
+            && node.getTreeParent().getElementType() == PineScriptElementTypes.TYPE_ARGUMENT_LIST;
+    }
+
+    @NotNull
+    private Spacing space(boolean space) {
+        int spaces = space ? 1 : 0;
+        return Spacing.createSpacing(spaces, spaces, 0, true, mySettings.KEEP_BLANK_LINES_IN_CODE);
+    }
+
+    @NotNull
+    private Spacing keep() {
+        return Spacing.createSpacing(0, Integer.MAX_VALUE, 0, true, mySettings.KEEP_BLANK_LINES_IN_CODE);
+    }
+
+    /**
+     * Returns the first token of a node with text of its own, skipping whitespace and the
+     * zero-length layout tokens.
+     */
+    @Nullable
+    static ASTNode getFirstLeaf(@NotNull ASTNode node) {
+        if (node.getFirstChildNode() == null) {
+            return isSignificant(node) ? node : null;
+        }
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            ASTNode leaf = getFirstLeaf(child);
+            if (leaf != null) {
+                return leaf;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    static ASTNode getLastLeaf(@NotNull ASTNode node) {
+        if (node.getLastChildNode() == null) {
+            return isSignificant(node) ? node : null;
+        }
+        for (ASTNode child = node.getLastChildNode(); child != null; child = child.getTreePrev()) {
+            ASTNode leaf = getLastLeaf(child);
+            if (leaf != null) {
+                return leaf;
+            }
+        }
+        return null;
+    }
+
+    static boolean isSignificant(@NotNull ASTNode node) {
+        return node.getTextLength() > 0 && node.getElementType() != PineScriptTokenTypes.WHITE_SPACE;
+    }
+}
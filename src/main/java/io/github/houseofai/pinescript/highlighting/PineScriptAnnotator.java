@@ -0,0 +1,183 @@
+package io.github.houseofai.pinescript.highlighting;
+
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import io.github.houseofai.pinescript.psi.PineScriptArgument;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import io.github.houseofai.pinescript.psi.PineScriptFieldDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptParameter;
+import io.github.houseofai.pinescript.psi.PineScriptReferenceExpression;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeReference;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptVariableTarget;
+import io.github.houseofai.pinescript.resolve.PineScriptSymbol;
+import io.github.houseofai.pinescript.resolve.PineScriptSymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Colors user-defined names that the lexer can only report as identifiers: declarations, references,
+ * named arguments, type fields and enum members.
+ * <p>
+ * References are resolved against {@link PineScriptSymbolTable}, which is built once per file change,
+ * so annotating a token is a few map lookups.
+ */
+public class PineScriptAnnotator implements Annotator, DumbAware {
+
+    @Override
+    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        if (element.getNode().getElementType() != PineScriptTokenTypes.IDENTIFIER) {
+            return;
+        }
+        PsiElement parent = element.getParent();
+        if (parent instanceof PineScriptReferenceExpression reference) {
+            annotateReference(element, reference, holder);
+        } else if (parent instanceof PineScriptArgument argument) {
+            if (argument.getNameIdentifier() == element) {
+                highlight(holder, element.getTextRange(), PineScriptSyntaxHighlighter.PARAMETER_NAME);
+            }
+        } else if (parent instanceof PineScriptTypeReference) {
+            String name = element.getText();
+            int dot = name.indexOf('.');
+            PineScriptSymbol symbol = table(element).resolve(element, dot < 0 ? name : name.substring(0, dot));
+            if (symbol != null && isTypeKind(symbol.getKind())) {
+                int start = element.getTextRange().getStartOffset();
+                highlight(holder, TextRange.from(start, symbol.getName().length()), PineScriptSyntaxHighlighter.TYPE_NAME);
+            }
+        } else {
+            TextAttributesKey key = getDeclarationKey(element, parent);
+            if (key != null) {
+                highlight(holder, element.getTextRange(), key);
+            }
+        }
+    }
+
+    /**
+     * Returns the color of a declaration's name, or {@code null} if {@code name} is not the declared name.
+     */
+    @Nullable
+    private static TextAttributesKey getDeclarationKey(@NotNull PsiElement name, @Nullable PsiElement parent) {
+        if (parent instanceof PineScriptFunctionDeclaration function && function.getNameIdentifier() == name) {
+            return PineScriptSyntaxHighlighter.FUNCTION_DECLARATION;
+        }
+        if (parent instanceof PineScriptParameter parameter && parameter.getNameIdentifier() == name) {
+            return PineScriptSyntaxHighlighter.PARAMETER;
+        }
+        if (parent instanceof PineScriptVariableDeclaration variable && variable.getNameIdentifier() == name) {
+            return variable.getParent() instanceof PsiFile
+                ? PineScriptSyntaxHighlighter.GLOBAL_VARIABLE
+                : PineScriptSyntaxHighlighter.LOCAL_VARIABLE;
+        }
+        if (parent instanceof PineScriptVariableTarget target && target.getNameIdentifier() == name) {
+            return PineScriptSyntaxHighlighter.LOCAL_VARIABLE;
+        }
+        if (parent instanceof PineScriptFieldDeclaration field && field.getNameIdentifier() == name) {
+            return PineScriptSyntaxHighlighter.FIELD;
+        }
+        if (parent instanceof PineScriptEnumMember member && member.getNameIdentifier() == name) {
+            return PineScriptSyntaxHighlighter.ENUM_MEMBER;
+        }
+        if (parent instanceof PineScriptTypeDeclaration type && type.getNameIdentifier() == name
+            || parent instanceof PineScriptEnumDeclaration enumDeclaration && enumDeclaration.getNameIdentifier() == name) {
+            return PineScriptSyntaxHighlighter.TYPE_NAME;
+        }
+        return null;
+    }
+
+    /**
+     * Colors each segment of a possibly dotted name. The lexer folds {@code bar.high} or
+     * {@code src.calculateRSI} into one token, so the head is resolved as a name and the rest as
+     * enum members, fields or, for the called segment, a method.
+     */
+    private static void annotateReference(@NotNull PsiElement name, @NotNull PineScriptReferenceExpression reference,
+                                          @NotNull AnnotationHolder holder) {
+        PineScriptSymbolTable table = table(name);
+        String text = name.getText();
+        int start = name.getTextRange().getStartOffset();
+        boolean callee = reference.getParent() instanceof PineScriptCallExpression call && call.getCallee() == reference;
+
+        int dot = text.indexOf('.');
+        String head = dot < 0 ? text : text.substring(0, dot);
+        PineScriptSymbol symbol = reference.getQualifier() == null ? table.resolve(name, head) : null;
+        if (symbol != null) {
+            if (symbol.getKind() == PineScriptSymbol.Kind.IMPORT) {
+                return;
+            }
+            TextAttributesKey key = getReferenceKey(symbol.getKind());
+            if (key != null) {
+                highlight(holder, TextRange.from(start, head.length()), key);
+            }
+        }
+        if (dot < 0) {
+            return;
+        }
+        if (symbol != null && symbol.getKind() == PineScriptSymbol.Kind.ENUM) {
+            String member = text.substring(dot + 1);
+            if (table.findEnumMember(head, member) != null) {
+                highlight(holder, TextRange.from(start + dot + 1, member.length()), PineScriptSyntaxHighlighter.ENUM_MEMBER);
+            }
+            return;
+        }
+        if (symbol != null && symbol.getKind() == PineScriptSymbol.Kind.TYPE) {
+            // Type.new() and friends are built-ins
+            return;
+        }
+        boolean instance = symbol != null;
+        int segmentStart = dot + 1;
+        while (segmentStart < text.length()) {
+            int next = text.indexOf('.', segmentStart);
+            int segmentEnd = next < 0 ? text.length() : next;
+            String segment = text.substring(segmentStart, segmentEnd);
+            if (next < 0 && callee) {
+                if (table.findMethod(segment) != null) {
+                    highlight(holder, TextRange.create(start + segmentStart, start + segmentEnd), PineScriptSyntaxHighlighter.METHOD_CALL);
+                }
+            } else if (instance && !table.findFields(segment).isEmpty()) {
+                highlight(holder, TextRange.create(start + segmentStart, start + segmentEnd), PineScriptSyntaxHighlighter.FIELD);
+            }
+            if (next < 0) {
+                break;
+            }
+            segmentStart = next + 1;
+        }
+    }
+
+    @Nullable
+    private static TextAttributesKey getReferenceKey(@NotNull PineScriptSymbol.Kind kind) {
+        return switch (kind) {
+            case FUNCTION -> PineScriptSyntaxHighlighter.FUNCTION_CALL;
+            case METHOD -> PineScriptSyntaxHighlighter.METHOD_CALL;
+            case TYPE, ENUM -> PineScriptSyntaxHighlighter.TYPE_NAME;
+            case PARAMETER -> PineScriptSyntaxHighlighter.PARAMETER;
+            case VARIABLE -> PineScriptSyntaxHighlighter.GLOBAL_VARIABLE;
+            case LOCAL_VARIABLE -> PineScriptSyntaxHighlighter.LOCAL_VARIABLE;
+            case FIELD -> PineScriptSyntaxHighlighter.FIELD;
+            case ENUM_MEMBER -> PineScriptSyntaxHighlighter.ENUM_MEMBER;
+            case IMPORT -> null;
+        };
+    }
+
+    private static boolean isTypeKind(@NotNull PineScriptSymbol.Kind kind) {
+        return kind == PineScriptSymbol.Kind.TYPE || kind == PineScriptSymbol.Kind.ENUM;
+    }
+
+    @NotNull
+    private static PineScriptSymbolTable table(@NotNull PsiElement element) {
+        return PineScriptSymbolTable.getInstance(element.getContainingFile());
+    }
+
+    private static void highlight(@NotNull AnnotationHolder holder, @NotNull TextRange range, @NotNull TextAttributesKey key) {
+        holder.newSilentAnnotation(HighlightSeverity.INFORMATION).range(range).textAttributes(key).create();
+    }
+}
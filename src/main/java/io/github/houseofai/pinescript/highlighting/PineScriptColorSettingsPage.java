@@ -25,7 +25,16 @@ public class PineScriptColorSettingsPage implements ColorSettingsPage {
         new AttributesDescriptor("Comment", PineScriptSyntaxHighlighter.COMMENT),
         new AttributesDescriptor("Annotation (//@version, //@description)", PineScriptSyntaxHighlighter.ANNOTATION),
         new AttributesDescriptor("Identifier", PineScriptSyntaxHighlighter.IDENTIFIER),
-        new AttributesDescriptor("Operator", PineScriptSyntaxHighlighter.OPERATOR)
+        new AttributesDescriptor("Operator", PineScriptSyntaxHighlighter.OPERATOR),
+        new AttributesDescriptor("Function Declaration", PineScriptSyntaxHighlighter.FUNCTION_DECLARATION),
+        new AttributesDescriptor("Function Call", PineScriptSyntaxHighlighter.FUNCTION_CALL),
+        new AttributesDescriptor("Method Call", PineScriptSyntaxHighlighter.METHOD_CALL),
+        new AttributesDescriptor("Parameter", PineScriptSyntaxHighlighter.PARAMETER),
+        new AttributesDescriptor("Global Variable", PineScriptSyntaxHighlighter.GLOBAL_VARIABLE),
+        new AttributesDescriptor("Local Variable", PineScriptSyntaxHighlighter.LOCAL_VARIABLE),
+        new AttributesDescriptor("Type Name (type, enum)", PineScriptSyntaxHighlighter.TYPE_NAME),
+        new AttributesDescriptor("Field", PineScriptSyntaxHighlighter.FIELD),
+        new AttributesDescriptor("Enum Member", PineScriptSyntaxHighlighter.ENUM_MEMBER)
     };
 
     @Nullable
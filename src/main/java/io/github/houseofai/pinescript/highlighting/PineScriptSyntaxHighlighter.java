@@ -13,6 +13,8 @@ import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.Color;
+import java.util.HashMap;
+import java.util.Map;
 
 public class PineScriptSyntaxHighlighter extends SyntaxHighlighterBase {
 
@@ -91,23 +93,72 @@ public class PineScriptSyntaxHighlighter extends SyntaxHighlighterBase {
     public static final TextAttributesKey BAD_CHARACTER =
         TextAttributesKey.createTextAttributesKey("PINE_BAD_CHAR", HighlighterColors.BAD_CHARACTER);
 
+    // User-defined symbols, applied by PineScriptAnnotator once names are resolved
+    public static final TextAttributesKey FUNCTION_DECLARATION =
+        TextAttributesKey.createTextAttributesKey("PINE_FUNCTION_DECLARATION", DefaultLanguageHighlighterColors.FUNCTION_DECLARATION);
+
+    public static final TextAttributesKey FUNCTION_CALL =
+        TextAttributesKey.createTextAttributesKey("PINE_FUNCTION_CALL", DefaultLanguageHighlighterColors.FUNCTION_CALL);
+
+    public static final TextAttributesKey METHOD_CALL =
+        TextAttributesKey.createTextAttributesKey("PINE_METHOD_CALL", DefaultLanguageHighlighterColors.INSTANCE_METHOD);
+
+    public static final TextAttributesKey PARAMETER =
+        TextAttributesKey.createTextAttributesKey("PINE_PARAMETER", DefaultLanguageHighlighterColors.PARAMETER);
+
+    public static final TextAttributesKey GLOBAL_VARIABLE =
+        TextAttributesKey.createTextAttributesKey("PINE_GLOBAL_VARIABLE", DefaultLanguageHighlighterColors.GLOBAL_VARIABLE);
+
+    public static final TextAttributesKey LOCAL_VARIABLE =
+        TextAttributesKey.createTextAttributesKey("PINE_LOCAL_VARIABLE", DefaultLanguageHighlighterColors.LOCAL_VARIABLE);
+
+    public static final TextAttributesKey TYPE_NAME =
+        TextAttributesKey.createTextAttributesKey("PINE_TYPE_NAME", DefaultLanguageHighlighterColors.CLASS_NAME);
+
+    public static final TextAttributesKey FIELD =
+        TextAttributesKey.createTextAttributesKey("PINE_FIELD", DefaultLanguageHighlighterColors.INSTANCE_FIELD);
+
+    public static final TextAttributesKey ENUM_MEMBER =
+        TextAttributesKey.createTextAttributesKey("PINE_ENUM_MEMBER", DefaultLanguageHighlighterColors.STATIC_FIELD);
+
     private static final TextAttributesKey[] EMPTY = new TextAttributesKey[0];
 
-    private static final TextAttributesKey[] KEYWORD_KEYS = new TextAttributesKey[]{KEYWORD};
-    private static final TextAttributesKey[] STORAGE_KEYWORD_KEYS = new TextAttributesKey[]{STORAGE_KEYWORD};
-    private static final TextAttributesKey[] BOOLEAN_KEYS = new TextAttributesKey[]{BOOLEAN};
-    private static final TextAttributesKey[] NAMESPACE_CONSTANT_KEYS = new TextAttributesKey[]{NAMESPACE_CONSTANT};
-    private static final TextAttributesKey[] CONSTANT_KEYS = new TextAttributesKey[]{CONSTANT};
-    private static final TextAttributesKey[] BUILTIN_FUNCTION_KEYS = new TextAttributesKey[]{BUILTIN_FUNCTION};
-    private static final TextAttributesKey[] PARAMETER_NAME_KEYS = new TextAttributesKey[]{PARAMETER_NAME};
-    private static final TextAttributesKey[] STRING_KEYS = new TextAttributesKey[]{STRING};
-    private static final TextAttributesKey[] NUMBER_KEYS = new TextAttributesKey[]{NUMBER};
-    private static final TextAttributesKey[] HEX_COLOR_KEYS = new TextAttributesKey[]{HEX_COLOR};
-    private static final TextAttributesKey[] COMMENT_KEYS = new TextAttributesKey[]{COMMENT};
-    private static final TextAttributesKey[] ANNOTATION_KEYS = new TextAttributesKey[]{ANNOTATION};
-    private static final TextAttributesKey[] IDENTIFIER_KEYS = new TextAttributesKey[]{IDENTIFIER};
-    private static final TextAttributesKey[] OPERATOR_KEYS = new TextAttributesKey[]{OPERATOR};
-    private static final TextAttributesKey[] BAD_CHAR_KEYS = new TextAttributesKey[]{BAD_CHARACTER};
+    // Highlights indexed by IElementType.getIndex() - INDEX_BASE; unregistered slots stay null
+    private static final int INDEX_BASE;
+    private static final TextAttributesKey[][] HIGHLIGHTS;
+
+    static {
+        Map<IElementType, TextAttributesKey> keys = new HashMap<>();
+        keys.put(PineScriptTokenTypes.KEYWORD, KEYWORD);
+        keys.put(PineScriptTokenTypes.STORAGE_KEYWORD, STORAGE_KEYWORD);
+        keys.put(PineScriptTokenTypes.BOOLEAN, BOOLEAN);
+        keys.put(PineScriptTokenTypes.NAMESPACE_CONSTANT, NAMESPACE_CONSTANT);
+        keys.put(PineScriptTokenTypes.CONSTANT, CONSTANT);
+        keys.put(PineScriptTokenTypes.BUILTIN_FUNCTION, BUILTIN_FUNCTION);
+        keys.put(PineScriptTokenTypes.PARAMETER_NAME, PARAMETER_NAME);
+        keys.put(PineScriptTokenTypes.STRING, STRING);
+        keys.put(PineScriptTokenTypes.NUMBER, NUMBER);
+        keys.put(PineScriptTokenTypes.HEX_COLOR, HEX_COLOR);
+        keys.put(PineScriptTokenTypes.COMMENT, COMMENT);
+        keys.put(PineScriptTokenTypes.ANNOTATION, ANNOTATION);
+        keys.put(PineScriptTokenTypes.IDENTIFIER, IDENTIFIER);
+        keys.put(PineScriptTokenTypes.OPERATOR, OPERATOR);
+        keys.put(PineScriptTokenTypes.BAD_CHARACTER, BAD_CHARACTER);
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (IElementType type : keys.keySet()) {
+            min = Math.min(min, type.getIndex());
+            max = Math.max(max, type.getIndex());
+        }
+        INDEX_BASE = min;
+        HIGHLIGHTS = new TextAttributesKey[max - min + 1][];
+        // One shared array per key, as callers must not modify the result
+        Map<TextAttributesKey, TextAttributesKey[]> packed = new HashMap<>();
+        for (Map.Entry<IElementType, TextAttributesKey> entry : keys.entrySet()) {
+            HIGHLIGHTS[entry.getKey().getIndex() - min] = packed.computeIfAbsent(entry.getValue(), SyntaxHighlighterBase::pack);
+        }
+    }
 
     @NotNull
     @Override
@@ -118,37 +169,8 @@ public class PineScriptSyntaxHighlighter extends SyntaxHighlighterBase {
     @NotNull
     @Override
     public TextAttributesKey[] getTokenHighlights(IElementType tokenType) {
-        if (tokenType == PineScriptTokenTypes.KEYWORD) {
-            return KEYWORD_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.STORAGE_KEYWORD) {
-            return STORAGE_KEYWORD_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.BOOLEAN) {
-            return BOOLEAN_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.NAMESPACE_CONSTANT) {
-            return NAMESPACE_CONSTANT_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.CONSTANT) {
-            return CONSTANT_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.BUILTIN_FUNCTION) {
-            return BUILTIN_FUNCTION_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.PARAMETER_NAME) {
-            return PARAMETER_NAME_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.STRING) {
-            return STRING_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.NUMBER) {
-            return NUMBER_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.HEX_COLOR) {
-            return HEX_COLOR_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.COMMENT) {
-            return COMMENT_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.ANNOTATION) {
-            return ANNOTATION_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.IDENTIFIER) {
-            return IDENTIFIER_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.OPERATOR) {
-            return OPERATOR_KEYS;
-        } else if (tokenType == PineScriptTokenTypes.BAD_CHARACTER) {
-            return BAD_CHAR_KEYS;
-        }
-        return EMPTY;
+        int index = tokenType.getIndex() - INDEX_BASE;
+        TextAttributesKey[] keys = index >= 0 && index < HIGHLIGHTS.length ? HIGHLIGHTS[index] : null;
+        return keys != null ? keys : EMPTY;
     }
 }
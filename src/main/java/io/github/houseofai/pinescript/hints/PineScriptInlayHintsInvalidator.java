@@ -0,0 +1,60 @@
+package io.github.houseofai.pinescript.hints;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Drops the cached inlay hints of the calls an edit lands in. Every enclosing argument list is
+ * cleared, since an edit in a nested call may change the arguments of the outer one; all other
+ * calls keep their hints.
+ */
+public class PineScriptInlayHintsInvalidator extends PsiTreeChangeAdapter {
+
+    @Override
+    public void childAdded(@NotNull PsiTreeChangeEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void childMoved(@NotNull PsiTreeChangeEvent event) {
+        invalidate(event);
+        invalidate(event.getOldParent());
+    }
+
+    private static void invalidate(@NotNull PsiTreeChangeEvent event) {
+        PsiFile file = event.getFile();
+        if (file != null && file.getLanguage() == PineScriptLanguage.INSTANCE) {
+            invalidate(event.getParent());
+        }
+    }
+
+    private static void invalidate(@Nullable PsiElement element) {
+        PineScriptArgumentList argumentList = PsiTreeUtil.getParentOfType(element, PineScriptArgumentList.class, false);
+        while (argumentList != null) {
+            argumentList.putUserData(PineScriptInlayParameterHintsProvider.CALL_HINTS, null);
+            argumentList = PsiTreeUtil.getParentOfType(argumentList, PineScriptArgumentList.class, true);
+        }
+    }
+}
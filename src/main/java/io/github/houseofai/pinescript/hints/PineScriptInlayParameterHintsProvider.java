@@ -5,19 +5,23 @@ import com.intellij.codeInsight.hints.presentation.InlayPresentation;
 import com.intellij.codeInsight.hints.presentation.PresentationFactory;
 import com.intellij.lang.Language;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.tree.IElementType;
 import io.github.houseofai.pinescript.PineScriptLanguage;
-import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionRepository;
 import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
-import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptSignatureResolver;
+import io.github.houseofai.pinescript.psi.PineScriptArgument;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides inline parameter hints for Pine Script function calls.
@@ -25,6 +29,7 @@ import java.util.List;
  */
 @SuppressWarnings("UnstableApiUsage")
 public class PineScriptInlayParameterHintsProvider implements InlayHintsProvider<NoSettings> {
+    static final Key<CallHints> CALL_HINTS = Key.create("PineScript.inlay.callHints");
 
     @Override
     public boolean isVisibleInSettings() {
@@ -75,8 +80,15 @@ public class PineScriptInlayParameterHintsProvider implements InlayHintsProvider
         return language.is(PineScriptLanguage.INSTANCE);
     }
 
+    /**
+     * Adds hints call by call: each argument list is handled once, in a single forward pass over
+     * its arguments, so a pass is linear in the size of the file. The labels of a call are kept on
+     * its argument list and reused by later passes until {@link PineScriptInlayHintsInvalidator}
+     * sees an edit inside the call or the callee's signatures change.
+     */
     private static class ParameterHintsCollector extends FactoryInlayHintsCollector {
         private final InlayHintsSink sink;
+        private final Map<String, List<PineScriptFunctionSignature>> mySignatures = new HashMap<>();
 
         public ParameterHintsCollector(@NotNull Editor editor, @NotNull InlayHintsSink sink) {
             super(editor);
@@ -85,198 +97,116 @@ public class PineScriptInlayParameterHintsProvider implements InlayHintsProvider
 
         @Override
         public boolean collect(@NotNull PsiElement element, @NotNull Editor editor, @NotNull InlayHintsSink sink) {
-            // Only process on complete file parse, not during typing
-            // This prevents interference with autocomplete
-            IElementType elementType = element.getNode() != null ? element.getNode().getElementType() : null;
+            if (!(element instanceof PineScriptArgumentList argumentList)
+                || !(argumentList.getParent() instanceof PineScriptCallExpression call)) {
+                return true;
+            }
+            String functionName = call.getCalleeName();
+            if (functionName == null) {
+                return true;
+            }
 
-            // Look for arguments in function calls - but only after commas or opening parens
-            if (elementType == PineScriptTokenTypes.COMMA) {
-                // After a comma, check what follows
-                PsiElement next = getNextNonWhitespace(element);
-                if (next != null && !isNamedParameter(next)) {
-                    FunctionCallInfo callInfo = findFunctionCall(element);
-                    if (callInfo != null) {
-                        PineScriptFunctionSignature signature = PineScriptFunctionRepository.getSignature(callInfo.functionName);
-                        if (signature != null) {
-                            int paramIndex = getParameterIndex(next, callInfo.openParen);
-                            if (paramIndex >= 0 && paramIndex < signature.getParameterCount()) {
-                                String paramName = signature.getParameters().get(paramIndex).getName();
-                                PresentationFactory factory = getFactory();
-                                InlayPresentation presentation = factory.smallText(paramName + ": ");
+            List<PineScriptFunctionSignature> signatures = mySignatures.computeIfAbsent(functionName,
+                name -> PineScriptSignatureResolver.resolveAll(element.getContainingFile(), name));
+            CallHints hints = CallHints.get(argumentList, signatures);
 
-                                sink.addInlineElement(
-                                    next.getTextRange().getStartOffset(),
-                                    false,
-                                    presentation,
-                                    false
-                                );
-                            }
-                        }
-                    }
-                }
+            PresentationFactory factory = getFactory();
+            int start = argumentList.getTextRange().getStartOffset();
+            for (int i = 0; i < hints.myOffsets.length; i++) {
+                InlayPresentation presentation = factory.smallText(hints.myLabels[i]);
+                sink.addInlineElement(start + hints.myOffsets[i], false, presentation, false);
             }
-
             return true;
         }
+    }
 
-        private PsiElement getNextNonWhitespace(PsiElement element) {
-            PsiElement next = element.getNextSibling();
-            while (next != null && isWhitespace(next)) {
-                next = next.getNextSibling();
-            }
-            return next;
+    /**
+     * The parameter labels of one call, at offsets relative to its argument list so that they stay
+     * valid when text before the call is edited.
+     */
+    static final class CallHints {
+        private static final int[] NO_OFFSETS = new int[0];
+        private static final String[] NO_LABELS = new String[0];
+
+        private final List<PineScriptFunctionSignature> mySignatures;
+        private final int[] myOffsets;
+        private final String[] myLabels;
+
+        private CallHints(@NotNull List<PineScriptFunctionSignature> signatures, int[] offsets, String[] labels) {
+            mySignatures = signatures;
+            myOffsets = offsets;
+            myLabels = labels;
         }
 
         /**
-         * Check if this element is part of a named parameter (e.g., "title" in title="value")
+         * Returns the hints kept on an argument list, or computes them if there are none or the
+         * callee's signatures differ. Signatures compare by value, as a user function's signature
+         * is rebuilt from its declaration on each resolve; built-in overloads are the catalogue's
+         * shared list and compare by identity.
          */
-        private boolean isNamedParameter(PsiElement element) {
-            PsiElement next = element.getNextSibling();
-            while (next != null && isWhitespace(next)) {
-                next = next.getNextSibling();
+        @NotNull
+        static CallHints get(@NotNull PineScriptArgumentList argumentList,
+                             @NotNull List<PineScriptFunctionSignature> signatures) {
+            CallHints hints = argumentList.getUserData(CALL_HINTS);
+            if (hints == null || !hints.mySignatures.equals(signatures)) {
+                hints = compute(argumentList, signatures);
+                argumentList.putUserData(CALL_HINTS, hints);
             }
-            if (next != null) {
-                IElementType type = next.getNode() != null ? next.getNode().getElementType() : null;
-                return type == PineScriptTokenTypes.OPERATOR && "=".equals(next.getText());
-            }
-            return false;
+            return hints;
         }
 
-        /**
-         * Get the parameter index for the current element
-         */
-        private int getParameterIndex(PsiElement element, PsiElement openParen) {
-            if (openParen == null) {
-                return -1;
-            }
-
-            int commaCount = 0;
-            int parenDepth = 0;
-            PsiElement current = openParen.getNextSibling();
-
-            while (current != null && current.getTextRange().getStartOffset() < element.getTextRange().getStartOffset()) {
-                IElementType type = current.getNode() != null ? current.getNode().getElementType() : null;
-
-                if (type == PineScriptTokenTypes.LPAREN) {
-                    parenDepth++;
-                } else if (type == PineScriptTokenTypes.RPAREN) {
-                    if (parenDepth == 0) {
-                        break;
-                    }
-                    parenDepth--;
-                } else if (type == PineScriptTokenTypes.COMMA && parenDepth == 0) {
-                    commaCount++;
+        @NotNull
+        static CallHints compute(@NotNull PineScriptArgumentList argumentList,
+                                 @NotNull List<PineScriptFunctionSignature> signatures) {
+            List<PineScriptArgument> arguments = argumentList.getArguments();
+            int positionalCount = 0;
+            for (PineScriptArgument argument : arguments) {
+                if (!argument.isNamed()) {
+                    positionalCount++;
                 }
-
-                current = current.getNextSibling();
             }
-
-            return commaCount;
-        }
-
-        /**
-         * Find the function call context for the given element
-         */
-        private FunctionCallInfo findFunctionCall(PsiElement element) {
-            PsiElement current = element;
-            int parenDepth = 0;
-
-            // Navigate backwards to find the opening parenthesis
-            while (current != null) {
-                IElementType type = current.getNode() != null ? current.getNode().getElementType() : null;
-
-                if (type == PineScriptTokenTypes.RPAREN) {
-                    parenDepth++;
-                } else if (type == PineScriptTokenTypes.LPAREN) {
-                    if (parenDepth == 0) {
-                        // Found the opening paren, now find the function name
-                        String functionName = getFunctionName(current);
-                        if (functionName != null) {
-                            return new FunctionCallInfo(functionName, current);
-                        }
-                        return null;
-                    }
-                    parenDepth--;
-                }
-
-                current = current.getPrevSibling();
-                if (current == null && element.getParent() != null) {
-                    current = element.getParent().getPrevSibling();
-                }
-            }
-
-            return null;
-        }
-
-        /**
-         * Get the function name before the opening parenthesis
-         */
-        private String getFunctionName(PsiElement openParen) {
-            PsiElement current = openParen.getPrevSibling();
-
-            // Skip whitespace
-            while (current != null && isWhitespace(current)) {
-                current = current.getPrevSibling();
-            }
-
-            if (current == null) {
-                return null;
+            // The first argument is self-explanatory in most calls, e.g. plot(close)
+            PineScriptFunctionSignature signature = positionalCount < 2 ? null : selectOverload(signatures, positionalCount);
+            if (signature == null) {
+                return new CallHints(signatures, NO_OFFSETS, NO_LABELS);
             }
 
-            // Build the function name (might include namespace like "ta.sma")
-            StringBuilder nameBuilder = new StringBuilder();
-            while (current != null) {
-                IElementType type = current.getNode() != null ? current.getNode().getElementType() : null;
-
-                if (type == PineScriptTokenTypes.IDENTIFIER ||
-                    type == PineScriptTokenTypes.BUILTIN_FUNCTION) {
-                    nameBuilder.insert(0, current.getText());
-                    current = current.getPrevSibling();
-
-                    // Skip whitespace
-                    while (current != null && isWhitespace(current)) {
-                        current = current.getPrevSibling();
-                    }
-
-                    // Check for dot (namespace separator)
-                    if (current != null) {
-                        type = current.getNode() != null ? current.getNode().getElementType() : null;
-                        if (type == PineScriptTokenTypes.DOT) {
-                            nameBuilder.insert(0, ".");
-                            current = current.getPrevSibling();
-
-                            // Skip whitespace
-                            while (current != null && isWhitespace(current)) {
-                                current = current.getPrevSibling();
-                            }
-                        } else {
-                            break;
-                        }
-                    }
-                } else {
+            List<PineScriptFunctionSignature.Parameter> parameters = signature.getParameters();
+            int start = argumentList.getTextRange().getStartOffset();
+            int count = 0;
+            int[] offsets = new int[Math.min(arguments.size(), parameters.size())];
+            String[] labels = new String[offsets.length];
+            // Positional arguments always come first, so the argument index is the parameter index
+            for (int i = 1; i < offsets.length; i++) {
+                PineScriptArgument argument = arguments.get(i);
+                PineScriptFunctionSignature.Parameter parameter = parameters.get(i);
+                if (argument.isNamed() || parameter.isVariadic()) {
                     break;
                 }
+                offsets[count] = argument.getTextRange().getStartOffset() - start;
+                labels[count] = parameter.getName() + ": ";
+                count++;
             }
-
-            return nameBuilder.length() > 0 ? nameBuilder.toString() : null;
+            return new CallHints(signatures, Arrays.copyOf(offsets, count), Arrays.copyOf(labels, count));
         }
 
-        private boolean isWhitespace(PsiElement element) {
-            if (element == null) {
-                return false;
-            }
-            IElementType type = element.getNode() != null ? element.getNode().getElementType() : null;
-            return type == PineScriptTokenTypes.WHITE_SPACE;
+        @NotNull
+        String[] getLabels() {
+            return myLabels;
         }
 
-        private static class FunctionCallInfo {
-            final String functionName;
-            final PsiElement openParen;
-
-            FunctionCallInfo(String functionName, PsiElement openParen) {
-                this.functionName = functionName;
-                this.openParen = openParen;
+        /**
+         * Returns the first overload with room for the positional arguments.
+         */
+        @Nullable
+        private static PineScriptFunctionSignature selectOverload(@NotNull List<PineScriptFunctionSignature> signatures,
+                                                                  int positionalCount) {
+            for (PineScriptFunctionSignature signature : signatures) {
+                if (signature.getParameterCount() >= positionalCount) {
+                    return signature;
+                }
             }
+            return null;
         }
     }
 }
@@ -0,0 +1,58 @@
+package io.github.houseofai.pinescript.index;
+
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The exported functions and types of a local {@code library()} script, as stored in
+ * {@link PineScriptLibraryIndex}.
+ */
+public final class PineScriptLibraryExports {
+    private final List<PineScriptFunctionSignature> myFunctions;
+    private final List<String> myTypes;
+
+    public PineScriptLibraryExports(@NotNull List<PineScriptFunctionSignature> functions, @NotNull List<String> types) {
+        myFunctions = functions;
+        myTypes = types;
+    }
+
+    /**
+     * Returns the exported functions and methods.
+     */
+    @NotNull
+    public List<PineScriptFunctionSignature> getFunctions() {
+        return myFunctions;
+    }
+
+    /**
+     * Returns the names of the exported types and enums.
+     */
+    @NotNull
+    public List<String> getTypes() {
+        return myTypes;
+    }
+
+    @Nullable
+    public PineScriptFunctionSignature findFunction(@NotNull String name) {
+        for (PineScriptFunctionSignature function : myFunctions) {
+            if (name.equals(function.getFunctionName())) {
+                return function;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof PineScriptLibraryExports other
+            && myFunctions.equals(other.myFunctions) && myTypes.equals(other.myTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * myFunctions.hashCode() + myTypes.hashCode();
+    }
+}
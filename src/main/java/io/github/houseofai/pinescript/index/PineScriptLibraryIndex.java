@@ -0,0 +1,221 @@
+package io.github.houseofai.pinescript.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import io.github.houseofai.pinescript.PineScriptFileType;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFile;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptImportStatement;
+import io.github.houseofai.pinescript.psi.PineScriptScriptDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the title of every local {@code library("Name")} script to its exported functions and types,
+ * so that {@code import publisher/Name/1 as alias} can be resolved without opening the library.
+ * The publisher and version segments of an import have no local counterpart and are not part of the key.
+ * <p>
+ * Values are computed on the indexing thread and kept up to date by the platform when a library changes;
+ * readers only see the serialized exports and never parse the library file.
+ */
+public class PineScriptLibraryIndex extends FileBasedIndexExtension<String, PineScriptLibraryExports> {
+    public static final ID<String, PineScriptLibraryExports> NAME = ID.create("pinescript.library");
+
+    private static final int VERSION = 1;
+
+    @NotNull
+    @Override
+    public ID<String, PineScriptLibraryExports> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, PineScriptLibraryExports, FileContent> getIndexer() {
+        return inputData -> {
+            // Cheap pre-check so that indicators and strategies are never parsed by this index
+            if (!StringUtil.contains(inputData.getContentAsText(), "library")) {
+                return Map.of();
+            }
+            String title = null;
+            List<PineScriptFunctionSignature> functions = new ArrayList<>();
+            List<String> types = new ArrayList<>();
+            for (PsiElement child : inputData.getPsiFile().getChildren()) {
+                if (child instanceof PineScriptScriptDeclaration declaration) {
+                    if ("library".equals(declaration.getKind())) {
+                        title = declaration.getTitle();
+                    }
+                } else if (child instanceof PineScriptFunctionDeclaration function) {
+                    if (function.isExported() && function.getName() != null) {
+                        functions.add(function.getSignature());
+                    }
+                } else if (child instanceof PineScriptTypeDeclaration type) {
+                    if (type.isExported() && type.getName() != null) {
+                        types.add(type.getName());
+                    }
+                } else if (child instanceof PineScriptEnumDeclaration enumDeclaration) {
+                    if (enumDeclaration.isExported() && enumDeclaration.getName() != null) {
+                        types.add(enumDeclaration.getName());
+                    }
+                }
+            }
+            if (StringUtil.isEmpty(title)) {
+                return Map.of();
+            }
+            return Map.of(title, new PineScriptLibraryExports(functions, types));
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<PineScriptLibraryExports> getValueExternalizer() {
+        return new ExportsExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(PineScriptFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns the exports of the local libraries with the given title. Usually there is one, but
+     * several copies of a library may exist in a project.
+     */
+    @NotNull
+    public static List<PineScriptLibraryExports> getExports(@NotNull String libraryName, @NotNull Project project) {
+        return FileBasedIndex.getInstance().getValues(NAME, libraryName, GlobalSearchScope.allScope(project));
+    }
+
+    /**
+     * Returns the exports of the local library an {@code import} statement refers to.
+     */
+    @NotNull
+    public static List<PineScriptLibraryExports> getExports(@NotNull PineScriptImportStatement importStatement) {
+        String libraryName = importStatement.getLibraryName();
+        return libraryName != null ? getExports(libraryName, importStatement.getProject()) : List.of();
+    }
+
+    /**
+     * Resolves {@code alias.function} against the libraries imported by the given file.
+     */
+    @Nullable
+    public static PineScriptFunctionSignature findImportedFunction(@NotNull PineScriptFile file,
+                                                                   @NotNull String qualifiedName) {
+        int dot = qualifiedName.indexOf('.');
+        if (dot <= 0 || dot != qualifiedName.lastIndexOf('.')) {
+            return null;
+        }
+        PineScriptImportStatement importStatement = file.findImport(qualifiedName.substring(0, dot));
+        if (importStatement == null) {
+            return null;
+        }
+        String functionName = qualifiedName.substring(dot + 1);
+        for (PineScriptLibraryExports exports : getExports(importStatement)) {
+            PineScriptFunctionSignature function = exports.findFunction(functionName);
+            if (function != null) {
+                return function;
+            }
+        }
+        return null;
+    }
+
+    private static final class ExportsExternalizer implements DataExternalizer<PineScriptLibraryExports> {
+        @Override
+        public void save(@NotNull DataOutput out, PineScriptLibraryExports value) throws IOException {
+            List<PineScriptFunctionSignature> functions = value.getFunctions();
+            DataInputOutputUtil.writeINT(out, functions.size());
+            for (PineScriptFunctionSignature function : functions) {
+                IOUtil.writeUTF(out, function.getFunctionName());
+                List<PineScriptFunctionSignature.Parameter> parameters = function.getParameters();
+                DataInputOutputUtil.writeINT(out, parameters.size());
+                for (PineScriptFunctionSignature.Parameter parameter : parameters) {
+                    writeNullableString(out, parameter.getName());
+                    writeNullableString(out, parameter.getType());
+                    writeNullableString(out, parameter.getDefaultValue());
+                }
+            }
+            List<String> types = value.getTypes();
+            DataInputOutputUtil.writeINT(out, types.size());
+            for (String type : types) {
+                IOUtil.writeUTF(out, type);
+            }
+        }
+
+        @Override
+        public PineScriptLibraryExports read(@NotNull DataInput in) throws IOException {
+            int functionCount = DataInputOutputUtil.readINT(in);
+            List<PineScriptFunctionSignature> functions = new ArrayList<>(functionCount);
+            for (int i = 0; i < functionCount; i++) {
+                String name = IOUtil.readUTF(in);
+                int parameterCount = DataInputOutputUtil.readINT(in);
+                PineScriptFunctionSignature.Parameter[] parameters = new PineScriptFunctionSignature.Parameter[parameterCount];
+                for (int j = 0; j < parameterCount; j++) {
+                    String parameterName = readNullableString(in);
+                    String type = readNullableString(in);
+                    String defaultValue = readNullableString(in);
+                    parameters[j] = new PineScriptFunctionSignature.Parameter(parameterName, type, defaultValue,
+                        defaultValue != null);
+                }
+                functions.add(new PineScriptFunctionSignature(name, parameters));
+            }
+            int typeCount = DataInputOutputUtil.readINT(in);
+            List<String> types = new ArrayList<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                types.add(IOUtil.readUTF(in));
+            }
+            return new PineScriptLibraryExports(functions, types);
+        }
+
+        private static void writeNullableString(@NotNull DataOutput out, @Nullable String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                IOUtil.writeUTF(out, value);
+            }
+        }
+
+        @Nullable
+        private static String readNullableString(@NotNull DataInput in) throws IOException {
+            return in.readBoolean() ? IOUtil.readUTF(in) : null;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.houseofai.pinescript.inspection;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.ResolveResult;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionRepository;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.psi.PineScriptArgument;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptReferenceExpression;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.types.PineScriptType;
+import io.github.houseofai.pinescript.types.PineScriptTypeInference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the arguments of calls to built-in and user-defined functions: unknown parameter names,
+ * too many positional arguments, missing required parameters and, for the overload that otherwise
+ * fits, argument types that are definitely wrong.
+ * <p>
+ * Every call is checked on its own as the visitor reaches it, against overloads looked up once per
+ * name in the catalogue or through the cached callee reference, so a file is checked in one pass
+ * and files can be inspected in parallel.
+ */
+public class PineScriptCallArgumentsInspection extends LocalInspectionTool {
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof PineScriptCallExpression call) {
+                    checkCall(call, holder);
+                }
+            }
+        };
+    }
+
+    private static void checkCall(@NotNull PineScriptCallExpression call, @NotNull ProblemsHolder holder) {
+        PineScriptArgumentList argumentList = call.getArgumentList();
+        String name = call.getCalleeName();
+        if (argumentList == null || name == null) {
+            return;
+        }
+        List<PineScriptFunctionSignature> signatures = getSignatures(call, name);
+        if (signatures.isEmpty()) {
+            return;
+        }
+        List<PineScriptArgument> arguments = argumentList.getArguments();
+
+        boolean namesKnown = true;
+        for (PineScriptArgument argument : arguments) {
+            String argumentName = argument.getName();
+            if (argument.isNamed() && argumentName != null && !declaresParameter(signatures, argumentName)) {
+                PsiElement identifier = argument.getNameIdentifier();
+                holder.registerProblem(identifier != null ? identifier : argument,
+                    "Unknown parameter '" + argumentName + "' of '" + name + "'");
+                namesKnown = false;
+            }
+        }
+
+        int maxPositional = 0;
+        for (PineScriptFunctionSignature signature : signatures) {
+            maxPositional = Math.max(maxPositional, getMaxPositional(signature));
+        }
+        List<PineScriptArgument> positional = arguments.stream().filter(argument -> !argument.isNamed()).toList();
+        if (positional.size() > maxPositional) {
+            holder.registerProblem(positional.get(maxPositional),
+                "Too many arguments for '" + name + "': expected at most " + maxPositional);
+            return;
+        }
+        if (!namesKnown) {
+            return;
+        }
+
+        // Overloads that take every argument, and of those the ones that get every required one
+        List<Map<PineScriptArgument, PineScriptFunctionSignature.Parameter>> complete = new ArrayList<>();
+        List<String> missing = null;
+        for (PineScriptFunctionSignature signature : signatures) {
+            Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> binding = bind(signature, arguments);
+            if (binding == null) {
+                continue;
+            }
+            List<String> unbound = getMissingParameters(signature, binding);
+            if (unbound.isEmpty()) {
+                complete.add(binding);
+            } else if (missing == null) {
+                missing = unbound;
+            }
+        }
+        if (complete.isEmpty()) {
+            if (missing != null && isClosed(argumentList)) {
+                holder.registerProblem(argumentList.getLastChild(), "Missing required "
+                    + (missing.size() == 1 ? "argument " : "arguments ") + String.join(", ", missing) + " of '" + name + "'");
+            }
+            return;
+        }
+        for (Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> binding : complete) {
+            if (getMismatches(binding).isEmpty()) {
+                return;
+            }
+        }
+        for (Map.Entry<PineScriptArgument, PineScriptFunctionSignature.Parameter> mismatch : getMismatches(complete.get(0)).entrySet()) {
+            PineScriptFunctionSignature.Parameter parameter = mismatch.getValue();
+            holder.registerProblem(mismatch.getKey(), "Argument of type '"
+                    + PineScriptTypeInference.getType(mismatch.getKey().getValue()) + "' is not assignable to parameter '"
+                    + parameter.getName() + "' of type '" + PineScriptType.parse(parameter.getType()) + "'",
+                ProblemHighlightType.WARNING);
+        }
+    }
+
+    /**
+     * Returns the overloads of a built-in, or the signature of the user or library function the
+     * callee resolves to. Methods called on a receiver are skipped, as the receiver is not an argument.
+     */
+    @NotNull
+    private static List<PineScriptFunctionSignature> getSignatures(@NotNull PineScriptCallExpression call, @NotNull String name) {
+        List<PineScriptFunctionSignature> builtins = PineScriptFunctionRepository.getSignatures(name);
+        if (!builtins.isEmpty()) {
+            return builtins;
+        }
+        if (!(call.getCallee() instanceof PineScriptReferenceExpression callee)) {
+            return List.of();
+        }
+        PsiReference reference = callee.getReference();
+        ResolveResult[] results = reference instanceof PsiPolyVariantReference polyVariant
+            ? polyVariant.multiResolve(false)
+            : ResolveResult.EMPTY_ARRAY;
+        if (results.length == 1 && results[0].getElement() instanceof PineScriptFunctionDeclaration function
+            && !(function.isMethod() && name.indexOf('.') >= 0)) {
+            return List.of(function.getSignature());
+        }
+        return List.of();
+    }
+
+    /**
+     * Binds each argument to a parameter: positional ones in order, up to a trailing variadic
+     * parameter, and named ones by name. Returns {@code null} if an argument has no parameter.
+     */
+    @Nullable
+    private static Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> bind(@NotNull PineScriptFunctionSignature signature,
+                                                                                      @NotNull List<PineScriptArgument> arguments) {
+        List<PineScriptFunctionSignature.Parameter> parameters = signature.getParameters();
+        Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> binding = new LinkedHashMap<>();
+        int position = 0;
+        for (PineScriptArgument argument : arguments) {
+            PineScriptFunctionSignature.Parameter parameter = null;
+            if (argument.isNamed()) {
+                parameter = findParameter(parameters, argument.getName());
+            } else if (position < parameters.size()) {
+                parameter = parameters.get(position++);
+            } else if (!parameters.isEmpty() && parameters.get(parameters.size() - 1).isVariadic()) {
+                parameter = parameters.get(parameters.size() - 1);
+            }
+            if (parameter == null) {
+                return null;
+            }
+            binding.put(argument, parameter);
+        }
+        return binding;
+    }
+
+    @NotNull
+    private static List<String> getMissingParameters(@NotNull PineScriptFunctionSignature signature,
+                                                     @NotNull Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> binding) {
+        List<String> missing = new ArrayList<>();
+        for (PineScriptFunctionSignature.Parameter parameter : signature.getParameters()) {
+            if (!parameter.isOptional() && !parameter.isVariadic() && !binding.containsValue(parameter)) {
+                missing.add("'" + parameter.getName() + "'");
+            }
+        }
+        return missing;
+    }
+
+    @NotNull
+    private static Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> getMismatches(
+        @NotNull Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> binding) {
+        Map<PineScriptArgument, PineScriptFunctionSignature.Parameter> mismatches = new LinkedHashMap<>();
+        for (Map.Entry<PineScriptArgument, PineScriptFunctionSignature.Parameter> entry : binding.entrySet()) {
+            PineScriptType type = PineScriptTypeInference.getType(entry.getKey().getValue());
+            if (!type.isAssignableTo(PineScriptType.parse(entry.getValue().getType()))) {
+                mismatches.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return mismatches;
+    }
+
+    private static int getMaxPositional(@NotNull PineScriptFunctionSignature signature) {
+        List<PineScriptFunctionSignature.Parameter> parameters = signature.getParameters();
+        boolean variadic = !parameters.isEmpty() && parameters.get(parameters.size() - 1).isVariadic();
+        return variadic ? Integer.MAX_VALUE : parameters.size();
+    }
+
+    private static boolean declaresParameter(@NotNull List<PineScriptFunctionSignature> signatures, @NotNull String name) {
+        for (PineScriptFunctionSignature signature : signatures) {
+            if (findParameter(signature.getParameters(), name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static PineScriptFunctionSignature.Parameter findParameter(@NotNull List<PineScriptFunctionSignature.Parameter> parameters,
+                                                                      @Nullable String name) {
+        for (PineScriptFunctionSignature.Parameter parameter : parameters) {
+            if (parameter.getName() != null && parameter.getName().equals(name)) {
+                return parameter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Missing arguments are only reported once the closing parenthesis is typed.
+     */
+    private static boolean isClosed(@NotNull PineScriptArgumentList argumentList) {
+        PsiElement last = argumentList.getLastChild();
+        return last != null && last.getNode().getElementType() == PineScriptTokenTypes.RPAREN;
+    }
+}
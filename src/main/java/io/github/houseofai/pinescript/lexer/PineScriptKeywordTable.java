@@ -0,0 +1,64 @@
+package io.github.houseofai.pinescript.lexer;
+
+/**
+ * Fixed open-addressing hash table keyed by strings but queried with a region of a
+ * {@link CharSequence}, so the lexer can classify a token without copying its text.
+ * The table is filled once in a static initializer and is read-only afterwards.
+ */
+final class PineScriptKeywordTable<T> {
+    private final String[] myKeys;
+    private final Object[] myValues;
+    private final int myMask;
+
+    PineScriptKeywordTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 4 - 1);
+        myKeys = new String[capacity];
+        myValues = new Object[capacity];
+        myMask = capacity - 1;
+    }
+
+    void put(String key, T value) {
+        int slot = hash(key, 0, key.length()) & myMask;
+        while (myKeys[slot] != null && !myKeys[slot].equals(key)) {
+            slot = (slot + 1) & myMask;
+        }
+        myKeys[slot] = key;
+        myValues[slot] = value;
+    }
+
+    /**
+     * Returns the value stored for {@code text[start, end)} or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    T get(CharSequence text, int start, int end) {
+        int slot = hash(text, start, end) & myMask;
+        String key;
+        while ((key = myKeys[slot]) != null) {
+            if (matches(key, text, start, end)) {
+                return (T) myValues[slot];
+            }
+            slot = (slot + 1) & myMask;
+        }
+        return null;
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String key, CharSequence text, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
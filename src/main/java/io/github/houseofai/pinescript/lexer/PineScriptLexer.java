@@ -4,12 +4,95 @@ import com.intellij.lexer.LexerBase;
 import com.intellij.psi.tree.IElementType;
 import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
 
+/**
+ * Lexer for Pine Script.
+ * <p>
+ * The lexer is restartable: {@link #getState()} reports the state at the start of the
+ * current token, and {@link #start} resumes from any token whose state was recorded.
+ * Multi-line block comments and strings are emitted one line at a time so the editor
+ * highlighter never has to go back further than the start of the line being edited,
+ * unless that line continues a comment or string from above.
+ * <p>
+ * The parser's lexer additionally emits zero-length {@link PineScriptTokenTypes#NEWLINE},
+ * {@link PineScriptTokenTypes#INDENT} and {@link PineScriptTokenTypes#DEDENT} tokens at the
+ * end of each logical line. A line break ends a logical line unless it is inside parentheses
+ * or brackets, or the next line is indented by an amount that is not a whole number of
+ * levels (four spaces or a tab), which Pine treats as a continuation. The block depth and
+ * bracket depth are part of the state, so the only restart-safe state is still
+ * {@link #STATE_LINE_START}: the start of a line at the top level.
+ */
 public class PineScriptLexer extends LexerBase {
+    /** At the start of a line, outside any comment or string. The only restart-safe state. */
+    public static final int STATE_LINE_START = 0;
+    /** Somewhere after the first token of a line. */
+    public static final int STATE_CODE = 1;
+    /** Continuing a block comment opened on a previous line. */
+    public static final int STATE_BLOCK_COMMENT = 2;
+    /** Continuing a double-quoted string opened on a previous line. */
+    public static final int STATE_DOUBLE_QUOTED_STRING = 3;
+    /** Continuing a single-quoted string opened on a previous line. */
+    public static final int STATE_SINGLE_QUOTED_STRING = 4;
+
+    // Layout part of the state, used only when layout tokens are enabled
+    private static final int BASE_STATE_MASK = 0x7;
+    private static final int FLAG_LOGICAL_LINE_HAS_CODE = 0x8;
+    private static final int DEPTH_SHIFT = 4;
+    private static final int PAREN_DEPTH_SHIFT = 12;
+    private static final int MAX_DEPTH = 0xFF;
+
+    /** Width of one indentation level; a tab counts as one level. */
+    public static final int INDENT_SIZE = 4;
+
+    private final boolean myLayoutTokens;
+    private final int myBlockDepth;
+
     private CharSequence myBuffer;
     private int myEndOffset;
     private int myCurrentOffset;
     private int myTokenStart;
     private IElementType myTokenType;
+    private int myTokenState;
+    private int myState;
+
+    /** Indentation level of the current block. */
+    private int myDepth;
+    /** Number of open parentheses and brackets on the current logical line. */
+    private int myParenDepth;
+    /** Whether the current logical line has any token other than whitespace and comments. */
+    private boolean myLogicalLineHasCode;
+
+    // Result of the last look-ahead for the next line with code, reused across blank and comment lines
+    private int myLookAheadFrom;
+    private int myLookAheadTo;
+    private int myLookAheadIndent;
+
+    /**
+     * Creates the lexer used for highlighting, without layout tokens.
+     */
+    public PineScriptLexer() {
+        this(false);
+    }
+
+    /**
+     * @param layoutTokens whether to emit NEWLINE, INDENT and DEDENT tokens for the parser
+     */
+    public PineScriptLexer(boolean layoutTokens) {
+        this(layoutTokens, 0);
+    }
+
+    /**
+     * Creates a lexer for the contents of a block indented by {@code blockDepth} levels, as
+     * reparsed on its own. Starting in {@link #STATE_LINE_START} then means starting a line at
+     * that depth, so the block's own indentation produces no layout tokens and the end of the
+     * text closes the block with DEDENTs back to the top level.
+     *
+     * @param layoutTokens whether to emit NEWLINE, INDENT and DEDENT tokens for the parser
+     * @param blockDepth   indentation level of the first line of the text
+     */
+    public PineScriptLexer(boolean layoutTokens, int blockDepth) {
+        myLayoutTokens = layoutTokens;
+        myBlockDepth = Math.min(blockDepth, MAX_DEPTH);
+    }
 
     @Override
     public void start(CharSequence buffer, int startOffset, int endOffset, int initialState) {
@@ -18,12 +101,17 @@ public class PineScriptLexer extends LexerBase {
         myCurrentOffset = startOffset;
         myTokenStart = startOffset;
         myTokenType = null;
+        myState = initialState & BASE_STATE_MASK;
+        myLogicalLineHasCode = (initialState & FLAG_LOGICAL_LINE_HAS_CODE) != 0;
+        myDepth = initialState == STATE_LINE_START ? myBlockDepth : (initialState >>> DEPTH_SHIFT) & MAX_DEPTH;
+        myParenDepth = (initialState >>> PAREN_DEPTH_SHIFT) & MAX_DEPTH;
+        myLookAheadFrom = -1;
         advance();
     }
 
     @Override
     public int getState() {
-        return 0;
+        return myTokenState;
     }
 
     @Override
@@ -45,31 +133,195 @@ public class PineScriptLexer extends LexerBase {
     public void advance() {
         // Clear previous token type
         myTokenType = null;
+        myTokenStart = myCurrentOffset;
+        myTokenState = packState();
 
-        if (myCurrentOffset >= myEndOffset) {
-            myTokenStart = myCurrentOffset;
+        if (myLayoutTokens && advanceLayout()) {
             return;
         }
 
-        myTokenStart = myCurrentOffset;
-
         // Bounds check - should never happen but defensive
         if (myCurrentOffset >= myBuffer.length() || myCurrentOffset >= myEndOffset) {
             return;
         }
 
+        lexToken();
+
+        if (myLayoutTokens && myTokenType != PineScriptTokenTypes.WHITE_SPACE
+            && myTokenType != PineScriptTokenTypes.COMMENT && myTokenType != PineScriptTokenTypes.ANNOTATION) {
+            myLogicalLineHasCode = true;
+            if (myTokenType == PineScriptTokenTypes.LPAREN || myTokenType == PineScriptTokenTypes.LBRACKET) {
+                myParenDepth = Math.min(myParenDepth + 1, MAX_DEPTH);
+            } else if ((myTokenType == PineScriptTokenTypes.RPAREN || myTokenType == PineScriptTokenTypes.RBRACKET) && myParenDepth > 0) {
+                myParenDepth--;
+            }
+        }
+    }
+
+    private int packState() {
+        return myState
+            | (myLogicalLineHasCode ? FLAG_LOGICAL_LINE_HAS_CODE : 0)
+            | myDepth << DEPTH_SHIFT
+            | myParenDepth << PAREN_DEPTH_SHIFT;
+    }
+
+    /**
+     * Emits the next layout token, if one is due at the current offset. Layout tokens are
+     * zero-length and sit at the start of the whitespace that holds the line break: first a
+     * NEWLINE that ends the logical line, then INDENTs or DEDENTs until the block depth matches
+     * the indentation of the next line with code. Keeping them in front of the whitespace leaves
+     * the line break and any comment lines outside the statements and blocks the parser builds.
+     */
+    private boolean advanceLayout() {
+        if (myState >= STATE_BLOCK_COMMENT) {
+            return false;
+        }
+
+        int indent;
+        if (myCurrentOffset >= myEndOffset) {
+            indent = 0;
+        } else {
+            int lineStart = skipToLineBreak(myCurrentOffset);
+            if (lineStart < 0) {
+                return false;
+            }
+            indent = nextCodeLineIndent(lineStart);
+        }
+
+        if (myLogicalLineHasCode) {
+            boolean continuation = myParenDepth > 0 ? indent > 0 : indent % INDENT_SIZE != 0;
+            if (continuation && myCurrentOffset < myEndOffset) {
+                return false;
+            }
+            // A line at column 0 ends an unbalanced parenthesis, so one missing ')' does not swallow the rest of the file
+            myLogicalLineHasCode = false;
+            myParenDepth = 0;
+            myTokenType = PineScriptTokenTypes.NEWLINE;
+            return true;
+        }
+
+        if (indent % INDENT_SIZE != 0) {
+            return false;
+        }
+        int level = Math.min(indent / INDENT_SIZE, MAX_DEPTH);
+        if (level > myDepth) {
+            myDepth++;
+            myTokenType = PineScriptTokenTypes.INDENT;
+            return true;
+        }
+        if (level < myDepth) {
+            myDepth--;
+            myTokenType = PineScriptTokenTypes.DEDENT;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the offset after the first line break of the whitespace run at {@code offset}, or
+     * -1 if the run does not contain one.
+     */
+    private int skipToLineBreak(int offset) {
+        for (int i = offset; i < myEndOffset; i++) {
+            char c = myBuffer.charAt(i);
+            if (c == '\n') {
+                return i + 1;
+            }
+            if (!Character.isWhitespace(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the indentation width of the first line at or after {@code lineStart} that has
+     * anything but whitespace and line comments, or 0 if there is none.
+     */
+    private int nextCodeLineIndent(int lineStart) {
+        if (lineStart >= myLookAheadFrom && lineStart <= myLookAheadTo) {
+            return myLookAheadIndent;
+        }
+        int i = lineStart;
+        int indent = 0;
+        while (i < myEndOffset) {
+            char c = myBuffer.charAt(i);
+            if (c == ' ') {
+                indent++;
+                i++;
+            } else if (c == '\t') {
+                indent += INDENT_SIZE;
+                i++;
+            } else if (c == '\r') {
+                i++;
+            } else if (c == '\n') {
+                indent = 0;
+                i++;
+            } else if (c == '/' && i + 1 < myEndOffset && myBuffer.charAt(i + 1) == '/') {
+                while (i < myEndOffset && myBuffer.charAt(i) != '\n') {
+                    i++;
+                }
+                indent = 0;
+            } else {
+                break;
+            }
+        }
+        if (i >= myEndOffset) {
+            indent = 0;
+        }
+        myLookAheadFrom = lineStart;
+        myLookAheadTo = i;
+        myLookAheadIndent = indent;
+        return indent;
+    }
+
+    /**
+     * Lexes one regular token at the current offset.
+     */
+    private void lexToken() {
+
+        // Resume a comment or string that was cut at the end of the previous line
+        switch (myState) {
+            case STATE_BLOCK_COMMENT:
+                scanBlockCommentLine();
+                myTokenType = PineScriptTokenTypes.COMMENT;
+                return;
+            case STATE_DOUBLE_QUOTED_STRING:
+                scanStringLine('"');
+                myTokenType = PineScriptTokenTypes.STRING;
+                return;
+            case STATE_SINGLE_QUOTED_STRING:
+                scanStringLine('\'');
+                myTokenType = PineScriptTokenTypes.STRING;
+                return;
+        }
+
         char c = myBuffer.charAt(myCurrentOffset);
 
-        // Skip whitespace
+        // Whitespace runs are split after their last line break, so the indentation of
+        // the next line is a token of its own that starts in STATE_LINE_START
         if (Character.isWhitespace(c)) {
+            int lastLineBreak = c == '\n' ? myCurrentOffset : -1;
             myCurrentOffset++;
             while (myCurrentOffset < myEndOffset && Character.isWhitespace(myBuffer.charAt(myCurrentOffset))) {
+                if (myBuffer.charAt(myCurrentOffset) == '\n') {
+                    lastLineBreak = myCurrentOffset;
+                }
                 myCurrentOffset++;
             }
+            if (lastLineBreak >= 0) {
+                myCurrentOffset = lastLineBreak + 1;
+                myState = STATE_LINE_START;
+            } else {
+                myState = STATE_CODE;
+            }
             myTokenType = PineScriptTokenTypes.WHITE_SPACE;
             return;
         }
 
+        // Everything below leaves the lexer in the middle of a line
+        myState = STATE_CODE;
+
         // Handle line comments and annotations
         if (c == '/' && myCurrentOffset + 1 < myEndOffset && myBuffer.charAt(myCurrentOffset + 1) == '/') {
             myCurrentOffset += 2;
@@ -92,38 +344,18 @@ public class PineScriptLexer extends LexerBase {
             return;
         }
 
-        // Handle block comments
+        // Handle block comments (one token per line)
         if (c == '/' && myCurrentOffset + 1 < myEndOffset && myBuffer.charAt(myCurrentOffset + 1) == '*') {
             myCurrentOffset += 2;
-            while (myCurrentOffset < myEndOffset) {
-                if (myCurrentOffset + 1 < myEndOffset &&
-                    myBuffer.charAt(myCurrentOffset) == '*' &&
-                    myBuffer.charAt(myCurrentOffset + 1) == '/') {
-                    myCurrentOffset += 2;
-                    break;
-                }
-                myCurrentOffset++;
-            }
+            scanBlockCommentLine();
             myTokenType = PineScriptTokenTypes.COMMENT;
             return;
         }
 
-        // Handle strings
+        // Handle strings (one token per line)
         if (c == '"' || c == '\'') {
-            char quote = c;
             myCurrentOffset++;
-            while (myCurrentOffset < myEndOffset) {
-                char ch = myBuffer.charAt(myCurrentOffset);
-                if (ch == quote) {
-                    myCurrentOffset++;
-                    break;
-                }
-                if (ch == '\\' && myCurrentOffset + 1 < myEndOffset) {
-                    myCurrentOffset += 2; // Skip backslash and next character
-                } else {
-                    myCurrentOffset++;
-                }
-            }
+            scanStringLine(c);
             myTokenType = PineScriptTokenTypes.STRING;
             return;
         }
@@ -165,6 +397,19 @@ public class PineScriptLexer extends LexerBase {
                     break;
                 }
             }
+            // Exponent, as in 1e-10
+            if (myCurrentOffset + 1 < myEndOffset && (myBuffer.charAt(myCurrentOffset) == 'e' || myBuffer.charAt(myCurrentOffset) == 'E')) {
+                int exponent = myCurrentOffset + 1;
+                if ((myBuffer.charAt(exponent) == '+' || myBuffer.charAt(exponent) == '-') && exponent + 1 < myEndOffset) {
+                    exponent++;
+                }
+                if (Character.isDigit(myBuffer.charAt(exponent))) {
+                    myCurrentOffset = exponent;
+                    while (myCurrentOffset < myEndOffset && Character.isDigit(myBuffer.charAt(myCurrentOffset))) {
+                        myCurrentOffset++;
+                    }
+                }
+            }
             myTokenType = PineScriptTokenTypes.NUMBER;
             return;
         }
@@ -181,8 +426,7 @@ public class PineScriptLexer extends LexerBase {
                 }
             }
 
-            String text = myBuffer.subSequence(myTokenStart, myCurrentOffset).toString();
-            myTokenType = getKeywordTokenType(text);
+            myTokenType = getKeywordTokenType(myBuffer, myTokenStart, myCurrentOffset);
             if (myTokenType == null) {
                 myTokenType = PineScriptTokenTypes.IDENTIFIER;
             }
@@ -190,21 +434,10 @@ public class PineScriptLexer extends LexerBase {
         }
 
         // Handle two-character operators
-        if (myCurrentOffset + 1 < myEndOffset) {
-            String twoChar = myBuffer.subSequence(myCurrentOffset, myCurrentOffset + 2).toString();
-            switch (twoChar) {
-                case "==":
-                case "!=":
-                case "<=":
-                case ">=":
-                case "&&":
-                case "||":
-                case "=>":
-                case ":=":
-                    myCurrentOffset += 2;
-                    myTokenType = PineScriptTokenTypes.OPERATOR;
-                    return;
-            }
+        if (myCurrentOffset + 1 < myEndOffset && isTwoCharOperator(c, myBuffer.charAt(myCurrentOffset + 1))) {
+            myCurrentOffset += 2;
+            myTokenType = PineScriptTokenTypes.OPERATOR;
+            return;
         }
 
         // Handle single-character tokens
@@ -275,6 +508,60 @@ public class PineScriptLexer extends LexerBase {
         }
     }
 
+    /**
+     * Scans block comment text up to and including the closing {@code *}{@code /} or the end of the
+     * current line, whichever comes first. If the line ends first, the comment continues on the next
+     * line and the lexer stays in {@link #STATE_BLOCK_COMMENT}.
+     */
+    private void scanBlockCommentLine() {
+        while (myCurrentOffset < myEndOffset) {
+            char ch = myBuffer.charAt(myCurrentOffset);
+            if (ch == '*' && myCurrentOffset + 1 < myEndOffset && myBuffer.charAt(myCurrentOffset + 1) == '/') {
+                myCurrentOffset += 2;
+                myState = STATE_CODE;
+                return;
+            }
+            myCurrentOffset++;
+            if (ch == '\n') {
+                myState = STATE_BLOCK_COMMENT;
+                return;
+            }
+        }
+        myState = STATE_BLOCK_COMMENT;
+    }
+
+    /**
+     * Scans string text up to and including the closing quote or the end of the current line,
+     * whichever comes first. An unterminated string continues on the next line.
+     */
+    private void scanStringLine(char quote) {
+        int continuationState = quote == '"' ? STATE_DOUBLE_QUOTED_STRING : STATE_SINGLE_QUOTED_STRING;
+        while (myCurrentOffset < myEndOffset) {
+            char ch = myBuffer.charAt(myCurrentOffset);
+            if (ch == quote) {
+                myCurrentOffset++;
+                myState = STATE_CODE;
+                return;
+            }
+            if (ch == '\\' && myCurrentOffset + 1 < myEndOffset) {
+                // Skip backslash and next character
+                boolean escapedLineBreak = myBuffer.charAt(myCurrentOffset + 1) == '\n';
+                myCurrentOffset += 2;
+                if (escapedLineBreak) {
+                    myState = continuationState;
+                    return;
+                }
+                continue;
+            }
+            myCurrentOffset++;
+            if (ch == '\n') {
+                myState = continuationState;
+                return;
+            }
+        }
+        myState = continuationState;
+    }
+
     @Override
     public CharSequence getBufferSequence() {
         return myBuffer;
@@ -285,134 +572,164 @@ public class PineScriptLexer extends LexerBase {
         return myEndOffset;
     }
 
-    private IElementType getKeywordTokenType(String text) {
-        // Check for color constants (color.red, color.green, etc.) - blue
-        if (text.startsWith("color.")) {
-            return PineScriptTokenTypes.BUILTIN_FUNCTION;
+    private static boolean isTwoCharOperator(char first, char second) {
+        switch (first) {
+            case '=':
+                return second == '=' || second == '>';
+            case '!':
+            case '<':
+            case '>':
+            case ':':
+                return second == '=';
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '%':
+                // Compound assignments
+                return second == '=';
+            case '&':
+                return second == '&';
+            case '|':
+                return second == '|';
+            default:
+                return false;
         }
+    }
 
-        // Check for namespace constants (format.*, display.*, etc.) - pink
-        if (text.startsWith("format.") || text.startsWith("display.") ||
-            text.startsWith("position.") || text.startsWith("size.") ||
-            text.startsWith("extend.") || text.startsWith("shape.") ||
-            text.startsWith("location.") || text.startsWith("xloc.") ||
-            text.startsWith("yloc.") || text.startsWith("plot.style_") ||
-            text.startsWith("hline.style_") || text.startsWith("line.style_")) {
-            return PineScriptTokenTypes.NAMESPACE_CONSTANT;
+    /**
+     * Classifies the identifier {@code text[start, end)} without copying it. Dotted names are
+     * classified by their namespace prefix (the part before the first dot), everything else by
+     * an exact keyword match.
+     */
+    private static IElementType getKeywordTokenType(CharSequence text, int start, int end) {
+        int dot = start;
+        while (dot < end && text.charAt(dot) != '.') {
+            dot++;
         }
-
-        // Check for built-in variable namespaces first (these are namespace constants - pink)
-        if (text.startsWith("barstate.") || text.startsWith("session.") ||
-            text.equals("timenow")) {
-            return PineScriptTokenTypes.NAMESPACE_CONSTANT;
+        if (dot == end) {
+            return KEYWORDS.get(text, start, end);
         }
 
-        // Check for syminfo - it has both functions and variables
-        // Most common ones are variables, but ticker() and prefix() are functions
-        if (text.startsWith("syminfo.")) {
-            if (text.equals("syminfo.ticker") || text.equals("syminfo.prefix")) {
+        Namespace namespace = NAMESPACES.get(text, start, dot);
+        if (namespace == null) {
+            return null;
+        }
+        int member = dot + 1;
+        switch (namespace) {
+            case FUNCTIONS:
                 return PineScriptTokenTypes.BUILTIN_FUNCTION;
+            case CONSTANTS:
+                return PineScriptTokenTypes.NAMESPACE_CONSTANT;
+            case STYLE_CONSTANTS:
+                // plot.style_*, hline.style_*
+                return startsWith(text, member, end, "style_") ? PineScriptTokenTypes.NAMESPACE_CONSTANT : null;
+            case FUNCTIONS_AND_STYLE_CONSTANTS:
+                // line.style_* are constants, the rest of line.* are functions
+                return startsWith(text, member, end, "style_")
+                    ? PineScriptTokenTypes.NAMESPACE_CONSTANT
+                    : PineScriptTokenTypes.BUILTIN_FUNCTION;
+            case SYMINFO:
+                // syminfo has both functions and variables.
+                // Most common ones are variables, but ticker() and prefix() are functions
+                return SYMINFO_FUNCTIONS.get(text, member, end) != null
+                    ? PineScriptTokenTypes.BUILTIN_FUNCTION
+                    : PineScriptTokenTypes.NAMESPACE_CONSTANT;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean startsWith(CharSequence text, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(start + i) != prefix.charAt(i)) {
+                return false;
             }
-            return PineScriptTokenTypes.NAMESPACE_CONSTANT;
         }
+        return true;
+    }
+
+    /**
+     * How the members of a namespace are classified.
+     */
+    private enum Namespace {
+        FUNCTIONS,
+        CONSTANTS,
+        STYLE_CONSTANTS,
+        FUNCTIONS_AND_STYLE_CONSTANTS,
+        SYMINFO
+    }
+
+    private static final PineScriptKeywordTable<Namespace> NAMESPACES = new PineScriptKeywordTable<>(40);
+    private static final PineScriptKeywordTable<Boolean> SYMINFO_FUNCTIONS = new PineScriptKeywordTable<>(2);
+    private static final PineScriptKeywordTable<IElementType> KEYWORDS = new PineScriptKeywordTable<>(80);
 
-        // Check for built-in function namespaces (input., ta., math., etc.)
-        if (text.startsWith("input.") || text.startsWith("ta.") || text.startsWith("math.") ||
-            text.startsWith("request.") ||
-            text.startsWith("array.") || text.startsWith("matrix.") || text.startsWith("map.") ||
-            text.startsWith("strategy.") || text.startsWith("str.") || text.startsWith("line.") ||
-            text.startsWith("label.") || text.startsWith("box.") || text.startsWith("table.") ||
-            text.startsWith("ticker.") || text.startsWith("timeframe.") ||
-            text.startsWith("polyline.") || text.startsWith("linefill.") ||
-            text.startsWith("chart.") || text.startsWith("log.") || text.startsWith("runtime.")) {
-            return PineScriptTokenTypes.BUILTIN_FUNCTION;
+    static {
+        // Color constants (color.red, color.green, etc.) - blue
+        NAMESPACES.put("color", Namespace.FUNCTIONS);
+
+        // Namespace constants (format.*, display.*, etc.) - pink
+        for (String namespace : new String[]{
+            "format", "display", "position", "size", "extend", "shape", "location", "xloc", "yloc",
+            // Built-in variable namespaces
+            "barstate", "session"}) {
+            NAMESPACES.put(namespace, Namespace.CONSTANTS);
+        }
+        NAMESPACES.put("plot", Namespace.STYLE_CONSTANTS);
+        NAMESPACES.put("hline", Namespace.STYLE_CONSTANTS);
+        NAMESPACES.put("line", Namespace.FUNCTIONS_AND_STYLE_CONSTANTS);
+
+        NAMESPACES.put("syminfo", Namespace.SYMINFO);
+        SYMINFO_FUNCTIONS.put("ticker", Boolean.TRUE);
+        SYMINFO_FUNCTIONS.put("prefix", Boolean.TRUE);
+
+        // Built-in function namespaces (input., ta., math., etc.)
+        for (String namespace : new String[]{
+            "input", "ta", "math", "request", "array", "matrix", "map", "strategy", "str",
+            "label", "box", "table", "ticker", "timeframe", "polyline", "linefill", "chart", "log", "runtime"}) {
+            NAMESPACES.put(namespace, Namespace.FUNCTIONS);
         }
 
-        switch (text) {
+        for (String keyword : new String[]{
             // Control flow keywords
-            case "if":
-            case "else":
-            case "for":
-            case "while":
-            case "switch":
-            case "break":
-            case "continue":
-            case "return":
+            "if", "else", "for", "while", "switch", "break", "continue", "return",
             // Declaration keywords
-            case "function":
-            case "method":
-            case "var":
-            case "varip":
-            case "type":
-            case "enum":
+            "function", "method", "var", "varip", "type", "enum",
             // Module keywords
-            case "import":
-            case "export":
+            "import", "export",
             // Script type keywords
-            case "indicator":
-            case "strategy":
-            case "library":
-                return PineScriptTokenTypes.KEYWORD;
-
-            // Built-in standalone functions
-            case "plot":
-            case "plotshape":
-            case "plotchar":
-            case "plotarrow":
-            case "plotbar":
-            case "plotcandle":
-            case "hline":
-            case "fill":
-            case "bgcolor":
-            case "barcolor":
-            case "alert":
-            case "alertcondition":
-            case "time":
-            case "time_close":
-            case "timestamp":
-            case "year":
-            case "month":
-            case "weekofyear":
-            case "dayofmonth":
-            case "dayofweek":
-            case "hour":
-            case "minute":
-            case "second":
-            case "nz":
-            case "fixnan":
-            case "max_bars_back":
-                return PineScriptTokenTypes.BUILTIN_FUNCTION;
+            "indicator", "strategy", "library",
+            // Type keywords
+            "int", "float", "bool", "string", "color", "array", "matrix", "map"}) {
+            KEYWORDS.put(keyword, PineScriptTokenTypes.KEYWORD);
+        }
+
+        // Built-in standalone functions
+        for (String function : new String[]{
+            "plot", "plotshape", "plotchar", "plotarrow", "plotbar", "plotcandle", "hline", "fill",
+            "bgcolor", "barcolor", "alert", "alertcondition", "time", "time_close", "timestamp",
+            "year", "month", "weekofyear", "dayofmonth", "dayofweek", "hour", "minute", "second",
+            "nz", "fixnan", "max_bars_back"}) {
+            KEYWORDS.put(function, PineScriptTokenTypes.BUILTIN_FUNCTION);
+        }
 
-            // Boolean and special constants
-            case "true":
-            case "false":
-                return PineScriptTokenTypes.BOOLEAN;
+        // Boolean and special constants
+        KEYWORDS.put("true", PineScriptTokenTypes.BOOLEAN);
+        KEYWORDS.put("false", PineScriptTokenTypes.BOOLEAN);
 
-            // Other constants - orange
-            case "na":
-                return PineScriptTokenTypes.CONSTANT;
+        // Other constants - orange
+        KEYWORDS.put("na", PineScriptTokenTypes.CONSTANT);
+        KEYWORDS.put("timenow", PineScriptTokenTypes.NAMESPACE_CONSTANT);
 
-            // Logical operators (v6 style)
-            case "and":
-            case "or":
-            case "not":
-                return PineScriptTokenTypes.OPERATOR;
+        // Logical operators (v6 style)
+        KEYWORDS.put("and", PineScriptTokenTypes.OPERATOR);
+        KEYWORDS.put("or", PineScriptTokenTypes.OPERATOR);
+        KEYWORDS.put("not", PineScriptTokenTypes.OPERATOR);
 
-            // Type keywords
-            case "int":
-            case "float":
-            case "bool":
-            case "string":
-            case "color":
-            case "array":
-            case "matrix":
-            case "map":
-                return PineScriptTokenTypes.KEYWORD;
-
-            // Storage keywords
-            case "const":
-                return PineScriptTokenTypes.STORAGE_KEYWORD;
-        }
-        return null;
+        // Storage keywords
+        KEYWORDS.put("const", PineScriptTokenTypes.STORAGE_KEYWORD);
     }
 }
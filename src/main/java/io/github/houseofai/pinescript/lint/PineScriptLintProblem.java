@@ -0,0 +1,68 @@
+package io.github.houseofai.pinescript.lint;
+
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * One problem found by the linter. Lines and columns are 1-based, as in SARIF.
+ */
+public final class PineScriptLintProblem {
+    public enum Level {
+        ERROR, WARNING, NOTE;
+
+        @NotNull
+        public String getText() {
+            return StringUtil.toLowerCase(name());
+        }
+    }
+
+    private final String myRuleId;
+    private final Level myLevel;
+    private final String myMessage;
+    private final int myLine;
+    private final int myColumn;
+    private final int myEndLine;
+    private final int myEndColumn;
+
+    public PineScriptLintProblem(@NotNull String ruleId, @NotNull Level level, @NotNull String message,
+                                 int line, int column, int endLine, int endColumn) {
+        myRuleId = ruleId;
+        myLevel = level;
+        myMessage = message;
+        myLine = line;
+        myColumn = column;
+        myEndLine = endLine;
+        myEndColumn = endColumn;
+    }
+
+    @NotNull
+    public String getRuleId() {
+        return myRuleId;
+    }
+
+    @NotNull
+    public Level getLevel() {
+        return myLevel;
+    }
+
+    @NotNull
+    public String getMessage() {
+        return myMessage;
+    }
+
+    public int getLine() {
+        return myLine;
+    }
+
+    public int getColumn() {
+        return myColumn;
+    }
+
+    public int getEndLine() {
+        return myEndLine;
+    }
+
+    public int getEndColumn() {
+        return myEndColumn;
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.houseofai.pinescript.lint;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes lint results as they arrive, so nothing but the output stream outlives a file's analysis.
+ * Files are reported whole and one at a time, so the results of a file stay together whatever
+ * order the workers finish in.
+ */
+public abstract class PineScriptLintReport implements Closeable {
+    protected final Writer myWriter;
+
+    protected PineScriptLintReport(@NotNull Writer writer) {
+        myWriter = writer;
+    }
+
+    /** The format names {@link #create} accepts. */
+    public static final List<String> FORMATS = List.of("sarif", "json");
+
+    /**
+     * Returns the report for a format name, {@code sarif} or {@code json}, or {@code null} if the
+     * format is not supported.
+     *
+     * @param rules the description of every rule id that may be reported
+     */
+    @Nullable
+    public static PineScriptLintReport create(@NotNull String format, @NotNull Writer writer,
+                                              @NotNull Map<String, String> rules) throws IOException {
+        return switch (format) {
+            case "sarif" -> new Sarif(writer, rules);
+            case "json" -> new JsonLines(writer);
+            default -> null;
+        };
+    }
+
+    /**
+     * Writes the problems found in one file, identified by its path relative to the linted directory.
+     */
+    public abstract void report(@NotNull String path, @NotNull List<PineScriptLintProblem> problems) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        myWriter.flush();
+    }
+
+    @NotNull
+    protected static String quote(@NotNull String text) {
+        StringBuilder result = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> result.append("\\\"");
+                case '\\' -> result.append("\\\\");
+                case '\n' -> result.append("\\n");
+                case '\r' -> result.append("\\r");
+                case '\t' -> result.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+                }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    /**
+     * One JSON object per line and problem, which line-oriented tools can consume while the run is
+     * still going.
+     */
+    private static final class JsonLines extends PineScriptLintReport {
+        JsonLines(@NotNull Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public synchronized void report(@NotNull String path, @NotNull List<PineScriptLintProblem> problems) throws IOException {
+            for (PineScriptLintProblem problem : problems) {
+                myWriter.write("{\"file\":" + quote(path)
+                    + ",\"rule\":" + quote(problem.getRuleId())
+                    + ",\"level\":" + quote(problem.getLevel().getText())
+                    + ",\"message\":" + quote(problem.getMessage())
+                    + ",\"line\":" + problem.getLine()
+                    + ",\"column\":" + problem.getColumn()
+                    + ",\"endLine\":" + problem.getEndLine()
+                    + ",\"endColumn\":" + problem.getEndColumn() + "}\n");
+            }
+            myWriter.flush();
+        }
+    }
+
+    /**
+     * A SARIF 2.1.0 log with a single run. The header and rules are written up front and the
+     * results array is appended to as files are done, so the document is only complete on close.
+     */
+    private static final class Sarif extends PineScriptLintReport {
+        private boolean myFirst = true;
+
+        Sarif(@NotNull Writer writer, @NotNull Map<String, String> rules) throws IOException {
+            super(writer);
+            StringBuilder header = new StringBuilder()
+                .append("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",")
+                .append("\"runs\":[{\"tool\":{\"driver\":{\"name\":\"pinescript-lint\",\"rules\":[");
+            boolean first = true;
+            for (Map.Entry<String, String> rule : rules.entrySet()) {
+                header.append(first ? "" : ",")
+                    .append("{\"id\":").append(quote(rule.getKey()))
+                    .append(",\"shortDescription\":{\"text\":").append(quote(rule.getValue())).append("}}");
+                first = false;
+            }
+            header.append("]}},\"results\":[\n");
+            myWriter.write(header.toString());
+        }
+
+        @Override
+        public synchronized void report(@NotNull String path, @NotNull List<PineScriptLintProblem> problems) throws IOException {
+            for (PineScriptLintProblem problem : problems) {
+                myWriter.write((myFirst ? "" : ",\n")
+                    + "{\"ruleId\":" + quote(problem.getRuleId())
+                    + ",\"level\":" + quote(problem.getLevel().getText())
+                    + ",\"message\":{\"text\":" + quote(problem.getMessage()) + "}"
+                    + ",\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{\"uri\":" + quote(path) + "}"
+                    + ",\"region\":{\"startLine\":" + problem.getLine()
+                    + ",\"startColumn\":" + problem.getColumn()
+                    + ",\"endLine\":" + problem.getEndLine()
+                    + ",\"endColumn\":" + problem.getEndColumn() + "}}}]}");
+                myFirst = false;
+            }
+            myWriter.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            myWriter.write("\n]}]}\n");
+            super.close();
+        }
+    }
+}
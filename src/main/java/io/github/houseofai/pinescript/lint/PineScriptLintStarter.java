@@ -0,0 +1,96 @@
+package io.github.houseofai.pinescript.lint;
+
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.project.ProjectManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Headless entry point for continuous integration:
+ * <pre>
+ * idea.sh pinescript-lint &lt;directory&gt; --output=&lt;file&gt; [--format=sarif|json] [--threads=&lt;n&gt;]
+ * </pre>
+ * Writes SARIF by default. The output file is required, as the IDE logs to standard output. Exits
+ * with 1 if an error was found, 2 on bad arguments or I/O failures and 0 otherwise.
+ */
+public class PineScriptLintStarter implements ApplicationStarter {
+
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        System.exit(run(args));
+    }
+
+    static int run(@NotNull List<String> args) {
+        Path root = null;
+        String format = "sarif";
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        // args.get(0) is the command name
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            if (arg.startsWith("--format=")) {
+                format = arg.substring("--format=".length());
+            } else if (arg.startsWith("--output=")) {
+                output = Path.of(arg.substring("--output=".length()));
+            } else if (arg.equals("--output") && i + 1 < args.size()) {
+                output = Path.of(args.get(++i));
+            } else if (arg.startsWith("--threads=")) {
+                try {
+                    threads = Math.max(1, Integer.parseInt(arg.substring("--threads=".length())));
+                } catch (NumberFormatException e) {
+                    return usage("Invalid thread count: " + arg);
+                }
+            } else if (root == null && !arg.startsWith("--")) {
+                root = Path.of(arg);
+            } else {
+                return usage("Unexpected argument: " + arg);
+            }
+        }
+        if (root == null || !Files.isDirectory(root)) {
+            return usage(root == null ? "No directory given" : "Not a directory: " + root);
+        }
+        if (output == null) {
+            return usage("No output file given");
+        }
+        // Checked before the output is opened, which truncates it
+        if (!PineScriptLintReport.FORMATS.contains(format)) {
+            return usage("Unknown format: " + format);
+        }
+
+        PineScriptLinter linter = new PineScriptLinter(ProjectManager.getInstance().getDefaultProject());
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            PineScriptLintReport report = PineScriptLintReport.create(format, writer, linter.getRules());
+            if (report == null) {
+                return usage("Unknown format: " + format);
+            }
+            int errors;
+            try (report) {
+                errors = linter.run(root, report, threads);
+            }
+            return errors > 0 ? 1 : 0;
+        } catch (IOException e) {
+            System.err.println("pinescript-lint: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 2;
+        }
+    }
+
+    private static int usage(@NotNull String problem) {
+        System.err.println("pinescript-lint: " + problem);
+        System.err.println("Usage: pinescript-lint <directory> --output=<file> [--format=sarif|json] [--threads=<n>]");
+        return 2;
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.houseofai.pinescript.lint;
+
+import com.intellij.codeHighlighting.HighlightDisplayLevel;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptorUtil;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.LineColumn;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import io.github.houseofai.pinescript.PineScriptFileType;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs the parser and the Pine Script inspections over every {@code .pine} and {@code .pinescript}
+ * file under a directory.
+ * <p>
+ * Files are analyzed independently on a work-stealing pool with one worker per core, as
+ * non-physical PSI that is dropped as soon as its problems are reported. Memory therefore stays
+ * bounded by the files in flight rather than the size of the directory, and throughput grows with
+ * the number of cores. Cross-file lookups such as library imports are not resolved here, so they
+ * are never reported as problems.
+ */
+public final class PineScriptLinter {
+    public static final String SYNTAX_RULE = "PineScriptSyntax";
+
+    private final Project myProject;
+    private final List<LocalInspectionTool> myTools = new ArrayList<>();
+    private final Map<String, String> myRules = new LinkedHashMap<>();
+    private final Map<String, PineScriptLintProblem.Level> myLevels = new LinkedHashMap<>();
+
+    public PineScriptLinter(@NotNull Project project) {
+        myProject = project;
+        myRules.put(SYNTAX_RULE, "Syntax error");
+        for (LocalInspectionEP extension : LocalInspectionEP.LOCAL_INSPECTION.getExtensionList()) {
+            if (PineScriptLanguage.INSTANCE.getID().equals(extension.language)
+                && extension.instantiateTool() instanceof LocalInspectionTool tool) {
+                myTools.add(tool);
+                myRules.put(tool.getShortName(), extension.getDisplayName());
+                myLevels.put(tool.getShortName(), toLevel(extension.level != null ? HighlightDisplayLevel.find(extension.level) : null));
+            }
+        }
+    }
+
+    /**
+     * Returns the description of every rule, keyed by rule id.
+     */
+    @NotNull
+    public Map<String, String> getRules() {
+        return myRules;
+    }
+
+    /**
+     * Lints every Pine Script file under {@code root} and streams the results to {@code report}.
+     *
+     * @return the number of problems reported at the error level
+     */
+    public int run(@NotNull Path root, @NotNull PineScriptLintReport report, int parallelism)
+        throws IOException, InterruptedException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).filter(PineScriptLinter::isPineScript).toList();
+        }
+        AtomicInteger errors = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(file -> {
+                try {
+                    List<PineScriptLintProblem> problems = lint(file);
+                    errors.addAndGet((int) problems.stream()
+                        .filter(problem -> problem.getLevel() == PineScriptLintProblem.Level.ERROR)
+                        .count());
+                    report.report(StringUtil.replace(root.relativize(file).toString(), "\\", "/"), problems);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException(cause);
+        } finally {
+            pool.shutdown();
+        }
+        return errors.get();
+    }
+
+    /**
+     * Parses one file and collects its syntax errors and inspection problems.
+     */
+    @NotNull
+    public List<PineScriptLintProblem> lint(@NotNull Path file) throws IOException {
+        String text = StringUtil.convertLineSeparators(Files.readString(file, StandardCharsets.UTF_8));
+        return ReadAction.compute(() -> {
+            PsiFile psiFile = PsiFileFactory.getInstance(myProject)
+                .createFileFromText(file.getFileName().toString(), PineScriptFileType.INSTANCE, text);
+            List<PineScriptLintProblem> problems = new ArrayList<>();
+            InspectionManager manager = InspectionManager.getInstance(myProject);
+            List<ProblemsHolder> holders = new ArrayList<>(myTools.size());
+            List<PsiElementVisitor> visitors = new ArrayList<>(myTools.size());
+            for (LocalInspectionTool tool : myTools) {
+                ProblemsHolder holder = new ProblemsHolder(manager, psiFile, false);
+                holders.add(holder);
+                visitors.add(tool.buildVisitor(holder, false));
+            }
+            // One walk feeds the syntax check and every inspection
+            psiFile.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(@NotNull PsiElement element) {
+                    if (element instanceof PsiErrorElement error) {
+                        problems.add(createProblem(text, SYNTAX_RULE, PineScriptLintProblem.Level.ERROR,
+                            error.getErrorDescription(), error.getTextRange()));
+                    }
+                    for (PsiElementVisitor visitor : visitors) {
+                        element.accept(visitor);
+                    }
+                    super.visitElement(element);
+                }
+            });
+            for (int i = 0; i < myTools.size(); i++) {
+                String rule = myTools.get(i).getShortName();
+                for (ProblemDescriptor descriptor : holders.get(i).getResults()) {
+                    PsiElement element = descriptor.getPsiElement();
+                    TextRange inElement = descriptor.getTextRangeInElement();
+                    if (element == null) {
+                        continue;
+                    }
+                    TextRange range = inElement != null
+                        ? inElement.shiftRight(element.getTextRange().getStartOffset())
+                        : element.getTextRange();
+                    PineScriptLintProblem.Level level = descriptor.getHighlightType() == ProblemHighlightType.WARNING
+                        ? PineScriptLintProblem.Level.WARNING
+                        : myLevels.get(rule);
+                    problems.add(createProblem(text, rule, level,
+                        ProblemDescriptorUtil.renderDescriptionMessage(descriptor, element), range));
+                }
+            }
+            return problems;
+        });
+    }
+
+    @NotNull
+    private static PineScriptLintProblem createProblem(@NotNull String text, @NotNull String rule,
+                                                      @NotNull PineScriptLintProblem.Level level,
+                                                      @NotNull String message, @NotNull TextRange range) {
+        LineColumn start = StringUtil.offsetToLineColumn(text, range.getStartOffset());
+        LineColumn end = StringUtil.offsetToLineColumn(text, range.getEndOffset());
+        // A problem at the very end of the file has no line to point into
+        int line = start != null ? start.line + 1 : 1;
+        int column = start != null ? start.column + 1 : 1;
+        return new PineScriptLintProblem(rule, level, message, line, column,
+            end != null ? end.line + 1 : line, end != null ? end.column + 1 : column);
+    }
+
+    @NotNull
+    private static PineScriptLintProblem.Level toLevel(@Nullable HighlightDisplayLevel level) {
+        if (level == HighlightDisplayLevel.ERROR) {
+            return PineScriptLintProblem.Level.ERROR;
+        }
+        return level == HighlightDisplayLevel.WARNING ? PineScriptLintProblem.Level.WARNING : PineScriptLintProblem.Level.NOTE;
+    }
+
+    private static boolean isPineScript(@NotNull Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".pine") || name.endsWith(".pinescript");
+    }
+}
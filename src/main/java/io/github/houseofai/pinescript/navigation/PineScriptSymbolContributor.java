@@ -0,0 +1,65 @@
+package io.github.houseofai.pinescript.navigation;
+
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FindSymbolParameters;
+import com.intellij.util.indexing.IdFilter;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptEnumNameIndex;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptFunctionNameIndex;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptTypeNameIndex;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptVariableNameIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Go to Symbol for top-level functions, methods, types, enums and variables. Names and elements
+ * come straight from the stub indexes, so unopened scripts are never parsed.
+ */
+public class PineScriptSymbolContributor implements ChooseByNameContributorEx {
+    private static final List<StubIndexKey<String, ?>> KEYS = List.of(
+        PineScriptFunctionNameIndex.KEY,
+        PineScriptTypeNameIndex.KEY,
+        PineScriptEnumNameIndex.KEY,
+        PineScriptVariableNameIndex.KEY
+    );
+
+    @Override
+    public void processNames(@NotNull Processor<? super String> processor, @NotNull GlobalSearchScope scope,
+                             @Nullable IdFilter filter) {
+        for (StubIndexKey<String, ?> key : KEYS) {
+            if (!StubIndex.getInstance().processAllKeys(key, processor, scope, filter)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void processElementsWithName(@NotNull String name, @NotNull Processor<? super NavigationItem> processor,
+                                        @NotNull FindSymbolParameters parameters) {
+        if (process(PineScriptFunctionNameIndex.KEY, PineScriptFunctionDeclaration.class, name, processor, parameters)
+            && process(PineScriptTypeNameIndex.KEY, PineScriptTypeDeclaration.class, name, processor, parameters)
+            && process(PineScriptEnumNameIndex.KEY, PineScriptEnumDeclaration.class, name, processor, parameters)) {
+            process(PineScriptVariableNameIndex.KEY, PineScriptVariableDeclaration.class, name, processor, parameters);
+        }
+    }
+
+    private static <T extends PsiElement & NavigationItem> boolean process(@NotNull StubIndexKey<String, T> key,
+                                                                           @NotNull Class<T> aClass,
+                                                                           @NotNull String name,
+                                                                           @NotNull Processor<? super NavigationItem> processor,
+                                                                           @NotNull FindSymbolParameters parameters) {
+        return StubIndex.getInstance().processElements(key, name, parameters.getProject(), parameters.getSearchScope(),
+            parameters.getIdFilter(), aClass, processor::process);
+    }
+}
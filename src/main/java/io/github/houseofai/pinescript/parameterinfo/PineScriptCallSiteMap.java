@@ -0,0 +1,198 @@
+package io.github.houseofai.pinescript.parameterinfo;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import io.github.houseofai.pinescript.psi.PineScriptArgument;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptElementTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The calls of a file, ordered by the offset of their argument lists, so that the call enclosing a
+ * caret offset is found by binary search rather than by scanning text or walking siblings.
+ * <p>
+ * One map is built per file on first use and cached until the file's PSI changes.
+ */
+public final class PineScriptCallSiteMap {
+    private static final PineScriptCallSiteMap EMPTY = new PineScriptCallSiteMap(List.of());
+
+    private final CallSite[] myCalls;
+    private final int[] myStarts;
+
+    private PineScriptCallSiteMap(@NotNull List<CallSite> calls) {
+        myCalls = calls.toArray(new CallSite[0]);
+        myStarts = new int[myCalls.length];
+        for (int i = 0; i < myCalls.length; i++) {
+            myStarts[i] = myCalls[i].myStart;
+        }
+    }
+
+    @NotNull
+    public static PineScriptCallSiteMap getInstance(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(build(file), file));
+    }
+
+    /**
+     * Returns the innermost call whose parentheses contain the offset, or {@code null} if there is none.
+     */
+    @Nullable
+    public CallSite findCallAt(int offset) {
+        // The last call opening before the offset; its ancestors are the only other candidates
+        int index = Arrays.binarySearch(myStarts, offset);
+        index = index >= 0 ? index - 1 : -index - 2;
+        while (index >= 0 && !myCalls[index].contains(offset)) {
+            index = myCalls[index].myParent;
+        }
+        return index >= 0 ? myCalls[index] : null;
+    }
+
+    @NotNull
+    private static PineScriptCallSiteMap build(@NotNull PsiFile file) {
+        List<CallSite> calls = new ArrayList<>();
+        // Indexes of the calls whose argument lists enclose the element being visited
+        List<Integer> open = new ArrayList<>();
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof PineScriptArgumentList argumentList
+                    && argumentList.getParent() instanceof PineScriptCallExpression call) {
+                    int parent = open.isEmpty() ? -1 : open.get(open.size() - 1);
+                    open.add(calls.size());
+                    calls.add(new CallSite(argumentList, call.getCalleeName(), parent));
+                }
+                super.visitElement(element);
+            }
+
+            @Override
+            protected void elementFinished(PsiElement element) {
+                if (element instanceof PineScriptArgumentList && element.getParent() instanceof PineScriptCallExpression) {
+                    open.remove(open.size() - 1);
+                }
+            }
+        });
+        return calls.isEmpty() ? EMPTY : new PineScriptCallSiteMap(calls);
+    }
+
+    /**
+     * One call: the callee name, the argument list and the offsets of its top-level commas and
+     * arguments.
+     */
+    public static final class CallSite {
+        private final PineScriptArgumentList myArgumentList;
+        @Nullable private final String myFunctionName;
+        private final int myParent;
+        private final int myStart;
+        private final int myEnd;
+        private final int[] myCommas;
+        private final int[] myArgumentStarts;
+        private final int[] myArgumentEnds;
+        private final String[] myArgumentNames;
+
+        private CallSite(@NotNull PineScriptArgumentList argumentList, @Nullable String functionName, int parent) {
+            myArgumentList = argumentList;
+            myFunctionName = functionName;
+            myParent = parent;
+            ASTNode node = argumentList.getNode();
+            myStart = node.getStartOffset();
+            // An unclosed list still owns the caret at its end, so that "f(a, " is inside the call
+            ASTNode last = node.getLastChildNode();
+            boolean closed = last != null && last.getElementType() == PineScriptTokenTypes.RPAREN;
+            myEnd = myStart + node.getTextLength() - (closed ? 1 : 0);
+
+            List<ASTNode> commas = new ArrayList<>();
+            List<ASTNode> arguments = new ArrayList<>();
+            for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+                if (child.getElementType() == PineScriptTokenTypes.COMMA) {
+                    commas.add(child);
+                } else if (child.getElementType() == PineScriptElementTypes.ARGUMENT) {
+                    arguments.add(child);
+                }
+            }
+            myCommas = new int[commas.size()];
+            for (int i = 0; i < myCommas.length; i++) {
+                myCommas[i] = commas.get(i).getStartOffset();
+            }
+            myArgumentStarts = new int[arguments.size()];
+            myArgumentEnds = new int[arguments.size()];
+            myArgumentNames = new String[arguments.size()];
+            for (int i = 0; i < arguments.size(); i++) {
+                ASTNode argument = arguments.get(i);
+                myArgumentStarts[i] = argument.getStartOffset();
+                myArgumentEnds[i] = myArgumentStarts[i] + argument.getTextLength();
+                myArgumentNames[i] = ((PineScriptArgument) argument.getPsi()).getName();
+            }
+        }
+
+        boolean contains(int offset) {
+            return myStart < offset && offset <= myEnd;
+        }
+
+        @NotNull
+        public PineScriptArgumentList getArgumentList() {
+            return myArgumentList;
+        }
+
+        /**
+         * Returns the called name, or {@code null} if the callee is not a plain reference.
+         */
+        @Nullable
+        public String getFunctionName() {
+            return myFunctionName;
+        }
+
+        /**
+         * Returns the zero-based index of the argument at the offset, i.e. the number of top-level
+         * commas in front of it.
+         */
+        public int getArgumentIndex(int offset) {
+            int index = Arrays.binarySearch(myCommas, offset);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * Returns the parameter name of the named argument at the offset, or {@code null} if the
+         * argument there is positional or missing.
+         */
+        @Nullable
+        public String getArgumentName(int offset) {
+            int index = Arrays.binarySearch(myArgumentStarts, offset);
+            index = index >= 0 ? index : -index - 2;
+            return index >= 0 && offset <= myArgumentEnds[index] ? myArgumentNames[index] : null;
+        }
+
+        public int getPositionalArgumentCount() {
+            int count = 0;
+            for (String name : myArgumentNames) {
+                if (name == null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Returns the parameter names used by named arguments, in call order.
+         */
+        @NotNull
+        public List<String> getNamedArguments() {
+            List<String> names = new ArrayList<>();
+            for (String name : myArgumentNames) {
+                if (name != null) {
+                    names.add(name);
+                }
+            }
+            return names;
+        }
+    }
+}
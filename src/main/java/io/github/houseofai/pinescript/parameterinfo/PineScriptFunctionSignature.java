@@ -2,16 +2,25 @@ package io.github.houseofai.pinescript.parameterinfo;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a Pine Script function signature with its parameters.
  */
 public class PineScriptFunctionSignature {
     private final String functionName;
+    private final String returnType;
+    private final String description;
     private final List<Parameter> parameters;
 
     public PineScriptFunctionSignature(String functionName, Parameter... parameters) {
+        this(functionName, null, null, parameters);
+    }
+
+    public PineScriptFunctionSignature(String functionName, String returnType, String description, Parameter... parameters) {
         this.functionName = functionName;
+        this.returnType = returnType;
+        this.description = description;
         this.parameters = Arrays.asList(parameters);
     }
 
@@ -19,6 +28,20 @@ public class PineScriptFunctionSignature {
         return functionName;
     }
 
+    /**
+     * Returns the return type with its qualifier, e.g. {@code series float}, or {@code null} if unknown.
+     */
+    public String getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Returns a one-paragraph description of the function, or {@code null} if there is none.
+     */
+    public String getDescription() {
+        return description;
+    }
+
     public List<Parameter> getParameters() {
         return parameters;
     }
@@ -35,6 +58,26 @@ public class PineScriptFunctionSignature {
         return parameters.size();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PineScriptFunctionSignature)) {
+            return false;
+        }
+        PineScriptFunctionSignature that = (PineScriptFunctionSignature) o;
+        return Objects.equals(functionName, that.functionName)
+            && Objects.equals(returnType, that.returnType)
+            && Objects.equals(description, that.description)
+            && parameters.equals(that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(functionName, returnType, description, parameters);
+    }
+
     /**
      * Represents a single function parameter.
      */
@@ -43,6 +86,7 @@ public class PineScriptFunctionSignature {
         private final String type;
         private final String defaultValue;
         private final boolean optional;
+        private final boolean variadic;
 
         public Parameter(String name, String type) {
             this(name, type, null, false);
@@ -53,10 +97,15 @@ public class PineScriptFunctionSignature {
         }
 
         public Parameter(String name, String type, String defaultValue, boolean optional) {
+            this(name, type, defaultValue, optional, false);
+        }
+
+        public Parameter(String name, String type, String defaultValue, boolean optional, boolean variadic) {
             this.name = name;
             this.type = type;
             this.defaultValue = defaultValue;
             this.optional = optional;
+            this.variadic = variadic;
         }
 
         public String getName() {
@@ -75,6 +124,35 @@ public class PineScriptFunctionSignature {
             return optional;
         }
 
+        /**
+         * Returns {@code true} for a trailing parameter that accepts any number of arguments, as in
+         * {@code math.max(number0, number1, ...)}.
+         */
+        public boolean isVariadic() {
+            return variadic;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Parameter)) {
+                return false;
+            }
+            Parameter that = (Parameter) o;
+            return optional == that.optional
+                && variadic == that.variadic
+                && Objects.equals(name, that.name)
+                && Objects.equals(type, that.type)
+                && Objects.equals(defaultValue, that.defaultValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, type, defaultValue, optional, variadic);
+        }
+
         @Override
         public String toString() {
             StringBuilder sb = new StringBuilder();
@@ -85,6 +163,9 @@ public class PineScriptFunctionSignature {
             if (defaultValue != null) {
                 sb.append(" = ").append(defaultValue);
             }
+            if (variadic) {
+                sb.append(", ...");
+            }
             return sb.toString();
         }
     }
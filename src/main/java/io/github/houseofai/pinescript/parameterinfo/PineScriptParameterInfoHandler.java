@@ -1,83 +1,77 @@
 package io.github.houseofai.pinescript.parameterinfo;
 
-import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.lang.parameterInfo.*;
-import com.intellij.openapi.util.TextRange;
-import com.intellij.psi.PsiElement;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.tree.IElementType;
 import io.github.houseofai.pinescript.PineScriptLanguage;
-import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.types.PineScriptTypeInference;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Provides parameter information hints for Pine Script functions.
+ * <p>
+ * All overloads of the called function are offered, one row per distinct parameter list; as
+ * arguments are typed, the ones that cannot accept the positional argument count, the named
+ * arguments or the inferred argument types are greyed out.
  */
-public class PineScriptParameterInfoHandler implements ParameterInfoHandler<PsiElement, PineScriptFunctionSignature> {
+public class PineScriptParameterInfoHandler implements ParameterInfoHandler<PineScriptArgumentList, PineScriptFunctionSignature> {
+    /**
+     * The argument shape computed in {@link #updateParameterInfo}, so that rendering each overload
+     * does not walk the arguments again.
+     */
+    private static final Key<CallShape> CALL_SHAPE = Key.create("PineScript.parameterInfo.callShape");
 
     @Override
-    public @Nullable PsiElement findElementForParameterInfo(@NotNull CreateParameterInfoContext context) {
-        PsiFile file = context.getFile();
-        if (!isPineScriptFile(file)) {
+    public @Nullable PineScriptArgumentList findElementForParameterInfo(@NotNull CreateParameterInfoContext context) {
+        PineScriptCallSiteMap.CallSite callSite = findCallSite(context.getFile(), context.getOffset());
+        if (callSite == null || callSite.getFunctionName() == null) {
             return null;
         }
 
-        int offset = context.getOffset();
-        PsiElement element = file.findElementAt(offset);
-        if (element == null) {
-            // Try getting element at offset - 1 (might be right after opening paren)
-            if (offset > 0) {
-                element = file.findElementAt(offset - 1);
-            }
-            if (element == null) {
-                return null;
-            }
-        }
+        String functionName = callSite.getFunctionName();
 
-        // Find the function call context
-        FunctionCallContext callContext = findFunctionCall(element);
-        if (callContext == null) {
+        List<PineScriptFunctionSignature> signatures = PineScriptSignatureResolver.resolveAll(context.getFile(), functionName);
+        if (signatures.isEmpty()) {
             return null;
         }
-
-        // Get the function signature
-        PineScriptFunctionSignature signature = PineScriptFunctionRepository.getSignature(callContext.functionName);
-        if (signature != null) {
-            context.setItemsToShow(new Object[]{signature});
-            return callContext.anchor;
-        }
-
-        return null;
+        context.setItemsToShow(withDistinctParameters(signatures).toArray());
+        return callSite.getArgumentList();
     }
 
     @Override
-    public void showParameterInfo(@NotNull PsiElement element, @NotNull CreateParameterInfoContext context) {
+    public void showParameterInfo(@NotNull PineScriptArgumentList element, @NotNull CreateParameterInfoContext context) {
         context.showHint(element, element.getTextRange().getStartOffset(), this);
     }
 
     @Override
-    public @Nullable PsiElement findElementForUpdatingParameterInfo(@NotNull UpdateParameterInfoContext context) {
-        PsiFile file = context.getFile();
-        if (!isPineScriptFile(file)) {
-            return null;
-        }
-
-        int offset = context.getOffset();
-        PsiElement element = file.findElementAt(offset);
-        if (element == null) {
-            return null;
-        }
-
-        FunctionCallContext callContext = findFunctionCall(element);
-        return callContext != null ? callContext.anchor : null;
+    public @Nullable PineScriptArgumentList findElementForUpdatingParameterInfo(@NotNull UpdateParameterInfoContext context) {
+        PineScriptCallSiteMap.CallSite callSite = findCallSite(context.getFile(), context.getOffset());
+        return callSite != null ? callSite.getArgumentList() : null;
     }
 
     @Override
-    public void updateParameterInfo(@NotNull PsiElement place, @NotNull UpdateParameterInfoContext context) {
-        // Find the current parameter index
-        int parameterIndex = getCurrentParameterIndex(place, context.getOffset());
-        context.setCurrentParameter(parameterIndex);
+    public void updateParameterInfo(@NotNull PineScriptArgumentList argumentList, @NotNull UpdateParameterInfoContext context) {
+        PineScriptCallSiteMap.CallSite callSite = findCallSite(context.getFile(), context.getOffset());
+        if (callSite == null || callSite.getArgumentList() != argumentList) {
+            context.removeHint();
+            return;
+        }
+        CallShape shape = CallShape.of(callSite, context.getOffset());
+        argumentList.putUserData(CALL_SHAPE, shape);
+        context.setCurrentParameter(shape.myCurrentIndex);
+
+        Object[] candidates = context.getObjectsToView();
+        for (int i = 0; i < candidates.length; i++) {
+            if (candidates[i] instanceof PineScriptFunctionSignature signature) {
+                context.setUIComponentEnabled(i, shape.isApplicable(signature)
+                    && PineScriptTypeInference.isApplicable(signature, argumentList));
+            }
+        }
     }
 
     @Override
@@ -87,9 +81,11 @@ public class PineScriptParameterInfoHandler implements ParameterInfoHandler<PsiE
             return;
         }
 
+        CallShape shape = context.getParameterOwner() != null ? context.getParameterOwner().getUserData(CALL_SHAPE) : null;
+        int currentIndex = shape != null ? shape.getParameterIndex(signature) : context.getCurrentParameterIndex();
+
         // Build the parameter list text
         StringBuilder text = new StringBuilder();
-        int currentIndex = context.getCurrentParameterIndex();
         int highlightStart = -1;
         int highlightEnd = -1;
 
@@ -110,6 +106,10 @@ public class PineScriptParameterInfoHandler implements ParameterInfoHandler<PsiE
             }
         }
 
+        if (text.length() == 0) {
+            text.append("<no parameters>");
+        }
+
         context.setupUIComponentPresentation(
                 text.toString(),
                 highlightStart,
@@ -122,212 +122,103 @@ public class PineScriptParameterInfoHandler implements ParameterInfoHandler<PsiE
     }
 
     /**
-     * Finds the function call context for the given element by analyzing the text.
+     * Drops overloads whose parameters repeat an earlier overload's. Rows only show parameters, so
+     * overloads that differ in their return type alone, like the eight of {@code math.max}, would
+     * otherwise show as identical rows.
      */
-    private FunctionCallContext findFunctionCall(PsiElement element) {
-        if (element == null) {
-            return null;
-        }
-
-        PsiFile file = element.getContainingFile();
-        if (file == null) {
-            return null;
-        }
-
-        String text = file.getText();
-        int offset = element.getTextRange().getStartOffset();
-
-        // Find the opening parenthesis by scanning backwards
-        int parenDepth = 0;
-        int openParenPos = -1;
-
-        for (int i = offset - 1; i >= 0; i--) {
-            char c = text.charAt(i);
-            if (c == ')') {
-                parenDepth++;
-            } else if (c == '(') {
-                if (parenDepth == 0) {
-                    openParenPos = i;
+    @NotNull
+    static List<PineScriptFunctionSignature> withDistinctParameters(@NotNull List<PineScriptFunctionSignature> signatures) {
+        List<PineScriptFunctionSignature> distinct = new ArrayList<>(signatures.size());
+        for (PineScriptFunctionSignature signature : signatures) {
+            boolean repeated = false;
+            for (PineScriptFunctionSignature shown : distinct) {
+                if (shown.getParameters().equals(signature.getParameters())) {
+                    repeated = true;
                     break;
                 }
-                parenDepth--;
             }
-        }
-
-        if (openParenPos == -1) {
-            return null;
-        }
-
-        // Extract function name before the opening paren
-        StringBuilder functionName = new StringBuilder();
-        int i = openParenPos - 1;
-
-        // Skip whitespace
-        while (i >= 0 && Character.isWhitespace(text.charAt(i))) {
-            i--;
-        }
-
-        // Read identifier (may include dots for namespaces like "ta.sma")
-        while (i >= 0) {
-            char c = text.charAt(i);
-            if (Character.isLetterOrDigit(c) || c == '_' || c == '.') {
-                functionName.insert(0, c);
-                i--;
-            } else {
-                break;
+            if (!repeated) {
+                distinct.add(signature);
             }
         }
-
-        if (functionName.length() == 0) {
-            return null;
-        }
-
-        // Return the opening paren element as anchor
-        PsiElement openParen = file.findElementAt(openParenPos);
-        return new FunctionCallContext(functionName.toString(), openParen != null ? openParen : element);
+        return distinct;
     }
 
     /**
-     * Extracts the function name from a PSI element.
+     * Finds the innermost call whose parentheses contain the offset.
      */
-    private String extractFunctionName(PsiElement element) {
-        if (element == null) {
+    @Nullable
+    private static PineScriptCallSiteMap.CallSite findCallSite(@Nullable PsiFile file, int offset) {
+        if (file == null || file.getLanguage() != PineScriptLanguage.INSTANCE) {
             return null;
         }
-
-        IElementType type = element.getNode() != null ? element.getNode().getElementType() : null;
-
-        if (type == PineScriptTokenTypes.IDENTIFIER || type == PineScriptTokenTypes.BUILTIN_FUNCTION) {
-            return element.getText();
-        }
-
-        // Try to get the full identifier including dots (e.g., "ta.sma")
-        StringBuilder name = new StringBuilder();
-        PsiElement current = element;
-
-        while (current != null) {
-            IElementType currentType = current.getNode() != null ? current.getNode().getElementType() : null;
-
-            if (currentType == PineScriptTokenTypes.IDENTIFIER ||
-                currentType == PineScriptTokenTypes.BUILTIN_FUNCTION ||
-                currentType == PineScriptTokenTypes.DOT) {
-                name.insert(0, current.getText());
-                current = current.getPrevSibling();
-
-                // Skip whitespace
-                while (current != null && isWhitespace(current)) {
-                    current = current.getPrevSibling();
-                }
-            } else {
-                break;
-            }
-        }
-
-        return name.length() > 0 ? name.toString() : element.getText();
+        return PineScriptCallSiteMap.getInstance(file).findCallAt(offset);
     }
 
     /**
-     * Gets the current parameter index based on cursor position.
+     * The arguments written so far: how many are positional, which parameter names are used, and
+     * where the caret is.
      */
-    private int getCurrentParameterIndex(PsiElement element, int offset) {
-        if (element == null) {
-            return 0;
-        }
-
-        // Find the opening parenthesis
-        PsiElement current = element;
-        int parenDepth = 0;
-        PsiElement openParen = null;
-
-        while (current != null) {
-            IElementType type = current.getNode() != null ? current.getNode().getElementType() : null;
-
-            if (type == PineScriptTokenTypes.RPAREN) {
-                parenDepth++;
-            } else if (type == PineScriptTokenTypes.LPAREN) {
-                if (parenDepth == 0) {
-                    openParen = current;
-                    break;
-                }
-                parenDepth--;
+    private static final class CallShape {
+        private final int myPositionalCount;
+        private final List<String> myNamedArguments;
+        private final int myCurrentIndex;
+        @Nullable private final String myCurrentName;
+
+        private CallShape(int positionalCount, @NotNull List<String> namedArguments, int currentIndex, @Nullable String currentName) {
+            myPositionalCount = positionalCount;
+            myNamedArguments = namedArguments;
+            myCurrentIndex = currentIndex;
+            myCurrentName = currentName;
+        }
+
+        @NotNull
+        static CallShape of(@NotNull PineScriptCallSiteMap.CallSite callSite, int offset) {
+            return new CallShape(callSite.getPositionalArgumentCount(), callSite.getNamedArguments(),
+                callSite.getArgumentIndex(offset), callSite.getArgumentName(offset));
+        }
+
+        /**
+         * Checks whether the overload has room for the positional arguments and declares every named
+         * one. Missing required arguments are not held against it, since the call is being typed.
+         */
+        boolean isApplicable(@NotNull PineScriptFunctionSignature signature) {
+            List<PineScriptFunctionSignature.Parameter> parameters = signature.getParameters();
+            boolean variadic = !parameters.isEmpty() && parameters.get(parameters.size() - 1).isVariadic();
+            if (!variadic && myPositionalCount > parameters.size()) {
+                return false;
             }
-
-            current = current.getPrevSibling();
-            if (current == null && element.getParent() != null) {
-                current = element.getParent().getPrevSibling();
+            for (String name : myNamedArguments) {
+                if (indexOf(parameters, name) < 0) {
+                    return false;
+                }
             }
+            return true;
         }
 
-        if (openParen == null) {
-            return 0;
-        }
-
-        // Count commas between opening paren and cursor position
-        int commaCount = 0;
-        current = openParen.getNextSibling();
-        int currentParenDepth = 0;
-
-        while (current != null && current.getTextRange().getStartOffset() < offset) {
-            IElementType type = current.getNode() != null ? current.getNode().getElementType() : null;
-
-            if (type == PineScriptTokenTypes.LPAREN) {
-                currentParenDepth++;
-            } else if (type == PineScriptTokenTypes.RPAREN) {
-                if (currentParenDepth == 0) {
-                    break;
-                }
-                currentParenDepth--;
-            } else if (type == PineScriptTokenTypes.COMMA && currentParenDepth == 0) {
-                commaCount++;
+        /**
+         * Returns the parameter under the caret in the given overload: the named one, or the
+         * positional one, clamped to a trailing variadic parameter.
+         */
+        int getParameterIndex(@NotNull PineScriptFunctionSignature signature) {
+            List<PineScriptFunctionSignature.Parameter> parameters = signature.getParameters();
+            if (myCurrentName != null) {
+                return indexOf(parameters, myCurrentName);
             }
-
-            current = current.getNextSibling();
-            if (current == null && openParen.getParent() != null) {
-                PsiElement parent = openParen.getParent();
-                current = getNextSiblingInTree(parent, offset);
+            int last = parameters.size() - 1;
+            if (last >= 0 && myCurrentIndex > last && parameters.get(last).isVariadic()) {
+                return last;
             }
+            return myCurrentIndex;
         }
 
-        return commaCount;
-    }
-
-    /**
-     * Helper to get next sibling in tree.
-     */
-    private PsiElement getNextSiblingInTree(PsiElement element, int maxOffset) {
-        PsiElement current = element;
-        while (current != null) {
-            PsiElement next = current.getNextSibling();
-            if (next != null && next.getTextRange().getStartOffset() < maxOffset) {
-                return next;
+        private static int indexOf(@NotNull List<PineScriptFunctionSignature.Parameter> parameters, @NotNull String name) {
+            for (int i = 0; i < parameters.size(); i++) {
+                if (name.equals(parameters.get(i).getName())) {
+                    return i;
+                }
             }
-            current = current.getParent();
-        }
-        return null;
-    }
-
-    private boolean isWhitespace(PsiElement element) {
-        if (element == null) {
-            return false;
-        }
-        IElementType type = element.getNode() != null ? element.getNode().getElementType() : null;
-        return type == PineScriptTokenTypes.WHITE_SPACE;
-    }
-
-    private boolean isPineScriptFile(PsiFile file) {
-        return file != null && file.getLanguage() == PineScriptLanguage.INSTANCE;
-    }
-
-    /**
-     * Context for a function call.
-     */
-    private static class FunctionCallContext {
-        final String functionName;
-        final PsiElement anchor;
-
-        FunctionCallContext(String functionName, PsiElement anchor) {
-            this.functionName = functionName;
-            this.anchor = anchor;
+            return -1;
         }
     }
 }
@@ -0,0 +1,306 @@
+package io.github.houseofai.pinescript.parameterinfo;
+
+import com.intellij.openapi.diagnostic.Logger;
+import io.github.houseofai.pinescript.PineScriptResources;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-only view of the binary signature catalogue generated at build time from
+ * {@code docs/markdown/reference} (see the {@code generateSignatureCatalog} Gradle task for the layout).
+ * <p>
+ * Nothing is read before the first lookup. The resource is memory-mapped when it is a plain file and
+ * read into one buffer when it lives in the plugin jar. Only the string and record offsets are scanned
+ * up front; strings and overloads are decoded on demand and cached.
+ */
+public final class PineScriptSignatureCatalog {
+    private static final Logger LOG = Logger.getInstance(PineScriptSignatureCatalog.class);
+
+    private static final String RESOURCE = "signatures.bin";
+    private static final int MAGIC = 0x50534947;
+    private static final int VERSION = 1;
+    private static final int NONE = -1;
+    private static final int FLAG_OPTIONAL = 1;
+    private static final int FLAG_VARIADIC = 2;
+
+    private final ByteBuffer myBuffer;
+    private final int[] myStringOffsets;
+    private final String[] myStrings;
+    private final int[] myFunctionOffsets;
+    private final Section myVariables;
+    private final Section myConstants;
+    private final Section myTypes;
+    private final ConcurrentMap<Integer, List<PineScriptFunctionSignature>> mySignatures = new ConcurrentHashMap<>();
+
+    private static final class Holder {
+        static final PineScriptSignatureCatalog INSTANCE = load();
+    }
+
+    @NotNull
+    public static PineScriptSignatureCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private PineScriptSignatureCatalog(@NotNull ByteBuffer buffer) {
+        myBuffer = buffer;
+        int offset = 0;
+        if (buffer.limit() < 8 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported signature catalogue format");
+        }
+        offset += 8;
+
+        int stringCount = buffer.getInt(offset);
+        offset += 4;
+        myStringOffsets = new int[stringCount];
+        myStrings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            myStringOffsets[i] = offset;
+            offset += 4 + buffer.getInt(offset);
+        }
+
+        int functionCount = buffer.getInt(offset);
+        offset += 4;
+        myFunctionOffsets = new int[functionCount];
+        for (int i = 0; i < functionCount; i++) {
+            myFunctionOffsets[i] = offset;
+            int overloads = buffer.getInt(offset + 8);
+            offset += 12;
+            for (int j = 0; j < overloads; j++) {
+                int parameters = buffer.getInt(offset + 4);
+                offset += 8 + parameters * 13;
+            }
+        }
+
+        myVariables = new Section(offset, true);
+        offset = myVariables.end();
+        myConstants = new Section(offset, true);
+        offset = myConstants.end();
+        myTypes = new Section(offset, false);
+    }
+
+    private PineScriptSignatureCatalog() {
+        myBuffer = ByteBuffer.allocate(0);
+        myStringOffsets = new int[0];
+        myStrings = new String[0];
+        myFunctionOffsets = new int[0];
+        myVariables = null;
+        myConstants = null;
+        myTypes = null;
+    }
+
+    @NotNull
+    private static PineScriptSignatureCatalog load() {
+        URL url = PineScriptSignatureCatalog.class.getResource(RESOURCE);
+        if (url == null) {
+            LOG.warn("Signature catalogue " + RESOURCE + " is missing, built-in signatures are unavailable");
+            return new PineScriptSignatureCatalog();
+        }
+        try {
+            return new PineScriptSignatureCatalog(PineScriptResources.read(url));
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Cannot load signature catalogue from " + url, e);
+            return new PineScriptSignatureCatalog();
+        }
+    }
+
+    /**
+     * Returns every overload of a built-in function, or an empty list if the function is unknown.
+     */
+    @NotNull
+    public List<PineScriptFunctionSignature> getSignatures(@NotNull String functionName) {
+        int index = findFunction(functionName);
+        return index < 0 ? List.of() : mySignatures.computeIfAbsent(index, this::decodeFunction);
+    }
+
+    public boolean hasFunction(@NotNull String functionName) {
+        return findFunction(functionName) >= 0;
+    }
+
+    /**
+     * Returns the built-in function names in sorted order.
+     */
+    @NotNull
+    public List<String> getFunctionNames() {
+        List<String> names = new ArrayList<>(myFunctionOffsets.length);
+        for (int offset : myFunctionOffsets) {
+            names.add(string(myBuffer.getInt(offset)));
+        }
+        return names;
+    }
+
+    @Nullable
+    public Value getVariable(@NotNull String name) {
+        return myVariables != null ? myVariables.find(name) : null;
+    }
+
+    @Nullable
+    public Value getConstant(@NotNull String name) {
+        return myConstants != null ? myConstants.find(name) : null;
+    }
+
+    @Nullable
+    public Value getType(@NotNull String name) {
+        return myTypes != null ? myTypes.find(name) : null;
+    }
+
+    private int findFunction(@NotNull String name) {
+        int low = 0;
+        int high = myFunctionOffsets.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = string(myBuffer.getInt(myFunctionOffsets[middle])).compareTo(name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the overloads of one function. Overloads often differ only in their return type, so
+     * equal parameters and equal parameter lists are decoded once and shared.
+     */
+    @NotNull
+    private List<PineScriptFunctionSignature> decodeFunction(int index) {
+        int offset = myFunctionOffsets[index];
+        String name = string(myBuffer.getInt(offset));
+        String description = string(myBuffer.getInt(offset + 4));
+        int overloadCount = myBuffer.getInt(offset + 8);
+        offset += 12;
+        List<PineScriptFunctionSignature> overloads = new ArrayList<>(overloadCount);
+        Map<PineScriptFunctionSignature.Parameter, PineScriptFunctionSignature.Parameter> internedParameters = new HashMap<>();
+        PineScriptFunctionSignature.Parameter[] previous = null;
+        for (int i = 0; i < overloadCount; i++) {
+            String returnType = string(myBuffer.getInt(offset));
+            int parameterCount = myBuffer.getInt(offset + 4);
+            offset += 8;
+            PineScriptFunctionSignature.Parameter[] parameters = new PineScriptFunctionSignature.Parameter[parameterCount];
+            for (int j = 0; j < parameterCount; j++) {
+                int flags = myBuffer.get(offset + 12);
+                PineScriptFunctionSignature.Parameter parameter = new PineScriptFunctionSignature.Parameter(
+                    string(myBuffer.getInt(offset)),
+                    string(myBuffer.getInt(offset + 4)),
+                    string(myBuffer.getInt(offset + 8)),
+                    (flags & FLAG_OPTIONAL) != 0,
+                    (flags & FLAG_VARIADIC) != 0);
+                parameters[j] = internedParameters.computeIfAbsent(parameter, p -> p);
+                offset += 13;
+            }
+            if (Arrays.equals(parameters, previous)) {
+                parameters = previous;
+            }
+            previous = parameters;
+            overloads.add(new PineScriptFunctionSignature(name, returnType, description, parameters));
+        }
+        return Collections.unmodifiableList(overloads);
+    }
+
+    @Nullable
+    private String string(int index) {
+        if (index == NONE) {
+            return null;
+        }
+        String string = myStrings[index];
+        if (string == null) {
+            int offset = myStringOffsets[index];
+            byte[] bytes = new byte[myBuffer.getInt(offset)];
+            myBuffer.get(offset + 4, bytes);
+            // Racing threads decode equal strings, so the last write winning is harmless
+            string = new String(bytes, StandardCharsets.UTF_8);
+            myStrings[index] = string;
+        }
+        return string;
+    }
+
+    /**
+     * A built-in variable, constant or type.
+     */
+    public static final class Value {
+        private final String myName;
+        private final String myType;
+        private final String myDescription;
+
+        Value(@NotNull String name, @Nullable String type, @Nullable String description) {
+            myName = name;
+            myType = type;
+            myDescription = description;
+        }
+
+        @NotNull
+        public String getName() {
+            return myName;
+        }
+
+        /**
+         * Returns the type with its qualifier, e.g. {@code series float}; {@code null} for types.
+         */
+        @Nullable
+        public String getType() {
+            return myType;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return myDescription;
+        }
+    }
+
+    /**
+     * A table of fixed-size records sorted by name, searched in place.
+     */
+    private final class Section {
+        private final int myStart;
+        private final int myCount;
+        private final int myRecordSize;
+        private final boolean myTyped;
+
+        Section(int offset, boolean typed) {
+            myCount = myBuffer.getInt(offset);
+            myStart = offset + 4;
+            myTyped = typed;
+            myRecordSize = typed ? 12 : 8;
+        }
+
+        int end() {
+            return myStart + myCount * myRecordSize;
+        }
+
+        @Nullable
+        Value find(@NotNull String name) {
+            int low = 0;
+            int high = myCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int record = myStart + middle * myRecordSize;
+                int comparison = string(myBuffer.getInt(record)).compareTo(name);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    String type = myTyped ? string(myBuffer.getInt(record + 4)) : null;
+                    String description = string(myBuffer.getInt(record + (myTyped ? 8 : 4)));
+                    return new Value(name, type, description);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.houseofai.pinescript.parameterinfo;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import io.github.houseofai.pinescript.index.PineScriptLibraryIndex;
+import io.github.houseofai.pinescript.psi.PineScriptFile;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Finds the signature of a called function: built-ins first, then functions of imported libraries,
+ * then functions declared in the calling file. A script sees nothing else, so functions of other
+ * files in the project are never offered.
+ * <p>
+ * The scope is deliberately narrower than {@link io.github.houseofai.pinescript.psi.stubs.PineScriptFunctionNameIndex},
+ * which spans the project and serves Go to Symbol. The calling file's own functions are read from
+ * its stub tree, the same data the index is built from, so its AST is not loaded either; imported
+ * library functions come from {@link PineScriptLibraryIndex}.
+ */
+public final class PineScriptSignatureResolver {
+    private PineScriptSignatureResolver() {
+    }
+
+    @Nullable
+    public static PineScriptFunctionSignature resolve(@NotNull PsiFile file, @NotNull String functionName) {
+        List<PineScriptFunctionSignature> signatures = resolveAll(file, functionName);
+        return signatures.isEmpty() ? null : signatures.get(0);
+    }
+
+    /**
+     * Returns every overload of a built-in function, or the single signature of a library or user function.
+     */
+    @NotNull
+    public static List<PineScriptFunctionSignature> resolveAll(@NotNull PsiFile file, @NotNull String functionName) {
+        List<PineScriptFunctionSignature> signatures = PineScriptFunctionRepository.getSignatures(functionName);
+        if (!signatures.isEmpty()) {
+            return signatures;
+        }
+        if (!(file instanceof PineScriptFile pineScriptFile)) {
+            return List.of();
+        }
+        PineScriptFunctionSignature signature = PineScriptLibraryIndex.findImportedFunction(pineScriptFile, functionName);
+        if (signature == null) {
+            signature = findUserFunctionSignature(pineScriptFile, functionName);
+        }
+        return signature != null ? List.of(signature) : List.of();
+    }
+
+    @Nullable
+    private static PineScriptFunctionSignature findUserFunctionSignature(@NotNull PineScriptFile file, @NotNull String functionName) {
+        // Functions are only declared at the top level, which the file reads from its stubs when it can
+        for (PsiElement declaration : file.getDeclarations()) {
+            if (declaration instanceof PineScriptFunctionDeclaration function && !function.isMethod()
+                && functionName.equals(function.getName())) {
+                return function.getSignature();
+            }
+        }
+        return null;
+    }
+}
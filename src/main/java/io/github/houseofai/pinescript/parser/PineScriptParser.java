@@ -3,26 +3,1190 @@ package io.github.houseofai.pinescript.parser;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.PsiParser;
+import com.intellij.lang.WhitespacesAndCommentsBinder;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.text.CharArrayUtil;
+import io.github.houseofai.pinescript.psi.PineScriptElementTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTokenSets;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Simple parser for Pine Script.
- * This just consumes all tokens and builds a flat PSI tree.
- * For now, we don't need a complex grammar - the lexer handles tokenization.
+ * Recursive-descent parser for Pine Script.
+ * <p>
+ * Pine Script is indentation sensitive. The lexer resolves line continuations and reports the
+ * layout as zero-length {@link PineScriptTokenTypes#NEWLINE}, {@link PineScriptTokenTypes#INDENT}
+ * and {@link PineScriptTokenTypes#DEDENT} tokens, so a statement ends at a NEWLINE and a block is
+ * a NEWLINE and an INDENT followed by statements up to the matching DEDENT.
+ * <p>
+ * Blocks are left unparsed and collapsed into lazy nodes. The same parser later parses each
+ * block's text with a lexer that starts at the block's depth, so an edit inside a function or
+ * {@code if} body reparses that body only.
+ * <p>
+ * Token texts are compared in place against the original text, so parsing does not allocate
+ * strings.
  */
 public class PineScriptParser implements PsiParser {
+    private static final TokenSet TRIVIA = TokenSet.orSet(PineScriptTokenSets.WHITESPACES, PineScriptTokenSets.COMMENTS);
+    private static final TokenSet LAYOUT = TokenSet.create(
+        PineScriptTokenTypes.NEWLINE, PineScriptTokenTypes.INDENT, PineScriptTokenTypes.DEDENT);
+
+    /**
+     * Moves the start of a node back over the indentation of its first line. The lexer splits
+     * whitespace after the last line break, so the indentation is always a token of its own.
+     */
+    private static final WhitespacesAndCommentsBinder LINE_INDENTATION_BINDER = (tokens, atStreamEdge, getter) -> {
+        int last = tokens.size() - 1;
+        if (last >= 0 && tokens.get(last) == PineScriptTokenTypes.WHITE_SPACE && StringUtil.indexOf(getter.get(last), '\n') < 0) {
+            return last;
+        }
+        return tokens.size();
+    };
+
+    /** Binary operator precedence levels, from loosest to tightest binding. */
+    private static final int PRECEDENCE_OR = 0;
+    private static final int PRECEDENCE_AND = 1;
+    private static final int PRECEDENCE_EQUALITY = 2;
+    private static final int PRECEDENCE_RELATIONAL = 3;
+    private static final int PRECEDENCE_ADDITIVE = 4;
+    private static final int PRECEDENCE_MULTIPLICATIVE = 5;
+
+    private PsiBuilder myBuilder;
+
     @NotNull
     @Override
     public ASTNode parse(@NotNull IElementType root, @NotNull PsiBuilder builder) {
-        PsiBuilder.Marker rootMarker = builder.mark();
+        myBuilder = builder;
 
-        // Simply consume all tokens - we don't need complex parsing for autocomplete/highlighting
+        PsiBuilder.Marker rootMarker = builder.mark();
         while (!builder.eof()) {
-            builder.advanceLexer();
+            parseLines(this::parseStatementList);
+            consumeIf(PineScriptTokenTypes.DEDENT);
         }
-
         rootMarker.done(root);
+
+        myBuilder = null;
         return builder.getTreeBuilt();
     }
+
+    // ---------------------------------------------------------------------------------------------
+    // Statements
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Parses lines with {@code lineParser} up to the DEDENT that closes the current block, or to
+     * the end of the file. A line indented deeper than its block is reported and parsed as part
+     * of the block.
+     */
+    private void parseLines(Runnable lineParser) {
+        while (!myBuilder.eof()) {
+            IElementType type = myBuilder.getTokenType();
+            if (type == PineScriptTokenTypes.DEDENT) {
+                return;
+            }
+            if (type == PineScriptTokenTypes.NEWLINE) {
+                myBuilder.advanceLexer();
+            } else if (type == PineScriptTokenTypes.INDENT) {
+                myBuilder.error("Unexpected indentation");
+                myBuilder.advanceLexer();
+                parseLines(lineParser);
+                consumeIf(PineScriptTokenTypes.DEDENT);
+            } else {
+                int start = myBuilder.getCurrentOffset();
+                lineParser.run();
+                finishLine(start);
+            }
+        }
+    }
+
+    /**
+     * Parses the statements of one line, which may be separated and followed by commas.
+     */
+    private void parseStatementList() {
+        parseStatement();
+        while (consumeIf(PineScriptTokenTypes.COMMA) && !atLineBreak()) {
+            parseStatement();
+        }
+    }
+
+    /**
+     * Collapses {@code NEWLINE INDENT statements DEDENT} into a lazy block whose statements are
+     * parsed on demand by {@link io.github.houseofai.pinescript.psi.PineScriptBlockElementType}.
+     * The block node starts at the indentation of its first line and ends with its last token, so
+     * the line breaks and comments around it stay outside.
+     */
+    private void parseBlock() {
+        myBuilder.advanceLexer();
+        myBuilder.advanceLexer();
+        PsiBuilder.Marker block = myBuilder.mark();
+        int depth = 0;
+        while (!myBuilder.eof()) {
+            IElementType type = myBuilder.getTokenType();
+            if (type == PineScriptTokenTypes.INDENT) {
+                depth++;
+            } else if (type == PineScriptTokenTypes.DEDENT && depth-- == 0) {
+                break;
+            }
+            myBuilder.advanceLexer();
+        }
+        block.collapse(PineScriptElementTypes.BLOCK);
+        block.setCustomEdgeTokenBinders(LINE_INDENTATION_BINDER, null);
+        consumeIf(PineScriptTokenTypes.DEDENT);
+    }
+
+    /**
+     * Parses the body after {@code =>}: either a statement on the same line or an indented block.
+     */
+    private void parseArrowBody() {
+        if (myBuilder.getTokenType() == PineScriptTokenTypes.NEWLINE) {
+            parseRequiredBlock();
+        } else {
+            parseStatement();
+        }
+    }
+
+    /**
+     * Skips anything left on the current line and parses the indented block that follows it.
+     */
+    private void parseRequiredBlock() {
+        skipToLineEnd();
+        if (isBlockStart()) {
+            parseBlock();
+        } else {
+            myBuilder.error("Indented block expected");
+        }
+    }
+
+    /**
+     * Checks whether the current token is a NEWLINE followed by an INDENT.
+     */
+    private boolean isBlockStart() {
+        return myBuilder.getTokenType() == PineScriptTokenTypes.NEWLINE && myBuilder.lookAhead(1) == PineScriptTokenTypes.INDENT;
+    }
+
+    /**
+     * Parses the indented items of a type, enum or switch, one per line, with {@code itemParser}.
+     */
+    private boolean parseItemBlock(Runnable itemParser) {
+        skipToLineEnd();
+        if (!isBlockStart()) {
+            return false;
+        }
+        myBuilder.advanceLexer();
+        myBuilder.advanceLexer();
+        parseLines(itemParser);
+        consumeIf(PineScriptTokenTypes.DEDENT);
+        return true;
+    }
+
+    private void parseStatement() {
+        IElementType type = myBuilder.getTokenType();
+
+        if (type == PineScriptTokenTypes.KEYWORD) {
+            if (isToken(PineScriptTokenTypes.KEYWORD, "import")) {
+                parseImport();
+                return;
+            }
+            if (isToken(PineScriptTokenTypes.KEYWORD, "export") || isToken(PineScriptTokenTypes.KEYWORD, "method")) {
+                parseExportedDeclaration();
+                return;
+            }
+            if (isToken(PineScriptTokenTypes.KEYWORD, "type")) {
+                parseTypeDeclaration(myBuilder.mark());
+                return;
+            }
+            if (isToken(PineScriptTokenTypes.KEYWORD, "enum")) {
+                parseEnumDeclaration(myBuilder.mark());
+                return;
+            }
+            if (isToken(PineScriptTokenTypes.KEYWORD, "var") || isToken(PineScriptTokenTypes.KEYWORD, "varip")) {
+                PsiBuilder.Marker declaration = myBuilder.mark();
+                myBuilder.advanceLexer();
+                consumeIf(PineScriptTokenTypes.STORAGE_KEYWORD);
+                parseVariableDeclarationRest(declaration);
+                return;
+            }
+            if (isToken(PineScriptTokenTypes.KEYWORD, "break") || isToken(PineScriptTokenTypes.KEYWORD, "continue")) {
+                PsiBuilder.Marker jump = myBuilder.mark();
+                myBuilder.advanceLexer();
+                jump.done(PineScriptElementTypes.JUMP_STATEMENT);
+                return;
+            }
+            if (isScriptDeclarationStart()) {
+                PsiBuilder.Marker declaration = myBuilder.mark();
+                myBuilder.advanceLexer();
+                parseArgumentList();
+                declaration.done(PineScriptElementTypes.SCRIPT_DECLARATION);
+                return;
+            }
+            if (parseCompoundStatement()) {
+                return;
+            }
+        }
+
+        if (type == PineScriptTokenTypes.STORAGE_KEYWORD) {
+            PsiBuilder.Marker declaration = myBuilder.mark();
+            myBuilder.advanceLexer();
+            parseVariableDeclarationRest(declaration);
+            return;
+        }
+
+        if (type == PineScriptTokenTypes.LBRACKET && parseTupleDeclaration()) {
+            return;
+        }
+
+        if (PineScriptTokenSets.NAMES.contains(type)) {
+            if (isFunctionDeclarationStart()) {
+                parseFunctionDeclaration(myBuilder.mark());
+                return;
+            }
+            if (nextTokenIs(PineScriptTokenTypes.OPERATOR, "=")) {
+                parseVariableDeclarationRest(myBuilder.mark());
+                return;
+            }
+        }
+
+        if (isTypeStart() && isTypedDeclarationCandidate() && parseTypedVariableDeclaration()) {
+            return;
+        }
+
+        parseExpressionOrAssignment();
+    }
+
+    /**
+     * Parses {@code if}, {@code for}, {@code while} and {@code switch}, which can be used both as
+     * statements and as the value of a declaration.
+     */
+    private boolean parseCompoundStatement() {
+        if (isToken(PineScriptTokenTypes.KEYWORD, "if")) {
+            parseIf();
+            return true;
+        }
+        if (isToken(PineScriptTokenTypes.KEYWORD, "for")) {
+            parseFor();
+            return true;
+        }
+        if (isToken(PineScriptTokenTypes.KEYWORD, "while")) {
+            parseWhile();
+            return true;
+        }
+        if (isToken(PineScriptTokenTypes.KEYWORD, "switch")) {
+            parseSwitch();
+            return true;
+        }
+        return false;
+    }
+
+    private void parseExpressionOrAssignment() {
+        PsiBuilder.Marker statement = myBuilder.mark();
+        if (!parseExpression()) {
+            statement.drop();
+            if (atLineBreak()) {
+                myBuilder.error("Statement expected");
+                return;
+            }
+            PsiBuilder.Marker error = myBuilder.mark();
+            myBuilder.advanceLexer();
+            error.error("Statement expected");
+            return;
+        }
+        if (isAssignmentOperator()) {
+            myBuilder.advanceLexer();
+            parseValue();
+            statement.done(PineScriptElementTypes.ASSIGNMENT_STATEMENT);
+        } else {
+            statement.done(PineScriptElementTypes.EXPRESSION_STATEMENT);
+        }
+    }
+
+    /**
+     * Parses the value of a declaration or assignment: an expression or a compound statement.
+     */
+    private void parseValue() {
+        if (atLineBreak()) {
+            myBuilder.error("Expression expected");
+            return;
+        }
+        if (myBuilder.getTokenType() == PineScriptTokenTypes.KEYWORD && parseCompoundStatement()) {
+            return;
+        }
+        if (!parseExpression()) {
+            myBuilder.error("Expression expected");
+        }
+    }
+
+    private void parseImport() {
+        PsiBuilder.Marker statement = myBuilder.mark();
+        myBuilder.advanceLexer();
+
+        boolean hasPath = false;
+        while (!myBuilder.eof() && !atLineBreak() && !isToken(PineScriptTokenTypes.IDENTIFIER, "as")) {
+            myBuilder.advanceLexer();
+            hasPath = true;
+        }
+        if (!hasPath) {
+            myBuilder.error("Library path expected");
+        }
+        if (isToken(PineScriptTokenTypes.IDENTIFIER, "as")) {
+            myBuilder.advanceLexer();
+            expectName("Alias expected");
+        }
+        statement.done(PineScriptElementTypes.IMPORT_STATEMENT);
+    }
+
+    private void parseExportedDeclaration() {
+        PsiBuilder.Marker declaration = myBuilder.mark();
+        consumeIf(PineScriptTokenTypes.KEYWORD, "export");
+
+        if (isToken(PineScriptTokenTypes.KEYWORD, "type")) {
+            parseTypeDeclaration(declaration);
+        } else if (isToken(PineScriptTokenTypes.KEYWORD, "enum")) {
+            parseEnumDeclaration(declaration);
+        } else if (isToken(PineScriptTokenTypes.KEYWORD, "method") || PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType())) {
+            parseFunctionDeclaration(declaration);
+        } else {
+            myBuilder.error("Function, method, type or enum declaration expected");
+            declaration.drop();
+        }
+    }
+
+    /**
+     * Parses {@code [method] name(parameters) => body}; a preceding {@code export} has already been
+     * consumed into {@code declaration}.
+     */
+    private void parseFunctionDeclaration(PsiBuilder.Marker declaration) {
+        consumeIf(PineScriptTokenTypes.KEYWORD, "method");
+        expectName("Function name expected");
+
+        PsiBuilder.Marker parameters = myBuilder.mark();
+        if (expect(PineScriptTokenTypes.LPAREN, "'(' expected")) {
+            while (!myBuilder.eof() && myBuilder.getTokenType() != PineScriptTokenTypes.RPAREN) {
+                if (!parseParameter()) {
+                    break;
+                }
+                if (!consumeIf(PineScriptTokenTypes.COMMA)) {
+                    break;
+                }
+            }
+            expect(PineScriptTokenTypes.RPAREN, "')' expected");
+        }
+        parameters.done(PineScriptElementTypes.PARAMETER_LIST);
+
+        if (isToken(PineScriptTokenTypes.OPERATOR, "=>")) {
+            myBuilder.advanceLexer();
+            parseArrowBody();
+        } else {
+            myBuilder.error("'=>' expected");
+        }
+        declaration.done(PineScriptElementTypes.FUNCTION_DECLARATION);
+    }
+
+    /**
+     * Parses {@code [qualifier] [type] name [= default]}.
+     */
+    private boolean parseParameter() {
+        PsiBuilder.Marker parameter = myBuilder.mark();
+        consumeQualifier();
+
+        if (isTypeStart() && !nextTokenIs(PineScriptTokenTypes.COMMA) && !nextTokenIs(PineScriptTokenTypes.RPAREN)
+            && !nextTokenIs(PineScriptTokenTypes.OPERATOR, "=")) {
+            parseTypeReference();
+        }
+        if (!expectName("Parameter name expected")) {
+            parameter.drop();
+            return false;
+        }
+        if (isToken(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Default value expected");
+            }
+        }
+        parameter.done(PineScriptElementTypes.PARAMETER);
+        return true;
+    }
+
+    private void parseTypeDeclaration(PsiBuilder.Marker declaration) {
+        myBuilder.advanceLexer();
+        expectName("Type name expected");
+
+        if (!parseItemBlock(this::parseFieldDeclaration)) {
+            myBuilder.error("Field declarations expected");
+        }
+        declaration.done(PineScriptElementTypes.TYPE_DECLARATION);
+    }
+
+    /**
+     * Parses a field of a user-defined type: {@code [varip] type name [= default]}.
+     */
+    private void parseFieldDeclaration() {
+        PsiBuilder.Marker field = myBuilder.mark();
+        consumeIf(PineScriptTokenTypes.KEYWORD, "varip");
+        if (isTypeStart()) {
+            parseTypeReference();
+        } else {
+            myBuilder.error("Field type expected");
+        }
+        expectName("Field name expected");
+        if (isToken(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Default value expected");
+            }
+        }
+        field.done(PineScriptElementTypes.FIELD_DECLARATION);
+    }
+
+    private void parseEnumDeclaration(PsiBuilder.Marker declaration) {
+        myBuilder.advanceLexer();
+        expectName("Enum name expected");
+
+        if (!parseItemBlock(this::parseEnumMember)) {
+            myBuilder.error("Enum members expected");
+        }
+        declaration.done(PineScriptElementTypes.ENUM_DECLARATION);
+    }
+
+    private void parseEnumMember() {
+        PsiBuilder.Marker member = myBuilder.mark();
+        expectName("Enum member expected");
+        if (isToken(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Member title expected");
+            }
+        }
+        member.done(PineScriptElementTypes.ENUM_MEMBER);
+    }
+
+    /**
+     * Parses {@code [type] name = value} after any {@code var}, {@code varip} or {@code const}
+     * prefix has been consumed into {@code declaration}.
+     */
+    private void parseVariableDeclarationRest(PsiBuilder.Marker declaration) {
+        consumeQualifier();
+        if (!(PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType()) && nextTokenIs(PineScriptTokenTypes.OPERATOR, "="))) {
+            if (isTypeStart()) {
+                parseTypeReference();
+            } else {
+                myBuilder.error("Variable type or name expected");
+            }
+        }
+        expectName("Variable name expected");
+        if (isToken(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            parseValue();
+        } else {
+            myBuilder.error("'=' expected");
+        }
+        declaration.done(PineScriptElementTypes.VARIABLE_DECLARATION);
+    }
+
+    /**
+     * Cheap pre-check for {@link #parseTypedVariableDeclaration()}: a type name must be followed by
+     * a name, type arguments, {@code []}, or a type after a qualifier.
+     */
+    private boolean isTypedDeclarationCandidate() {
+        IElementType next = myBuilder.lookAhead(1);
+        return PineScriptTokenSets.NAMES.contains(next) || next == PineScriptTokenTypes.KEYWORD
+            || next == PineScriptTokenTypes.LBRACKET || nextTokenIs(PineScriptTokenTypes.OPERATOR, "<");
+    }
+
+    /**
+     * Tries {@code type name = value}, as in {@code float x = 1.0} or {@code array<int> a = na}.
+     * Rolls back and returns {@code false} if the tokens do not form a typed declaration.
+     */
+    private boolean parseTypedVariableDeclaration() {
+        PsiBuilder.Marker declaration = myBuilder.mark();
+        consumeQualifier();
+        parseTypeReference();
+        if (PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType()) && nextTokenIs(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            myBuilder.advanceLexer();
+            parseValue();
+            declaration.done(PineScriptElementTypes.VARIABLE_DECLARATION);
+            return true;
+        }
+        declaration.rollbackTo();
+        return false;
+    }
+
+    /**
+     * Tries {@code [a, b, c] = value}. Rolls back and returns {@code false} if the bracket is not
+     * followed by a list of names and {@code =}.
+     */
+    private boolean parseTupleDeclaration() {
+        PsiBuilder.Marker declaration = myBuilder.mark();
+        myBuilder.advanceLexer();
+        while (PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType())) {
+            PsiBuilder.Marker target = myBuilder.mark();
+            myBuilder.advanceLexer();
+            target.done(PineScriptElementTypes.VARIABLE_TARGET);
+            if (!consumeIf(PineScriptTokenTypes.COMMA)) {
+                break;
+            }
+        }
+        if (consumeIf(PineScriptTokenTypes.RBRACKET) && isToken(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            parseValue();
+            declaration.done(PineScriptElementTypes.TUPLE_DECLARATION);
+            return true;
+        }
+        declaration.rollbackTo();
+        return false;
+    }
+
+    /**
+     * Parses {@code if condition}, its block, and an optional {@code else if} chain or {@code else}
+     * block. The {@code else} must directly follow the DEDENT that closes the block, which puts
+     * it at the indentation of the statement that owns the {@code if}.
+     */
+    private void parseIf() {
+        PsiBuilder.Marker statement = myBuilder.mark();
+        myBuilder.advanceLexer();
+        if (!parseExpression()) {
+            myBuilder.error("Condition expected");
+        }
+        parseRequiredBlock();
+
+        if (isToken(PineScriptTokenTypes.KEYWORD, "else") && isAfterBlock()) {
+            myBuilder.advanceLexer();
+            if (isToken(PineScriptTokenTypes.KEYWORD, "if")) {
+                parseIf();
+            } else {
+                parseRequiredBlock();
+            }
+        }
+        statement.done(PineScriptElementTypes.IF_STATEMENT);
+    }
+
+    /**
+     * Parses {@code for [type] i = from to to [by step]}, {@code for x in collection} and
+     * {@code for [i, x] in collection}.
+     */
+    private void parseFor() {
+        PsiBuilder.Marker statement = myBuilder.mark();
+        myBuilder.advanceLexer();
+
+        if (consumeIf(PineScriptTokenTypes.LBRACKET)) {
+            parseVariableTarget();
+            if (expect(PineScriptTokenTypes.COMMA, "',' expected")) {
+                parseVariableTarget();
+            }
+            expect(PineScriptTokenTypes.RBRACKET, "']' expected");
+        } else {
+            // The counter may be typed, as in for int i = 0 to 10
+            if (isTypeStart() && PineScriptTokenSets.NAMES.contains(myBuilder.lookAhead(1))
+                && !nextTokenIs(PineScriptTokenTypes.IDENTIFIER, "in")) {
+                parseTypeReference();
+            }
+            parseVariableTarget();
+        }
+
+        if (isToken(PineScriptTokenTypes.IDENTIFIER, "in")) {
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Collection expected");
+            }
+        } else if (isToken(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Initial value expected");
+            }
+            if (isToken(PineScriptTokenTypes.IDENTIFIER, "to")) {
+                myBuilder.advanceLexer();
+                if (!parseExpression()) {
+                    myBuilder.error("Final value expected");
+                }
+            } else {
+                myBuilder.error("'to' expected");
+            }
+            if (isToken(PineScriptTokenTypes.IDENTIFIER, "by")) {
+                myBuilder.advanceLexer();
+                if (!parseExpression()) {
+                    myBuilder.error("Step expected");
+                }
+            }
+        } else {
+            myBuilder.error("'=' or 'in' expected");
+        }
+
+        parseRequiredBlock();
+        statement.done(PineScriptElementTypes.FOR_STATEMENT);
+    }
+
+    private void parseVariableTarget() {
+        if (PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType())) {
+            PsiBuilder.Marker target = myBuilder.mark();
+            myBuilder.advanceLexer();
+            target.done(PineScriptElementTypes.VARIABLE_TARGET);
+        } else {
+            myBuilder.error("Variable name expected");
+        }
+    }
+
+    private void parseWhile() {
+        PsiBuilder.Marker statement = myBuilder.mark();
+        myBuilder.advanceLexer();
+        if (!parseExpression()) {
+            myBuilder.error("Condition expected");
+        }
+        parseRequiredBlock();
+        statement.done(PineScriptElementTypes.WHILE_STATEMENT);
+    }
+
+    /**
+     * Parses {@code switch [subject]} followed by indented {@code pattern => body} cases.
+     */
+    private void parseSwitch() {
+        PsiBuilder.Marker statement = myBuilder.mark();
+        myBuilder.advanceLexer();
+        if (!atLineBreak()) {
+            parseExpression();
+        }
+        if (!parseItemBlock(this::parseSwitchCase)) {
+            myBuilder.error("Switch cases expected");
+        }
+        statement.done(PineScriptElementTypes.SWITCH_STATEMENT);
+    }
+
+    private void parseSwitchCase() {
+        PsiBuilder.Marker switchCase = myBuilder.mark();
+        if (!isToken(PineScriptTokenTypes.OPERATOR, "=>") && !parseExpression()) {
+            myBuilder.error("Case pattern expected");
+        }
+        if (isToken(PineScriptTokenTypes.OPERATOR, "=>")) {
+            myBuilder.advanceLexer();
+            parseArrowBody();
+        } else {
+            myBuilder.error("'=>' expected");
+        }
+        switchCase.done(PineScriptElementTypes.SWITCH_CASE);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Types
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Parses a type such as {@code float}, {@code chart.point}, {@code array<int>},
+     * {@code map<string, float>} or the legacy array form {@code float[]}.
+     */
+    private void parseTypeReference() {
+        PsiBuilder.Marker type = myBuilder.mark();
+        myBuilder.advanceLexer();
+        if (isToken(PineScriptTokenTypes.OPERATOR, "<")) {
+            parseTypeArgumentList();
+        } else if (myBuilder.getTokenType() == PineScriptTokenTypes.LBRACKET && nextTokenIs(PineScriptTokenTypes.RBRACKET)) {
+            myBuilder.advanceLexer();
+            myBuilder.advanceLexer();
+        }
+        type.done(PineScriptElementTypes.TYPE_REFERENCE);
+    }
+
+    /**
+     * Parses {@code <type, ...>}. Returns {@code false} without reporting errors if the closing
+     * {@code >} is missing, so callers can roll back when {@code <} turns out to be a comparison.
+     */
+    private boolean parseTypeArgumentList() {
+        PsiBuilder.Marker typeArguments = myBuilder.mark();
+        myBuilder.advanceLexer();
+        while (isTypeStart()) {
+            parseTypeReference();
+            if (!consumeIf(PineScriptTokenTypes.COMMA)) {
+                break;
+            }
+        }
+        if (isToken(PineScriptTokenTypes.OPERATOR, ">")) {
+            myBuilder.advanceLexer();
+            typeArguments.done(PineScriptElementTypes.TYPE_ARGUMENT_LIST);
+            return true;
+        }
+        typeArguments.error("'>' expected");
+        return false;
+    }
+
+    private boolean isTypeStart() {
+        IElementType type = myBuilder.getTokenType();
+        return PineScriptTokenSets.NAMES.contains(type) || isTypeKeyword();
+    }
+
+    private boolean isTypeKeyword() {
+        if (myBuilder.getTokenType() != PineScriptTokenTypes.KEYWORD) {
+            return false;
+        }
+        int start = myBuilder.getCurrentOffset();
+        int end = myBuilder.rawTokenTypeStart(1);
+        CharSequence text = myBuilder.getOriginalText();
+        switch (end - start) {
+            case 3:
+                return regionMatches(text, start, end, "int") || regionMatches(text, start, end, "map");
+            case 4:
+                return regionMatches(text, start, end, "bool");
+            case 5:
+                return regionMatches(text, start, end, "float") || regionMatches(text, start, end, "color")
+                    || regionMatches(text, start, end, "array");
+            case 6:
+                return regionMatches(text, start, end, "string") || regionMatches(text, start, end, "matrix");
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Consumes a {@code series}, {@code simple}, {@code input} or {@code const} type qualifier if
+     * one precedes a type or a name.
+     */
+    private void consumeQualifier() {
+        boolean qualifier = myBuilder.getTokenType() == PineScriptTokenTypes.STORAGE_KEYWORD
+            || isToken(PineScriptTokenTypes.IDENTIFIER, "series")
+            || isToken(PineScriptTokenTypes.IDENTIFIER, "simple")
+            || isToken(PineScriptTokenTypes.IDENTIFIER, "input");
+        IElementType next = myBuilder.lookAhead(1);
+        if (qualifier && (PineScriptTokenSets.NAMES.contains(next) || next == PineScriptTokenTypes.KEYWORD)) {
+            myBuilder.advanceLexer();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Expressions
+    // ---------------------------------------------------------------------------------------------
+
+    private boolean parseExpression() {
+        PsiBuilder.Marker expression = myBuilder.mark();
+        if (!parseBinary(PRECEDENCE_OR)) {
+            expression.drop();
+            return false;
+        }
+        if (isToken(PineScriptTokenTypes.OPERATOR, "?")) {
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Expression expected");
+            }
+            if (expect(PineScriptTokenTypes.COLON, "':' expected") && !parseExpression()) {
+                myBuilder.error("Expression expected");
+            }
+            expression.done(PineScriptElementTypes.CONDITIONAL_EXPRESSION);
+        } else {
+            expression.drop();
+        }
+        return true;
+    }
+
+    private boolean parseBinary(int precedence) {
+        if (precedence > PRECEDENCE_MULTIPLICATIVE) {
+            return parseUnary();
+        }
+        PsiBuilder.Marker left = myBuilder.mark();
+        if (!parseBinary(precedence + 1)) {
+            left.drop();
+            return false;
+        }
+        while (binaryPrecedence() == precedence) {
+            myBuilder.advanceLexer();
+            if (!parseBinary(precedence + 1)) {
+                myBuilder.error("Expression expected");
+            }
+            left.done(PineScriptElementTypes.BINARY_EXPRESSION);
+            left = left.precede();
+        }
+        left.drop();
+        return true;
+    }
+
+    /**
+     * Returns the precedence of the current token as a binary operator, or -1 if it is not one.
+     */
+    private int binaryPrecedence() {
+        if (myBuilder.getTokenType() != PineScriptTokenTypes.OPERATOR) {
+            return -1;
+        }
+        int start = myBuilder.getCurrentOffset();
+        int end = myBuilder.rawTokenTypeStart(1);
+        CharSequence text = myBuilder.getOriginalText();
+        char first = text.charAt(start);
+        if (end - start == 1) {
+            switch (first) {
+                case '+':
+                case '-':
+                    return PRECEDENCE_ADDITIVE;
+                case '*':
+                case '/':
+                case '%':
+                    return PRECEDENCE_MULTIPLICATIVE;
+                case '<':
+                case '>':
+                    return PRECEDENCE_RELATIONAL;
+                default:
+                    return -1;
+            }
+        }
+        if (end - start == 2) {
+            char second = text.charAt(start + 1);
+            if (second == '=') {
+                switch (first) {
+                    case '=':
+                    case '!':
+                        return PRECEDENCE_EQUALITY;
+                    case '<':
+                    case '>':
+                        return PRECEDENCE_RELATIONAL;
+                    default:
+                        return -1;
+                }
+            }
+            if ((first == 'o' && second == 'r') || (first == '|' && second == '|')) {
+                return PRECEDENCE_OR;
+            }
+            if (first == '&' && second == '&') {
+                return PRECEDENCE_AND;
+            }
+            return -1;
+        }
+        return regionMatches(text, start, end, "and") ? PRECEDENCE_AND : -1;
+    }
+
+    private boolean parseUnary() {
+        if (isToken(PineScriptTokenTypes.OPERATOR, "-") || isToken(PineScriptTokenTypes.OPERATOR, "+")
+            || isToken(PineScriptTokenTypes.OPERATOR, "not") || isToken(PineScriptTokenTypes.OPERATOR, "!")) {
+            PsiBuilder.Marker unary = myBuilder.mark();
+            myBuilder.advanceLexer();
+            if (!parseUnary()) {
+                myBuilder.error("Expression expected");
+            }
+            unary.done(PineScriptElementTypes.UNARY_EXPRESSION);
+            return true;
+        }
+        return parsePostfix();
+    }
+
+    /**
+     * Parses a primary expression followed by calls, history references {@code [n]} and
+     * member accesses.
+     */
+    private boolean parsePostfix() {
+        PsiBuilder.Marker expression = myBuilder.mark();
+        boolean reference = PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType()) || isTypeKeyword();
+        if (!parsePrimary()) {
+            expression.drop();
+            return false;
+        }
+        while (!myBuilder.eof()) {
+            IElementType type = myBuilder.getTokenType();
+            if (type == PineScriptTokenTypes.LPAREN) {
+                parseArgumentList();
+                expression.done(PineScriptElementTypes.CALL_EXPRESSION);
+            } else if (type == PineScriptTokenTypes.LBRACKET) {
+                myBuilder.advanceLexer();
+                if (!parseExpression()) {
+                    myBuilder.error("Index expected");
+                }
+                expect(PineScriptTokenTypes.RBRACKET, "']' expected");
+                expression.done(PineScriptElementTypes.INDEX_EXPRESSION);
+            } else if (type == PineScriptTokenTypes.DOT && PineScriptTokenSets.NAMES.contains(myBuilder.lookAhead(1))) {
+                myBuilder.advanceLexer();
+                myBuilder.advanceLexer();
+                expression.done(PineScriptElementTypes.REFERENCE_EXPRESSION);
+                reference = true;
+                expression = expression.precede();
+                continue;
+            } else if (reference && isToken(PineScriptTokenTypes.OPERATOR, "<") && parseGenericCallTypeArguments()) {
+                parseArgumentList();
+                expression.done(PineScriptElementTypes.CALL_EXPRESSION);
+            } else {
+                break;
+            }
+            reference = false;
+            expression = expression.precede();
+        }
+        expression.drop();
+        return true;
+    }
+
+    /**
+     * Tries the type arguments of a generic call such as {@code array.new<float>(...)}. Rolls
+     * back and returns {@code false} unless {@code <types>} is directly followed by {@code (}.
+     */
+    private boolean parseGenericCallTypeArguments() {
+        PsiBuilder.Marker start = myBuilder.mark();
+        if (parseTypeArgumentList() && myBuilder.getTokenType() == PineScriptTokenTypes.LPAREN) {
+            start.drop();
+            return true;
+        }
+        start.rollbackTo();
+        return false;
+    }
+
+    private boolean parsePrimary() {
+        IElementType type = myBuilder.getTokenType();
+        if (type == null) {
+            return false;
+        }
+
+        if (PineScriptTokenSets.NAMES.contains(type) || isTypeKeyword()
+            || (type == PineScriptTokenTypes.CONSTANT && nextTokenIs(PineScriptTokenTypes.LPAREN))) {
+            // na(x) is a call to the built-in na() function rather than the na literal
+            PsiBuilder.Marker reference = myBuilder.mark();
+            myBuilder.advanceLexer();
+            reference.done(PineScriptElementTypes.REFERENCE_EXPRESSION);
+            return true;
+        }
+
+        if (PineScriptTokenSets.LITERALS.contains(type)) {
+            PsiBuilder.Marker literal = myBuilder.mark();
+            myBuilder.advanceLexer();
+            // A string that spans several lines is lexed as one token per line
+            if (type == PineScriptTokenTypes.STRING) {
+                while (myBuilder.getTokenType() == PineScriptTokenTypes.STRING) {
+                    myBuilder.advanceLexer();
+                }
+            }
+            literal.done(PineScriptElementTypes.LITERAL_EXPRESSION);
+            return true;
+        }
+
+        if (type == PineScriptTokenTypes.LPAREN) {
+            PsiBuilder.Marker parenthesized = myBuilder.mark();
+            myBuilder.advanceLexer();
+            if (!parseExpression()) {
+                myBuilder.error("Expression expected");
+            }
+            expect(PineScriptTokenTypes.RPAREN, "')' expected");
+            parenthesized.done(PineScriptElementTypes.PARENTHESIZED_EXPRESSION);
+            return true;
+        }
+
+        if (type == PineScriptTokenTypes.LBRACKET) {
+            PsiBuilder.Marker tuple = myBuilder.mark();
+            myBuilder.advanceLexer();
+            if (myBuilder.getTokenType() != PineScriptTokenTypes.RBRACKET) {
+                do {
+                    if (!parseExpression()) {
+                        myBuilder.error("Expression expected");
+                        break;
+                    }
+                } while (consumeIf(PineScriptTokenTypes.COMMA));
+            }
+            expect(PineScriptTokenTypes.RBRACKET, "']' expected");
+            tuple.done(PineScriptElementTypes.TUPLE_EXPRESSION);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void parseArgumentList() {
+        PsiBuilder.Marker arguments = myBuilder.mark();
+        myBuilder.advanceLexer();
+        while (!myBuilder.eof() && myBuilder.getTokenType() != PineScriptTokenTypes.RPAREN) {
+            if (!parseArgument()) {
+                break;
+            }
+            if (!consumeIf(PineScriptTokenTypes.COMMA)) {
+                break;
+            }
+        }
+        expect(PineScriptTokenTypes.RPAREN, "')' expected");
+        arguments.done(PineScriptElementTypes.ARGUMENT_LIST);
+    }
+
+    /**
+     * Parses a positional argument or a named {@code name = value} argument.
+     */
+    private boolean parseArgument() {
+        PsiBuilder.Marker argument = myBuilder.mark();
+        IElementType type = myBuilder.getTokenType();
+        if ((PineScriptTokenSets.NAMES.contains(type) || type == PineScriptTokenTypes.KEYWORD)
+            && nextTokenIs(PineScriptTokenTypes.OPERATOR, "=")) {
+            myBuilder.advanceLexer();
+            myBuilder.advanceLexer();
+        }
+        if (!parseExpression()) {
+            myBuilder.error("Argument expected");
+            argument.drop();
+            return false;
+        }
+        argument.done(PineScriptElementTypes.ARGUMENT);
+        return true;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Token and layout helpers
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Checks whether the current token is past the end of the logical line being parsed.
+     */
+    private boolean atLineBreak() {
+        return myBuilder.eof() || LAYOUT.contains(myBuilder.getTokenType());
+    }
+
+    /**
+     * Checks whether the last token before the current one, ignoring whitespace and comments, is
+     * the DEDENT that closed a block.
+     */
+    private boolean isAfterBlock() {
+        myBuilder.getTokenType();
+        int steps = -1;
+        IElementType type = myBuilder.rawLookup(steps);
+        while (type != null && TRIVIA.contains(type)) {
+            type = myBuilder.rawLookup(--steps);
+        }
+        return type == PineScriptTokenTypes.DEDENT;
+    }
+
+    /**
+     * Reports and skips any tokens left before the end of the current line.
+     */
+    private void skipToLineEnd() {
+        if (atLineBreak()) {
+            return;
+        }
+        PsiBuilder.Marker error = myBuilder.mark();
+        do {
+            myBuilder.advanceLexer();
+        } while (!atLineBreak());
+        error.error("Unexpected tokens");
+    }
+
+    /**
+     * Ends a line that started at {@code start}: consumes its NEWLINE after skipping any leftover
+     * tokens. A line that ended with a block has already had its NEWLINE consumed by the block.
+     */
+    private void finishLine(int start) {
+        if (myBuilder.eof() || (myBuilder.getCurrentOffset() > start && isAfterBlock())) {
+            return;
+        }
+        skipToLineEnd();
+        consumeIf(PineScriptTokenTypes.NEWLINE);
+    }
+
+    private boolean isScriptDeclarationStart() {
+        return (isToken(PineScriptTokenTypes.KEYWORD, "indicator")
+            || isToken(PineScriptTokenTypes.KEYWORD, "strategy")
+            || isToken(PineScriptTokenTypes.KEYWORD, "library"))
+            && nextTokenIs(PineScriptTokenTypes.LPAREN);
+    }
+
+    /**
+     * Looks ahead for {@code name(...) =>} on the current logical line without building any nodes.
+     */
+    private boolean isFunctionDeclarationStart() {
+        if (!nextTokenIs(PineScriptTokenTypes.LPAREN)) {
+            return false;
+        }
+        int steps = nextSignificantToken(0);
+        int depth = 0;
+        for (IElementType type = myBuilder.rawLookup(steps); type != null && !LAYOUT.contains(type); type = myBuilder.rawLookup(steps)) {
+            if (type == PineScriptTokenTypes.LPAREN) {
+                depth++;
+            } else if (type == PineScriptTokenTypes.RPAREN && --depth == 0) {
+                steps = nextSignificantToken(steps);
+                return rawTokenIs(steps, PineScriptTokenTypes.OPERATOR, "=>");
+            }
+            steps = nextSignificantToken(steps);
+        }
+        return false;
+    }
+
+    private boolean isAssignmentOperator() {
+        if (myBuilder.getTokenType() != PineScriptTokenTypes.OPERATOR) {
+            return false;
+        }
+        int start = myBuilder.getCurrentOffset();
+        if (myBuilder.rawTokenTypeStart(1) - start != 2) {
+            return false;
+        }
+        CharSequence text = myBuilder.getOriginalText();
+        if (text.charAt(start + 1) != '=') {
+            return false;
+        }
+        switch (text.charAt(start)) {
+            case ':':
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '%':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isToken(IElementType type, String text) {
+        return rawTokenIs(0, type, text);
+    }
+
+    private boolean nextTokenIs(IElementType type) {
+        return myBuilder.rawLookup(nextSignificantToken(0)) == type;
+    }
+
+    private boolean nextTokenIs(IElementType type, String text) {
+        return rawTokenIs(nextSignificantToken(0), type, text);
+    }
+
+    /**
+     * Returns the raw lookup offset of the first non-whitespace, non-comment token after the raw
+     * token at {@code steps}.
+     */
+    private int nextSignificantToken(int steps) {
+        // Make sure the builder has skipped the whitespace in front of the current token
+        myBuilder.getTokenType();
+        int next = steps + 1;
+        IElementType type = myBuilder.rawLookup(next);
+        while (type != null && TRIVIA.contains(type)) {
+            type = myBuilder.rawLookup(++next);
+        }
+        return next;
+    }
+
+    private boolean rawTokenIs(int steps, IElementType type, String text) {
+        myBuilder.getTokenType();
+        if (myBuilder.rawLookup(steps) != type) {
+            return false;
+        }
+        int start = myBuilder.rawTokenTypeStart(steps);
+        int end = myBuilder.rawTokenTypeStart(steps + 1);
+        return regionMatches(myBuilder.getOriginalText(), start, end, text);
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, int end, String expected) {
+        return end - start == expected.length() && CharArrayUtil.regionMatches(text, start, expected);
+    }
+
+    private boolean consumeIf(IElementType type) {
+        if (myBuilder.getTokenType() == type) {
+            myBuilder.advanceLexer();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consumeIf(IElementType type, String text) {
+        if (isToken(type, text)) {
+            myBuilder.advanceLexer();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean expect(IElementType type, String message) {
+        if (consumeIf(type)) {
+            return true;
+        }
+        myBuilder.error(message);
+        return false;
+    }
+
+    private boolean expectName(String message) {
+        if (PineScriptTokenSets.NAMES.contains(myBuilder.getTokenType())) {
+            myBuilder.advanceLexer();
+            return true;
+        }
+        myBuilder.error(message);
+        return false;
+    }
 }
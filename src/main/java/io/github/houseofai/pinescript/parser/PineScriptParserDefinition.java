@@ -10,10 +10,11 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IFileElementType;
 import com.intellij.psi.tree.TokenSet;
-import io.github.houseofai.pinescript.PineScriptLanguage;
 import io.github.houseofai.pinescript.lexer.PineScriptLexer;
 import io.github.houseofai.pinescript.psi.PineScriptFile;
-import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptElementTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTokenSets;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptFileElementType;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -21,12 +22,12 @@ import org.jetbrains.annotations.NotNull;
  * This is required for IntelliJ to properly parse Pine Script files.
  */
 public class PineScriptParserDefinition implements ParserDefinition {
-    public static final IFileElementType FILE = new IFileElementType(PineScriptLanguage.INSTANCE);
+    public static final IFileElementType FILE = new PineScriptFileElementType();
 
     @NotNull
     @Override
     public Lexer createLexer(Project project) {
-        return new PineScriptLexer();
+        return new PineScriptLexer(true);
     }
 
     @Override
@@ -39,22 +40,28 @@ public class PineScriptParserDefinition implements ParserDefinition {
         return FILE;
     }
 
+    @NotNull
+    @Override
+    public TokenSet getWhitespaceTokens() {
+        return PineScriptTokenSets.WHITESPACES;
+    }
+
     @NotNull
     @Override
     public TokenSet getCommentTokens() {
-        return TokenSet.create(PineScriptTokenTypes.COMMENT, PineScriptTokenTypes.ANNOTATION);
+        return PineScriptTokenSets.COMMENTS;
     }
 
     @NotNull
     @Override
     public TokenSet getStringLiteralElements() {
-        return TokenSet.create(PineScriptTokenTypes.STRING);
+        return PineScriptTokenSets.STRINGS;
     }
 
     @NotNull
     @Override
     public PsiElement createElement(ASTNode node) {
-        return new PineScriptPsiElement(node);
+        return PineScriptElementTypes.Factory.createElement(node);
     }
 
     @Override
@@ -2,7 +2,12 @@ package io.github.houseofai.pinescript.parser;
 
 import com.intellij.extapi.psi.ASTWrapperPsiElement;
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Basic PSI element for Pine Script.
@@ -11,4 +16,60 @@ public class PineScriptPsiElement extends ASTWrapperPsiElement {
     public PineScriptPsiElement(@NotNull ASTNode node) {
         super(node);
     }
+
+    /**
+     * Returns the first direct child token of one of the given types.
+     */
+    @Nullable
+    protected PsiElement findChildToken(@NotNull TokenSet types) {
+        return PineScriptPsiImplUtil.findChildToken(getNode(), types);
+    }
+
+    /**
+     * Returns the declared name: the last direct child name token in front of any {@code =}, so
+     * that a leading qualifier such as {@code series} is skipped.
+     */
+    @Nullable
+    protected PsiElement findNameToken() {
+        return PineScriptPsiImplUtil.findNameToken(getNode());
+    }
+
+    /**
+     * Checks whether a direct child token of the given type has exactly the given text.
+     */
+    protected boolean hasChildToken(@NotNull IElementType type, @NotNull String text) {
+        return findChildToken(type, text) != null;
+    }
+
+    @Nullable
+    protected ASTNode findChildToken(@NotNull IElementType type, @NotNull String text) {
+        return PineScriptPsiImplUtil.findChildToken(getNode(), type, text);
+    }
+
+    protected boolean hasKeyword(@NotNull String keyword) {
+        return hasChildToken(PineScriptTokenTypes.KEYWORD, keyword);
+    }
+
+    /**
+     * Renames a declaration by replacing the text of its name token.
+     */
+    protected void rename(@Nullable PsiElement nameIdentifier, @NotNull String newName) {
+        PineScriptPsiImplUtil.rename(nameIdentifier, newName);
+    }
+
+    /**
+     * Places the caret on the name when navigating to a declaration.
+     */
+    @Override
+    public int getTextOffset() {
+        return PineScriptPsiImplUtil.getTextOffset(this, super.getTextOffset());
+    }
+
+    /**
+     * Returns the first child of the given class that follows the {@code =} operator.
+     */
+    @Nullable
+    protected <T extends PsiElement> T findChildAfterAssign(@NotNull Class<T> aClass) {
+        return PineScriptPsiImplUtil.findChildAfterAssign(getNode(), aClass);
+    }
 }
@@ -0,0 +1,83 @@
+package io.github.houseofai.pinescript.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.psi.PineScriptTokenSets;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Child lookups and renaming shared by {@link PineScriptPsiElement} and {@link PineScriptStubBasedPsiElement}.
+ */
+final class PineScriptPsiImplUtil {
+    private PineScriptPsiImplUtil() {
+    }
+
+    @Nullable
+    static PsiElement findChildToken(@NotNull ASTNode node, @NotNull TokenSet types) {
+        ASTNode child = node.findChildByType(types);
+        return child != null ? child.getPsi() : null;
+    }
+
+    @Nullable
+    static PsiElement findNameToken(@NotNull ASTNode node) {
+        ASTNode name = null;
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            IElementType type = child.getElementType();
+            if (type == PineScriptTokenTypes.OPERATOR && StringUtil.equals(child.getChars(), "=")) {
+                break;
+            }
+            if (PineScriptTokenSets.NAMES.contains(type)) {
+                name = child;
+            }
+        }
+        return name != null ? name.getPsi() : null;
+    }
+
+    @Nullable
+    static ASTNode findChildToken(@NotNull ASTNode node, @NotNull IElementType type, @NotNull String text) {
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (child.getElementType() == type && StringUtil.equals(child.getChars(), text)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    static <T extends PsiElement> T findChildAfterAssign(@NotNull ASTNode node, @NotNull Class<T> aClass) {
+        ASTNode assign = findChildToken(node, PineScriptTokenTypes.OPERATOR, "=");
+        if (assign == null) {
+            return null;
+        }
+        for (ASTNode child = assign.getTreeNext(); child != null; child = child.getTreeNext()) {
+            PsiElement psi = child.getPsi();
+            if (aClass.isInstance(psi)) {
+                return aClass.cast(psi);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the text of a declared name, keeping the token type of the name token.
+     */
+    static void rename(@Nullable PsiElement nameIdentifier, @NotNull String newName) {
+        if (!(nameIdentifier instanceof LeafPsiElement leaf)) {
+            throw new IncorrectOperationException("Cannot rename a declaration without a name");
+        }
+        leaf.replaceWithText(newName);
+    }
+
+    static int getTextOffset(@NotNull PsiElement element, int defaultOffset) {
+        PsiElement nameIdentifier = element instanceof PsiNameIdentifierOwner owner ? owner.getNameIdentifier() : null;
+        return nameIdentifier != null ? nameIdentifier.getTextOffset() : defaultOffset;
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.houseofai.pinescript.parser;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.lang.ASTNode;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base PSI element for top-level declarations that are stored in the stub tree. The element is
+ * backed by its stub until something needs the AST, and offers the same child lookups as
+ * {@link PineScriptPsiElement} once it has one.
+ */
+public abstract class PineScriptStubBasedPsiElement<T extends StubElement<?>> extends StubBasedPsiElementBase<T> {
+    public PineScriptStubBasedPsiElement(@NotNull T stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    public PineScriptStubBasedPsiElement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    protected PsiElement findChildToken(@NotNull TokenSet types) {
+        return PineScriptPsiImplUtil.findChildToken(getNode(), types);
+    }
+
+    @Nullable
+    protected PsiElement findNameToken() {
+        return PineScriptPsiImplUtil.findNameToken(getNode());
+    }
+
+    protected boolean hasChildToken(@NotNull IElementType type, @NotNull String text) {
+        return PineScriptPsiImplUtil.findChildToken(getNode(), type, text) != null;
+    }
+
+    protected boolean hasKeyword(@NotNull String keyword) {
+        return hasChildToken(PineScriptTokenTypes.KEYWORD, keyword);
+    }
+
+    /**
+     * Renames a declaration by replacing the text of its name token.
+     */
+    protected void rename(@Nullable PsiElement nameIdentifier, @NotNull String newName) {
+        PineScriptPsiImplUtil.rename(nameIdentifier, newName);
+    }
+
+    /**
+     * Places the caret on the name when navigating to a declaration.
+     */
+    @Override
+    public int getTextOffset() {
+        return PineScriptPsiImplUtil.getTextOffset(this, super.getTextOffset());
+    }
+
+    @Nullable
+    protected <E extends PsiElement> E findChildAfterAssign(@NotNull Class<E> aClass) {
+        return PineScriptPsiImplUtil.findChildAfterAssign(getNode(), aClass);
+    }
+
+    /**
+     * Presents the declaration in Go to Symbol and the structure view from its stub, so listing
+     * declarations never loads the AST.
+     */
+    @Override
+    public ItemPresentation getPresentation() {
+        PsiFile file = getContainingFile();
+        return new PresentationData(getPresentableText(), file != null ? file.getName() : null, getIcon(0), null);
+    }
+
+    @Nullable
+    protected String getPresentableText() {
+        return getName();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getElementType() + ")";
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import io.github.houseofai.pinescript.resolve.PineScriptArgumentNameReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A positional ({@code value}) or named ({@code name = value}) call argument.
+ */
+public class PineScriptArgument extends PineScriptPsiElement {
+    public PineScriptArgument(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the parameter name token of a named argument, or {@code null} for a positional one.
+     */
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        ASTNode first = getNode().getFirstChildNode();
+        return first != null && findChildToken(PineScriptTokenTypes.OPERATOR, "=") != null
+            && !(first.getPsi() instanceof PineScriptExpression) ? first.getPsi() : null;
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    public boolean isNamed() {
+        return getNameIdentifier() != null;
+    }
+
+    @Nullable
+    public PineScriptExpression getValue() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    /**
+     * Returns the reference from a named argument to the parameter it sets, or {@code null} for a
+     * positional argument.
+     */
+    @Nullable
+    @Override
+    public PsiReference getReference() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            PsiElement nameIdentifier = getNameIdentifier();
+            PsiReference reference = nameIdentifier != null ? new PineScriptArgumentNameReference(this, nameIdentifier) : null;
+            return CachedValueProvider.Result.create(reference, PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The parenthesized arguments of a call.
+ */
+public class PineScriptArgumentList extends PineScriptPsiElement {
+    public PineScriptArgumentList(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    public List<PineScriptArgument> getArguments() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptArgument.class);
+    }
+}
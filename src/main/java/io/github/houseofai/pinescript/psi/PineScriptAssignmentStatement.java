@@ -0,0 +1,39 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A reassignment: {@code target := value}, or a compound assignment such as {@code +=}.
+ */
+public class PineScriptAssignmentStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptAssignmentStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getTarget() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public PsiElement getValue() {
+        PineScriptExpression target = getTarget();
+        PsiElement next = target != null ? target.getNextSibling() : null;
+        while (next != null && !(next instanceof PineScriptExpression) && !(next instanceof PineScriptStatement)) {
+            next = next.getNextSibling();
+        }
+        return next;
+    }
+
+    @Nullable
+    public String getOperatorText() {
+        PsiElement operator = findChildToken(TokenSet.create(PineScriptTokenTypes.OPERATOR));
+        return operator != null ? operator.getText() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A binary operation such as {@code a + b}, {@code a > b} or {@code a and b}.
+ */
+public class PineScriptBinaryExpression extends PineScriptExpression {
+    public PineScriptBinaryExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getLeft() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public PineScriptExpression getRight() {
+        List<PineScriptExpression> operands = PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptExpression.class);
+        return operands.size() > 1 ? operands.get(1) : null;
+    }
+
+    @Nullable
+    public String getOperatorText() {
+        PsiElement operator = findChildToken(TokenSet.create(PineScriptTokenTypes.OPERATOR));
+        return operator != null ? operator.getText() : null;
+    }
+}
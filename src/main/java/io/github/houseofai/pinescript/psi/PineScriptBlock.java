@@ -0,0 +1,22 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An indented block of statements.
+ */
+public class PineScriptBlock extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptBlock(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    public List<PineScriptStatement> getStatements() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptStatement.class);
+    }
+}
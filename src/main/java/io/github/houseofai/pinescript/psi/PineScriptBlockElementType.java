@@ -0,0 +1,114 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import io.github.houseofai.pinescript.lexer.PineScriptLexer;
+import io.github.houseofai.pinescript.parser.PineScriptParser;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Element type of an indented block. The file parser leaves blocks unparsed; each one is parsed
+ * from its own text when first accessed, and reparsed on its own when an edit stays inside it.
+ * A block's text starts with the indentation of its first line, which tells the lexer the depth
+ * to start at.
+ */
+public class PineScriptBlockElementType extends IReparseableElementType {
+    private static final int INDENT_SIZE = 4;
+
+    public PineScriptBlockElementType(@NotNull @NonNls String debugName) {
+        super(debugName, PineScriptLanguage.INSTANCE);
+    }
+
+    @Override
+    public ASTNode createNode(CharSequence text) {
+        return new LazyParseableElement(this, text);
+    }
+
+    @Override
+    protected ASTNode doParseContents(@NotNull ASTNode chameleon, @NotNull PsiElement psi) {
+        CharSequence text = chameleon.getChars();
+        PineScriptLexer lexer = new PineScriptLexer(true, indentWidth(text) / INDENT_SIZE);
+        PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(psi.getProject(), chameleon, lexer, getLanguage(), text);
+        return new PineScriptParser().parse(this, builder).getFirstChildNode();
+    }
+
+    /**
+     * A block can be reparsed alone if the new text still starts at the block's indentation with
+     * a statement, never dedents below it, and ends with a complete statement outside any
+     * parentheses. The text around the block is then lexed and parsed as before.
+     */
+    @Override
+    public boolean isReparseable(@NotNull ASTNode currentNode, @NotNull CharSequence newText,
+                                 @NotNull Language fileLanguage, @NotNull Project project) {
+        int indent = indentWidth(newText);
+        if (indent == 0 || indent % INDENT_SIZE != 0 || indent != indentWidth(currentNode.getChars())) {
+            return false;
+        }
+        int firstLineEnd = StringUtil.indexOf(newText, '\n');
+        if (firstLineEnd >= 0 && StringUtil.isEmptyOrSpaces(newText.subSequence(0, firstLineEnd))) {
+            return false;
+        }
+        int blockDepth = indent / INDENT_SIZE;
+
+        PineScriptLexer lexer = new PineScriptLexer(true, blockDepth);
+        lexer.start(newText);
+        int depth = blockDepth;
+        int parenDepth = 0;
+        boolean closed = false;
+        IElementType first = null;
+        IElementType last = null;
+        for (IElementType type = lexer.getTokenType(); type != null; lexer.advance(), type = lexer.getTokenType()) {
+            boolean atEnd = lexer.getTokenStart() == newText.length();
+            if (type == PineScriptTokenTypes.NEWLINE) {
+                if (atEnd) {
+                    closed = parenDepth == 0;
+                }
+                parenDepth = 0;
+            } else if (type == PineScriptTokenTypes.INDENT) {
+                depth++;
+            } else if (type == PineScriptTokenTypes.DEDENT) {
+                if (--depth < blockDepth && !atEnd) {
+                    return false;
+                }
+            } else if (type != PineScriptTokenTypes.WHITE_SPACE || last != null) {
+                if (first == null) {
+                    first = type;
+                }
+                last = type;
+                if (type == PineScriptTokenTypes.LPAREN || type == PineScriptTokenTypes.LBRACKET) {
+                    parenDepth++;
+                } else if ((type == PineScriptTokenTypes.RPAREN || type == PineScriptTokenTypes.RBRACKET) && parenDepth > 0) {
+                    parenDepth--;
+                }
+            }
+        }
+        return closed && depth == 0
+            && !PineScriptTokenSets.COMMENTS.contains(first)
+            && !PineScriptTokenSets.WHITESPACES.contains(last) && !PineScriptTokenSets.COMMENTS.contains(last);
+    }
+
+    private static int indentWidth(CharSequence text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                width++;
+            } else if (c == '\t') {
+                width += INDENT_SIZE;
+            } else {
+                break;
+            }
+        }
+        return width;
+    }
+}
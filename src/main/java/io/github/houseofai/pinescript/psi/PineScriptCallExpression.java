@@ -0,0 +1,38 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A function or method call: {@code callee[<types>](arguments)}.
+ */
+public class PineScriptCallExpression extends PineScriptExpression {
+    public PineScriptCallExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getCallee() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    /**
+     * Returns the called name, e.g. {@code ta.sma} or {@code array.new}, or {@code null} if the callee
+     * is not a plain reference.
+     */
+    @Nullable
+    public String getCalleeName() {
+        PineScriptExpression callee = getCallee();
+        if (callee instanceof PineScriptReferenceExpression reference && reference.getQualifier() == null) {
+            return reference.getReferenceName();
+        }
+        return null;
+    }
+
+    @Nullable
+    public PineScriptArgumentList getArgumentList() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptArgumentList.class);
+    }
+}
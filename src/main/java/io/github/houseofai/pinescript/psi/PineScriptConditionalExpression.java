@@ -0,0 +1,38 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A ternary {@code condition ? a : b} expression.
+ */
+public class PineScriptConditionalExpression extends PineScriptExpression {
+    public PineScriptConditionalExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getCondition() {
+        return getOperand(0);
+    }
+
+    @Nullable
+    public PineScriptExpression getThenExpression() {
+        return getOperand(1);
+    }
+
+    @Nullable
+    public PineScriptExpression getElseExpression() {
+        return getOperand(2);
+    }
+
+    @Nullable
+    private PineScriptExpression getOperand(int index) {
+        List<PineScriptExpression> operands = PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptExpression.class);
+        return index < operands.size() ? operands.get(index) : null;
+    }
+}
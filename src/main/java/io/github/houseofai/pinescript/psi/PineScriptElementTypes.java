@@ -0,0 +1,114 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptEnumStubElementType;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptFunctionStubElementType;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptScriptStubElementType;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptTypeStubElementType;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptVariableStubElementType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Composite element types produced by {@link io.github.houseofai.pinescript.parser.PineScriptParser}.
+ * The script declaration and top-level function, type, enum and variable declarations use stub
+ * element types so they can be listed or found through the stub indexes without parsing the file.
+ */
+public interface PineScriptElementTypes {
+    // Top-level declarations
+    IElementType SCRIPT_DECLARATION = new PineScriptScriptStubElementType("SCRIPT_DECLARATION");
+    IElementType IMPORT_STATEMENT = new IElementType("IMPORT_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType FUNCTION_DECLARATION = new PineScriptFunctionStubElementType("FUNCTION_DECLARATION");
+    IElementType PARAMETER_LIST = new IElementType("PARAMETER_LIST", PineScriptLanguage.INSTANCE);
+    IElementType PARAMETER = new IElementType("PARAMETER", PineScriptLanguage.INSTANCE);
+    IElementType TYPE_DECLARATION = new PineScriptTypeStubElementType("TYPE_DECLARATION");
+    IElementType FIELD_DECLARATION = new IElementType("FIELD_DECLARATION", PineScriptLanguage.INSTANCE);
+    IElementType ENUM_DECLARATION = new PineScriptEnumStubElementType("ENUM_DECLARATION");
+    IElementType ENUM_MEMBER = new IElementType("ENUM_MEMBER", PineScriptLanguage.INSTANCE);
+
+    // Statements
+    IElementType VARIABLE_DECLARATION = new PineScriptVariableStubElementType("VARIABLE_DECLARATION");
+    IElementType TUPLE_DECLARATION = new IElementType("TUPLE_DECLARATION", PineScriptLanguage.INSTANCE);
+    IElementType VARIABLE_TARGET = new IElementType("VARIABLE_TARGET", PineScriptLanguage.INSTANCE);
+    IElementType ASSIGNMENT_STATEMENT = new IElementType("ASSIGNMENT_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType EXPRESSION_STATEMENT = new IElementType("EXPRESSION_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType JUMP_STATEMENT = new IElementType("JUMP_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType IF_STATEMENT = new IElementType("IF_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType FOR_STATEMENT = new IElementType("FOR_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType WHILE_STATEMENT = new IElementType("WHILE_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType SWITCH_STATEMENT = new IElementType("SWITCH_STATEMENT", PineScriptLanguage.INSTANCE);
+    IElementType SWITCH_CASE = new IElementType("SWITCH_CASE", PineScriptLanguage.INSTANCE);
+    IElementType BLOCK = new PineScriptBlockElementType("BLOCK");
+
+    // Expressions
+    IElementType REFERENCE_EXPRESSION = new IElementType("REFERENCE_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType CALL_EXPRESSION = new IElementType("CALL_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType ARGUMENT_LIST = new IElementType("ARGUMENT_LIST", PineScriptLanguage.INSTANCE);
+    IElementType ARGUMENT = new IElementType("ARGUMENT", PineScriptLanguage.INSTANCE);
+    IElementType TYPE_ARGUMENT_LIST = new IElementType("TYPE_ARGUMENT_LIST", PineScriptLanguage.INSTANCE);
+    IElementType TYPE_REFERENCE = new IElementType("TYPE_REFERENCE", PineScriptLanguage.INSTANCE);
+    IElementType LITERAL_EXPRESSION = new IElementType("LITERAL_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType BINARY_EXPRESSION = new IElementType("BINARY_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType UNARY_EXPRESSION = new IElementType("UNARY_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType CONDITIONAL_EXPRESSION = new IElementType("CONDITIONAL_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType PARENTHESIZED_EXPRESSION = new IElementType("PARENTHESIZED_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType INDEX_EXPRESSION = new IElementType("INDEX_EXPRESSION", PineScriptLanguage.INSTANCE);
+    IElementType TUPLE_EXPRESSION = new IElementType("TUPLE_EXPRESSION", PineScriptLanguage.INSTANCE);
+
+    /**
+     * Creates the PSI wrapper for a composite node built by the parser.
+     */
+    final class Factory {
+        private static final Map<IElementType, Function<ASTNode, PsiElement>> FACTORIES = new HashMap<>();
+
+        static {
+            FACTORIES.put(SCRIPT_DECLARATION, PineScriptScriptDeclaration::new);
+            FACTORIES.put(IMPORT_STATEMENT, PineScriptImportStatement::new);
+            FACTORIES.put(FUNCTION_DECLARATION, PineScriptFunctionDeclaration::new);
+            FACTORIES.put(PARAMETER_LIST, PineScriptParameterList::new);
+            FACTORIES.put(PARAMETER, PineScriptParameter::new);
+            FACTORIES.put(TYPE_DECLARATION, PineScriptTypeDeclaration::new);
+            FACTORIES.put(FIELD_DECLARATION, PineScriptFieldDeclaration::new);
+            FACTORIES.put(ENUM_DECLARATION, PineScriptEnumDeclaration::new);
+            FACTORIES.put(ENUM_MEMBER, PineScriptEnumMember::new);
+            FACTORIES.put(VARIABLE_DECLARATION, PineScriptVariableDeclaration::new);
+            FACTORIES.put(TUPLE_DECLARATION, PineScriptTupleDeclaration::new);
+            FACTORIES.put(VARIABLE_TARGET, PineScriptVariableTarget::new);
+            FACTORIES.put(ASSIGNMENT_STATEMENT, PineScriptAssignmentStatement::new);
+            FACTORIES.put(EXPRESSION_STATEMENT, PineScriptExpressionStatement::new);
+            FACTORIES.put(JUMP_STATEMENT, PineScriptJumpStatement::new);
+            FACTORIES.put(IF_STATEMENT, PineScriptIfStatement::new);
+            FACTORIES.put(FOR_STATEMENT, PineScriptForStatement::new);
+            FACTORIES.put(WHILE_STATEMENT, PineScriptWhileStatement::new);
+            FACTORIES.put(SWITCH_STATEMENT, PineScriptSwitchStatement::new);
+            FACTORIES.put(SWITCH_CASE, PineScriptSwitchCase::new);
+            FACTORIES.put(BLOCK, PineScriptBlock::new);
+            FACTORIES.put(REFERENCE_EXPRESSION, PineScriptReferenceExpression::new);
+            FACTORIES.put(CALL_EXPRESSION, PineScriptCallExpression::new);
+            FACTORIES.put(ARGUMENT_LIST, PineScriptArgumentList::new);
+            FACTORIES.put(ARGUMENT, PineScriptArgument::new);
+            FACTORIES.put(TYPE_REFERENCE, PineScriptTypeReference::new);
+            FACTORIES.put(LITERAL_EXPRESSION, PineScriptLiteralExpression::new);
+            FACTORIES.put(BINARY_EXPRESSION, PineScriptBinaryExpression::new);
+            FACTORIES.put(UNARY_EXPRESSION, PineScriptUnaryExpression::new);
+            FACTORIES.put(CONDITIONAL_EXPRESSION, PineScriptConditionalExpression::new);
+            FACTORIES.put(PARENTHESIZED_EXPRESSION, PineScriptParenthesizedExpression::new);
+            FACTORIES.put(INDEX_EXPRESSION, PineScriptIndexExpression::new);
+            FACTORIES.put(TUPLE_EXPRESSION, PineScriptTupleExpression::new);
+        }
+
+        private Factory() {
+        }
+
+        public static PsiElement createElement(ASTNode node) {
+            Function<ASTNode, PsiElement> factory = FACTORIES.get(node.getElementType());
+            return factory != null ? factory.apply(node) : new PineScriptPsiElement(node);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parser.PineScriptStubBasedPsiElement;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptEnumStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+import java.util.List;
+
+/**
+ * An enum: {@code [export] enum Name} followed by indented members.
+ */
+public class PineScriptEnumDeclaration extends PineScriptStubBasedPsiElement<PineScriptEnumStub>
+    implements PineScriptStatement, PsiNameIdentifierOwner {
+
+    public PineScriptEnumDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public PineScriptEnumDeclaration(@NotNull PineScriptEnumStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PineScriptEnumStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        return isExported() ? super.getUseScope() : new LocalSearchScope(getContainingFile());
+    }
+
+    public boolean isExported() {
+        PineScriptEnumStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.isExported();
+        }
+        return hasKeyword("export");
+    }
+
+    @NotNull
+    public List<PineScriptEnumMember> getMembers() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptEnumMember.class);
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return AllIcons.Nodes.Enum;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An enum member: {@code name [= "title"]}.
+ */
+public class PineScriptEnumMember extends PineScriptPsiElement implements PsiNameIdentifierOwner {
+    public PineScriptEnumMember(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        PineScriptEnumDeclaration enumDeclaration = PsiTreeUtil.getParentOfType(this, PineScriptEnumDeclaration.class);
+        return enumDeclaration != null ? enumDeclaration.getUseScope() : super.getUseScope();
+    }
+
+    @Nullable
+    public PineScriptExpression getTitle() {
+        return findChildAfterAssign(PineScriptExpression.class);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base class for Pine Script expressions.
+ */
+public abstract class PineScriptExpression extends PineScriptPsiElement {
+    public PineScriptExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+}
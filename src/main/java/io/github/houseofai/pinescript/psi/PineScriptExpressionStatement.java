@@ -0,0 +1,21 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An expression evaluated as a statement, usually a function call.
+ */
+public class PineScriptExpressionStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptExpressionStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getExpression() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+}
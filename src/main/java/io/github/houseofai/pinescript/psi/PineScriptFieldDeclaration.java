@@ -0,0 +1,59 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A field of a user-defined type: {@code [varip] type name [= default]}.
+ */
+public class PineScriptFieldDeclaration extends PineScriptPsiElement implements PsiNameIdentifierOwner {
+    public PineScriptFieldDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        PineScriptTypeDeclaration type = PsiTreeUtil.getParentOfType(this, PineScriptTypeDeclaration.class);
+        return type != null ? type.getUseScope() : super.getUseScope();
+    }
+
+    @Nullable
+    public PineScriptTypeReference getTypeReference() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptTypeReference.class);
+    }
+
+    @Nullable
+    public PineScriptExpression getDefaultValue() {
+        return findChildAfterAssign(PineScriptExpression.class);
+    }
+
+    public boolean isVarip() {
+        return hasKeyword("varip");
+    }
+}
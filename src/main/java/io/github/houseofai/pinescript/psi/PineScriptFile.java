@@ -3,9 +3,17 @@ package io.github.houseofai.pinescript.psi;
 import com.intellij.extapi.psi.PsiFileBase;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.util.PsiTreeUtil;
 import io.github.houseofai.pinescript.PineScriptFileType;
 import io.github.houseofai.pinescript.PineScriptLanguage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * PSI file representation for Pine Script.
@@ -21,6 +29,49 @@ public class PineScriptFile extends PsiFileBase {
         return PineScriptFileType.INSTANCE;
     }
 
+    /**
+     * Returns the {@code import} statements of this script.
+     */
+    @NotNull
+    public List<PineScriptImportStatement> getImports() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptImportStatement.class);
+    }
+
+    /**
+     * Returns the import that binds the given alias, or {@code null} if there is none.
+     */
+    @Nullable
+    public PineScriptImportStatement findImport(@NotNull String alias) {
+        for (PineScriptImportStatement importStatement : getImports()) {
+            if (alias.equals(importStatement.getAlias())) {
+                return importStatement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the script declaration and the top-level function, type, enum and variable
+     * declarations in source order. Reads the stub tree when the file's AST is not loaded.
+     */
+    @NotNull
+    public List<PsiElement> getDeclarations() {
+        List<PsiElement> declarations = new ArrayList<>();
+        StubElement<?> stub = getGreenStub();
+        if (stub != null) {
+            for (StubElement<?> child : stub.getChildrenStubs()) {
+                declarations.add(child.getPsi());
+            }
+            return declarations;
+        }
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof StubBasedPsiElement<?>) {
+                declarations.add(child);
+            }
+        }
+        return declarations;
+    }
+
     @Override
     public String toString() {
         return "Pine Script File";
@@ -0,0 +1,35 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A {@code for i = from to to [by step]} or {@code for x in collection} loop.
+ */
+public class PineScriptForStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptForStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public boolean isForIn() {
+        return hasChildToken(PineScriptTokenTypes.IDENTIFIER, "in");
+    }
+
+    /**
+     * Returns the loop variables: one for counting loops, one or two for {@code for...in}.
+     */
+    @NotNull
+    public List<PineScriptVariableTarget> getTargets() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptVariableTarget.class);
+    }
+
+    @Nullable
+    public PineScriptBlock getBody() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptBlock.class);
+    }
+}
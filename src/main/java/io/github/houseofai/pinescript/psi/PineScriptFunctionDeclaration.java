@@ -0,0 +1,145 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.parser.PineScriptStubBasedPsiElement;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptFunctionStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+import java.util.List;
+
+/**
+ * A user-defined function or method: {@code [export] [method] name(parameters) => body}.
+ */
+public class PineScriptFunctionDeclaration extends PineScriptStubBasedPsiElement<PineScriptFunctionStub>
+    implements PineScriptStatement, PsiNameIdentifierOwner {
+
+    public PineScriptFunctionDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public PineScriptFunctionDeclaration(@NotNull PineScriptFunctionStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PineScriptFunctionStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        return isExported() ? super.getUseScope() : new LocalSearchScope(getContainingFile());
+    }
+
+    public boolean isMethod() {
+        PineScriptFunctionStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.isMethod();
+        }
+        return hasKeyword("method");
+    }
+
+    public boolean isExported() {
+        PineScriptFunctionStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.isExported();
+        }
+        return hasKeyword("export");
+    }
+
+    @Nullable
+    public PineScriptParameterList getParameterList() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptParameterList.class);
+    }
+
+    @NotNull
+    public List<PineScriptParameter> getParameters() {
+        PineScriptParameterList parameterList = getParameterList();
+        return parameterList != null ? parameterList.getParameters() : List.of();
+    }
+
+    /**
+     * Returns the signature shown by parameter info, read from the stub when the AST is not loaded.
+     */
+    @NotNull
+    public PineScriptFunctionSignature getSignature() {
+        PineScriptFunctionStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getSignature();
+        }
+        return new PineScriptFunctionSignature(getName(), getParameters().stream()
+            .map(PineScriptParameter::toSignatureParameter)
+            .toArray(PineScriptFunctionSignature.Parameter[]::new));
+    }
+
+    /**
+     * Returns the indented body, or {@code null} if the function is a single-line {@code =>} expression.
+     */
+    @Nullable
+    public PineScriptBlock getBlock() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptBlock.class);
+    }
+
+    /**
+     * Returns the body: either a {@link PineScriptBlock} or the single statement after {@code =>}.
+     */
+    @Nullable
+    public PineScriptStatement getBody() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptStatement.class);
+    }
+
+    /**
+     * Returns the name with its parameter names, e.g. {@code calculateRSI(src, length)}.
+     */
+    @Nullable
+    @Override
+    protected String getPresentableText() {
+        String name = getName();
+        if (name == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(name).append('(');
+        PineScriptFunctionSignature signature = getSignature();
+        for (int i = 0; i < signature.getParameterCount(); i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(signature.getParameters().get(i).getName());
+        }
+        return text.append(')').toString();
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return isMethod() ? AllIcons.Nodes.Method : AllIcons.Nodes.Function;
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@code if} statement or expression with optional {@code else if} and {@code else} branches.
+ */
+public class PineScriptIfStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptIfStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getCondition() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public PineScriptBlock getThenBlock() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptBlock.class);
+    }
+
+    /**
+     * Returns the {@code else} branch: a nested {@link PineScriptIfStatement} for {@code else if},
+     * a {@link PineScriptBlock} for {@code else}, or {@code null}.
+     */
+    @Nullable
+    public PsiElement getElseBranch() {
+        ASTNode elseKeyword = findChildToken(PineScriptTokenTypes.KEYWORD, "else");
+        if (elseKeyword == null) {
+            return null;
+        }
+        for (ASTNode child = elseKeyword.getTreeNext(); child != null; child = child.getTreeNext()) {
+            PsiElement psi = child.getPsi();
+            if (psi instanceof PineScriptIfStatement || psi instanceof PineScriptBlock) {
+                return psi;
+            }
+        }
+        return null;
+    }
+}
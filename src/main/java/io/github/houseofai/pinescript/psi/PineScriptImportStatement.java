@@ -0,0 +1,77 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiWhiteSpace;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@code import publisher/library/version [as alias]} statement.
+ */
+public class PineScriptImportStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptImportStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the library path as written, e.g. {@code TradingView/ta/7}.
+     */
+    @NotNull
+    public String getLibraryPath() {
+        StringBuilder path = new StringBuilder();
+        ASTNode child = getNode().getFirstChildNode();
+        // Skip the import keyword
+        if (child != null) {
+            child = child.getTreeNext();
+        }
+        for (; child != null; child = child.getTreeNext()) {
+            if (isAsKeyword(child)) {
+                break;
+            }
+            if (!(child.getPsi() instanceof PsiWhiteSpace)) {
+                path.append(child.getChars());
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * Returns the library name, the middle segment of the path.
+     */
+    @Nullable
+    public String getLibraryName() {
+        String[] segments = getLibraryPath().split("/");
+        return segments.length >= 2 ? segments[1] : null;
+    }
+
+    @Nullable
+    public PsiElement getAliasIdentifier() {
+        for (ASTNode child = getNode().getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (isAsKeyword(child)) {
+                ASTNode alias = child.getTreeNext();
+                while (alias != null && alias.getPsi() instanceof PsiWhiteSpace) {
+                    alias = alias.getTreeNext();
+                }
+                return alias != null ? alias.getPsi() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name the library is referred to by in this script. Without an explicit
+     * {@code as} clause Pine uses the library name.
+     */
+    @Nullable
+    public String getAlias() {
+        PsiElement alias = getAliasIdentifier();
+        return alias != null ? alias.getText() : getLibraryName();
+    }
+
+    private static boolean isAsKeyword(ASTNode node) {
+        return node.getElementType() == PineScriptTokenTypes.IDENTIFIER && StringUtil.equals(node.getChars(), "as");
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A history-referencing or indexing expression: {@code close[1]}.
+ */
+public class PineScriptIndexExpression extends PineScriptExpression {
+    public PineScriptIndexExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getBase() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public PineScriptExpression getIndex() {
+        List<PineScriptExpression> operands = PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptExpression.class);
+        return operands.size() > 1 ? operands.get(1) : null;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@code break} or {@code continue} statement.
+ */
+public class PineScriptJumpStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptJumpStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public boolean isBreak() {
+        return hasKeyword("break");
+    }
+}
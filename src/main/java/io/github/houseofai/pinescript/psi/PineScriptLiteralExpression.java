@@ -0,0 +1,32 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A number, string, color, boolean or {@code na} literal.
+ */
+public class PineScriptLiteralExpression extends PineScriptExpression {
+    public PineScriptLiteralExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    public IElementType getLiteralType() {
+        return getNode().getFirstChildNode().getElementType();
+    }
+
+    /**
+     * Returns the unquoted value of a string literal, or {@code null} for other literals.
+     */
+    @Nullable
+    public String getStringValue() {
+        if (getLiteralType() != PineScriptTokenTypes.STRING) {
+            return null;
+        }
+        String text = getText();
+        return text.length() >= 2 ? text.substring(1, text.length() - 1) : "";
+    }
+}
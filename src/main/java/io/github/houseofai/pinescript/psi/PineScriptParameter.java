@@ -0,0 +1,86 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A function parameter: {@code [qualifier] [type] name [= default]}.
+ */
+public class PineScriptParameter extends PineScriptPsiElement implements PsiNameIdentifierOwner {
+    public PineScriptParameter(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        return new LocalSearchScope(getContainingFile());
+    }
+
+    /**
+     * Returns the {@code series}, {@code simple}, {@code input} or {@code const} qualifier, if any.
+     */
+    @Nullable
+    public String getQualifier() {
+        ASTNode first = getNode().getFirstChildNode();
+        PsiElement nameIdentifier = getNameIdentifier();
+        if (first == null || nameIdentifier == null || first == nameIdentifier.getNode()
+            || first.getPsi() instanceof PineScriptTypeReference) {
+            return null;
+        }
+        return first.getText();
+    }
+
+    @Nullable
+    public PineScriptTypeReference getTypeReference() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptTypeReference.class);
+    }
+
+    @Nullable
+    public PineScriptExpression getDefaultValue() {
+        return findChildAfterAssign(PineScriptExpression.class);
+    }
+
+    /**
+     * Converts this parameter to the form used by parameter info: the type includes the qualifier.
+     */
+    @NotNull
+    public PineScriptFunctionSignature.Parameter toSignatureParameter() {
+        String qualifier = getQualifier();
+        PineScriptTypeReference typeReference = getTypeReference();
+        String type = typeReference != null ? typeReference.getText() : null;
+        if (qualifier != null) {
+            type = type != null ? qualifier + " " + type : qualifier;
+        }
+        PineScriptExpression defaultValue = getDefaultValue();
+        String defaultText = defaultValue != null ? defaultValue.getText() : null;
+        return new PineScriptFunctionSignature.Parameter(getName(), type, defaultText, defaultText != null);
+    }
+}
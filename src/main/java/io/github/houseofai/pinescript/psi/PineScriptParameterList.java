@@ -0,0 +1,22 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The parenthesized parameter list of a function or method declaration.
+ */
+public class PineScriptParameterList extends PineScriptPsiElement {
+    public PineScriptParameterList(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    public List<PineScriptParameter> getParameters() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptParameter.class);
+    }
+}
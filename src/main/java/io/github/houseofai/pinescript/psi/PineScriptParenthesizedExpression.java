@@ -0,0 +1,20 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A parenthesized expression.
+ */
+public class PineScriptParenthesizedExpression extends PineScriptExpression {
+    public PineScriptParenthesizedExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getExpression() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.resolve.PineScriptNameReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A reference to a variable, function or namespace member.
+ * <p>
+ * The lexer folds dotted names such as {@code ta.sma} or {@code this.field} into one token, so most
+ * references are a single name token. A {@code .} after a call or index, as in {@code f().x}, produces
+ * a reference with a qualifier expression.
+ */
+public class PineScriptReferenceExpression extends PineScriptExpression {
+    public PineScriptReferenceExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getQualifier() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public PsiElement getReferenceNameElement() {
+        // The name is the last token; a qualifier, if any, is a composite expression in front of it
+        ASTNode name = getNode().getLastChildNode();
+        while (name != null && (name.getPsi() instanceof PsiWhiteSpace || name.getElementType() == PineScriptTokenTypes.COMMENT)) {
+            name = name.getTreePrev();
+        }
+        return name != null && !(name.getPsi() instanceof PineScriptExpression) ? name.getPsi() : null;
+    }
+
+    /**
+     * Returns the referenced name as written, including any folded namespace, e.g. {@code ta.sma}.
+     */
+    @Nullable
+    public String getReferenceName() {
+        PsiElement name = getReferenceNameElement();
+        return name != null ? name.getText() : null;
+    }
+
+    /**
+     * Returns a reference per segment of the name, see {@link PineScriptNameReference}. The array is
+     * cached so that resolve results cached per reference survive until the next PSI change.
+     */
+    @Override
+    public PsiReference @NotNull [] getReferences() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            PsiElement name = getReferenceNameElement();
+            PsiReference[] references = name != null && name.getNode().getElementType() == PineScriptTokenTypes.IDENTIFIER
+                ? PineScriptNameReference.create(this, name)
+                : PsiReference.EMPTY_ARRAY;
+            return CachedValueProvider.Result.create(references, PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+
+    /**
+     * Returns the reference of the last segment, the one that is called or read.
+     */
+    @Nullable
+    @Override
+    public PsiReference getReference() {
+        PsiReference[] references = getReferences();
+        return references.length > 0 ? references[references.length - 1] : null;
+    }
+}
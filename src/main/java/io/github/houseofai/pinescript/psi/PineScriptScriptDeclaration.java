@@ -0,0 +1,85 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptStubBasedPsiElement;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptScriptStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+
+/**
+ * The {@code indicator(...)}, {@code strategy(...)} or {@code library(...)} declaration of a script.
+ */
+public class PineScriptScriptDeclaration extends PineScriptStubBasedPsiElement<PineScriptScriptStub>
+    implements PineScriptStatement {
+
+    public PineScriptScriptDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public PineScriptScriptDeclaration(@NotNull PineScriptScriptStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    /**
+     * Returns {@code indicator}, {@code strategy} or {@code library}.
+     */
+    @NotNull
+    public String getKind() {
+        PineScriptScriptStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getKind();
+        }
+        ASTNode keyword = getNode().findChildByType(PineScriptTokenTypes.KEYWORD);
+        return keyword != null ? keyword.getText() : "";
+    }
+
+    @Nullable
+    public PineScriptArgumentList getArgumentList() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptArgumentList.class);
+    }
+
+    /**
+     * Returns the unquoted title passed as the first positional or the {@code title} argument.
+     */
+    @Nullable
+    public String getTitle() {
+        PineScriptScriptStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getTitle();
+        }
+        PineScriptArgumentList arguments = getArgumentList();
+        if (arguments == null) {
+            return null;
+        }
+        for (PineScriptArgument argument : arguments.getArguments()) {
+            if (!argument.isNamed() || "title".equals(argument.getName())) {
+                PineScriptExpression value = argument.getValue();
+                return value instanceof PineScriptLiteralExpression literal ? literal.getStringValue() : null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        return getTitle();
+    }
+
+    @NotNull
+    @Override
+    protected String getPresentableText() {
+        String title = getTitle();
+        return title != null ? getKind() + " \"" + title + "\"" : getKind();
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return AllIcons.Nodes.Module;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.psi.PsiElement;
+
+/**
+ * Pine Script statements and declarations. Top-level declarations are stub-based, so this is an
+ * interface rather than a common base class.
+ */
+public interface PineScriptStatement extends PsiElement {
+}
@@ -0,0 +1,33 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code pattern => body} case of a switch. The default case has no pattern.
+ */
+public class PineScriptSwitchCase extends PineScriptPsiElement {
+    public PineScriptSwitchCase(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getPattern() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    public boolean isDefault() {
+        return getPattern() == null;
+    }
+
+    /**
+     * Returns the body: a {@link PineScriptBlock} or the single statement after {@code =>}.
+     */
+    @Nullable
+    public PineScriptStatement getBody() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptStatement.class);
+    }
+}
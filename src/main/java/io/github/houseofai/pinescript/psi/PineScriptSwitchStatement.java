@@ -0,0 +1,28 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A {@code switch [subject]} statement or expression with indented cases.
+ */
+public class PineScriptSwitchStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptSwitchStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getSubject() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @NotNull
+    public List<PineScriptSwitchCase> getCases() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptSwitchCase.class);
+    }
+}
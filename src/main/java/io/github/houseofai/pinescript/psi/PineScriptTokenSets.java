@@ -0,0 +1,27 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.psi.tree.TokenSet;
+
+/**
+ * Token sets shared by the parser definition, the parser and PSI accessors.
+ */
+public interface PineScriptTokenSets {
+    TokenSet WHITESPACES = TokenSet.create(PineScriptTokenTypes.WHITE_SPACE);
+    TokenSet COMMENTS = TokenSet.create(PineScriptTokenTypes.COMMENT, PineScriptTokenTypes.ANNOTATION);
+    TokenSet STRINGS = TokenSet.create(PineScriptTokenTypes.STRING);
+
+    /** Tokens that can name a declaration or be referenced as a value. */
+    TokenSet NAMES = TokenSet.create(
+        PineScriptTokenTypes.IDENTIFIER,
+        PineScriptTokenTypes.BUILTIN_FUNCTION,
+        PineScriptTokenTypes.NAMESPACE_CONSTANT
+    );
+
+    TokenSet LITERALS = TokenSet.create(
+        PineScriptTokenTypes.NUMBER,
+        PineScriptTokenTypes.STRING,
+        PineScriptTokenTypes.HEX_COLOR,
+        PineScriptTokenTypes.BOOLEAN,
+        PineScriptTokenTypes.CONSTANT
+    );
+}
@@ -31,6 +31,11 @@ public interface PineScriptTokenTypes {
     IElementType COLON = new IElementType("COLON", PineScriptLanguage.INSTANCE);
     IElementType DOT = new IElementType("DOT", PineScriptLanguage.INSTANCE);
 
+    // Zero-length layout tokens emitted for the parser only
+    IElementType NEWLINE = new IElementType("NEWLINE", PineScriptLanguage.INSTANCE);
+    IElementType INDENT = new IElementType("INDENT", PineScriptLanguage.INSTANCE);
+    IElementType DEDENT = new IElementType("DEDENT", PineScriptLanguage.INSTANCE);
+
     IElementType WHITE_SPACE = new IElementType("WHITE_SPACE", PineScriptLanguage.INSTANCE);
     IElementType BAD_CHARACTER = new IElementType("BAD_CHARACTER", PineScriptLanguage.INSTANCE);
 }
@@ -0,0 +1,30 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A tuple declaration: {@code [a, b, c] = value}.
+ */
+public class PineScriptTupleDeclaration extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptTupleDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    public List<PineScriptVariableTarget> getTargets() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptVariableTarget.class);
+    }
+
+    @Nullable
+    public PsiElement getInitializer() {
+        PineScriptExpression expression = findChildAfterAssign(PineScriptExpression.class);
+        return expression != null ? expression : findChildAfterAssign(PineScriptStatement.class);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A bracketed list of expressions: a tuple returned from a function or an array literal.
+ */
+public class PineScriptTupleExpression extends PineScriptExpression {
+    public PineScriptTupleExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    public List<PineScriptExpression> getElements() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptExpression.class);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parser.PineScriptStubBasedPsiElement;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptTypeStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+import java.util.List;
+
+/**
+ * A user-defined type: {@code [export] type Name} followed by indented field declarations.
+ */
+public class PineScriptTypeDeclaration extends PineScriptStubBasedPsiElement<PineScriptTypeStub>
+    implements PineScriptStatement, PsiNameIdentifierOwner {
+
+    public PineScriptTypeDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public PineScriptTypeDeclaration(@NotNull PineScriptTypeStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PineScriptTypeStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        return isExported() ? super.getUseScope() : new LocalSearchScope(getContainingFile());
+    }
+
+    public boolean isExported() {
+        PineScriptTypeStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.isExported();
+        }
+        return hasKeyword("export");
+    }
+
+    @NotNull
+    public List<PineScriptFieldDeclaration> getFields() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, PineScriptFieldDeclaration.class);
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return AllIcons.Nodes.Class;
+    }
+}
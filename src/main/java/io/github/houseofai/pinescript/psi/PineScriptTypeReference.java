@@ -0,0 +1,62 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import io.github.houseofai.pinescript.resolve.PineScriptNameReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A type in a declaration: {@code float}, {@code array<int>}, {@code map<string, float>}, {@code chart.point} or a user-defined type.
+ */
+public class PineScriptTypeReference extends PineScriptPsiElement {
+    public PineScriptTypeReference(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the base type name without type arguments, e.g. {@code array} for {@code array<int>}.
+     */
+    @NotNull
+    public String getTypeName() {
+        ASTNode first = getNode().getFirstChildNode();
+        return first != null ? first.getText() : "";
+    }
+
+    @NotNull
+    public List<PineScriptTypeReference> getTypeArguments() {
+        PsiElement typeArguments = findChildByType(PineScriptElementTypes.TYPE_ARGUMENT_LIST);
+        return typeArguments != null
+            ? PsiTreeUtil.getChildrenOfTypeAsList(typeArguments, PineScriptTypeReference.class)
+            : List.of();
+    }
+
+    /**
+     * Returns references to a user-defined type or enum, including one imported as {@code lib.Type}.
+     */
+    @Override
+    public PsiReference @NotNull [] getReferences() {
+        return CachedValuesManager.getCachedValue(this, () -> {
+            ASTNode first = getNode().getFirstChildNode();
+            PsiReference[] references = first != null && first.getElementType() == PineScriptTokenTypes.IDENTIFIER
+                ? PineScriptNameReference.create(this, first.getPsi())
+                : PsiReference.EMPTY_ARRAY;
+            return CachedValueProvider.Result.create(references, PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+
+    @Nullable
+    @Override
+    public PsiReference getReference() {
+        PsiReference[] references = getReferences();
+        return references.length > 0 ? references[references.length - 1] : null;
+    }
+}
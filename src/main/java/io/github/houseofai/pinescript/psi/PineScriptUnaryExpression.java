@@ -0,0 +1,28 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A prefix operation: {@code -x}, {@code +x} or {@code not x}.
+ */
+public class PineScriptUnaryExpression extends PineScriptExpression {
+    public PineScriptUnaryExpression(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getOperand() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public String getOperatorText() {
+        PsiElement operator = findChildToken(TokenSet.create(PineScriptTokenTypes.OPERATOR));
+        return operator != null ? operator.getText() : null;
+    }
+}
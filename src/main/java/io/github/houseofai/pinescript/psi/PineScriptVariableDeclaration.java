@@ -0,0 +1,92 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import io.github.houseofai.pinescript.parser.PineScriptStubBasedPsiElement;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptVariableStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+
+/**
+ * A variable declaration: {@code [var|varip] [const] [type] name = value}.
+ */
+public class PineScriptVariableDeclaration extends PineScriptStubBasedPsiElement<PineScriptVariableStub>
+    implements PineScriptStatement, PsiNameIdentifierOwner {
+
+    public PineScriptVariableDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public PineScriptVariableDeclaration(@NotNull PineScriptVariableStub stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return findNameToken();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        PineScriptVariableStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        rename(getNameIdentifier(), name);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        return new LocalSearchScope(getContainingFile());
+    }
+
+    @Nullable
+    public PineScriptTypeReference getTypeReference() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptTypeReference.class);
+    }
+
+    /**
+     * Returns the value after {@code =}: an expression, or an {@code if}/{@code switch}/loop used as one.
+     */
+    @Nullable
+    public PsiElement getInitializer() {
+        PineScriptExpression expression = findChildAfterAssign(PineScriptExpression.class);
+        return expression != null ? expression : findChildAfterAssign(PineScriptStatement.class);
+    }
+
+    public boolean isVar() {
+        return hasKeyword("var");
+    }
+
+    public boolean isVarip() {
+        return hasKeyword("varip");
+    }
+
+    public boolean isConst() {
+        return findChildToken(TokenSet.create(PineScriptTokenTypes.STORAGE_KEYWORD)) != null;
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return AllIcons.Nodes.Variable;
+    }
+}
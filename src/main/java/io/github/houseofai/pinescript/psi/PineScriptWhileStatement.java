@@ -0,0 +1,26 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parser.PineScriptPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code while condition} loop.
+ */
+public class PineScriptWhileStatement extends PineScriptPsiElement implements PineScriptStatement {
+    public PineScriptWhileStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    public PineScriptExpression getCondition() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptExpression.class);
+    }
+
+    @Nullable
+    public PineScriptBlock getBody() {
+        return PsiTreeUtil.getChildOfType(this, PineScriptBlock.class);
+    }
+}
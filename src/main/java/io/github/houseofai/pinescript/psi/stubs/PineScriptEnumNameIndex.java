@@ -0,0 +1,30 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Top-level enums by name.
+ */
+public class PineScriptEnumNameIndex extends StringStubIndexExtension<PineScriptEnumDeclaration> {
+    public static final StubIndexKey<String, PineScriptEnumDeclaration> KEY = StubIndexKey.createIndexKey("pinescript.enum.name");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, PineScriptEnumDeclaration> getKey() {
+        return KEY;
+    }
+
+    @NotNull
+    public static Collection<PineScriptEnumDeclaration> find(@NotNull String name, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, PineScriptEnumDeclaration.class);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Stub of a top-level enum together with the names of its members.
+ */
+public class PineScriptEnumStub extends NamedStubBase<PineScriptEnumDeclaration> {
+    private final boolean myExported;
+    private final List<String> myMemberNames;
+
+    public PineScriptEnumStub(@Nullable StubElement<?> parent,
+                              @NotNull IStubElementType<?, ?> elementType,
+                              @Nullable String name,
+                              boolean exported,
+                              @NotNull List<String> memberNames) {
+        super(parent, elementType, name);
+        myExported = exported;
+        myMemberNames = memberNames;
+    }
+
+    public boolean isExported() {
+        return myExported;
+    }
+
+    @NotNull
+    public List<String> getMemberNames() {
+        return myMemberNames;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stub element type for top-level enums, indexed by name.
+ */
+public class PineScriptEnumStubElementType extends PineScriptStubElementType<PineScriptEnumStub, PineScriptEnumDeclaration> {
+    public PineScriptEnumStubElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public PineScriptEnumDeclaration createPsi(@NotNull PineScriptEnumStub stub) {
+        return new PineScriptEnumDeclaration(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public PineScriptEnumStub createStub(@NotNull PineScriptEnumDeclaration psi, StubElement<?> parentStub) {
+        List<String> memberNames = new ArrayList<>();
+        for (PineScriptEnumMember member : psi.getMembers()) {
+            String memberName = member.getName();
+            if (memberName != null) {
+                memberNames.add(memberName);
+            }
+        }
+        return new PineScriptEnumStub(parentStub, this, psi.getName(), psi.isExported(), memberNames);
+    }
+
+    @Override
+    public void serialize(@NotNull PineScriptEnumStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeBoolean(stub.isExported());
+        List<String> memberNames = stub.getMemberNames();
+        dataStream.writeVarInt(memberNames.size());
+        for (String memberName : memberNames) {
+            dataStream.writeName(memberName);
+        }
+    }
+
+    @NotNull
+    @Override
+    public PineScriptEnumStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String name = dataStream.readNameString();
+        boolean exported = dataStream.readBoolean();
+        int count = dataStream.readVarInt();
+        List<String> memberNames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            memberNames.add(dataStream.readNameString());
+        }
+        return new PineScriptEnumStub(parentStub, this, name, exported, memberNames);
+    }
+
+    @Override
+    public void indexStub(@NotNull PineScriptEnumStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(PineScriptEnumNameIndex.KEY, name);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.StubBuilder;
+import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.IFileElementType;
+import com.intellij.psi.tree.IStubFileElementType;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * File element type with a stub tree holding the top-level declarations of a script.
+ */
+public class PineScriptFileElementType extends IStubFileElementType<PsiFileStub<PsiFile>> {
+    private static final int STUB_VERSION = 2;
+
+    public PineScriptFileElementType() {
+        super("FILE", PineScriptLanguage.INSTANCE);
+    }
+
+    @Override
+    public int getStubVersion() {
+        return STUB_VERSION;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "pinescript.FILE";
+    }
+
+    @Override
+    public StubBuilder getBuilder() {
+        return new DefaultStubBuilder() {
+            @Override
+            protected boolean skipChildProcessingWhenBuildingStubs(@NotNull ASTNode parent, @NotNull ASTNode node) {
+                // Stubs exist only for top-level declarations, so the builder never has to expand a lazy block.
+                return !(parent.getElementType() instanceof IFileElementType);
+            }
+        };
+    }
+}
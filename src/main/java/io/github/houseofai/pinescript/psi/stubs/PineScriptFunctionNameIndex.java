@@ -0,0 +1,30 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Top-level functions and methods by name.
+ */
+public class PineScriptFunctionNameIndex extends StringStubIndexExtension<PineScriptFunctionDeclaration> {
+    public static final StubIndexKey<String, PineScriptFunctionDeclaration> KEY = StubIndexKey.createIndexKey("pinescript.function.name");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, PineScriptFunctionDeclaration> getKey() {
+        return KEY;
+    }
+
+    @NotNull
+    public static Collection<PineScriptFunctionDeclaration> find(@NotNull String name, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, PineScriptFunctionDeclaration.class);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Stub of a top-level function or method, carrying everything parameter info needs.
+ */
+public class PineScriptFunctionStub extends NamedStubBase<PineScriptFunctionDeclaration> {
+    private final boolean myMethod;
+    private final boolean myExported;
+    private final List<PineScriptFunctionSignature.Parameter> myParameters;
+
+    public PineScriptFunctionStub(@Nullable StubElement<?> parent,
+                                  @NotNull IStubElementType<?, ?> elementType,
+                                  @Nullable String name,
+                                  boolean method,
+                                  boolean exported,
+                                  @NotNull List<PineScriptFunctionSignature.Parameter> parameters) {
+        super(parent, elementType, name);
+        myMethod = method;
+        myExported = exported;
+        myParameters = parameters;
+    }
+
+    public boolean isMethod() {
+        return myMethod;
+    }
+
+    public boolean isExported() {
+        return myExported;
+    }
+
+    @NotNull
+    public List<PineScriptFunctionSignature.Parameter> getParameters() {
+        return myParameters;
+    }
+
+    @NotNull
+    public PineScriptFunctionSignature getSignature() {
+        return new PineScriptFunctionSignature(getName(), myParameters.toArray(new PineScriptFunctionSignature.Parameter[0]));
+    }
+}
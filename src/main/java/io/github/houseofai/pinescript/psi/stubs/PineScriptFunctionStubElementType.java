@@ -0,0 +1,75 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stub element type for top-level functions and methods, indexed by name.
+ */
+public class PineScriptFunctionStubElementType
+    extends PineScriptStubElementType<PineScriptFunctionStub, PineScriptFunctionDeclaration> {
+
+    public PineScriptFunctionStubElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public PineScriptFunctionDeclaration createPsi(@NotNull PineScriptFunctionStub stub) {
+        return new PineScriptFunctionDeclaration(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public PineScriptFunctionStub createStub(@NotNull PineScriptFunctionDeclaration psi, StubElement<?> parentStub) {
+        return new PineScriptFunctionStub(parentStub, this, psi.getName(), psi.isMethod(), psi.isExported(),
+            psi.getSignature().getParameters());
+    }
+
+    @Override
+    public void serialize(@NotNull PineScriptFunctionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeBoolean(stub.isMethod());
+        dataStream.writeBoolean(stub.isExported());
+        List<PineScriptFunctionSignature.Parameter> parameters = stub.getParameters();
+        dataStream.writeVarInt(parameters.size());
+        for (PineScriptFunctionSignature.Parameter parameter : parameters) {
+            dataStream.writeName(parameter.getName());
+            dataStream.writeName(parameter.getType());
+            dataStream.writeName(parameter.getDefaultValue());
+        }
+    }
+
+    @NotNull
+    @Override
+    public PineScriptFunctionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String name = dataStream.readNameString();
+        boolean method = dataStream.readBoolean();
+        boolean exported = dataStream.readBoolean();
+        int count = dataStream.readVarInt();
+        List<PineScriptFunctionSignature.Parameter> parameters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String parameterName = dataStream.readNameString();
+            String type = dataStream.readNameString();
+            String defaultValue = dataStream.readNameString();
+            parameters.add(new PineScriptFunctionSignature.Parameter(parameterName, type, defaultValue, defaultValue != null));
+        }
+        return new PineScriptFunctionStub(parentStub, this, name, method, exported, parameters);
+    }
+
+    @Override
+    public void indexStub(@NotNull PineScriptFunctionStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(PineScriptFunctionNameIndex.KEY, name);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import io.github.houseofai.pinescript.psi.PineScriptScriptDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of the {@code indicator}, {@code strategy} or {@code library} declaration and its title.
+ */
+public class PineScriptScriptStub extends StubBase<PineScriptScriptDeclaration> {
+    private final String myKind;
+    private final String myTitle;
+
+    public PineScriptScriptStub(@Nullable StubElement<?> parent,
+                                @NotNull IStubElementType<?, ?> elementType,
+                                @NotNull String kind,
+                                @Nullable String title) {
+        super(parent, elementType);
+        myKind = kind;
+        myTitle = title;
+    }
+
+    @NotNull
+    public String getKind() {
+        return myKind;
+    }
+
+    @Nullable
+    public String getTitle() {
+        return myTitle;
+    }
+}
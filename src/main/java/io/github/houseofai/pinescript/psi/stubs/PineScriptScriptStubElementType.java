@@ -0,0 +1,51 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import io.github.houseofai.pinescript.psi.PineScriptScriptDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Stub element type for the script declaration. It is not indexed; the stub lets the structure
+ * view show the script's kind and title without parsing the file.
+ */
+public class PineScriptScriptStubElementType
+    extends PineScriptStubElementType<PineScriptScriptStub, PineScriptScriptDeclaration> {
+
+    public PineScriptScriptStubElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public PineScriptScriptDeclaration createPsi(@NotNull PineScriptScriptStub stub) {
+        return new PineScriptScriptDeclaration(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public PineScriptScriptStub createStub(@NotNull PineScriptScriptDeclaration psi, StubElement<?> parentStub) {
+        return new PineScriptScriptStub(parentStub, this, psi.getKind(), psi.getTitle());
+    }
+
+    @Override
+    public void serialize(@NotNull PineScriptScriptStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getKind());
+        dataStream.writeName(stub.getTitle());
+    }
+
+    @NotNull
+    @Override
+    public PineScriptScriptStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String kind = dataStream.readNameString();
+        String title = dataStream.readNameString();
+        return new PineScriptScriptStub(parentStub, this, kind != null ? kind : "", title);
+    }
+
+    @Override
+    public void indexStub(@NotNull PineScriptScriptStub stub, @NotNull IndexSink sink) {
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.IFileElementType;
+import io.github.houseofai.pinescript.PineScriptLanguage;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base element type for declarations kept in the stub tree. Only top-level declarations get a
+ * stub: anything inside a block is local and never needs to be found through an index.
+ */
+public abstract class PineScriptStubElementType<S extends StubElement<?>, P extends PsiElement>
+    extends IStubElementType<S, P> {
+
+    protected PineScriptStubElementType(@NotNull @NonNls String debugName) {
+        super(debugName, PineScriptLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "pinescript." + this;
+    }
+
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        return isTopLevel(node);
+    }
+
+    static boolean isTopLevel(@NotNull ASTNode node) {
+        ASTNode parent = node.getTreeParent();
+        return parent != null && parent.getElementType() instanceof IFileElementType;
+    }
+}
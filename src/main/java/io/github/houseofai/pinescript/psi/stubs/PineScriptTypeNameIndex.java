@@ -0,0 +1,30 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Top-level user-defined types by name.
+ */
+public class PineScriptTypeNameIndex extends StringStubIndexExtension<PineScriptTypeDeclaration> {
+    public static final StubIndexKey<String, PineScriptTypeDeclaration> KEY = StubIndexKey.createIndexKey("pinescript.type.name");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, PineScriptTypeDeclaration> getKey() {
+        return KEY;
+    }
+
+    @NotNull
+    public static Collection<PineScriptTypeDeclaration> find(@NotNull String name, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, PineScriptTypeDeclaration.class);
+    }
+}
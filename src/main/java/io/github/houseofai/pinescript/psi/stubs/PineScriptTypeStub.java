@@ -0,0 +1,27 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of a top-level user-defined type.
+ */
+public class PineScriptTypeStub extends NamedStubBase<PineScriptTypeDeclaration> {
+    private final boolean myExported;
+
+    public PineScriptTypeStub(@Nullable StubElement<?> parent,
+                              @NotNull IStubElementType<?, ?> elementType,
+                              @Nullable String name,
+                              boolean exported) {
+        super(parent, elementType, name);
+        myExported = exported;
+    }
+
+    public boolean isExported() {
+        return myExported;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Stub element type for top-level user-defined types, indexed by name.
+ */
+public class PineScriptTypeStubElementType extends PineScriptStubElementType<PineScriptTypeStub, PineScriptTypeDeclaration> {
+    public PineScriptTypeStubElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public PineScriptTypeDeclaration createPsi(@NotNull PineScriptTypeStub stub) {
+        return new PineScriptTypeDeclaration(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public PineScriptTypeStub createStub(@NotNull PineScriptTypeDeclaration psi, StubElement<?> parentStub) {
+        return new PineScriptTypeStub(parentStub, this, psi.getName(), psi.isExported());
+    }
+
+    @Override
+    public void serialize(@NotNull PineScriptTypeStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeBoolean(stub.isExported());
+    }
+
+    @NotNull
+    @Override
+    public PineScriptTypeStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String name = dataStream.readNameString();
+        boolean exported = dataStream.readBoolean();
+        return new PineScriptTypeStub(parentStub, this, name, exported);
+    }
+
+    @Override
+    public void indexStub(@NotNull PineScriptTypeStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(PineScriptTypeNameIndex.KEY, name);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Top-level variables by name.
+ */
+public class PineScriptVariableNameIndex extends StringStubIndexExtension<PineScriptVariableDeclaration> {
+    public static final StubIndexKey<String, PineScriptVariableDeclaration> KEY = StubIndexKey.createIndexKey("pinescript.variable.name");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, PineScriptVariableDeclaration> getKey() {
+        return KEY;
+    }
+
+    @NotNull
+    public static Collection<PineScriptVariableDeclaration> find(@NotNull String name, @NotNull Project project,
+        @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, PineScriptVariableDeclaration.class);
+    }
+}
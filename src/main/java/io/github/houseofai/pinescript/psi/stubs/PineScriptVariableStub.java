@@ -0,0 +1,28 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of a top-level variable with its declared type, if it has one.
+ */
+public class PineScriptVariableStub extends NamedStubBase<PineScriptVariableDeclaration> {
+    private final String myTypeText;
+
+    public PineScriptVariableStub(@Nullable StubElement<?> parent,
+                                  @NotNull IStubElementType<?, ?> elementType,
+                                  @Nullable String name,
+                                  @Nullable String typeText) {
+        super(parent, elementType, name);
+        myTypeText = typeText;
+    }
+
+    @Nullable
+    public String getTypeText() {
+        return myTypeText;
+    }
+}
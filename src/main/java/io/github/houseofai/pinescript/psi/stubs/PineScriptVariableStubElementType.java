@@ -0,0 +1,57 @@
+package io.github.houseofai.pinescript.psi.stubs;
+
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import io.github.houseofai.pinescript.psi.PineScriptTypeReference;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Stub element type for top-level variable declarations, indexed by name.
+ */
+public class PineScriptVariableStubElementType
+    extends PineScriptStubElementType<PineScriptVariableStub, PineScriptVariableDeclaration> {
+
+    public PineScriptVariableStubElementType(@NotNull String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public PineScriptVariableDeclaration createPsi(@NotNull PineScriptVariableStub stub) {
+        return new PineScriptVariableDeclaration(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public PineScriptVariableStub createStub(@NotNull PineScriptVariableDeclaration psi, StubElement<?> parentStub) {
+        PineScriptTypeReference typeReference = psi.getTypeReference();
+        return new PineScriptVariableStub(parentStub, this, psi.getName(),
+            typeReference != null ? typeReference.getText() : null);
+    }
+
+    @Override
+    public void serialize(@NotNull PineScriptVariableStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getTypeText());
+    }
+
+    @NotNull
+    @Override
+    public PineScriptVariableStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String name = dataStream.readNameString();
+        String typeText = dataStream.readNameString();
+        return new PineScriptVariableStub(parentStub, this, name, typeText);
+    }
+
+    @Override
+    public void indexStub(@NotNull PineScriptVariableStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(PineScriptVariableNameIndex.KEY, name);
+        }
+    }
+}
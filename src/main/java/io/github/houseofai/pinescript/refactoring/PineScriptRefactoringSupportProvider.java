@@ -0,0 +1,24 @@
+package io.github.houseofai.pinescript.refactoring;
+
+import com.intellij.lang.refactoring.RefactoringSupportProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.search.LocalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Enables in-place rename: names used only in their own file are renamed in the editor, exported
+ * declarations through the member rename that also updates other files.
+ */
+public class PineScriptRefactoringSupportProvider extends RefactoringSupportProvider {
+    @Override
+    public boolean isInplaceRenameAvailable(@NotNull PsiElement element, @Nullable PsiElement context) {
+        return element instanceof PsiNameIdentifierOwner && element.getUseScope() instanceof LocalSearchScope;
+    }
+
+    @Override
+    public boolean isMemberInplaceRenameAvailable(@NotNull PsiElement element, @Nullable PsiElement context) {
+        return element instanceof PsiNameIdentifierOwner;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.houseofai.pinescript.resolve;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.psi.PineScriptArgument;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptParameter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A reference from the name of a named argument, {@code length} in {@code f(length = 14)}, to the
+ * parameter of the user-defined function being called.
+ */
+public class PineScriptArgumentNameReference extends PineScriptReference {
+    public PineScriptArgumentNameReference(@NotNull PineScriptArgument argument, @NotNull PsiElement nameIdentifier) {
+        super(argument, nameIdentifier, TextRange.from(0, nameIdentifier.getTextLength()));
+    }
+
+    @NotNull
+    @Override
+    protected Collection<? extends PsiElement> resolveTargets() {
+        PineScriptCallExpression call = PsiTreeUtil.getParentOfType(myElement, PineScriptCallExpression.class);
+        PsiElement callee = call != null ? call.getCallee() : null;
+        if (callee == null) {
+            return List.of();
+        }
+        PsiReference[] references = callee.getReferences();
+        if (references.length == 0 || !(references[references.length - 1] instanceof PineScriptReference function)) {
+            return List.of();
+        }
+        String name = myToken.getText();
+        List<PsiElement> parameters = new ArrayList<>(1);
+        for (ResolveResult result : function.multiResolve(false)) {
+            if (result.getElement() instanceof PineScriptFunctionDeclaration declaration) {
+                for (PineScriptParameter parameter : declaration.getParameters()) {
+                    if (name.equals(parameter.getName())) {
+                        parameters.add(parameter);
+                    }
+                }
+            }
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.houseofai.pinescript.resolve;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.GlobalSearchScope;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptFile;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptImportStatement;
+import io.github.houseofai.pinescript.psi.PineScriptReferenceExpression;
+import io.github.houseofai.pinescript.psi.PineScriptScriptDeclaration;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptEnumNameIndex;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptFunctionNameIndex;
+import io.github.houseofai.pinescript.psi.stubs.PineScriptTypeNameIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A reference from one segment of a name. The lexer folds dotted names such as {@code bar.high}
+ * into one token, so a name token gets a reference per segment: the first resolves as a plain name,
+ * the following ones as an enum member, a library export, a method or a field, depending on what
+ * the first one is.
+ */
+public class PineScriptNameReference extends PineScriptReference {
+    private final int mySegment;
+
+    private PineScriptNameReference(@NotNull PsiElement element, @NotNull PsiElement token, @NotNull TextRange range,
+                                    int segment) {
+        super(element, token, range);
+        mySegment = segment;
+    }
+
+    /**
+     * Creates the references of every segment of {@code token}, a name token of {@code element}.
+     */
+    public static PsiReference @NotNull [] create(@NotNull PsiElement element, @NotNull PsiElement token) {
+        String text = token.getText();
+        List<PsiReference> references = new ArrayList<>(2);
+        int start = 0;
+        for (int segment = 0; start <= text.length(); segment++) {
+            int end = text.indexOf('.', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            if (end > start) {
+                references.add(new PineScriptNameReference(element, token, TextRange.create(start, end), segment));
+            }
+            start = end + 1;
+        }
+        return references.toArray(PsiReference.EMPTY_ARRAY);
+    }
+
+    @NotNull
+    @Override
+    protected Collection<? extends PsiElement> resolveTargets() {
+        PsiFile file = myElement.getContainingFile();
+        PineScriptSymbolTable table = PineScriptSymbolTable.getInstance(file);
+        List<String> segments = StringUtil.split(myToken.getText(), ".");
+        if (mySegment >= segments.size()) {
+            return List.of();
+        }
+        String name = segments.get(mySegment);
+        boolean qualified = myElement instanceof PineScriptReferenceExpression reference && reference.getQualifier() != null;
+        PineScriptSymbol head = qualified ? null : table.resolve(myToken, segments.get(0));
+        if (mySegment == 0) {
+            return head != null ? List.of(head.getDeclaration()) : List.of();
+        }
+        boolean called = mySegment == segments.size() - 1 && isCallee();
+        if (head != null && mySegment == 1) {
+            switch (head.getKind()) {
+                case ENUM -> {
+                    PineScriptSymbol member = table.findEnumMember(head.getName(), name);
+                    return member != null ? List.of(member.getDeclaration()) : List.of();
+                }
+                case IMPORT -> {
+                    return findLibraryDeclarations((PineScriptImportStatement) head.getDeclaration(), name, false);
+                }
+                case TYPE -> {
+                    // Type.new() and the other built-in members of a type
+                    return List.of();
+                }
+                default -> {
+                }
+            }
+        }
+        if (called) {
+            PineScriptSymbol method = table.findMethod(name);
+            if (method != null) {
+                return List.of(method.getDeclaration());
+            }
+            List<PsiElement> methods = new ArrayList<>();
+            if (file instanceof PineScriptFile pineScriptFile) {
+                for (PineScriptImportStatement importStatement : pineScriptFile.getImports()) {
+                    methods.addAll(findLibraryDeclarations(importStatement, name, true));
+                }
+            }
+            return methods;
+        }
+        List<PsiElement> fields = new ArrayList<>();
+        for (PineScriptSymbol field : table.findFields(name)) {
+            fields.add(field.getDeclaration());
+        }
+        return fields;
+    }
+
+    private boolean isCallee() {
+        return myElement instanceof PineScriptReferenceExpression
+            && myElement.getParent() instanceof PineScriptCallExpression call && call.getCallee() == myElement;
+    }
+
+    /**
+     * Finds the exported functions, types and enums called {@code name} in the local library an
+     * import refers to, or only its methods. Candidates come from the stub indexes, and the library
+     * title is read from the stub of each candidate file.
+     */
+    @NotNull
+    private static List<PsiElement> findLibraryDeclarations(@NotNull PineScriptImportStatement importStatement,
+                                                            @NotNull String name, boolean methods) {
+        String library = importStatement.getLibraryName();
+        if (library == null) {
+            return List.of();
+        }
+        Project project = importStatement.getProject();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        List<PsiElement> declarations = new ArrayList<>();
+        for (PineScriptFunctionDeclaration function : PineScriptFunctionNameIndex.find(name, project, scope)) {
+            if (function.isExported() && function.isMethod() == methods && isLibrary(function.getContainingFile(), library)) {
+                declarations.add(function);
+            }
+        }
+        if (!methods) {
+            PineScriptTypeNameIndex.find(name, project, scope).stream()
+                .filter(type -> type.isExported() && isLibrary(type.getContainingFile(), library))
+                .forEach(declarations::add);
+            PineScriptEnumNameIndex.find(name, project, scope).stream()
+                .filter(enumDeclaration -> enumDeclaration.isExported() && isLibrary(enumDeclaration.getContainingFile(), library))
+                .forEach(declarations::add);
+        }
+        return declarations;
+    }
+
+    private static boolean isLibrary(@Nullable PsiFile file, @NotNull String library) {
+        if (!(file instanceof PineScriptFile pineScriptFile)) {
+            return false;
+        }
+        for (PsiElement declaration : pineScriptFile.getDeclarations()) {
+            if (declaration instanceof PineScriptScriptDeclaration script) {
+                return "library".equals(script.getKind()) && library.equals(script.getTitle());
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.houseofai.pinescript.resolve;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementResolveResult;
+import com.intellij.psi.PsiPolyVariantReferenceBase;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * A reference from part of a name token to a user-defined declaration. Results are kept in the
+ * {@link ResolveCache}, which is dropped on any PSI change, so highlighting usages and searching
+ * resolve each reference once per edit.
+ */
+public abstract class PineScriptReference extends PsiPolyVariantReferenceBase<PsiElement> {
+    private static final ResolveCache.PolyVariantResolver<PineScriptReference> RESOLVER =
+        (reference, incompleteCode) -> PsiElementResolveResult.createResults(reference.resolveTargets());
+
+    protected final PsiElement myToken;
+
+    /**
+     * @param element the element owning the reference
+     * @param token   the name token, a direct child of {@code element}
+     * @param range   the referenced part of {@code token}, relative to the token
+     */
+    protected PineScriptReference(@NotNull PsiElement element, @NotNull PsiElement token, @NotNull TextRange range) {
+        super(element, range.shiftRight(token.getStartOffsetInParent()));
+        myToken = token;
+    }
+
+    /**
+     * Returns the declarations this reference may point to.
+     */
+    @NotNull
+    protected abstract Collection<? extends PsiElement> resolveTargets();
+
+    @Override
+    public ResolveResult @NotNull [] multiResolve(boolean incompleteCode) {
+        return ResolveCache.getInstance(myElement.getProject()).resolveWithCaching(this, RESOLVER, false, incompleteCode);
+    }
+
+    @Override
+    public Object @NotNull [] getVariants() {
+        // Completion is contributed by PineScriptCompletionContributor
+        return EMPTY_ARRAY;
+    }
+
+    /**
+     * Replaces the referenced part of the name token, so {@code bar.high} becomes {@code bar.top}
+     * when the field is renamed.
+     */
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) throws IncorrectOperationException {
+        if (!(myToken instanceof LeafPsiElement leaf)) {
+            throw new IncorrectOperationException("Cannot rename " + myToken);
+        }
+        TextRange range = getRangeInElement().shiftLeft(myToken.getStartOffsetInParent());
+        leaf.replaceWithText(range.replace(myToken.getText(), newElementName));
+        return myElement;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.houseofai.pinescript.resolve;
+
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A name declared in a Pine Script file: the declaring PSI element and its name token.
+ */
+public final class PineScriptSymbol {
+    /**
+     * What a name declares.
+     */
+    public enum Kind {
+        FUNCTION,
+        METHOD,
+        TYPE,
+        ENUM,
+        ENUM_MEMBER,
+        FIELD,
+        PARAMETER,
+        /** A variable declared at the top level of the script. */
+        VARIABLE,
+        /** A variable declared in a block, a tuple or a {@code for} header. */
+        LOCAL_VARIABLE,
+        IMPORT
+    }
+
+    private final String myName;
+    private final Kind myKind;
+    private final PsiElement myDeclaration;
+    private final PsiElement myNameIdentifier;
+
+    PineScriptSymbol(@NotNull String name, @NotNull Kind kind, @NotNull PsiElement declaration, @NotNull PsiElement nameIdentifier) {
+        myName = name;
+        myKind = kind;
+        myDeclaration = declaration;
+        myNameIdentifier = nameIdentifier;
+    }
+
+    @NotNull
+    public String getName() {
+        return myName;
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return myKind;
+    }
+
+    @NotNull
+    public PsiElement getDeclaration() {
+        return myDeclaration;
+    }
+
+    @NotNull
+    public PsiElement getNameIdentifier() {
+        return myNameIdentifier;
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.houseofai.pinescript.resolve;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.psi.PineScriptBlock;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import io.github.houseofai.pinescript.psi.PineScriptFieldDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptForStatement;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptImportStatement;
+import io.github.houseofai.pinescript.psi.PineScriptParameter;
+import io.github.houseofai.pinescript.psi.PineScriptTupleDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptVariableTarget;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The names declared in one file, collected in a single PSI walk and cached until the file changes.
+ * <p>
+ * The script, each function, each indented block and each {@code for} header has its own scope.
+ * Names are looked up from the innermost scope around the reference outwards. A variable is only
+ * visible after its declaration, so a reference before it sees an outer variable of the same name;
+ * functions, types, enums, imports and parameters are visible in their whole scope. Methods,
+ * fields and enum members are reached through a dot, so they are kept apart and looked up by
+ * member name.
+ */
+public final class PineScriptSymbolTable {
+    /** Declarations by scope (the file, a function, a block or a loop) and name, in source order. */
+    private final Map<PsiElement, Map<String, List<PineScriptSymbol>>> myScopes = new HashMap<>();
+    private final Map<String, PineScriptSymbol> myMethods = new HashMap<>();
+    private final Map<String, List<PineScriptSymbol>> myFields = new HashMap<>();
+    private final Map<String, Map<String, PineScriptSymbol>> myEnumMembers = new HashMap<>();
+
+    private PineScriptSymbolTable() {
+    }
+
+    @NotNull
+    public static PineScriptSymbolTable getInstance(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(build(file), file));
+    }
+
+    /**
+     * Resolves a plain name as seen from {@code context}, searching the scopes that enclose it from
+     * the innermost outwards.
+     */
+    @Nullable
+    public PineScriptSymbol resolve(@NotNull PsiElement context, @NotNull String name) {
+        int offset = context.getTextRange().getStartOffset();
+        for (PsiElement scope = getScope(context); scope != null; scope = scope instanceof PsiFile ? null : getScope(scope)) {
+            Map<String, List<PineScriptSymbol>> symbols = myScopes.get(scope);
+            PineScriptSymbol symbol = symbols != null ? findVisible(symbols.get(name), offset) : null;
+            if (symbol != null) {
+                return symbol;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the last variable declared before {@code offset}, or else the first declaration that
+     * is visible in its whole scope.
+     */
+    @Nullable
+    private static PineScriptSymbol findVisible(@Nullable List<PineScriptSymbol> symbols, int offset) {
+        if (symbols == null) {
+            return null;
+        }
+        PineScriptSymbol variable = null;
+        PineScriptSymbol other = null;
+        for (PineScriptSymbol symbol : symbols) {
+            if (!isVariable(symbol)) {
+                if (other == null) {
+                    other = symbol;
+                }
+            } else if (getVisibleFrom(symbol.getDeclaration()) <= offset) {
+                variable = symbol;
+            }
+        }
+        return variable != null ? variable : other;
+    }
+
+    private static boolean isVariable(@NotNull PineScriptSymbol symbol) {
+        return symbol.getKind() == PineScriptSymbol.Kind.VARIABLE || symbol.getKind() == PineScriptSymbol.Kind.LOCAL_VARIABLE;
+    }
+
+    /**
+     * Returns the offset after which a variable can be used: the end of its declaration, so that
+     * its own initializer still sees an outer variable of the same name.
+     */
+    private static int getVisibleFrom(@NotNull PsiElement declaration) {
+        PsiElement statement = declaration.getParent() instanceof PineScriptTupleDeclaration tuple ? tuple : declaration;
+        return statement.getTextRange().getEndOffset();
+    }
+
+    /**
+     * Returns the innermost scope that contains {@code element}, not counting the element itself.
+     */
+    @NotNull
+    private static PsiElement getScope(@NotNull PsiElement element) {
+        PsiElement scope = PsiTreeUtil.getParentOfType(element,
+            PineScriptBlock.class, PineScriptFunctionDeclaration.class, PineScriptForStatement.class);
+        return scope != null ? scope : element.getContainingFile();
+    }
+
+    @Nullable
+    public PineScriptSymbol findMethod(@NotNull String name) {
+        return myMethods.get(name);
+    }
+
+    /**
+     * Returns the fields of all user-defined types in the file that have the given name.
+     */
+    @NotNull
+    public List<PineScriptSymbol> findFields(@NotNull String name) {
+        return myFields.getOrDefault(name, List.of());
+    }
+
+    @Nullable
+    public PineScriptSymbol findEnumMember(@NotNull String enumName, @NotNull String memberName) {
+        Map<String, PineScriptSymbol> members = myEnumMembers.get(enumName);
+        return members != null ? members.get(memberName) : null;
+    }
+
+    @NotNull
+    private static PineScriptSymbolTable build(@NotNull PsiFile file) {
+        PineScriptSymbolTable table = new PineScriptSymbolTable();
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                table.collect(element, file);
+                super.visitElement(element);
+            }
+        });
+        return table;
+    }
+
+    private void collect(@NotNull PsiElement element, @NotNull PsiFile file) {
+        if (element instanceof PineScriptFunctionDeclaration function) {
+            PineScriptSymbol symbol = symbol(function, function.getNameIdentifier(),
+                function.isMethod() ? PineScriptSymbol.Kind.METHOD : PineScriptSymbol.Kind.FUNCTION);
+            if (symbol == null) {
+                return;
+            }
+            if (function.isMethod()) {
+                myMethods.putIfAbsent(symbol.getName(), symbol);
+            } else {
+                declare(element, symbol);
+            }
+        } else if (element instanceof PineScriptTypeDeclaration type) {
+            declare(element, symbol(type, type.getNameIdentifier(), PineScriptSymbol.Kind.TYPE));
+        } else if (element instanceof PineScriptEnumDeclaration enumDeclaration) {
+            PineScriptSymbol symbol = symbol(enumDeclaration, enumDeclaration.getNameIdentifier(), PineScriptSymbol.Kind.ENUM);
+            declare(element, symbol);
+            if (symbol != null) {
+                Map<String, PineScriptSymbol> members = myEnumMembers.computeIfAbsent(symbol.getName(), name -> new HashMap<>());
+                for (PineScriptEnumMember member : enumDeclaration.getMembers()) {
+                    PineScriptSymbol memberSymbol = symbol(member, member.getNameIdentifier(), PineScriptSymbol.Kind.ENUM_MEMBER);
+                    if (memberSymbol != null) {
+                        members.putIfAbsent(memberSymbol.getName(), memberSymbol);
+                    }
+                }
+            }
+        } else if (element instanceof PineScriptFieldDeclaration field) {
+            PineScriptSymbol symbol = symbol(field, field.getNameIdentifier(), PineScriptSymbol.Kind.FIELD);
+            if (symbol != null) {
+                myFields.computeIfAbsent(symbol.getName(), name -> new ArrayList<>(1)).add(symbol);
+            }
+        } else if (element instanceof PineScriptParameter parameter) {
+            declare(element, symbol(parameter, parameter.getNameIdentifier(), PineScriptSymbol.Kind.PARAMETER));
+        } else if (element instanceof PineScriptVariableDeclaration variable) {
+            declare(element, symbol(variable, variable.getNameIdentifier(), variableKind(variable, file)));
+        } else if (element instanceof PineScriptVariableTarget target) {
+            declare(element, symbol(target, target.getNameIdentifier(), PineScriptSymbol.Kind.LOCAL_VARIABLE));
+        } else if (element instanceof PineScriptImportStatement importStatement) {
+            declare(element, symbol(importStatement, importStatement.getAliasIdentifier(), PineScriptSymbol.Kind.IMPORT));
+        }
+    }
+
+    /**
+     * Adds a symbol to the innermost scope around its declaration. The walk visits declarations in
+     * source order, which {@link #findVisible} relies on.
+     */
+    private void declare(@NotNull PsiElement element, @Nullable PineScriptSymbol symbol) {
+        if (symbol == null) {
+            return;
+        }
+        myScopes.computeIfAbsent(getScope(element), scope -> new HashMap<>())
+            .computeIfAbsent(symbol.getName(), name -> new ArrayList<>(1))
+            .add(symbol);
+    }
+
+    @NotNull
+    private static PineScriptSymbol.Kind variableKind(@NotNull PineScriptVariableDeclaration variable, @NotNull PsiFile file) {
+        return variable.getParent() == file ? PineScriptSymbol.Kind.VARIABLE : PineScriptSymbol.Kind.LOCAL_VARIABLE;
+    }
+
+    @Nullable
+    private static PineScriptSymbol symbol(@NotNull PsiElement declaration, @Nullable PsiElement nameIdentifier,
+                                           @NotNull PineScriptSymbol.Kind kind) {
+        return nameIdentifier != null ? new PineScriptSymbol(nameIdentifier.getText(), kind, declaration, nameIdentifier) : null;
+    }
+}
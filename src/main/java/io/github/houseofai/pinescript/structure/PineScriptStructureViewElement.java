@@ -0,0 +1,102 @@
+package io.github.houseofai.pinescript.structure;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.ide.structureView.StructureViewTreeElement;
+import com.intellij.ide.util.treeView.smartTree.SortableTreeElement;
+import com.intellij.ide.util.treeView.smartTree.TreeElement;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.psi.NavigatablePsiElement;
+import com.intellij.psi.PsiElement;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import io.github.houseofai.pinescript.psi.PineScriptFieldDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFile;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeReference;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A node of the structure view. The top level is read from the stub tree through
+ * {@link PineScriptFile#getDeclarations()}; fields and enum members come from the AST of the
+ * declaration they belong to.
+ */
+public class PineScriptStructureViewElement implements StructureViewTreeElement, SortableTreeElement {
+    private final NavigatablePsiElement myElement;
+
+    public PineScriptStructureViewElement(@NotNull NavigatablePsiElement element) {
+        myElement = element;
+    }
+
+    @Override
+    public Object getValue() {
+        return myElement;
+    }
+
+    @Override
+    public void navigate(boolean requestFocus) {
+        myElement.navigate(requestFocus);
+    }
+
+    @Override
+    public boolean canNavigate() {
+        return myElement.canNavigate();
+    }
+
+    @Override
+    public boolean canNavigateToSource() {
+        return myElement.canNavigateToSource();
+    }
+
+    @NotNull
+    @Override
+    public String getAlphaSortKey() {
+        String name = myElement.getName();
+        return name != null ? name : "";
+    }
+
+    @NotNull
+    @Override
+    public ItemPresentation getPresentation() {
+        if (myElement instanceof PineScriptFieldDeclaration field) {
+            PineScriptTypeReference type = field.getTypeReference();
+            return new PresentationData(field.getName(), type != null ? type.getText() : null, AllIcons.Nodes.Field, null);
+        }
+        if (myElement instanceof PineScriptEnumMember member) {
+            return new PresentationData(member.getName(), null, AllIcons.Nodes.Field, null);
+        }
+        ItemPresentation presentation = myElement.getPresentation();
+        if (presentation == null) {
+            return new PresentationData(myElement.getName(), null, myElement.getIcon(0), null);
+        }
+        if (myElement instanceof PineScriptFile) {
+            return presentation;
+        }
+        // Declarations give their file as the location for Go to Symbol, which is redundant here
+        return new PresentationData(presentation.getPresentableText(), null, presentation.getIcon(false), null);
+    }
+
+    @Override
+    public TreeElement @NotNull [] getChildren() {
+        List<? extends PsiElement> children;
+        if (myElement instanceof PineScriptFile file) {
+            children = file.getDeclarations();
+        } else if (myElement instanceof PineScriptTypeDeclaration type) {
+            children = type.getFields();
+        } else if (myElement instanceof PineScriptEnumDeclaration enumDeclaration) {
+            children = enumDeclaration.getMembers();
+        } else {
+            return TreeElement.EMPTY_ARRAY;
+        }
+        List<TreeElement> elements = new ArrayList<>(children.size());
+        for (PsiElement child : children) {
+            if (child instanceof NavigatablePsiElement navigatable) {
+                elements.add(new PineScriptStructureViewElement(navigatable));
+            }
+        }
+        return elements.toArray(TreeElement.EMPTY_ARRAY);
+    }
+}
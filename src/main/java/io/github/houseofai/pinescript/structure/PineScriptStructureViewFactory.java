@@ -0,0 +1,26 @@
+package io.github.houseofai.pinescript.structure;
+
+import com.intellij.ide.structureView.StructureViewBuilder;
+import com.intellij.ide.structureView.StructureViewModel;
+import com.intellij.ide.structureView.TreeBasedStructureViewBuilder;
+import com.intellij.lang.PsiStructureViewFactory;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.psi.PsiFile;
+import io.github.houseofai.pinescript.psi.PineScriptFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class PineScriptStructureViewFactory implements PsiStructureViewFactory {
+    @Override
+    public @Nullable StructureViewBuilder getStructureViewBuilder(@NotNull PsiFile psiFile) {
+        if (!(psiFile instanceof PineScriptFile file)) {
+            return null;
+        }
+        return new TreeBasedStructureViewBuilder() {
+            @Override
+            public @NotNull StructureViewModel createStructureViewModel(@Nullable Editor editor) {
+                return new PineScriptStructureViewModel(file, editor);
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.houseofai.pinescript.structure;
+
+import com.intellij.ide.structureView.StructureViewModel;
+import com.intellij.ide.structureView.StructureViewModelBase;
+import com.intellij.ide.structureView.StructureViewTreeElement;
+import com.intellij.ide.util.treeView.smartTree.Sorter;
+import com.intellij.openapi.editor.Editor;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import io.github.houseofai.pinescript.psi.PineScriptFieldDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFile;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptScriptDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Structure of a script: its declaration, top-level functions, methods, variables, and types and
+ * enums with their fields and members.
+ */
+public class PineScriptStructureViewModel extends StructureViewModelBase implements StructureViewModel.ElementInfoProvider {
+    public PineScriptStructureViewModel(@NotNull PineScriptFile file, @Nullable Editor editor) {
+        super(file, editor, new PineScriptStructureViewElement(file));
+        withSorters(Sorter.ALPHA_SORTER);
+        withSuitableClasses(
+            PineScriptScriptDeclaration.class,
+            PineScriptFunctionDeclaration.class,
+            PineScriptTypeDeclaration.class,
+            PineScriptFieldDeclaration.class,
+            PineScriptEnumDeclaration.class,
+            PineScriptEnumMember.class,
+            PineScriptVariableDeclaration.class
+        );
+    }
+
+    @Override
+    public boolean isAlwaysShowsPlus(StructureViewTreeElement element) {
+        return false;
+    }
+
+    @Override
+    public boolean isAlwaysLeaf(StructureViewTreeElement element) {
+        Object value = element.getValue();
+        return !(value instanceof PineScriptFile)
+            && !(value instanceof PineScriptTypeDeclaration)
+            && !(value instanceof PineScriptEnumDeclaration);
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.houseofai.pinescript.types;
+
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * The type of a Pine Script value: a qualifier and a type name such as {@code int}, {@code color},
+ * {@code array<float>} or a user-defined type. The name is {@code null} when it is not known.
+ * <p>
+ * Reference pages write types the same way, e.g. {@code series int/float} for a parameter that
+ * takes either, so {@link #parse(String)} reads both inferred and documented types.
+ */
+public final class PineScriptType {
+    /**
+     * When a value is known, from earliest to latest. A value can be passed where a later qualifier
+     * is expected, never where an earlier one is.
+     */
+    public enum Qualifier {
+        CONST, INPUT, SIMPLE, SERIES;
+
+        @NotNull
+        public Qualifier join(@NotNull Qualifier other) {
+            return compareTo(other) >= 0 ? this : other;
+        }
+
+        @NotNull
+        public String getText() {
+            return StringUtil.toLowerCase(name());
+        }
+    }
+
+    public static final String INT = "int";
+    public static final String FLOAT = "float";
+    public static final String BOOL = "bool";
+    public static final String COLOR = "color";
+    public static final String STRING = "string";
+    public static final String NA = "na";
+
+    /**
+     * Nothing is known. Its qualifier is the earliest one, so joining it with other qualifiers never
+     * makes a value look later than it is known to be.
+     */
+    public static final PineScriptType UNKNOWN = new PineScriptType(Qualifier.CONST, null);
+    public static final PineScriptType NA_TYPE = new PineScriptType(Qualifier.CONST, NA);
+
+    private final Qualifier myQualifier;
+    private final String myName;
+
+    private PineScriptType(@NotNull Qualifier qualifier, @Nullable String name) {
+        myQualifier = qualifier;
+        myName = name;
+    }
+
+    @NotNull
+    public static PineScriptType of(@NotNull Qualifier qualifier, @Nullable String name) {
+        return name == null && qualifier == Qualifier.CONST ? UNKNOWN : new PineScriptType(qualifier, name);
+    }
+
+    /**
+     * Reads a documented or declared type such as {@code simple int}, {@code series int/float},
+     * {@code array<float>} or {@code chart.point}. A missing qualifier means {@code series}; names
+     * that describe rather than name a type, like {@code <type of the array's elements>}, give an
+     * unknown name.
+     */
+    @NotNull
+    public static PineScriptType parse(@Nullable String text) {
+        if (text == null || StringUtil.isEmptyOrSpaces(text)) {
+            return UNKNOWN;
+        }
+        String name = StringUtil.replace(text.trim(), "\\_", "_");
+        Qualifier qualifier = parseQualifier(name);
+        if (qualifier != null) {
+            // A parameter declared with a qualifier only, as in "simple length"
+            return of(qualifier, null);
+        }
+        qualifier = Qualifier.SERIES;
+        int space = name.indexOf(' ');
+        if (space > 0) {
+            Qualifier prefix = parseQualifier(name.substring(0, space));
+            if (prefix != null) {
+                qualifier = prefix;
+                name = name.substring(space + 1).trim();
+            }
+        }
+        if (name.isEmpty() || name.indexOf(' ') >= 0 || name.startsWith("<") || name.startsWith("[")) {
+            return of(qualifier, null);
+        }
+        return of(qualifier, name);
+    }
+
+    @Nullable
+    public static Qualifier parseQualifier(@NotNull String text) {
+        return switch (text) {
+            case "const" -> Qualifier.CONST;
+            case "input" -> Qualifier.INPUT;
+            case "simple" -> Qualifier.SIMPLE;
+            case "series" -> Qualifier.SERIES;
+            default -> null;
+        };
+    }
+
+    @NotNull
+    public Qualifier getQualifier() {
+        return myQualifier;
+    }
+
+    /**
+     * Returns the type name, possibly several alternatives separated by {@code /}, or {@code null}.
+     */
+    @Nullable
+    public String getName() {
+        return myName;
+    }
+
+    public boolean isKnown() {
+        return myName != null;
+    }
+
+    public boolean isNa() {
+        return NA.equals(myName);
+    }
+
+    public boolean is(@NotNull String name) {
+        return name.equals(myName);
+    }
+
+    @NotNull
+    public PineScriptType withQualifier(@NotNull Qualifier qualifier) {
+        return qualifier == myQualifier ? this : of(qualifier, myName);
+    }
+
+    /**
+     * Checks whether a value of this type can be passed where {@code expected} is required. Unknown
+     * types, {@code na} and generic placeholders are accepted, so only definite mismatches fail.
+     */
+    public boolean isAssignableTo(@NotNull PineScriptType expected) {
+        if (this == UNKNOWN) {
+            return true;
+        }
+        if (myQualifier.compareTo(expected.myQualifier) > 0) {
+            return false;
+        }
+        String expectedName = expected.myName;
+        if (myName == null || expectedName == null || isNa() || myName.indexOf('/') >= 0) {
+            return true;
+        }
+        for (String alternative : StringUtil.split(expectedName, "/")) {
+            if (alternative.equals(myName) || alternative.contains("type") || alternative.startsWith("any")
+                || FLOAT.equals(alternative) && INT.equals(myName)
+                || baseName(alternative).equals(baseName(myName)) && (alternative.indexOf('<') < 0 || myName.indexOf('<') < 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static String baseName(@NotNull String name) {
+        int angle = name.indexOf('<');
+        return angle >= 0 ? name.substring(0, angle) : name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof PineScriptType type && myQualifier == type.myQualifier && Objects.equals(myName, type.myName);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * myQualifier.hashCode() + Objects.hashCode(myName);
+    }
+
+    @Override
+    public String toString() {
+        return myName != null ? myQualifier.getText() + " " + myName : myQualifier.getText();
+    }
+}
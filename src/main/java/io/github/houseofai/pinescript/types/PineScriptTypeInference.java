@@ -0,0 +1,386 @@
+package io.github.houseofai.pinescript.types;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.RecursionGuard;
+import com.intellij.openapi.util.RecursionManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptSignatureCatalog;
+import io.github.houseofai.pinescript.psi.PineScriptArgument;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.psi.PineScriptBinaryExpression;
+import io.github.houseofai.pinescript.psi.PineScriptBlock;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import io.github.houseofai.pinescript.psi.PineScriptConditionalExpression;
+import io.github.houseofai.pinescript.psi.PineScriptElementTypes;
+import io.github.houseofai.pinescript.psi.PineScriptEnumDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptEnumMember;
+import io.github.houseofai.pinescript.psi.PineScriptExpression;
+import io.github.houseofai.pinescript.psi.PineScriptExpressionStatement;
+import io.github.houseofai.pinescript.psi.PineScriptFieldDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptFunctionDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptIndexExpression;
+import io.github.houseofai.pinescript.psi.PineScriptLiteralExpression;
+import io.github.houseofai.pinescript.psi.PineScriptParameter;
+import io.github.houseofai.pinescript.psi.PineScriptParenthesizedExpression;
+import io.github.houseofai.pinescript.psi.PineScriptReferenceExpression;
+import io.github.houseofai.pinescript.psi.PineScriptStatement;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import io.github.houseofai.pinescript.psi.PineScriptTypeDeclaration;
+import io.github.houseofai.pinescript.psi.PineScriptTypeReference;
+import io.github.houseofai.pinescript.psi.PineScriptUnaryExpression;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import io.github.houseofai.pinescript.resolve.PineScriptSymbol;
+import io.github.houseofai.pinescript.resolve.PineScriptSymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Infers the type and qualifier of expressions from the PSI: literals, declared and inferred types of
+ * user declarations, the reference catalogue for built-ins, and the usual rules for operators.
+ * <p>
+ * Results are memoized per file in a bounded LRU map that is dropped whenever the file changes, so a
+ * large script never keeps more than {@value #CACHE_SIZE} entries. Only declarations in the same
+ * file are looked into, which keeps that invalidation exact. Anything that cannot be inferred is
+ * {@link PineScriptType#UNKNOWN}, which callers must treat as compatible with everything.
+ */
+public final class PineScriptTypeInference {
+    private static final int CACHE_SIZE = 4096;
+    private static final Set<String> COMPARISON_OPERATORS = Set.of("==", "!=", "<", ">", "<=", ">=", "and", "or");
+
+    private PineScriptTypeInference() {
+    }
+
+    /**
+     * Returns the type of an expression, or {@link PineScriptType#UNKNOWN}.
+     */
+    @NotNull
+    public static PineScriptType getType(@Nullable PsiElement element) {
+        if (!(element instanceof PineScriptExpression expression)) {
+            return PineScriptType.UNKNOWN;
+        }
+        Map<PsiElement, PineScriptType> cache = getCache(expression.getContainingFile());
+        synchronized (cache) {
+            PineScriptType cached = cache.get(expression);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        RecursionGuard.StackStamp stamp = RecursionManager.markStack();
+        PineScriptType type = RecursionManager.doPreventingRecursion(expression, false, () -> infer(expression));
+        if (type == null) {
+            return PineScriptType.UNKNOWN;
+        }
+        // Results computed while a recursive lookup was cut short are incomplete and not cached
+        if (stamp.mayCacheNow()) {
+            synchronized (cache) {
+                cache.put(expression, type);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Returns the type of a value a declaration introduces: a variable, parameter, field or enum
+     * member. Returns {@link PineScriptType#UNKNOWN} for anything else.
+     */
+    @NotNull
+    public static PineScriptType getDeclaredType(@Nullable PsiElement declaration) {
+        if (declaration instanceof PineScriptVariableDeclaration variable) {
+            PsiElement initializer = variable.getInitializer();
+            PineScriptType value = getType(initializer);
+            PineScriptType.Qualifier qualifier = variable.isConst() ? PineScriptType.Qualifier.CONST
+                : variable.isVar() || variable.isVarip() ? PineScriptType.Qualifier.SERIES
+                : value.getQualifier();
+            PineScriptTypeReference typeReference = variable.getTypeReference();
+            return PineScriptType.of(qualifier, typeReference != null ? typeReference.getText() : value.getName());
+        }
+        if (declaration instanceof PineScriptParameter parameter) {
+            String qualifier = parameter.getQualifier();
+            PineScriptType.Qualifier parsed = qualifier != null ? PineScriptType.parseQualifier(qualifier) : null;
+            PineScriptTypeReference typeReference = parameter.getTypeReference();
+            // Without a qualifier, the parameter takes whatever its argument has, so assume the earliest
+            return PineScriptType.of(parsed != null ? parsed : PineScriptType.Qualifier.CONST,
+                typeReference != null ? typeReference.getText() : null);
+        }
+        if (declaration instanceof PineScriptFieldDeclaration field) {
+            PineScriptTypeReference typeReference = field.getTypeReference();
+            return PineScriptType.of(PineScriptType.Qualifier.SERIES, typeReference != null ? typeReference.getText() : null);
+        }
+        if (declaration instanceof PineScriptEnumMember member) {
+            PineScriptEnumDeclaration enumDeclaration = PsiTreeUtil.getParentOfType(member, PineScriptEnumDeclaration.class);
+            return PineScriptType.of(PineScriptType.Qualifier.CONST, enumDeclaration != null ? enumDeclaration.getName() : null);
+        }
+        return PineScriptType.UNKNOWN;
+    }
+
+    /**
+     * Returns the user-defined type declared in the same file that a value of the given type is an
+     * instance of, or {@code null}.
+     */
+    @Nullable
+    public static PineScriptTypeDeclaration findTypeDeclaration(@NotNull PsiElement context, @NotNull PineScriptType type) {
+        String name = type.getName();
+        if (name == null) {
+            return null;
+        }
+        PineScriptSymbol symbol = PineScriptSymbolTable.getInstance(context.getContainingFile()).resolve(context, name);
+        return symbol != null && symbol.getDeclaration() instanceof PineScriptTypeDeclaration declaration ? declaration : null;
+    }
+
+    /**
+     * Checks whether the arguments written so far fit the overload's parameter types. Arguments whose
+     * type cannot be inferred, and parameters the catalogue does not type, are accepted.
+     */
+    public static boolean isApplicable(@NotNull PineScriptFunctionSignature signature, @NotNull PineScriptArgumentList arguments) {
+        List<PineScriptFunctionSignature.Parameter> parameters = signature.getParameters();
+        int position = 0;
+        for (PineScriptArgument argument : arguments.getArguments()) {
+            PineScriptFunctionSignature.Parameter parameter;
+            if (argument.isNamed()) {
+                parameter = findParameter(parameters, argument.getName());
+            } else {
+                parameter = position < parameters.size() ? parameters.get(position)
+                    : !parameters.isEmpty() && parameters.get(parameters.size() - 1).isVariadic() ? parameters.get(parameters.size() - 1)
+                    : null;
+                position++;
+            }
+            if (parameter != null && !getType(argument.getValue()).isAssignableTo(PineScriptType.parse(parameter.getType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first overload whose parameter types accept the call's arguments, or the first
+     * overload if none does.
+     */
+    @Nullable
+    public static PineScriptFunctionSignature selectOverload(@NotNull List<PineScriptFunctionSignature> signatures,
+                                                             @Nullable PineScriptArgumentList arguments) {
+        if (signatures.isEmpty()) {
+            return null;
+        }
+        if (arguments != null && signatures.size() > 1) {
+            for (PineScriptFunctionSignature signature : signatures) {
+                if (isApplicable(signature, arguments)) {
+                    return signature;
+                }
+            }
+        }
+        return signatures.get(0);
+    }
+
+    @NotNull
+    private static Map<PsiElement, PineScriptType> getCache(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+            new LinkedHashMap<PsiElement, PineScriptType>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PsiElement, PineScriptType> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            }, file));
+    }
+
+    @NotNull
+    private static PineScriptType infer(@NotNull PineScriptExpression expression) {
+        if (expression instanceof PineScriptLiteralExpression literal) {
+            return inferLiteral(literal);
+        }
+        if (expression instanceof PineScriptParenthesizedExpression parenthesized) {
+            return getType(parenthesized.getExpression());
+        }
+        if (expression instanceof PineScriptReferenceExpression reference) {
+            return inferReference(reference);
+        }
+        if (expression instanceof PineScriptCallExpression call) {
+            return inferCall(call);
+        }
+        if (expression instanceof PineScriptBinaryExpression binary) {
+            return inferBinary(binary);
+        }
+        if (expression instanceof PineScriptUnaryExpression unary) {
+            PineScriptType operand = getType(unary.getOperand());
+            return "not".equals(unary.getOperatorText())
+                ? PineScriptType.of(operand.getQualifier(), PineScriptType.BOOL)
+                : operand;
+        }
+        if (expression instanceof PineScriptConditionalExpression conditional) {
+            PineScriptType condition = getType(conditional.getCondition());
+            PineScriptType thenType = getType(conditional.getThenExpression());
+            PineScriptType elseType = getType(conditional.getElseExpression());
+            PineScriptType.Qualifier qualifier = condition.getQualifier().join(thenType.getQualifier()).join(elseType.getQualifier());
+            return PineScriptType.of(qualifier, thenType.isKnown() && !thenType.isNa() ? thenType.getName() : elseType.getName());
+        }
+        if (expression instanceof PineScriptIndexExpression index) {
+            // History references are always series
+            return getType(index.getBase()).withQualifier(PineScriptType.Qualifier.SERIES);
+        }
+        return PineScriptType.UNKNOWN;
+    }
+
+    @NotNull
+    private static PineScriptType inferLiteral(@NotNull PineScriptLiteralExpression literal) {
+        IElementType type = literal.getLiteralType();
+        if (type == PineScriptTokenTypes.NUMBER) {
+            String text = literal.getText();
+            boolean fractional = text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0;
+            return PineScriptType.of(PineScriptType.Qualifier.CONST, fractional ? PineScriptType.FLOAT : PineScriptType.INT);
+        }
+        if (type == PineScriptTokenTypes.STRING) {
+            return PineScriptType.of(PineScriptType.Qualifier.CONST, PineScriptType.STRING);
+        }
+        if (type == PineScriptTokenTypes.HEX_COLOR) {
+            return PineScriptType.of(PineScriptType.Qualifier.CONST, PineScriptType.COLOR);
+        }
+        if (type == PineScriptTokenTypes.BOOLEAN) {
+            return PineScriptType.of(PineScriptType.Qualifier.CONST, PineScriptType.BOOL);
+        }
+        if (type == PineScriptTokenTypes.CONSTANT) {
+            return PineScriptType.NA_TYPE;
+        }
+        return PineScriptType.UNKNOWN;
+    }
+
+    @NotNull
+    private static PineScriptType inferReference(@NotNull PineScriptReferenceExpression reference) {
+        PsiElement target = resolveInFile(reference);
+        if (target != null) {
+            return getDeclaredType(target);
+        }
+        String name = reference.getReferenceName();
+        if (name == null || reference.getQualifier() != null) {
+            return PineScriptType.UNKNOWN;
+        }
+        PineScriptSignatureCatalog catalog = PineScriptSignatureCatalog.getInstance();
+        PineScriptSignatureCatalog.Value value = catalog.getVariable(name);
+        if (value == null) {
+            value = catalog.getConstant(name);
+        }
+        return value != null ? PineScriptType.parse(value.getType()) : PineScriptType.UNKNOWN;
+    }
+
+    @NotNull
+    private static PineScriptType inferCall(@NotNull PineScriptCallExpression call) {
+        PineScriptExpression callee = call.getCallee();
+        PsiElement target = callee instanceof PineScriptReferenceExpression reference ? resolveInFile(reference) : null;
+        if (target instanceof PineScriptFunctionDeclaration function) {
+            return getReturnType(function);
+        }
+        String name = call.getCalleeName();
+        if (name == null) {
+            return PineScriptType.UNKNOWN;
+        }
+        if (name.endsWith(".new")) {
+            String typeName = name.substring(0, name.length() - ".new".length());
+            PineScriptSymbol symbol = PineScriptSymbolTable.getInstance(call.getContainingFile()).resolve(call, typeName);
+            if (symbol != null && symbol.getKind() == PineScriptSymbol.Kind.TYPE) {
+                return PineScriptType.of(PineScriptType.Qualifier.SERIES, typeName);
+            }
+        }
+        PineScriptFunctionSignature signature =
+            selectOverload(PineScriptSignatureCatalog.getInstance().getSignatures(name), call.getArgumentList());
+        if (signature == null) {
+            return PineScriptType.UNKNOWN;
+        }
+        PineScriptType type = PineScriptType.parse(signature.getReturnType());
+        String typeArgument = getTypeArgument(call);
+        if (typeArgument != null && type.getName() != null && type.getName().contains("<type>")) {
+            // array.new<float>() returns array<float>
+            return PineScriptType.of(type.getQualifier(), type.getName().replace("<type>", "<" + typeArgument + ">"));
+        }
+        return type;
+    }
+
+    /**
+     * Infers what a user function returns: the value of the last statement of its body.
+     */
+    @NotNull
+    private static PineScriptType getReturnType(@NotNull PineScriptFunctionDeclaration function) {
+        PineScriptStatement body = function.getBody();
+        PineScriptStatement statement = body instanceof PineScriptBlock block ? lastStatement(block) : body;
+        if (statement instanceof PineScriptExpressionStatement expressionStatement) {
+            return getType(expressionStatement.getExpression());
+        }
+        if (statement instanceof PineScriptVariableDeclaration variable) {
+            return getDeclaredType(variable);
+        }
+        return PineScriptType.UNKNOWN;
+    }
+
+    @Nullable
+    private static PineScriptStatement lastStatement(@NotNull PineScriptBlock block) {
+        List<PineScriptStatement> statements = block.getStatements();
+        return statements.isEmpty() ? null : statements.get(statements.size() - 1);
+    }
+
+    @NotNull
+    private static PineScriptType inferBinary(@NotNull PineScriptBinaryExpression binary) {
+        PineScriptType left = getType(binary.getLeft());
+        PineScriptType right = getType(binary.getRight());
+        PineScriptType.Qualifier qualifier = left.getQualifier().join(right.getQualifier());
+        String operator = binary.getOperatorText();
+        if (operator != null && COMPARISON_OPERATORS.contains(operator)) {
+            return PineScriptType.of(qualifier, PineScriptType.BOOL);
+        }
+        if ("+".equals(operator) && (left.is(PineScriptType.STRING) || right.is(PineScriptType.STRING))) {
+            return PineScriptType.of(qualifier, PineScriptType.STRING);
+        }
+        if (left.is(PineScriptType.FLOAT) || right.is(PineScriptType.FLOAT)) {
+            return PineScriptType.of(qualifier, PineScriptType.FLOAT);
+        }
+        if (left.is(PineScriptType.INT) && right.is(PineScriptType.INT)) {
+            // Since v6, dividing two ints gives a float
+            return PineScriptType.of(qualifier, "/".equals(operator) ? PineScriptType.FLOAT : PineScriptType.INT);
+        }
+        return PineScriptType.of(qualifier, null);
+    }
+
+    /**
+     * Resolves a reference to a single declaration in the same file, or returns {@code null}.
+     */
+    @Nullable
+    private static PsiElement resolveInFile(@NotNull PineScriptReferenceExpression reference) {
+        PsiReference psiReference = reference.getReference();
+        if (!(psiReference instanceof PsiPolyVariantReference polyVariant)) {
+            return null;
+        }
+        ResolveResult[] results = polyVariant.multiResolve(false);
+        PsiElement target = results.length == 1 ? results[0].getElement() : null;
+        return target != null && target.getContainingFile() == reference.getContainingFile() ? target : null;
+    }
+
+    @Nullable
+    private static String getTypeArgument(@NotNull PineScriptCallExpression call) {
+        ASTNode typeArguments = call.getNode().findChildByType(PineScriptElementTypes.TYPE_ARGUMENT_LIST);
+        PineScriptTypeReference typeReference = typeArguments != null
+            ? PsiTreeUtil.getChildOfType(typeArguments.getPsi(), PineScriptTypeReference.class)
+            : null;
+        return typeReference != null ? typeReference.getText() : null;
+    }
+
+    @Nullable
+    private static PineScriptFunctionSignature.Parameter findParameter(@NotNull List<PineScriptFunctionSignature.Parameter> parameters,
+                                                                      @Nullable String name) {
+        for (PineScriptFunctionSignature.Parameter parameter : parameters) {
+            if (parameter.getName() != null && parameter.getName().equals(name)) {
+                return parameter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.houseofai.pinescript;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Shared helpers for tests that run over the example scripts or check how work scales with the
+ * size of a file. Timings are the best of several runs and are only compared with each other, so
+ * the checks hold on slow or busy machines; the numbers are logged for a closer look.
+ */
+public final class PineScriptTestUtil {
+    private static final Logger LOG = Logger.getInstance(PineScriptTestUtil.class);
+    /** Growth of the larger input over the smaller one in {@link #assertLinear}. */
+    private static final int GROWTH = 4;
+    /** Linear work grows by {@link #GROWTH}, quadratic work by its square; this lies well between. */
+    private static final double MAX_RATIO = 8;
+    private static final int RUNS = 5;
+
+    private PineScriptTestUtil() {
+    }
+
+    /**
+     * Returns the text of every script in {@code examples/} by file name, with line separators
+     * converted to {@code \n} as the editor does.
+     */
+    @NotNull
+    public static Map<String, String> loadExamples() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(Path.of("examples"))) {
+            files = paths.filter(path -> path.toString().endsWith(".pine")).sorted().toList();
+        }
+        assertFalse("No examples found", files.isEmpty());
+        Map<String, String> examples = new LinkedHashMap<>();
+        for (Path file : files) {
+            examples.put(file.getFileName().toString(),
+                Files.readString(file, StandardCharsets.UTF_8).replace("\r\n", "\n"));
+        }
+        return examples;
+    }
+
+    /**
+     * Returns the examples followed by the built-in indicator pages of {@code docs/markdown}, which
+     * are mostly prose but lex as a long run of identifiers.
+     */
+    @NotNull
+    public static List<String> loadCorpus() throws IOException {
+        List<String> corpus = new ArrayList<>(loadExamples().values());
+        try (Stream<Path> pages = Files.list(Path.of("docs/markdown/built-in-indicators"))) {
+            for (Path page : pages.filter(path -> path.toString().endsWith(".md")).sorted().toList()) {
+                corpus.add(Files.readString(page, StandardCharsets.UTF_8));
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * Returns a script of at least {@code lines} lines: {@code header} once, then {@code body}
+     * repeated. The body must end with a line break.
+     */
+    @NotNull
+    public static String repeat(@NotNull String header, @NotNull String body, int lines) {
+        int bodyLines = (int) body.chars().filter(c -> c == '\n').count();
+        StringBuilder text = new StringBuilder(header);
+        for (int i = 0; i * bodyLines < lines; i++) {
+            text.append(body);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Checks that a task scales linearly with the size of its input. {@code setUp} prepares the
+     * input for a size, untimed, and returns the work to time. The smaller size is set up and timed
+     * first, so a set-up may replace the file open in a test fixture.
+     */
+    public static void assertLinear(@NotNull String name, int size, @NotNull IntFunction<Runnable> setUp) {
+        long smallTime = warmAndTime(setUp.apply(size));
+        long largeTime = warmAndTime(setUp.apply(size * GROWTH));
+        double ratio = (double) largeTime / Math.max(1, smallTime);
+        report("%s: %d in %.2f ms, %d in %.2f ms (x%.1f)",
+            name, size, smallTime / 1e6, size * GROWTH, largeTime / 1e6, ratio);
+        assertTrue(name + " grows by x" + String.format("%.1f", ratio) + " for x" + GROWTH + " input", ratio < MAX_RATIO);
+    }
+
+    private static long warmAndTime(@NotNull Runnable task) {
+        // The first runs measure class loading and JIT compilation
+        for (int i = 0; i < RUNS; i++) {
+            task.run();
+        }
+        return bestTime(task);
+    }
+
+    /**
+     * Returns the shortest of several runs of a task, in nanoseconds.
+     */
+    public static long bestTime(@NotNull Runnable task) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Logs a measurement at info level, where the test logger keeps it for a failing test.
+     */
+    public static void report(@NotNull String format, Object... arguments) {
+        LOG.info(String.format(format, arguments));
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread while running a task, or -1 if the JVM
+     * cannot tell.
+     */
+    public static long allocatedBytes(@NotNull Runnable task) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+            || !threads.isThreadAllocatedMemorySupported()) {
+            task.run();
+            return -1;
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        task.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
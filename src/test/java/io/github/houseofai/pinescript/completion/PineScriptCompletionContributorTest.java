@@ -0,0 +1,74 @@
+package io.github.houseofai.pinescript.completion;
+
+import com.intellij.codeInsight.completion.PlainPrefixMatcher;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PineScriptCompletionContributorTest extends BasePlatformTestCase {
+    private static final String HEADER = """
+        //@version=6
+        strategy("Test", overlay=true)
+        length = input.int(14, "Length")
+        """;
+    private static final String BODY = """
+        fast = ta.sma(close, length)
+        slow = ta.ema(close, length * 2)
+        if ta.crossover(fast, slow)
+            strategy.entry("Long", strategy.long)
+        plot(fast, color=color.green)
+        """;
+
+    public void testBuiltins() {
+        myFixture.configureByText("test.pine", HEADER + BODY + "x = hl<caret>\n");
+        myFixture.completeBasic();
+        List<String> strings = myFixture.getLookupElementStrings();
+        assertNotNull(strings);
+        assertTrue(strings.toString(), strings.containsAll(List.of("hl2", "hlc3", "hlcc4")));
+    }
+
+    public void testNamespaceMembers() {
+        myFixture.configureByText("test.pine", HEADER + "x = ta.s<caret>\n");
+        myFixture.completeBasic();
+        List<String> strings = myFixture.getLookupElementStrings();
+        assertNotNull(strings);
+        assertTrue(strings.toString(), strings.stream().anyMatch(string -> string.endsWith("sma")));
+    }
+
+    /**
+     * Completion at the end of a 5,000-line strategy, and at the end of one four times as long.
+     */
+    public void testLatencyOnLargeFile() {
+        PineScriptTestUtil.assertLinear("Completion", 5_000, lines -> {
+            myFixture.configureByText("test.pine", PineScriptTestUtil.repeat(HEADER, BODY, lines) + "x = ta.cr<caret>\n");
+            return () -> {
+                myFixture.completeBasic();
+                LookupManager.hideActiveLookup(getProject());
+            };
+        });
+    }
+
+    /**
+     * Lookup elements are only created for the entries the prefix matches.
+     */
+    public void testCatalogueCreatesElementsOnlyForMatches() {
+        List<LookupElement> all = new ArrayList<>();
+        PineScriptCompletionCatalog.addMatching(new PlainPrefixMatcher(""), all::add);
+        List<LookupElement> none = new ArrayList<>();
+        long allocatedForAll = PineScriptTestUtil.allocatedBytes(
+            () -> PineScriptCompletionCatalog.addMatching(new PlainPrefixMatcher(""), element -> { }));
+        long allocatedForNone = PineScriptTestUtil.allocatedBytes(
+            () -> PineScriptCompletionCatalog.addMatching(new PlainPrefixMatcher("zzzz"), none::add));
+        PineScriptTestUtil.report("Completion catalogue: %d entries, %d bytes for all, %d bytes for none",
+            all.size(), allocatedForAll, allocatedForNone);
+        assertFalse(all.isEmpty());
+        assertEmpty(none);
+        if (allocatedForAll >= 0) {
+            assertTrue(allocatedForNone < allocatedForAll / 10);
+        }
+    }
+}
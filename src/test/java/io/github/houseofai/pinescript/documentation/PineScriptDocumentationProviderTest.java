@@ -0,0 +1,95 @@
+package io.github.houseofai.pinescript.documentation;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import org.jetbrains.annotations.NotNull;
+
+public class PineScriptDocumentationProviderTest extends BasePlatformTestCase {
+    private static final String HEADER = """
+        //@version=6
+        indicator("Test")
+        """;
+    private static final String BODY = """
+        fast = ta.sma(close, 14)
+        slow = ta.ema(close, 28)
+        plot(fast, color=color.green, style=plot.style_line)
+        plot(slow, color=color.red)
+        """;
+
+    private final PineScriptDocumentationProvider myProvider = new PineScriptDocumentationProvider();
+
+    public void testFunction() {
+        PsiElement element = hover(HEADER + "x = ta.s<caret>ma(close, 14)\n");
+        String doc = myProvider.generateDoc(element, element);
+        assertNotNull(doc);
+        assertTrue(doc, doc.contains("sma"));
+        String info = myProvider.getQuickNavigateInfo(element, element);
+        assertNotNull(info);
+        assertTrue(info, info.startsWith("ta.sma("));
+    }
+
+    public void testVariableAndConstant() {
+        PsiElement variable = hover(HEADER + "x = clo<caret>se\n");
+        assertNotNull(myProvider.generateDoc(variable, variable));
+        assertEquals("series float close", myProvider.getQuickNavigateInfo(variable, variable));
+
+        PsiElement constant = hover(HEADER + "plot(close, style=plot.style_li<caret>ne)\n");
+        assertNotNull(myProvider.generateDoc(constant, constant));
+    }
+
+    public void testKeyword() {
+        PsiElement element = hover(HEADER + "v<caret>ar x = 0\n");
+        assertNotNull(myProvider.generateDoc(element, element));
+    }
+
+    public void testUserSymbolsAreNotReplaced() {
+        PsiFile file = myFixture.configureByText("test.pine", HEADER + """
+            double(x) => x * 2
+            fast = double(close)
+            plot(fa<caret>st)
+            """);
+        int offset = myFixture.getCaretOffset();
+        assertNull(myProvider.getCustomDocumentationElement(myFixture.getEditor(), file, file.findElementAt(offset), offset));
+
+        int call = file.getText().indexOf("double(close)") + 1;
+        assertNull(myProvider.getCustomDocumentationElement(myFixture.getEditor(), file, file.findElementAt(call), call));
+    }
+
+    /**
+     * A hover only looks at the hovered token, so its time and garbage do not grow with the file.
+     */
+    public void testHoverCostIndependentOfFileSize() {
+        long[] allocated = new long[2];
+        int[] sizes = {5_000, 20_000};
+        for (int i = 0; i < sizes.length; i++) {
+            PsiElement element = hover(PineScriptTestUtil.repeat(HEADER, BODY, sizes[i]) + "x = ta.s<caret>ma(close, 14)\n");
+            Runnable hover = () -> {
+                myProvider.generateDoc(element, element);
+                myProvider.getQuickNavigateInfo(element, element);
+            };
+            for (int run = 0; run < 20; run++) {
+                hover.run();
+            }
+            long time = PineScriptTestUtil.bestTime(hover);
+            allocated[i] = PineScriptTestUtil.allocatedBytes(hover);
+            PineScriptTestUtil.report("Documentation hover on %d lines: %.3f ms, %d bytes allocated",
+                sizes[i], time / 1e6, allocated[i]);
+        }
+        if (allocated[0] >= 0) {
+            // Copying the file text, as hovers once did, would allocate about four times as much
+            assertTrue(allocated[1] + " bytes after " + allocated[0], allocated[1] < allocated[0] * 2 + 4096);
+        }
+    }
+
+    @NotNull
+    private PsiElement hover(@NotNull String text) {
+        PsiFile file = myFixture.configureByText("test.pine", text);
+        PsiElement context = file.findElementAt(myFixture.getCaretOffset());
+        PsiElement element = myProvider.getCustomDocumentationElement(myFixture.getEditor(), file, context,
+            myFixture.getCaretOffset());
+        assertNotNull(element);
+        return element;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.houseofai.pinescript.folding;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class PineScriptFoldingBuilderTest extends BasePlatformTestCase {
+    /** One frame at 60 Hz: folding is rebuilt on the UI thread after edits. */
+    private static final long FRAME_BUDGET_NANOS = 16_000_000;
+    private static final String HEADER = """
+        //@version=6
+        indicator("Test")
+        """;
+    private static final String BODY = """
+        // Moving average
+        // of the close
+        f(x) =>
+            y = x * 2
+            y + 1
+        if close > open
+            label.new(bar_index, high, "up")
+            label.new(bar_index, low, "down")
+        type Point
+            float x
+            float y
+        """;
+
+    private final PineScriptFoldingBuilder myBuilder = new PineScriptFoldingBuilder();
+
+    public void testRegions() {
+        assertEquals("""
+            //...:// Moving average\\n// of the close
+            ...:\\n    y = x * 2\\n    y + 1
+            ...:\\n    label.new(bar_index, high, "up")\\n    label.new(bar_index, low, "down")
+            ...:\\n    float x\\n    float y""", describe(HEADER + BODY));
+    }
+
+    public void testSingleLinesDoNotFold() {
+        assertEquals("", describe("""
+            //@version=6
+            indicator("Test")
+            // One comment
+            f(x) => x * 2
+            """));
+    }
+
+    public void testTenThousandLinesWithinFrameBudget() {
+        PsiFile file = myFixture.configureByText("test.pine", PineScriptTestUtil.repeat(HEADER, BODY, 10_000));
+        Document document = myFixture.getEditor().getDocument();
+        assertTrue(document.getLineCount() >= 10_000);
+        for (int i = 0; i < 5; i++) {
+            myBuilder.buildFoldRegions(file, document, false);
+        }
+        long time = PineScriptTestUtil.bestTime(() -> myBuilder.buildFoldRegions(file, document, false));
+        PineScriptTestUtil.report("Folding %d lines: %.2f ms", document.getLineCount(), time / 1e6);
+        assertTrue("Folding took " + time / 1e6 + " ms", time < FRAME_BUDGET_NANOS);
+    }
+
+    public void testLinear() {
+        PineScriptTestUtil.assertLinear("Folding", 2_500, lines -> {
+            PsiFile file = myFixture.configureByText("test.pine", PineScriptTestUtil.repeat(HEADER, BODY, lines));
+            Document document = myFixture.getEditor().getDocument();
+            return () -> myBuilder.buildFoldRegions(file, document, false);
+        });
+    }
+
+    @NotNull
+    private String describe(@NotNull String text) {
+        PsiFile file = myFixture.configureByText("test.pine", text);
+        Document document = myFixture.getEditor().getDocument();
+        return Arrays.stream(myBuilder.buildFoldRegions(file, document, false))
+            .map(descriptor -> descriptor.getPlaceholderText() + ":"
+                + document.getText(descriptor.getRange()).replace("\n", "\\n"))
+            .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.houseofai.pinescript.formatter;
+
+import com.intellij.application.options.CodeStyle;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class PineScriptFormatterTest extends BasePlatformTestCase {
+    private static final String HEADER = """
+        //@version=6
+        indicator("Test")
+        """;
+    private static final String BODY = """
+        length=input.int(14,title="Length",minval=1)
+        avg=ta.sma(close,length)*2+1
+        f(x)=>
+            y=x*2
+            y>0?y:na
+        if close>avg and volume>0
+            label.new(bar_index,high,"up",color=color.green)
+        plot(avg,"Average",color=color.red,linewidth=2)
+        """;
+
+    public void testSpacing() {
+        assertEquals("""
+            //@version=6
+            indicator("Test")
+            length = input.int(14, title = "Length", minval = 1)
+            avg = ta.sma(close, length) * 2 + 1
+            f(x) =>
+                y = x * 2
+                y > 0 ? y : na
+            if close > avg and volume > 0
+                label.new(bar_index, high, "up", color = color.green)
+            plot(avg, "Average", color = color.red, linewidth = 2)
+            """, reformat(HEADER + BODY));
+    }
+
+    public void testNamedArgumentOption() {
+        PineScriptCodeStyleSettings settings = CodeStyle.getSettings(getProject()).getCustomSettings(PineScriptCodeStyleSettings.class);
+        settings.SPACE_AROUND_NAMED_ARGUMENT_EQ = false;
+        try {
+            assertEquals(HEADER + "plot(close, title=\"Close\", linewidth=2)\n",
+                reformat(HEADER + "plot(close , title = \"Close\",linewidth = 2)\n"));
+        } finally {
+            settings.SPACE_AROUND_NAMED_ARGUMENT_EQ = true;
+        }
+    }
+
+    public void testLineBreaksAndCommentsKept() {
+        String text = HEADER + """
+            x = math.max(1,
+              2) // trailing comment
+
+
+            // own line
+            y = x
+            """;
+        assertEquals(text, reformat(text));
+    }
+
+    /**
+     * Formatting an example changes only whitespace, and formatting the result again changes nothing.
+     */
+    public void testExamples() throws IOException {
+        for (Map.Entry<String, String> example : PineScriptTestUtil.loadExamples().entrySet()) {
+            String formatted = reformat(example.getValue());
+            assertEquals(example.getKey(), stripWhitespace(example.getValue()), stripWhitespace(formatted));
+            assertEquals(example.getKey(), formatted, reformat(formatted));
+        }
+    }
+
+    public void testLinear() {
+        PineScriptTestUtil.assertLinear("Formatter", 1_000, lines -> {
+            PsiFile file = myFixture.configureByText("test.pine", PineScriptTestUtil.repeat(HEADER, BODY, lines));
+            return () -> reformat(file);
+        });
+    }
+
+    @NotNull
+    private String reformat(@NotNull String text) {
+        PsiFile file = myFixture.configureByText("test.pine", text);
+        reformat(file);
+        return myFixture.getEditor().getDocument().getText();
+    }
+
+    private void reformat(@NotNull PsiFile file) {
+        WriteCommandAction.runWriteCommandAction(getProject(),
+            () -> CodeStyleManager.getInstance(getProject()).reformatText(file, 0, file.getTextLength()));
+    }
+
+    @NotNull
+    private static String stripWhitespace(@NotNull String text) {
+        return text.replaceAll("\\s+", "");
+    }
+}
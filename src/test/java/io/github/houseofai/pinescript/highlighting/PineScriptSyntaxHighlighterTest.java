@@ -0,0 +1,89 @@
+package io.github.houseofai.pinescript.highlighting;
+
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import io.github.houseofai.pinescript.lexer.PineScriptLexer;
+import io.github.houseofai.pinescript.psi.PineScriptTokenTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token highlight lookups over the tokens of the lexer corpus: every lookup is an array read, so
+ * none allocates. Run on a commit before the lookup table to compare lookups per second.
+ */
+public class PineScriptSyntaxHighlighterTest extends BasePlatformTestCase {
+    private static final int ROUNDS = 50;
+
+    private final PineScriptSyntaxHighlighter myHighlighter = new PineScriptSyntaxHighlighter();
+
+    public void testTokenHighlights() {
+        assertHighlight(PineScriptTokenTypes.KEYWORD, PineScriptSyntaxHighlighter.KEYWORD);
+        assertHighlight(PineScriptTokenTypes.STORAGE_KEYWORD, PineScriptSyntaxHighlighter.STORAGE_KEYWORD);
+        assertHighlight(PineScriptTokenTypes.BUILTIN_FUNCTION, PineScriptSyntaxHighlighter.BUILTIN_FUNCTION);
+        assertHighlight(PineScriptTokenTypes.IDENTIFIER, PineScriptSyntaxHighlighter.IDENTIFIER);
+        assertHighlight(PineScriptTokenTypes.STRING, PineScriptSyntaxHighlighter.STRING);
+        assertHighlight(PineScriptTokenTypes.COMMENT, PineScriptSyntaxHighlighter.COMMENT);
+        assertHighlight(PineScriptTokenTypes.BAD_CHARACTER, PineScriptSyntaxHighlighter.BAD_CHARACTER);
+        assertEmpty(myHighlighter.getTokenHighlights(PineScriptTokenTypes.LPAREN));
+        assertEmpty(myHighlighter.getTokenHighlights(PineScriptTokenTypes.WHITE_SPACE));
+        assertEmpty(myHighlighter.getTokenHighlights(TokenType.WHITE_SPACE));
+        // Token types sharing a color share the result
+        assertSame(myHighlighter.getTokenHighlights(PineScriptTokenTypes.BOOLEAN),
+            myHighlighter.getTokenHighlights(PineScriptTokenTypes.NAMESPACE_CONSTANT));
+    }
+
+    public void testLookupThroughputAndAllocation() throws IOException {
+        IElementType[] tokens = lexCorpus();
+        assertTrue(tokens.length > 0);
+        for (int i = 0; i < ROUNDS; i++) {
+            highlightAll(tokens);
+        }
+
+        long time = PineScriptTestUtil.bestTime(() -> highlightAll(tokens));
+        long allocated = PineScriptTestUtil.allocatedBytes(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                highlightAll(tokens);
+            }
+        });
+        double bytesPerLookup = (double) allocated / ((long) tokens.length * ROUNDS);
+        PineScriptTestUtil.report("Highlighter: %d tokens, %.1fM lookups/s, %.3f bytes allocated per lookup",
+            tokens.length, tokens.length / (time / 1e9) / 1e6, bytesPerLookup);
+        if (allocated >= 0) {
+            assertTrue("Allocated " + bytesPerLookup + " bytes per lookup", bytesPerLookup < 0.1);
+        }
+    }
+
+    private int highlightAll(@NotNull IElementType[] tokens) {
+        int highlighted = 0;
+        for (IElementType token : tokens) {
+            highlighted += myHighlighter.getTokenHighlights(token).length;
+        }
+        return highlighted;
+    }
+
+    @NotNull
+    private static IElementType[] lexCorpus() throws IOException {
+        List<IElementType> tokens = new ArrayList<>();
+        PineScriptLexer lexer = new PineScriptLexer();
+        for (String text : PineScriptTestUtil.loadCorpus()) {
+            lexer.start(text, 0, text.length(), 0);
+            while (lexer.getTokenType() != null) {
+                tokens.add(lexer.getTokenType());
+                lexer.advance();
+            }
+        }
+        return tokens.toArray(IElementType[]::new);
+    }
+
+    private void assertHighlight(@NotNull IElementType type, @NotNull TextAttributesKey key) {
+        TextAttributesKey[] keys = myHighlighter.getTokenHighlights(type);
+        assertEquals(type.toString(), 1, keys.length);
+        assertSame(type.toString(), key, keys[0]);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.houseofai.pinescript.hints;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptSignatureResolver;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PineScriptInlayHintsInvalidatorTest extends BasePlatformTestCase {
+
+    /**
+     * Editing an argument of a nested call drops the hints of that call and of the call around it,
+     * and every other call keeps its cached hints.
+     */
+    public void testEditDropsOnlyEnclosingCalls() {
+        PsiFile file = myFixture.configureByText("test.pine", """
+            //@version=6
+            indicator("Test")
+            x = ta.sma(close, 14)
+            y = math.max(ta.ema(close, 20), 1)
+            if x > y
+                strategy.entry("Long", strategy.long)
+            plot(x, "X", color.red)
+            """);
+        Map<String, PineScriptArgumentList> argumentLists = new LinkedHashMap<>();
+        for (PineScriptArgumentList argumentList : PsiTreeUtil.findChildrenOfType(file, PineScriptArgumentList.class)) {
+            String name = ((PineScriptCallExpression) argumentList.getParent()).getCalleeName();
+            argumentLists.put(name, argumentList);
+            PineScriptInlayParameterHintsProvider.CallHints.get(argumentList,
+                PineScriptSignatureResolver.resolveAll(file, name));
+            assertNotNull(name, argumentList.getUserData(PineScriptInlayParameterHintsProvider.CALL_HINTS));
+        }
+
+        Document document = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            int offset = document.getText().indexOf("20");
+            document.replaceString(offset, offset + 2, "21");
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+
+        List<String> cached = new ArrayList<>();
+        for (Map.Entry<String, PineScriptArgumentList> entry : argumentLists.entrySet()) {
+            // The reparse keeps the nodes it did not change, with their user data
+            PineScriptArgumentList argumentList = entry.getValue();
+            if (argumentList.isValid() && argumentList.getUserData(PineScriptInlayParameterHintsProvider.CALL_HINTS) != null) {
+                cached.add(entry.getKey());
+            }
+        }
+        assertEquals(List.of("indicator", "ta.sma", "strategy.entry", "plot"), cached);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.houseofai.pinescript.hints;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptFileType;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import io.github.houseofai.pinescript.hints.PineScriptInlayParameterHintsProvider.CallHints;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature;
+import io.github.houseofai.pinescript.parameterinfo.PineScriptSignatureResolver;
+import io.github.houseofai.pinescript.psi.PineScriptArgumentList;
+import io.github.houseofai.pinescript.psi.PineScriptCallExpression;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PineScriptInlayParameterHintsProviderTest extends BasePlatformTestCase {
+    private static final String HEADER = """
+        //@version=6
+        indicator("Test")
+        scale(float value, float factor) => value * factor
+        """;
+
+    public void testLabels() {
+        PsiFile file = myFixture.configureByText("test.pine", HEADER + """
+            plot(close)
+            x = ta.sma(close, 14)
+            y = scale(close, 2.0)
+            """);
+        List<PineScriptArgumentList> calls = getArgumentLists(file);
+        assertEquals(List.of(), labels(calls.get(0)));
+        assertEquals(List.of("length: "), labels(calls.get(1)));
+        assertEquals(List.of("factor: "), labels(calls.get(2)));
+    }
+
+    public void testHintsAreReusedForEqualSignatures() {
+        PsiFile file = myFixture.configureByText("test.pine", HEADER + """
+            x = ta.sma(close, 14)
+            y = scale(close, 2.0)
+            """);
+        for (PineScriptArgumentList argumentList : getArgumentLists(file)) {
+            CallHints hints = CallHints.get(argumentList, resolve(argumentList));
+            // A user function's signature is a new but equal object on every resolve
+            assertSame(hints, CallHints.get(argumentList, resolve(argumentList)));
+        }
+    }
+
+    public void testHintsFollowSignatureChange() {
+        PsiFile file = myFixture.configureByText("test.pine", HEADER + "y = scale(close, 2.0)\n");
+        PineScriptArgumentList argumentList = getArgumentLists(file).get(0);
+        assertEquals(List.of("factor: "), labels(argumentList));
+
+        // Renaming the parameter edits the declaration, not the call, so only the signature tells
+        Document document = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            int offset = document.getText().indexOf("factor");
+            document.replaceString(offset, offset + "factor".length(), "weight");
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+        argumentList = getArgumentLists(file).get(0);
+        assertEquals(List.of("weight: "), labels(argumentList));
+    }
+
+    /**
+     * Hints for a 5,000-line script full of {@code strategy.entry} calls, and for one four times as long.
+     */
+    public void testLinearInFileSize() {
+        String body = """
+            a = ta.sma(close, 14)
+            b = scale(a, 2.0)
+            plot(b, "B", color.red, 2)
+            c = math.max(a, b, close)
+            if ta.crossover(a, b)
+                strategy.entry("Long", strategy.long, 1, comment = "cross")
+            strategy.entry("Short", strategy.short, qty = 1)
+            """;
+        PineScriptTestUtil.assertLinear("Parameter hints", 5_000, lines -> {
+            PsiFile file = PsiFileFactory.getInstance(getProject())
+                .createFileFromText("test.pine", PineScriptFileType.INSTANCE, PineScriptTestUtil.repeat(HEADER, body, lines));
+            List<PineScriptArgumentList> argumentLists = getArgumentLists(file);
+            return () -> {
+                // One highlighting pass from scratch: signatures are resolved once per name
+                Map<String, List<PineScriptFunctionSignature>> signatures = new HashMap<>();
+                for (PineScriptArgumentList argumentList : argumentLists) {
+                    argumentList.putUserData(PineScriptInlayParameterHintsProvider.CALL_HINTS, null);
+                    String name = ((PineScriptCallExpression) argumentList.getParent()).getCalleeName();
+                    CallHints.get(argumentList, signatures.computeIfAbsent(name,
+                        key -> PineScriptSignatureResolver.resolveAll(file, key)));
+                }
+            };
+        });
+    }
+
+    @NotNull
+    private static List<String> labels(@NotNull PineScriptArgumentList argumentList) {
+        return Arrays.asList(CallHints.get(argumentList, resolve(argumentList)).getLabels());
+    }
+
+    @NotNull
+    private static List<PineScriptFunctionSignature> resolve(@NotNull PineScriptArgumentList argumentList) {
+        String name = ((PineScriptCallExpression) argumentList.getParent()).getCalleeName();
+        return PineScriptSignatureResolver.resolveAll(argumentList.getContainingFile(), name);
+    }
+
+    /**
+     * Returns the argument lists of the calls in the file, skipping the script declaration.
+     */
+    @NotNull
+    private static List<PineScriptArgumentList> getArgumentLists(@NotNull PsiFile file) {
+        List<PineScriptArgumentList> argumentLists = new ArrayList<>();
+        for (PineScriptArgumentList argumentList : PsiTreeUtil.findChildrenOfType(file, PineScriptArgumentList.class)) {
+            if (argumentList.getParent() instanceof PineScriptCallExpression call && !"indicator".equals(call.getCalleeName())) {
+                argumentLists.add(argumentList);
+            }
+        }
+        return argumentLists;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.houseofai.pinescript.inspection;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PineScriptCallArgumentsInspectionTest extends BasePlatformTestCase {
+
+    public void testExamplesHaveNoProblems() throws IOException {
+        List<Path> examples;
+        try (Stream<Path> files = Files.list(Path.of("examples"))) {
+            examples = files.filter(file -> file.toString().endsWith(".pine")).sorted().toList();
+        }
+        assertFalse(examples.isEmpty());
+        for (Path example : examples) {
+            String text = Files.readString(example, StandardCharsets.UTF_8).replace("\r\n", "\n");
+            assertEquals(example.toString(), "", describe(inspect(text)));
+        }
+    }
+
+    public void testOptionalArguments() {
+        assertEquals("", describe(inspect("""
+            //@version=6
+            indicator("Test")
+            length = input.int(14, "Length")
+            plot(close)
+            plot(ta.sma(close, length), "SMA", color=color.red, linewidth=2)
+            """)));
+    }
+
+    public void testUnknownParameter() {
+        assertEquals("Unknown parameter 'width' of 'plot'", describe(inspect("""
+            //@version=6
+            indicator("Test")
+            plot(close, width=2)
+            """)));
+    }
+
+    public void testMissingRequiredArgument() {
+        assertEquals("Missing required argument 'series' of 'plot'", describe(inspect("""
+            //@version=6
+            indicator("Test")
+            plot(title="Close")
+            """)));
+    }
+
+    public void testMissingStrategyEntryArguments() {
+        assertEquals("Missing required arguments 'id', 'direction' of 'strategy.entry'", describe(inspect("""
+            //@version=6
+            strategy("Test")
+            strategy.entry()
+            """)));
+        assertEquals("Missing required argument 'direction' of 'strategy.entry'", describe(inspect("""
+            //@version=6
+            strategy("Test")
+            strategy.entry("Long", qty=1)
+            """)));
+        assertEquals("", describe(inspect("""
+            //@version=6
+            strategy("Test")
+            strategy.entry("Long", strategy.long)
+            """)));
+    }
+
+    public void testMissingBuiltinArgument() {
+        assertEquals("Missing required argument 'length' of 'ta.sma'", describe(inspect("""
+            //@version=6
+            indicator("Test")
+            plot(ta.sma(close))
+            """)));
+    }
+
+    public void testTooManyArguments() {
+        assertEquals("Too many arguments for 'ta.sma': expected at most 2", describe(inspect("""
+            //@version=6
+            indicator("Test")
+            plot(ta.sma(close, 14, 1))
+            """)));
+    }
+
+    @NotNull
+    private List<ProblemDescriptor> inspect(@NotNull String text) {
+        PsiFile file = myFixture.configureByText("test.pine", text);
+        ProblemsHolder holder = new ProblemsHolder(InspectionManager.getInstance(getProject()), file, false);
+        PsiElementVisitor visitor = new PineScriptCallArgumentsInspection().buildVisitor(holder, false);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                element.accept(visitor);
+                super.visitElement(element);
+            }
+        });
+        return holder.getResults();
+    }
+
+    @NotNull
+    private static String describe(@NotNull List<ProblemDescriptor> problems) {
+        return problems.stream()
+            .map(ProblemDescriptor::getDescriptionTemplate)
+            .collect(Collectors.joining("\n"));
+    }
+}
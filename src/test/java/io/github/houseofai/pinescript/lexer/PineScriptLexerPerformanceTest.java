@@ -0,0 +1,53 @@
+package io.github.houseofai.pinescript.lexer;
+
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Lexer throughput and allocation over {@code examples/*.pine} and the built-in indicator pages
+ * of {@code docs/markdown}, which are mostly prose but lex as a long run of identifiers. Run on a
+ * commit before the keyword table to compare tokens per second and bytes allocated per token.
+ */
+public class PineScriptLexerPerformanceTest extends TestCase {
+    private static final int ROUNDS = 20;
+
+    public void testThroughputAndAllocation() throws IOException {
+        List<String> corpus = PineScriptTestUtil.loadCorpus();
+        PineScriptLexer lexer = new PineScriptLexer();
+        long tokens = lexAll(lexer, corpus);
+        assertTrue(tokens > 0);
+        for (int i = 0; i < ROUNDS; i++) {
+            lexAll(lexer, corpus);
+        }
+
+        long time = PineScriptTestUtil.bestTime(() -> lexAll(lexer, corpus));
+        long allocated = PineScriptTestUtil.allocatedBytes(() -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                lexAll(lexer, corpus);
+            }
+        });
+        double bytesPerToken = (double) allocated / (tokens * ROUNDS);
+        PineScriptTestUtil.report("Lexer: %d tokens, %.1fM tokens/s, %.2f bytes allocated per token",
+            tokens, tokens / (time / 1e9) / 1e6, bytesPerToken);
+        if (allocated >= 0) {
+            // Nothing is allocated per token; this leaves room for allocations the JVM makes on its own
+            assertTrue("Allocated " + bytesPerToken + " bytes per token", bytesPerToken < 0.5);
+        }
+    }
+
+    private static long lexAll(@NotNull PineScriptLexer lexer, @NotNull List<String> corpus) {
+        long tokens = 0;
+        for (String text : corpus) {
+            lexer.start(text, 0, text.length(), 0);
+            while (lexer.getTokenType() != null) {
+                tokens++;
+                lexer.advance();
+            }
+        }
+        return tokens;
+    }
+}
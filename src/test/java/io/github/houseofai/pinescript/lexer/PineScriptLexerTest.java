@@ -0,0 +1,161 @@
+package io.github.houseofai.pinescript.lexer;
+
+import com.intellij.psi.tree.IElementType;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class PineScriptLexerTest extends TestCase {
+    /** Restarts tried per file; every token would make the test quadratic in the file size. */
+    private static final int RESTARTS = 200;
+
+    public void testRestartFromAnyTokenOfExamples() throws IOException {
+        for (Map.Entry<String, String> example : PineScriptTestUtil.loadExamples().entrySet()) {
+            assertRestartable(example.getKey(), example.getValue(), false);
+        }
+    }
+
+    public void testRestartFromAnyTokenWithLayoutTokens() throws IOException {
+        for (Map.Entry<String, String> example : PineScriptTestUtil.loadExamples().entrySet()) {
+            assertRestartable(example.getKey(), example.getValue(), true);
+        }
+    }
+
+    public void testRestartInsideMultiLineCommentAndString() {
+        String text = "a = 1 /* first\nsecond\nthird */ + 2\ns = \"one\ntwo\"\nb = 3\n";
+        List<Token> tokens = lex(new PineScriptLexer(), text, 0, 0);
+        assertEquals(PineScriptLexer.STATE_BLOCK_COMMENT, tokenAt(tokens, text.indexOf("second")).state);
+        assertEquals(PineScriptLexer.STATE_BLOCK_COMMENT, tokenAt(tokens, text.indexOf("third")).state);
+        assertEquals(PineScriptLexer.STATE_DOUBLE_QUOTED_STRING, tokenAt(tokens, text.indexOf("two")).state);
+        assertEquals(PineScriptLexer.STATE_LINE_START, tokenAt(tokens, text.indexOf("b = 3")).state);
+        assertRestartable("comments and strings", text, false);
+    }
+
+    /**
+     * An edit only makes the editor highlighter relex from the last restart-safe token before it up
+     * to the first token after it whose state is unchanged. That stretch is one line wherever the
+     * edit is, so typing costs the same at the top and the bottom of a long file.
+     */
+    public void testRelexedTokensIndependentOfEditPosition() throws IOException {
+        String example = PineScriptTestUtil.loadExamples().get("chartpatterns.pine");
+        String text = PineScriptTestUtil.repeat("", example.endsWith("\n") ? example : example + "\n", 5_000);
+        List<Token> tokens = lex(new PineScriptLexer(), text, 0, 0);
+
+        int[] counts = new int[5];
+        for (int i = 0; i < counts.length; i++) {
+            // Type a letter after the first identifier character at 0%, 25%, ..., 100% of the file
+            int offset = text.indexOf("close", (int) ((long) (text.length() - 1) * i / (counts.length - 1)));
+            if (offset < 0) {
+                offset = text.lastIndexOf("close");
+            }
+            counts[i] = countRelexedTokens(text, tokens, offset + 1, "x");
+        }
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int count : counts) {
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+        }
+        PineScriptTestUtil.report("Relexed tokens per keystroke in a %d-line file: %d to %d",
+            text.split("\n", -1).length, min, max);
+        assertTrue("Relexed up to " + max + " tokens", max < 100);
+    }
+
+    private static void assertRestartable(@NotNull String name, @NotNull String text, boolean layoutTokens) {
+        List<Token> tokens = lex(new PineScriptLexer(layoutTokens), text, 0, 0);
+        int step = Math.max(1, tokens.size() / RESTARTS);
+        for (int i = 0; i < tokens.size(); i += step) {
+            Token token = tokens.get(i);
+            List<Token> restarted = lex(new PineScriptLexer(layoutTokens), text, token.start, token.state);
+            assertEquals(name + ": restart at offset " + token.start, tokens.subList(i, tokens.size()), restarted);
+        }
+    }
+
+    /**
+     * Emulates the editor highlighter after {@code inserted} is typed at {@code offset}: relexing
+     * starts at the last token before the edit in the initial state and stops at the first token
+     * after it that starts where an old token started, in the same state.
+     */
+    private static int countRelexedTokens(@NotNull String text, @NotNull List<Token> tokens, int offset, @NotNull String inserted) {
+        int restart = 0;
+        for (int i = 0; i < tokens.size() && tokens.get(i).start <= offset; i++) {
+            if (tokens.get(i).state == PineScriptLexer.STATE_LINE_START) {
+                restart = i;
+            }
+        }
+        String newText = text.substring(0, offset) + inserted + text.substring(offset);
+        PineScriptLexer lexer = new PineScriptLexer();
+        lexer.start(newText, tokens.get(restart).start, newText.length(), tokens.get(restart).state);
+        int old = restart;
+        int count = 0;
+        for (; lexer.getTokenType() != null; lexer.advance()) {
+            count++;
+            int start = lexer.getTokenStart();
+            if (start >= offset + inserted.length()) {
+                int oldStart = start - inserted.length();
+                while (old < tokens.size() && tokens.get(old).start < oldStart) {
+                    old++;
+                }
+                if (old < tokens.size() && tokens.get(old).start == oldStart && tokens.get(old).state == lexer.getState()) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    @NotNull
+    private static List<Token> lex(@NotNull PineScriptLexer lexer, @NotNull String text, int start, int state) {
+        List<Token> tokens = new ArrayList<>();
+        lexer.start(text, start, text.length(), state);
+        while (lexer.getTokenType() != null) {
+            tokens.add(new Token(lexer.getTokenStart(), lexer.getTokenEnd(), lexer.getTokenType(), lexer.getState()));
+            lexer.advance();
+        }
+        return tokens;
+    }
+
+    @NotNull
+    private static Token tokenAt(@NotNull List<Token> tokens, int offset) {
+        for (Token token : tokens) {
+            if (token.start <= offset && offset < token.end) {
+                return token;
+            }
+        }
+        throw new AssertionError("No token at " + offset);
+    }
+
+    private static final class Token {
+        final int start;
+        final int end;
+        final IElementType type;
+        final int state;
+
+        Token(int start, int end, IElementType type, int state) {
+            this.start = start;
+            this.end = end;
+            this.type = type;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Token token && start == token.start && end == token.end && type == token.type && state == token.state;
+        }
+
+        @Override
+        public int hashCode() {
+            return start * 31 + end;
+        }
+
+        @Override
+        public String toString() {
+            return type + "@" + start + ":" + end + "/" + state;
+        }
+    }
+}
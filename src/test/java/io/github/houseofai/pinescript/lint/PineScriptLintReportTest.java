@@ -0,0 +1,60 @@
+package io.github.houseofai.pinescript.lint;
+
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+public class PineScriptLintReportTest extends TestCase {
+    private static final Map<String, String> RULES = Map.of("PineScriptSyntax", "Syntax error");
+    private static final PineScriptLintProblem PROBLEM = new PineScriptLintProblem("PineScriptSyntax",
+        PineScriptLintProblem.Level.ERROR, "Expression \"x\" expected", 3, 5, 3, 6);
+
+    public void testJsonLines() throws IOException {
+        String output = write("json", List.of(PROBLEM));
+        assertEquals("{\"file\":\"dir/a.pine\",\"rule\":\"PineScriptSyntax\",\"level\":\"error\","
+            + "\"message\":\"Expression \\\"x\\\" expected\",\"line\":3,\"column\":5,\"endLine\":3,\"endColumn\":6}\n"
+            + "{\"file\":\"dir/a.pine\",\"rule\":\"PineScriptSyntax\",\"level\":\"error\","
+            + "\"message\":\"Expression \\\"x\\\" expected\",\"line\":3,\"column\":5,\"endLine\":3,\"endColumn\":6}\n", output);
+    }
+
+    public void testJsonLinesWithoutProblems() throws IOException {
+        assertEquals("", write("json", List.of()));
+    }
+
+    public void testSarif() throws IOException {
+        String output = write("sarif", List.of(PROBLEM));
+        String result = "{\"ruleId\":\"PineScriptSyntax\",\"level\":\"error\",\"message\":{\"text\":\"Expression \\\"x\\\" expected\"},"
+            + "\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{\"uri\":\"dir/a.pine\"},"
+            + "\"region\":{\"startLine\":3,\"startColumn\":5,\"endLine\":3,\"endColumn\":6}}}]}";
+        assertEquals("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\","
+            + "\"runs\":[{\"tool\":{\"driver\":{\"name\":\"pinescript-lint\","
+            + "\"rules\":[{\"id\":\"PineScriptSyntax\",\"shortDescription\":{\"text\":\"Syntax error\"}}]}},"
+            + "\"results\":[\n" + result + ",\n" + result + "\n]}]}\n", output);
+    }
+
+    public void testSarifWithoutProblems() throws IOException {
+        assertTrue(write("sarif", List.of()).endsWith("\"results\":[\n\n]}]}\n"));
+    }
+
+    public void testUnknownFormat() throws IOException {
+        assertNull(PineScriptLintReport.create("xml", new StringWriter(), RULES));
+    }
+
+    /**
+     * Reports the problems for the same file twice, as two workers would.
+     */
+    @NotNull
+    private static String write(@NotNull String format, @NotNull List<PineScriptLintProblem> problems) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (PineScriptLintReport report = PineScriptLintReport.create(format, writer, RULES)) {
+            assertNotNull(report);
+            report.report("dir/a.pine", problems);
+            report.report("dir/a.pine", problems);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.houseofai.pinescript.lint;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class PineScriptLintStarterTest extends BasePlatformTestCase {
+    private Path myDirectory;
+    private Path myOutput;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myDirectory = Files.createTempDirectory("pinescript-lint");
+        myOutput = myDirectory.resolve("out").resolve("report.json");
+        Files.createDirectories(myOutput.getParent());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            try (var files = Files.walk(myDirectory)) {
+                for (Path file : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                    Files.delete(file);
+                }
+            }
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testCleanScriptsExitWithZero() throws IOException {
+        write("a.pine", "//@version=6\nindicator(\"A\")\nplot(close)\n");
+        assertEquals(0, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--format=json", "--output=" + myOutput)));
+        assertEquals("", Files.readString(myOutput, StandardCharsets.UTF_8));
+    }
+
+    public void testWarningsExitWithZero() throws IOException {
+        write("a.pine", "//@version=6\nindicator(\"A\")\nplot(close, width=2)\n");
+        assertEquals(0, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--format=json", "--output", myOutput.toString())));
+        String output = Files.readString(myOutput, StandardCharsets.UTF_8);
+        assertTrue(output, output.contains("\"rule\":\"PineScriptCallArguments\",\"level\":\"warning\""));
+    }
+
+    public void testSyntaxErrorExitsWithOne() throws IOException {
+        write("a.pine", "//@version=6\nindicator(\"A\")\nplot(close)\n");
+        write("nested/b.pine", "//@version=6\nindicator(\"B\")\nx =\n");
+        assertEquals(1, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--output=" + myOutput)));
+        String output = Files.readString(myOutput, StandardCharsets.UTF_8);
+        assertTrue(output, output.contains("\"ruleId\":\"PineScriptSyntax\",\"level\":\"error\""));
+        assertTrue(output, output.contains("\"uri\":\"nested/b.pine\""));
+        assertTrue(output, output.endsWith("]}]}\n"));
+    }
+
+    public void testUsageErrorsExitWithTwo() {
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString())));
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", "--output=" + myOutput)));
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.resolve("missing").toString(),
+            "--output=" + myOutput)));
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--output=" + myOutput, "--threads=many")));
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--output=" + myOutput, "--format=xml")));
+    }
+
+    public void testUnknownFormatKeepsPreviousReport() throws IOException {
+        Files.writeString(myOutput, "previous report", StandardCharsets.UTF_8);
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--output=" + myOutput, "--format=jsno")));
+        assertEquals("previous report", Files.readString(myOutput, StandardCharsets.UTF_8));
+    }
+
+    public void testUnwritableOutputExitsWithTwo() {
+        assertEquals(2, PineScriptLintStarter.run(List.of("pinescript-lint", myDirectory.toString(),
+            "--output=" + myDirectory.resolve("missing").resolve("report.sarif"))));
+    }
+
+    private void write(@NotNull String path, @NotNull String text) throws IOException {
+        Path file = myDirectory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+    }
+}
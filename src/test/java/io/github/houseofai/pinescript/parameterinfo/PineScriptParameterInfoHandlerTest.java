@@ -0,0 +1,27 @@
+package io.github.houseofai.pinescript.parameterinfo;
+
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public class PineScriptParameterInfoHandlerTest extends TestCase {
+
+    public void testOverloadsDifferingOnlyInReturnTypeShowOnce() {
+        assertEquals(8, getSignatures("math.max").size());
+        assertEquals(1, PineScriptParameterInfoHandler.withDistinctParameters(getSignatures("math.max")).size());
+        assertEquals(1, PineScriptParameterInfoHandler.withDistinctParameters(getSignatures("color.new")).size());
+    }
+
+    public void testOverloadsWithDifferentParametersAreKept() {
+        List<PineScriptFunctionSignature> shown = PineScriptParameterInfoHandler.withDistinctParameters(getSignatures("input.int"));
+        assertEquals(2, shown.size());
+        // dateString, date parts, and time zone with date parts
+        assertEquals(3, PineScriptParameterInfoHandler.withDistinctParameters(getSignatures("timestamp")).size());
+    }
+
+    @NotNull
+    private static List<PineScriptFunctionSignature> getSignatures(@NotNull String name) {
+        return PineScriptSignatureCatalog.getInstance().getSignatures(name);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.houseofai.pinescript.parameterinfo;
+
+import io.github.houseofai.pinescript.parameterinfo.PineScriptFunctionSignature.Parameter;
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Decodes the generated signature catalogue and checks what it says about a few well-known
+ * functions: which arguments are required, their types and their defaults.
+ */
+public class PineScriptSignatureCatalogTest extends TestCase {
+
+    public void testPlot() {
+        PineScriptFunctionSignature plot = getSignature("plot", 0);
+        assertEquals("plot", plot.getReturnType());
+        assertParameter(plot, "series", "series int/float", null, false);
+        assertParameter(plot, "title", "const string", null, true);
+        assertParameter(plot, "color", "series color", null, true);
+        assertParameter(plot, "linewidth", "input int", "1", true);
+        assertParameter(plot, "style", "input plot_style", "plot.style_line", true);
+        assertParameter(plot, "display", "input plot_display", "display.all", true);
+        // "The default is the `format` value used by the script": no literal default
+        assertParameter(plot, "format", "input string", null, true);
+        assertParameter(plot, "precision", "input int", null, true);
+    }
+
+    public void testHline() {
+        PineScriptFunctionSignature hline = getSignature("hline", 0);
+        assertParameter(hline, "price", "input int/float", null, false);
+        assertParameter(hline, "title", "const string", null, true);
+        assertParameter(hline, "linewidth", "input int", "1", true);
+    }
+
+    public void testInputInt() {
+        PineScriptFunctionSignature options = getSignature("input.int", 0);
+        assertParameter(options, "defval", "const int", null, false);
+        assertParameter(options, "title", "const string", null, true);
+        // Described as a tuple in prose, which is not a type
+        assertParameter(options, "options", null, null, true);
+
+        PineScriptFunctionSignature range = getSignature("input.int", 1);
+        assertParameter(range, "minval", "const int", null, true);
+        assertParameter(range, "maxval", "const int", null, true);
+        assertParameter(range, "step", "const int", null, true);
+        assertParameter(range, "confirm", "const bool", "false", true);
+        assertEquals("input int", range.getReturnType());
+    }
+
+    public void testRequiredArguments() {
+        PineScriptFunctionSignature sma = getSignature("ta.sma", 0);
+        assertParameter(sma, "source", "series int/float", null, false);
+        assertParameter(sma, "length", "series int", null, false);
+
+        PineScriptFunctionSignature entry = getSignature("strategy.entry", 0);
+        assertParameter(entry, "id", "series string", null, false);
+        assertParameter(entry, "direction", "series strategy_direction", null, false);
+        assertParameter(entry, "qty", "series int/float", "na", true);
+
+        PineScriptFunctionSignature get = getSignature("array.get", 0);
+        assertParameter(get, "index", "series int", null, false);
+        PineScriptFunctionSignature security = getSignature("request.security", 0);
+        assertParameter(security, "symbol", "series string", null, false);
+        assertParameter(security, "timeframe", "series string", null, false);
+        // The title of a declaration statement is its first argument and required
+        assertParameter(getSignature("indicator", 0), "title", "const string", null, false);
+    }
+
+    public void testUndocumentedArgumentsAreOptional() {
+        PineScriptFunctionSignature timestamp = getSignature("timestamp", 4);
+        assertParameter(timestamp, "second", "series int", null, true);
+    }
+
+    public void testDefaultsAreLiteralsOrNames() {
+        assertParameter(getSignature("indicator", 0), "shorttitle", "const string", null, true);
+        assertParameter(getSignature("indicator", 0), "precision", "const int", null, true);
+        assertParameter(getSignature("indicator", 0), "format", "const string", "format.inherit", true);
+        assertParameter(getSignature("strategy.entry", 0), "oca_name", "series string", "\"\"", true);
+        assertParameter(getSignature("strategy.entry", 0), "qty", "series int/float", "na", true);
+        assertParameter(getSignature("label.new", 0), "text", "series string", "\"\"", true);
+        assertParameter(getSignature("request.security", 0), "currency", "series string", "syminfo.currency", true);
+        assertParameter(getSignature("array.new_bool", 0), "initial_value", "series bool", "false", true);
+    }
+
+    public void testUndocumentedArgumentTypes() {
+        PineScriptFunctionSignature label = getSignature("label.new", 1);
+        assertParameter(label, "x", "series int", null, true);
+        assertParameter(label, "y", "series int/float", null, true);
+        PineScriptFunctionSignature timestamp = getSignature("timestamp", 4);
+        assertParameter(timestamp, "timezone", "series string", null, true);
+        assertParameter(timestamp, "year", "series int", null, true);
+    }
+
+    public void testProseIsNotAType() {
+        PineScriptFunctionSignature security = getSignature("request.security", 0);
+        assertParameter(security, "symbol", "series string", null, false);
+        assertParameter(security, "expression", null, null, false);
+    }
+
+    public void testVariadic() {
+        List<Parameter> parameters = getSignature("str.format", 0).getParameters();
+        assertTrue(parameters.get(parameters.size() - 1).isVariadic());
+    }
+
+    @NotNull
+    private static PineScriptFunctionSignature getSignature(@NotNull String name, int overload) {
+        List<PineScriptFunctionSignature> signatures = PineScriptSignatureCatalog.getInstance().getSignatures(name);
+        assertTrue(name + " has " + signatures.size() + " overloads", overload < signatures.size());
+        return signatures.get(overload);
+    }
+
+    private static void assertParameter(@NotNull PineScriptFunctionSignature signature, @NotNull String name,
+                                        String type, String defaultValue, boolean optional) {
+        for (Parameter parameter : signature.getParameters()) {
+            if (parameter.getName().equals(name)) {
+                String message = signature.getFunctionName() + " " + name;
+                assertEquals(message, type, parameter.getType());
+                assertEquals(message, defaultValue, parameter.getDefaultValue());
+                assertEquals(message, optional, parameter.isOptional());
+                return;
+            }
+        }
+        fail(signature.getFunctionName() + " has no parameter " + name);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.houseofai.pinescript.parameterinfo;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+
+public class PineScriptSignatureResolverTest extends BasePlatformTestCase {
+
+    public void testBuiltin() {
+        PsiFile file = myFixture.configureByText("main.pine", "//@version=6\nindicator(\"Main\")\n");
+        assertEquals(1, PineScriptSignatureResolver.resolveAll(file, "ta.sma").size());
+    }
+
+    public void testFunctionOfCallingFile() {
+        PsiFile file = myFixture.configureByText("main.pine", """
+            //@version=6
+            indicator("Main")
+            double(float x) => x * 2
+            plot(double(close))
+            """);
+        PineScriptFunctionSignature signature = PineScriptSignatureResolver.resolve(file, "double");
+        assertNotNull(signature);
+        assertEquals("x", signature.getParameters().get(0).getName());
+    }
+
+    public void testFunctionOfImportedLibrary() {
+        myFixture.addFileToProject("lib.pine", """
+            //@version=6
+            library("MathLib")
+            export double(float x) => x * 2
+            """);
+        PsiFile file = myFixture.configureByText("main.pine", """
+            //@version=6
+            indicator("Main")
+            import user/MathLib/1 as m
+            plot(m.double(close))
+            """);
+        List<PineScriptFunctionSignature> signatures = PineScriptSignatureResolver.resolveAll(file, "m.double");
+        assertEquals(1, signatures.size());
+        assertEquals("x", signatures.get(0).getParameters().get(0).getName());
+    }
+
+    public void testFunctionOfOtherScriptIsNotVisible() {
+        myFixture.addFileToProject("other.pine", """
+            //@version=6
+            indicator("Other")
+            double(float x) => x * 2
+            """);
+        PsiFile file = myFixture.configureByText("main.pine", """
+            //@version=6
+            indicator("Main")
+            plot(double(close))
+            """);
+        assertEmpty(PineScriptSignatureResolver.resolveAll(file, "double"));
+    }
+}
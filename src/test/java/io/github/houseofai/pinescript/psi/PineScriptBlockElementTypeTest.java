@@ -0,0 +1,67 @@
+package io.github.houseofai.pinescript.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public class PineScriptBlockElementTypeTest extends BasePlatformTestCase {
+    private static final String TEXT = """
+        //@version=6
+        indicator("Test")
+        f(x) =>
+            y = x * 2
+            y
+        g(x) =>
+            z = x + 1
+            z
+        plot(f(close) + g(close))
+        """;
+
+    public void testEditInBodyKeepsSiblingBlocks() {
+        myFixture.configureByText("test.pine", TEXT);
+        List<ASTNode> before = getBlocks();
+        assertEquals(2, before.size());
+
+        insert(TEXT.indexOf("y = x * 2") + "y = x * 2".length(), " + 1");
+
+        List<ASTNode> after = getBlocks();
+        assertEquals(2, after.size());
+        assertSame(before.get(1), after.get(1));
+        assertEquals("    y = x * 2 + 1\n    y", after.get(0).getText().stripTrailing());
+        assertNull(PsiTreeUtil.findChildOfType(myFixture.getFile(), PsiErrorElement.class));
+    }
+
+    public void testNewStatementInBodyKeepsSiblingBlocks() {
+        myFixture.configureByText("test.pine", TEXT);
+        List<ASTNode> before = getBlocks();
+
+        insert(TEXT.indexOf("    z\n"), "    z := z * 2\n");
+
+        List<ASTNode> after = getBlocks();
+        assertSame(before.get(0), after.get(0));
+        assertEquals(3, ((PineScriptBlock) after.get(1).getPsi()).getStatements().size());
+        assertNull(PsiTreeUtil.findChildOfType(myFixture.getFile(), PsiErrorElement.class));
+    }
+
+    private void insert(int offset, @NotNull String text) {
+        Document document = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            document.insertString(offset, text);
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+    }
+
+    @NotNull
+    private List<ASTNode> getBlocks() {
+        return PsiTreeUtil.findChildrenOfType(myFixture.getFile(), PineScriptBlock.class).stream()
+            .map(PineScriptBlock::getNode)
+            .toList();
+    }
+}
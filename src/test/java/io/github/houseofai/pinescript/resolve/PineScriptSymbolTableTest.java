@@ -0,0 +1,113 @@
+package io.github.houseofai.pinescript.resolve;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.jetbrains.annotations.NotNull;
+
+public class PineScriptSymbolTableTest extends BasePlatformTestCase {
+
+    public void testBlockLocalDoesNotLeak() {
+        assertResolvesToLine(-1, """
+            //@version=6
+            indicator("Test")
+            if close > open
+                delta = close - open
+            plot(del<caret>ta)
+            """);
+    }
+
+    public void testBlockLocalShadowsScriptVariable() {
+        assertResolvesToLine(4, """
+            //@version=6
+            indicator("Test")
+            level = 1.0
+            if close > open
+                level = 2.0
+                plot(lev<caret>el)
+            """);
+    }
+
+    public void testSiblingBlocksHaveTheirOwnScopes() {
+        assertResolvesToLine(5, """
+            //@version=6
+            indicator("Test")
+            if close > open
+                x = 1
+            else
+                x = 2
+                plot(<caret>x)
+            """);
+    }
+
+    public void testVariableIsVisibleAfterItsDeclaration() {
+        assertResolvesToLine(2, """
+            //@version=6
+            indicator("Test")
+            length = 10
+            f() =>
+                l = len<caret>gth * 2
+                length = l
+                length
+            plot(f())
+            """);
+    }
+
+    public void testInitializerSeesOuterVariable() {
+        assertResolvesToLine(2, """
+            //@version=6
+            indicator("Test")
+            total = 0.0
+            if barstate.islast
+                total = to<caret>tal + close
+            """);
+    }
+
+    public void testLoopVariable() {
+        assertResolvesToLine(3, """
+            //@version=6
+            indicator("Test")
+            sum = 0.0
+            for i = 0 to 9
+                sum += close[<caret>i]
+            """);
+    }
+
+    public void testParameter() {
+        assertResolvesToLine(2, """
+            //@version=6
+            indicator("Test")
+            double(x) =>
+                <caret>x * 2
+            plot(double(close))
+            """);
+    }
+
+    public void testFunctionDeclaredLater() {
+        assertResolvesToLine(3, """
+            //@version=6
+            indicator("Test")
+            g() => f<caret>oo()
+            foo() => 1
+            plot(g())
+            """);
+    }
+
+    /**
+     * Checks that the reference at the caret resolves to a declaration on the given zero-based line,
+     * or does not resolve to a user declaration if the line is -1.
+     */
+    private void assertResolvesToLine(int line, @NotNull String text) {
+        myFixture.configureByText("test.pine", text);
+        PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+        PsiElement target = reference != null ? reference.resolve() : null;
+        if (line < 0) {
+            assertNull(target);
+            return;
+        }
+        assertNotNull("unresolved", target);
+        Document document = myFixture.getEditor().getDocument();
+        assertEquals(line, document.getLineNumber(target.getTextRange().getStartOffset()));
+    }
+}
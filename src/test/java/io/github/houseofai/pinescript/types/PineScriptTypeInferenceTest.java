@@ -0,0 +1,117 @@
+package io.github.houseofai.pinescript.types;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.github.houseofai.pinescript.PineScriptTestUtil;
+import io.github.houseofai.pinescript.psi.PineScriptExpression;
+import io.github.houseofai.pinescript.psi.PineScriptLiteralExpression;
+import io.github.houseofai.pinescript.psi.PineScriptReferenceExpression;
+import io.github.houseofai.pinescript.psi.PineScriptVariableDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PineScriptTypeInferenceTest extends BasePlatformTestCase {
+    private static final Set<String> PRICES = Set.of("open", "high", "low", "close", "volume");
+
+    public void testVariables() {
+        PsiFile file = myFixture.configureByText("test.pine", """
+            //@version=6
+            indicator("Test")
+            type Point
+                float x
+                float y
+            double(int x) => x * 2
+            a = 1
+            b = 1 + 2.0
+            c = 3 / 2
+            d = close
+            e = ta.sma(close, 14)
+            f = close > open
+            g = input.int(14, "Length")
+            h = "Price" + ": "
+            i = close[1]
+            j = not f
+            k = a > 0 ? 1.5 : na
+            l = Point.new(1, 2)
+            m = double(1)
+            var int n = 0
+            o = array.new<float>()
+            """);
+        Map<String, String> expected = Map.ofEntries(
+            Map.entry("a", "const int"),
+            Map.entry("b", "const float"),
+            Map.entry("c", "const float"),
+            Map.entry("d", "series float"),
+            Map.entry("e", "series float"),
+            Map.entry("f", "series bool"),
+            Map.entry("g", "input int"),
+            Map.entry("h", "const string"),
+            Map.entry("i", "series float"),
+            Map.entry("j", "series bool"),
+            Map.entry("k", "const float"),
+            Map.entry("l", "series Point"),
+            Map.entry("m", "const int"),
+            Map.entry("n", "series int"),
+            Map.entry("o", "series array<float>"));
+        for (PineScriptVariableDeclaration variable : PsiTreeUtil.findChildrenOfType(file, PineScriptVariableDeclaration.class)) {
+            assertEquals(variable.getText(), expected.get(variable.getName()),
+                PineScriptTypeInference.getDeclaredType(variable).toString());
+        }
+    }
+
+    public void testAssignability() {
+        PineScriptType seriesFloat = PineScriptType.parse("series float");
+        assertTrue(PineScriptType.parse("const int").isAssignableTo(seriesFloat));
+        assertTrue(PineScriptType.NA_TYPE.isAssignableTo(seriesFloat));
+        assertTrue(PineScriptType.UNKNOWN.isAssignableTo(PineScriptType.parse("const string")));
+        assertFalse(seriesFloat.isAssignableTo(PineScriptType.parse("simple float")));
+        assertFalse(PineScriptType.parse("const string").isAssignableTo(seriesFloat));
+    }
+
+    /**
+     * Infers every expression of every example. Literals and built-in price series must always be
+     * known, and the memoized second pass must agree with the first. The share of inferred
+     * expressions and both timings are logged.
+     */
+    public void testExamples() throws IOException {
+        for (Map.Entry<String, String> example : PineScriptTestUtil.loadExamples().entrySet()) {
+            PsiFile file = myFixture.configureByText("test.pine", example.getValue());
+            List<PineScriptExpression> expressions = new ArrayList<>(PsiTreeUtil.findChildrenOfType(file, PineScriptExpression.class));
+            assertFalse(example.getKey(), expressions.isEmpty());
+
+            List<PineScriptType> types = new ArrayList<>();
+            long start = System.nanoTime();
+            for (PineScriptExpression expression : expressions) {
+                types.add(PineScriptTypeInference.getType(expression));
+            }
+            long firstPass = System.nanoTime() - start;
+            start = System.nanoTime();
+            int known = 0;
+            for (int i = 0; i < expressions.size(); i++) {
+                PineScriptExpression expression = expressions.get(i);
+                PineScriptType type = PineScriptTypeInference.getType(expression);
+                assertEquals(example.getKey() + ": " + expression.getText(), types.get(i), type);
+                if (type.isKnown()) {
+                    known++;
+                }
+                if (expression instanceof PineScriptLiteralExpression || isPrice(expression)) {
+                    assertTrue(example.getKey() + ": " + expression.getText(), type.isKnown());
+                }
+            }
+            long cachedPass = System.nanoTime() - start;
+            PineScriptTestUtil.report("Inference on %s: %d of %d expressions known, %.2f ms, %.2f ms cached",
+                example.getKey(), known, expressions.size(), firstPass / 1e6, cachedPass / 1e6);
+        }
+    }
+
+    private static boolean isPrice(@NotNull PineScriptExpression expression) {
+        return expression instanceof PineScriptReferenceExpression reference && reference.getQualifier() == null
+            && PRICES.contains(reference.getReferenceName());
+    }
+}